@@ -26,10 +26,13 @@ package team.unnamed.creative;
 import net.kyori.examination.Examinable;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.base.Writable;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Objects;
 
 /**
@@ -53,7 +56,49 @@ public interface BuiltResourcePack extends Examinable {
      * @since 1.1.0
      */
     static @NotNull BuiltResourcePack of(final @NotNull Writable data, final @NotNull String hash) {
-        return new BuiltResourcePackImpl(data, hash);
+        return new BuiltResourcePackImpl(data, hash, -1L);
+    }
+
+    /**
+     * Creates a new {@link BuiltResourcePack} instance
+     * from the given data, hash and data size.
+     *
+     * <p>Knowing the size lets servers send the resource-pack
+     * without having to copy its data to a byte array first.</p>
+     *
+     * @param data The resource-pack zip archive data
+     * @param hash The SHA-1 hash of the resource-pack
+     * @param size The size of the data in bytes, or -1 if unknown
+     * @return The built resource-pack instance
+     * @since 1.11.6
+     */
+    static @NotNull BuiltResourcePack of(final @NotNull Writable data, final @NotNull String hash, final long size) {
+        return new BuiltResourcePackImpl(data, hash, size);
+    }
+
+    /**
+     * Creates a new file-backed {@link BuiltResourcePack} instance
+     * from the given resource-pack zip file and hash.
+     *
+     * <p>The file is not loaded into memory, it is read every time
+     * the data is requested, so it must not be modified or deleted
+     * while the returned instance is in use.</p>
+     *
+     * @param file The resource-pack zip file
+     * @param hash The SHA-1 hash of the resource-pack
+     * @return The built resource-pack instance
+     * @throws UncheckedIOException If the file size can't be read
+     * @since 1.11.6
+     */
+    static @NotNull BuiltResourcePack of(final @NotNull Path file, final @NotNull String hash) {
+        Objects.requireNonNull(file, "file");
+        final long size;
+        try {
+            size = Files.size(file);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read the size of " + file, e);
+        }
+        return new FileBuiltResourcePackImpl(file, hash, size);
     }
 
     /**
@@ -70,7 +115,7 @@ public interface BuiltResourcePack extends Examinable {
     @ApiStatus.ScheduledForRemoval(inVersion = "2.0.0")
     static @NotNull BuiltResourcePack of(final byte @NotNull [] bytes, final @NotNull String hash) {
         Objects.requireNonNull(bytes, "bytes");
-        return new BuiltResourcePackImpl(Writable.bytes(bytes), hash);
+        return new BuiltResourcePackImpl(Writable.bytes(bytes), hash, bytes.length);
     }
 
     /**
@@ -107,4 +152,30 @@ public interface BuiltResourcePack extends Examinable {
      * @since 1.0.0
      */
     @NotNull String hash();
+
+    /**
+     * Returns the size of the resource-pack zip
+     * archive data, in bytes.
+     *
+     * @return The data size, or -1 if it is unknown
+     * @since 1.11.6
+     */
+    default long size() {
+        return -1L;
+    }
+
+    /**
+     * Returns the file that backs the resource-pack zip
+     * archive data, if any.
+     *
+     * <p>Useful to transfer the resource-pack directly
+     * from the file, without copying it to memory.</p>
+     *
+     * @return The backing file, null if the data is not
+     * file-backed
+     * @since 1.11.6
+     */
+    default @Nullable Path file() {
+        return null;
+    }
 }
@@ -28,14 +28,16 @@ import team.unnamed.creative.base.Writable;
 
 import static java.util.Objects.requireNonNull;
 
-record BuiltResourcePackImpl(Writable data, String hash) implements BuiltResourcePack {
+record BuiltResourcePackImpl(Writable data, String hash, long size) implements BuiltResourcePack {
 
     BuiltResourcePackImpl(
             final @NotNull Writable data,
-            final @NotNull String hash
+            final @NotNull String hash,
+            final long size
     ) {
         this.data = requireNonNull(data, "data");
         this.hash = requireNonNull(hash, "hash");
+        this.size = size;
     }
 
     @Override
@@ -48,5 +50,9 @@ record BuiltResourcePackImpl(Writable data, String hash) implements BuiltResourc
         return hash;
     }
 
+    @Override
+    public long size() {
+        return size;
+    }
 
 }
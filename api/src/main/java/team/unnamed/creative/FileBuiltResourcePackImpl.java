@@ -0,0 +1,65 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Writable;
+
+import java.nio.file.Path;
+
+import static java.util.Objects.requireNonNull;
+
+record FileBuiltResourcePackImpl(Path file, String hash, long size) implements BuiltResourcePack {
+
+    FileBuiltResourcePackImpl(
+            final @NotNull Path file,
+            final @NotNull String hash,
+            final long size
+    ) {
+        this.file = requireNonNull(file, "file");
+        this.hash = requireNonNull(hash, "hash");
+        this.size = size;
+    }
+
+    @Override
+    public @NotNull Writable data() {
+        return Writable.path(file);
+    }
+
+    @Override
+    public @NotNull String hash() {
+        return hash;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public @NotNull Path file() {
+        return file;
+    }
+
+}
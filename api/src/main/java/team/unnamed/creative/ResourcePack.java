@@ -65,7 +65,32 @@ public interface ResourcePack extends ResourceContainer {
      * @since 1.1.0
      */
     static @NotNull ResourcePack resourcePack() {
-        return new ResourcePackImpl();
+        return new ResourcePackImpl(false);
+    }
+
+    /**
+     * Creates a new, empty and thread-safe resource-pack instance.
+     *
+     * <p>Resources can be added, removed and merged into it from
+     * several threads at once, each of these operations is atomic.
+     * Merging another container merges each resource atomically,
+     * so {@link team.unnamed.creative.resources.MergeStrategy#mergeAndKeepFirstOnError()}
+     * adds resources only if they are absent.</p>
+     *
+     * <p>Resources and overlays are kept sorted by key instead of
+     * in the order they were added, so that the resource-pack
+     * contents and iteration order don't depend on the order
+     * threads added them in. Overlays added to it should be
+     * {@link Overlay#concurrent(String) concurrent} too.</p>
+     *
+     * <p>Note that {@link #snapshot() snapshots} of concurrent
+     * resource-packs are copies, so they take linear time.</p>
+     *
+     * @return A new thread-safe resource-pack instance
+     * @since 1.11.6
+     */
+    static @NotNull ResourcePack concurrent() {
+        return new ResourcePackImpl(true);
     }
 
     /**
@@ -282,6 +307,28 @@ public interface ResourcePack extends ResourceContainer {
      */
     @NotNull Collection<Overlay> overlays();
 
+    /**
+     * Returns a read-only snapshot of this resource-pack, including
+     * its icon, metadata, overlays and unknown files.
+     *
+     * @return The snapshot
+     * @see ResourceContainer#snapshot()
+     * @since 1.11.6
+     */
+    @Override
+    @NotNull ResourcePack snapshot();
+
+    /**
+     * Returns a read-only and compact copy of this resource-pack,
+     * including its icon, metadata, overlays and unknown files.
+     *
+     * @return The frozen copy
+     * @see ResourceContainer#freeze()
+     * @since 1.11.6
+     */
+    @Override
+    @NotNull ResourcePack freeze();
+
     default @Nullable SodiumMeta sodiumMeta() {
         return metadata().meta(SodiumMeta.class);
     }
@@ -23,6 +23,7 @@
  */
 package team.unnamed.creative;
 
+import org.intellij.lang.annotations.Subst;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.base.Writable;
@@ -33,21 +34,69 @@ import team.unnamed.creative.metadata.pack.PackMeta;
 import team.unnamed.creative.overlay.Overlay;
 import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.overlay.ResourceContainerImpl;
+import team.unnamed.creative.resources.MergeConflict;
 import team.unnamed.creative.resources.MergeStrategy;
+import team.unnamed.creative.resources.ResourceChange;
+import team.unnamed.creative.util.Fingerprints;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
 
 final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePack {
 
-    private final Map<String, Overlay> overlays = new LinkedHashMap<>();
+    private final Map<String, Overlay> overlays;
+    private final boolean concurrent;
+    private final boolean readOnly;
 
-    private @Nullable Writable icon;
-    private Metadata metadata;
+    private volatile @Nullable Writable icon;
+    private volatile Metadata metadata;
+
+    ResourcePackImpl(final boolean concurrent) {
+        super(concurrent);
+        this.overlays = concurrent ? new ConcurrentSkipListMap<>() : new LinkedHashMap<>();
+        this.concurrent = concurrent;
+        this.readOnly = false;
+    }
+
+    private ResourcePackImpl(final @NotNull ResourcePackImpl source, final boolean frozen) {
+        super(source, frozen);
+        final Map<String, Overlay> overlays = new LinkedHashMap<>();
+        for (final Overlay overlay : source.overlays.values()) {
+            overlays.put(overlay.directory(), frozen ? overlay.freeze() : overlay.snapshot());
+        }
+        this.overlays = Collections.unmodifiableMap(overlays);
+        this.concurrent = source.concurrent;
+        this.readOnly = true;
+        this.icon = source.icon;
+        this.metadata = source.metadata;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Resource pack snapshots can't be modified");
+        }
+    }
+
+    @Override
+    public @NotNull ResourcePack snapshot() {
+        return new ResourcePackImpl(this, false);
+    }
+
+    @Override
+    public @NotNull ResourcePack freeze() {
+        return new ResourcePackImpl(this, true);
+    }
 
     @Override
     public @Nullable Writable icon() {
@@ -55,7 +104,8 @@ final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePa
     }
 
     @Override
-    public void icon(final @Nullable Writable icon) {
+    public synchronized void icon(final @Nullable Writable icon) {
+        checkWritable();
         this.icon = icon;
     }
 
@@ -65,14 +115,22 @@ final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePa
     }
 
     @Override
-    public void metadata(final @NotNull Metadata metadata) {
+    public synchronized void metadata(final @NotNull Metadata metadata) {
         requireNonNull(metadata, "metadata");
+        checkWritable();
         this.metadata = metadata;
     }
 
+    @Override
+    public synchronized void editMetadata(final @NotNull Consumer<Metadata.Builder> editFunction) {
+        // synchronized, so that concurrent edits are not lost
+        ResourcePack.super.editMetadata(editFunction);
+    }
+
     @Override
     public void overlay(final @NotNull Overlay overlay) {
         requireNonNull(overlay, "overlay");
+        checkWritable();
         overlays.put(overlay.directory(), overlay);
     }
 
@@ -87,8 +145,72 @@ final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePa
         return overlays.values();
     }
 
+    @Override
+    public void diff(final @NotNull ResourceContainerImpl other, final @Nullable String overlay, final @NotNull List<ResourceChange> changes) {
+        super.diff(other, overlay, changes);
+
+        // compare ResourcePack properties, containers that are not resource packs don't have them
+        final ResourcePackImpl otherPack = other instanceof ResourcePackImpl pack ? pack : null;
+
+        // compare icon
+        final Writable oldIcon = icon;
+        final Writable newIcon = otherPack == null ? null : otherPack.icon;
+        if (oldIcon == null && newIcon != null) {
+            changes.add(new ResourceChange(overlay, ResourceChange.Type.ICON, "pack.png", ResourceChange.Kind.ADDED));
+        } else if (oldIcon != null && newIcon == null) {
+            changes.add(new ResourceChange(overlay, ResourceChange.Type.ICON, "pack.png", ResourceChange.Kind.REMOVED));
+        } else if (!Fingerprints.sameContent(oldIcon, newIcon)) {
+            changes.add(new ResourceChange(overlay, ResourceChange.Type.ICON, "pack.png", ResourceChange.Kind.CHANGED));
+        }
+
+        // compare metadata, by part type
+        final Map<Class<?>, MetadataPart> oldParts = partsByType(metadata());
+        final Map<Class<?>, MetadataPart> newParts = otherPack == null ? Map.of() : partsByType(otherPack.metadata());
+        for (final Map.Entry<Class<?>, MetadataPart> entry : oldParts.entrySet()) {
+            final MetadataPart newPart = newParts.get(entry.getKey());
+            if (newPart == null) {
+                changes.add(new ResourceChange(overlay, ResourceChange.Type.METADATA, entry.getKey().getSimpleName(), ResourceChange.Kind.REMOVED));
+            } else if (!Fingerprints.sameContent(entry.getValue(), newPart)) {
+                changes.add(new ResourceChange(overlay, ResourceChange.Type.METADATA, entry.getKey().getSimpleName(), ResourceChange.Kind.CHANGED));
+            }
+        }
+        for (final Class<?> type : newParts.keySet()) {
+            if (!oldParts.containsKey(type)) {
+                changes.add(new ResourceChange(overlay, ResourceChange.Type.METADATA, type.getSimpleName(), ResourceChange.Kind.ADDED));
+            }
+        }
+
+        // compare overlays, the contents of added or removed overlays are
+        // compared against an empty one
+        final Map<String, Overlay> newOverlays = otherPack == null ? Map.of() : otherPack.overlays;
+        for (final Overlay oldOverlay : overlays.values()) {
+            final Overlay newOverlay = newOverlays.get(oldOverlay.directory());
+            if (newOverlay == null) {
+                changes.add(new ResourceChange(null, ResourceChange.Type.OVERLAY, oldOverlay.directory(), ResourceChange.Kind.REMOVED));
+                ResourceContainerImpl.of(oldOverlay).diff(new ResourceContainerImpl(), oldOverlay.directory(), changes);
+            } else {
+                ResourceContainerImpl.of(oldOverlay).diff(ResourceContainerImpl.of(newOverlay), oldOverlay.directory(), changes);
+            }
+        }
+        for (final Overlay newOverlay : newOverlays.values()) {
+            if (!overlays.containsKey(newOverlay.directory())) {
+                changes.add(new ResourceChange(null, ResourceChange.Type.OVERLAY, newOverlay.directory(), ResourceChange.Kind.ADDED));
+                new ResourceContainerImpl().diff(ResourceContainerImpl.of(newOverlay), newOverlay.directory(), changes);
+            }
+        }
+    }
+
+    private static @NotNull Map<Class<?>, MetadataPart> partsByType(final @NotNull Metadata metadata) {
+        final Map<Class<?>, MetadataPart> parts = new LinkedHashMap<>();
+        for (final MetadataPart part : metadata.parts()) {
+            parts.put(part.type(), part);
+        }
+        return parts;
+    }
+
     @Override
     public void merge(final @NotNull ResourceContainer other, final @NotNull MergeStrategy strategy) {
+        checkWritable();
         super.merge(other, strategy);
 
         if (!(other instanceof ResourcePack otherPack)) {
@@ -96,7 +218,25 @@ final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePa
         }
 
         // merge ResourcePack properties
+        synchronized (this) {
+            mergeProperties(otherPack, strategy);
+        }
 
+        // merge overlays
+        for (final Overlay overlay : otherPack.overlays()) {
+            if (concurrent) {
+                // merge into a concurrent overlay, so that it can still be modified concurrently
+                overlays.computeIfAbsent(overlay.directory(), Overlay::concurrent).merge(overlay, strategy);
+                continue;
+            }
+            final Overlay existingOverlay = overlays.putIfAbsent(overlay.directory(), overlay);
+            if (existingOverlay != null) {
+                existingOverlay.merge(overlay, strategy);
+            }
+        }
+    }
+
+    private void mergeProperties(final @NotNull ResourcePack otherPack, final @NotNull MergeStrategy strategy) {
         // merge icon
         final Writable newIcon = otherPack.icon();
         if (strategy == MergeStrategy.override()) {
@@ -104,7 +244,7 @@ final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePa
                 icon = newIcon;
             }
         } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-            if (newIcon != null && icon != null) {
+            if (newIcon != null && icon != null && !Fingerprints.sameContent(icon, newIcon)) {
                 throw new IllegalStateException("Can't merge resource packs, icons are already set for both packs");
             } else if (newIcon != null) {
                 icon = newIcon;
@@ -143,7 +283,7 @@ final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePa
                 }
                 boolean duplicate = false;
                 for (final MetadataPart oldPart : oldParts) {
-                    if (oldPart.type() == part.type()) {
+                    if (oldPart.type() == part.type() && !oldPart.equals(part)) {
                         duplicate = true;
                         break;
                     }
@@ -159,14 +299,146 @@ final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePa
                     .parts(oldParts)
                     .build();
         }
+    }
 
-        // merge overlays
-        for (final Overlay overlay : otherPack.overlays()) {
-            final Overlay existingOverlay = overlays.get(overlay.directory());
+    @Override
+    public void prepareMerge(
+            final @NotNull List<? extends ResourceContainer> containers,
+            final int @NotNull [] sources,
+            final @NotNull MergeStrategy strategy,
+            final @Nullable String overlay,
+            final @NotNull List<MergeTask> tasks
+    ) {
+        checkWritable();
+        super.prepareMerge(containers, sources, strategy, overlay, tasks);
+
+        // merge ResourcePack properties, only other resource packs have them
+        final List<Contribution<ResourcePack>> packs = new ArrayList<>(containers.size());
+        for (int i = 0; i < containers.size(); i++) {
+            if (containers.get(i) instanceof ResourcePack pack) {
+                packs.add(new Contribution<>(sources[i], pack));
+            }
+        }
+        final boolean override = strategy == MergeStrategy.override();
+
+        // merge icon
+        tasks.add(conflicts -> {
+            final List<Integer> iconSources = new ArrayList<>();
+            Writable newIcon = null;
+            boolean conflicting = false;
+            for (final Contribution<ResourcePack> pack : packs) {
+                final Writable packIcon = pack.value().icon();
+                if (packIcon == null) {
+                    continue;
+                }
+                iconSources.add(pack.source());
+                if (newIcon == null) {
+                    newIcon = packIcon;
+                } else if (override) {
+                    // the last one wins, the contents are not compared
+                    conflicting |= newIcon != packIcon;
+                    newIcon = packIcon;
+                } else if (!Fingerprints.sameContent(newIcon, packIcon)) {
+                    // identical icons are not conflicts
+                    conflicting = true;
+                }
+            }
+            if (conflicting) {
+                conflicts.add(new MergeConflict(overlay, MergeConflict.Type.ICON, "pack.png", iconSources));
+            }
+            final Writable result = newIcon;
+            return () -> icon(result);
+        });
+
+        // merge metadata, parts are resolved by type
+        tasks.add(conflicts -> {
+            final Map<Class<?>, MetadataPart> parts = new LinkedHashMap<>();
+            final Map<Class<?>, List<Integer>> partSources = new LinkedHashMap<>();
+            final Set<Class<?>> conflicting = new HashSet<>();
+            for (final Contribution<ResourcePack> pack : packs) {
+                for (final MetadataPart part : pack.value().metadata().parts()) {
+                    final MetadataPart oldPart = parts.get(part.type());
+                    if (part.type() == PackMeta.class && oldPart != null && !override) {
+                        // merge formats, keep receptor resource pack description
+                        final PackMeta oldPackMeta = (PackMeta) oldPart;
+                        parts.put(PackMeta.class, PackMeta.of(
+                                oldPackMeta.formats().union(((PackMeta) part).formats()),
+                                oldPackMeta.description() // keep base description
+                        ));
+                        continue;
+                    }
+                    partSources.computeIfAbsent(part.type(), k -> new ArrayList<>()).add(pack.source());
+                    if (oldPart == null) {
+                        parts.put(part.type(), part);
+                    } else if (!oldPart.equals(part)) {
+                        conflicting.add(part.type());
+                    }
+                }
+            }
+            for (final Map.Entry<Class<?>, List<Integer>> entry : partSources.entrySet()) {
+                if (conflicting.contains(entry.getKey())) {
+                    conflicts.add(new MergeConflict(overlay, MergeConflict.Type.METADATA, entry.getKey().getSimpleName(), entry.getValue()));
+                }
+            }
+            // when overriding, the metadata of the last resource pack is used as-is
+            final Metadata result = override
+                    ? packs.get(packs.size() - 1).value().metadata()
+                    : Metadata.metadata().parts(parts.values()).build();
+            return () -> metadata(result);
+        });
+
+        // merge overlays, each overlay directory is merged once
+        final Map<String, List<Contribution<Overlay>>> overlaysByDirectory = new LinkedHashMap<>();
+        for (final Contribution<ResourcePack> pack : packs) {
+            for (final Overlay packOverlay : pack.value().overlays()) {
+                overlaysByDirectory.computeIfAbsent(packOverlay.directory(), k -> new ArrayList<>())
+                        .add(new Contribution<>(pack.source(), packOverlay));
+            }
+        }
+        for (final Map.Entry<String, List<Contribution<Overlay>>> entry : overlaysByDirectory.entrySet()) {
+            @Subst("dir")
+            final String directory = entry.getKey();
+            final List<Contribution<Overlay>> contributions = entry.getValue();
+            final Overlay existingOverlay = overlays.get(directory);
+
+            if (existingOverlay == null && contributions.size() == 1) {
+                // only in one of the other packs, just add it
+                final Overlay newOverlay = contributions.get(0).value();
+                tasks.add(conflicts -> () -> overlays.put(directory, newOverlay));
+                continue;
+            }
+
+            final Overlay target;
             if (existingOverlay == null) {
-                overlays.put(overlay.directory(), overlay);
+                // merge into a new overlay, so that the merged ones are not modified
+                target = concurrent ? Overlay.concurrent(directory) : Overlay.overlay(directory);
+                tasks.add(conflicts -> () -> overlays.put(directory, target));
             } else {
-                existingOverlay.merge(overlay, strategy);
+                target = existingOverlay;
+            }
+
+            final List<ResourceContainer> overlayContainers = new ArrayList<>(contributions.size() + 1);
+            final int[] overlaySources = new int[contributions.size() + 1];
+            overlayContainers.add(target);
+            overlaySources[0] = sources[0];
+            int i = 1;
+            for (final Contribution<Overlay> contribution : contributions) {
+                if (contribution.value() == existingOverlay) {
+                    continue;
+                }
+                overlayContainers.add(contribution.value());
+                overlaySources[i++] = contribution.source();
+            }
+
+            if (target instanceof ResourceContainerImpl targetImpl) {
+                targetImpl.prepareMerge(overlayContainers, Arrays.copyOf(overlaySources, i), strategy, directory, tasks);
+            } else {
+                // unknown implementation, merge one by one
+                tasks.add(conflicts -> () -> {
+                    for (final ResourceContainer overlayContainer : overlayContainers.subList(1, overlayContainers.size())) {
+                        target.merge(overlayContainer, strategy);
+                    }
+                });
             }
         }
     }
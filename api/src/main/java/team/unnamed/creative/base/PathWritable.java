@@ -0,0 +1,94 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Writable} that reads its data from a file every time it
+ * is written, so its data changes when the file changes.
+ *
+ * @see Writable#path(Path, OpenOption...)
+ * @see Writable#file(java.io.File)
+ * @since 1.11.6
+ */
+@ApiStatus.Internal
+public final class PathWritable implements Writable {
+    private final Path path;
+    private final OpenOption[] options;
+
+    PathWritable(final @NotNull Path path, final @NotNull OpenOption @NotNull ... options) {
+        this.path = requireNonNull(path, "path");
+        this.options = requireNonNull(options, "options").clone();
+    }
+
+    /**
+     * Returns the file this writable reads its data from.
+     *
+     * @return The file path
+     */
+    public @NotNull Path path() {
+        return path;
+    }
+
+    /**
+     * Reads the attributes of the file, following symbolic links
+     * unless this writable was created with {@link LinkOption#NOFOLLOW_LINKS}.
+     *
+     * @return The file attributes
+     * @throws IOException If reading the attributes fails
+     */
+    public @NotNull BasicFileAttributes attributes() throws IOException {
+        final LinkOption[] linkOptions = Arrays.asList(options).contains(LinkOption.NOFOLLOW_LINKS)
+                ? new LinkOption[]{LinkOption.NOFOLLOW_LINKS}
+                : new LinkOption[0];
+        return Files.readAttributes(path, BasicFileAttributes.class, linkOptions);
+    }
+
+    @Override
+    public void write(final @NotNull OutputStream output) throws IOException {
+        requireNonNull(output, "output");
+        try (final InputStream input = Files.newInputStream(path, options)) {
+            input.transferTo(output);
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Writable.path(" + path + ")";
+    }
+}
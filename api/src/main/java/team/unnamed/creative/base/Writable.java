@@ -50,7 +50,7 @@ import static java.util.Objects.requireNonNull;
 @FunctionalInterface
 public interface Writable {
 
-    Writable EMPTY = new Writable() {
+    Writable EMPTY = new ImmutableWritable() {
 
         @Override
         public void write(final @NotNull OutputStream output) {
@@ -142,7 +142,7 @@ public interface Writable {
      */
     static @NotNull Writable file(final @NotNull File file) {
         requireNonNull(file, "file");
-        return inputStream(() -> Files.newInputStream(file.toPath()));
+        return new PathWritable(file.toPath());
     }
 
     /**
@@ -158,7 +158,7 @@ public interface Writable {
     static @NotNull Writable path(final @NotNull Path path, final @NotNull OpenOption @NotNull ... options) {
         requireNonNull(path, "path");
         requireNonNull(options, "options");
-        return inputStream(() -> Files.newInputStream(path, options));
+        return new PathWritable(path, options);
     }
 
     /**
@@ -210,7 +210,7 @@ public interface Writable {
             output.write(buf, 0, len);
         }
         final byte[] bytes = output.toByteArray();
-        return new Writable() {
+        return new ImmutableWritable() {
 
             @Override
             public void write(final @NotNull OutputStream output) throws IOException {
@@ -242,7 +242,7 @@ public interface Writable {
      */
     static @NotNull Writable bytes(final byte @NotNull [] bytes) {
         final byte[] b = bytes.clone();
-        return new Writable() {
+        return new ImmutableWritable() {
 
             @Override
             public void write(final @NotNull OutputStream output) throws IOException {
@@ -275,7 +275,7 @@ public interface Writable {
     static @NotNull Writable stringUtf8(final @NotNull String string) {
         requireNonNull(string, "string");
         final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
-        return new Writable() {
+        return new ImmutableWritable() {
 
             @Override
             public void write(final @NotNull OutputStream output) throws IOException {
@@ -0,0 +1,185 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.font;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Indexes the glyphs of fonts by codepoint, used to merge fonts
+ * without adding glyphs that are never used.
+ *
+ * <p>The client uses the first font provider that defines a glyph for a
+ * codepoint, so glyphs from later providers are shadowed. Only the glyphs
+ * of bitmap and space providers are known, true type, unihex and reference
+ * providers are never considered to define or shadow any glyph.</p>
+ */
+@ApiStatus.Internal
+public final class FontGlyphIndex {
+
+    private FontGlyphIndex() {
+    }
+
+    /**
+     * Gets the codepoints the given provider defines glyphs for.
+     *
+     * @param provider The font provider
+     * @return The codepoints, or null if they are not known for this provider
+     */
+    public static @Nullable BitSet codepoints(final @NotNull FontProvider provider) {
+        requireNonNull(provider, "provider");
+        final BitSet codepoints = new BitSet();
+        if (provider instanceof BitMapFontProvider bitMap) {
+            for (final String row : bitMap.characters()) {
+                row.codePoints()
+                        // U+0000 is used for empty cells
+                        .filter(codepoint -> codepoint != 0)
+                        .forEach(codepoints::set);
+            }
+            return codepoints;
+        } else if (provider instanceof SpaceFontProvider space) {
+            for (final String character : space.advances().keySet()) {
+                character.codePoints().forEach(codepoints::set);
+            }
+            return codepoints;
+        } else {
+            // unknown glyphs, e.g. true type fonts
+            return null;
+        }
+    }
+
+    /**
+     * Merges the providers of the given fonts, in order.
+     *
+     * <p>Providers equal to an already added one, and providers whose glyphs
+     * are all shadowed by the providers of previous fonts, are not added. Glyphs
+     * that a font defines for a codepoint already defined by a previous font are
+     * reported to the given listener, in the merged font, the glyph of the first
+     * font is used.</p>
+     *
+     * @param fonts The providers of each font, in order
+     * @param listener The listener for duplicated glyphs
+     * @return The merged providers
+     */
+    public static @NotNull List<FontProvider> merge(
+            final @NotNull List<? extends List<FontProvider>> fonts,
+            final @NotNull CollisionListener listener
+    ) {
+        requireNonNull(fonts, "fonts");
+        requireNonNull(listener, "listener");
+
+        final List<FontProvider> providers = new ArrayList<>();
+        final Set<FontProvider> added = new HashSet<>();
+
+        // the codepoints defined by each font, and by all the previous fonts
+        final List<BitSet> definedByFont = new ArrayList<>(fonts.size());
+        final BitSet definedBefore = new BitSet();
+
+        for (int font = 0; font < fonts.size(); font++) {
+            final BitSet defined = new BitSet();
+            final BitSet collided = new BitSet();
+            for (final FontProvider provider : fonts.get(font)) {
+                if (font > 0 && added.contains(provider)) {
+                    // exactly the same provider, e.g. from a shared font
+                    continue;
+                }
+
+                final BitSet codepoints = codepoints(provider);
+                if (codepoints == null || font == 0) {
+                    if (codepoints != null) {
+                        defined.or(codepoints);
+                    }
+                    providers.add(provider);
+                    added.add(provider);
+                    continue;
+                }
+
+                // glyphs also defined by previous fonts, reported once per font
+                final BitSet collisions = (BitSet) codepoints.clone();
+                collisions.and(definedBefore);
+                collisions.andNot(collided);
+                collided.or(collisions);
+                for (int codepoint = collisions.nextSetBit(0); codepoint >= 0; codepoint = collisions.nextSetBit(codepoint + 1)) {
+                    for (int previous = 0; previous < font; previous++) {
+                        if (definedByFont.get(previous).get(codepoint)) {
+                            listener.collision(codepoint, previous, font);
+                            break;
+                        }
+                    }
+                }
+
+                // check whether the provider adds any glyph
+                final BitSet remaining = (BitSet) codepoints.clone();
+                remaining.andNot(definedBefore);
+                remaining.andNot(defined);
+                if (remaining.isEmpty() && !codepoints.isEmpty()) {
+                    // fully shadowed, the client would never use it
+                    continue;
+                }
+
+                defined.or(codepoints);
+                providers.add(provider);
+                added.add(provider);
+            }
+            definedByFont.add(defined);
+            definedBefore.or(defined);
+        }
+        return providers;
+    }
+
+    /**
+     * Formats the given codepoint, e.g. {@code U+E001}.
+     *
+     * @param codepoint The codepoint
+     * @return The formatted codepoint
+     */
+    public static @NotNull String format(final int codepoint) {
+        return String.format("U+%04X", codepoint);
+    }
+
+    /**
+     * Listens for glyphs defined by more than one font.
+     */
+    @FunctionalInterface
+    public interface CollisionListener {
+        /**
+         * Called when a font defines a glyph for a codepoint
+         * that was already defined by a previous font.
+         *
+         * @param codepoint The codepoint
+         * @param first The index of the font that defined it first
+         * @param font The index of the font that defines it again
+         */
+        void collision(final int codepoint, final int first, final int font);
+    }
+}
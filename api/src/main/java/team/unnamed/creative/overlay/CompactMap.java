@@ -0,0 +1,191 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact, read-only and insertion-ordered map. Keys and values are
+ * stored in two arrays, in order, indexed by an open-addressing hash
+ * table of array positions, so it takes a fraction of the memory of
+ * a {@link java.util.LinkedHashMap} and has no per-entry objects.
+ *
+ * <p>Values can only be {@link #replace(Object, Object, Object) replaced},
+ * so that lazy resources are replaced by their loaded value.</p>
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+final class CompactMap<K, V> extends AbstractMap<K, V> {
+
+    private static final CompactMap<?, ?> EMPTY = new CompactMap<>(new Object[0], new Object[0], new int[1]);
+
+    private final Object[] keys;
+    private final Object[] values;
+    // position + 1 of the entry in the arrays, 0 for empty slots
+    private final int[] table;
+
+    private @Nullable Set<Map.Entry<K, V>> entrySet;
+
+    private CompactMap(final Object @NotNull [] keys, final Object @NotNull [] values, final int @NotNull [] table) {
+        this.keys = keys;
+        this.values = values;
+        this.table = table;
+    }
+
+    /**
+     * Creates a compact copy of the given map, keeping its
+     * iteration order.
+     *
+     * @param map The copied map
+     * @param <K> The key type
+     * @param <V> The value type
+     * @return The compact copy
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> @NotNull CompactMap<K, V> copyOf(final @NotNull Map<? extends K, ? extends V> map) {
+        final Object[] keys = new Object[map.size()];
+        final Object[] values = new Object[keys.length];
+        int size = 0;
+        for (final Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            if (size == keys.length) {
+                // the map grew while copying, only possible for concurrent maps
+                break;
+            }
+            keys[size] = entry.getKey();
+            values[size] = entry.getValue();
+            size++;
+        }
+        if (size == 0) {
+            return (CompactMap<K, V>) EMPTY;
+        }
+
+        // keep the load factor at or under 0.5, so that probe sequences are short
+        final int[] table = new int[Integer.highestOneBit(size) << 2];
+        final int mask = table.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hash(keys[i]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+        return size == keys.length
+                ? new CompactMap<>(keys, values, table)
+                : new CompactMap<>(Arrays.copyOf(keys, size), Arrays.copyOf(values, size), table);
+    }
+
+    private static int hash(final Object key) {
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private int indexOf(final @Nullable Object key) {
+        if (key == null) {
+            return -1;
+        }
+        final int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        int position;
+        while ((position = table[slot]) != 0) {
+            if (keys[position - 1].equals(key)) {
+                return position - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        final int index = indexOf(key);
+        return index == -1 ? null : (V) values[index];
+    }
+
+    @Override
+    public boolean replace(final K key, final V oldValue, final V newValue) {
+        final int index = indexOf(key);
+        if (index == -1 || !Objects.equals(values[index], oldValue)) {
+            return false;
+        }
+        values[index] = newValue;
+        return true;
+    }
+
+    @Override
+    public @NotNull Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public @NotNull Iterator<Map.Entry<K, V>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.length;
+                        }
+
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public Map.Entry<K, V> next() {
+                            if (next >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            final int index = next++;
+                            return new SimpleImmutableEntry<>((K) keys[index], (V) values[index]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+        return entrySet;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Writable;
+
+/**
+ * Represents a resource that has been located but not loaded
+ * yet, it is only loaded the first time it is accessed.
+ *
+ * @param <T> The resource type
+ * @since 1.11.6
+ */
+@ApiStatus.Internal
+public interface LazyResource<T> {
+    /**
+     * Returns the path of this resource, relative to the
+     * resource container it belongs to, for example
+     * {@code assets/minecraft/models/item/diamond.json}.
+     *
+     * @return The resource path
+     * @since 1.11.6
+     */
+    @NotNull String path();
+
+    /**
+     * Returns the data this resource was located from, so it
+     * can be written back as-is if it is never loaded.
+     *
+     * @return The resource source data
+     * @since 1.11.6
+     */
+    @NotNull Writable source();
+
+    /**
+     * Returns the pack format of the resource container this
+     * resource was read from, the {@link #source() source data}
+     * follows the format of this pack format.
+     *
+     * @return The pack format, or -1 if unknown
+     * @since 1.11.6
+     */
+    default int packFormat() {
+        return -1;
+    }
+
+    /**
+     * Loads the resource from its source. Note that this method
+     * does not cache the result, every call loads it again.
+     *
+     * @return The loaded resource
+     * @since 1.11.6
+     */
+    @NotNull T load();
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * A collection of resources that may contain lazy resources,
+ * which are loaded when they are first accessed.
+ *
+ * <p>Returned by the resource container for the resource
+ * kinds that support lazy loading.</p>
+ *
+ * @param <T> The resource type
+ * @since 1.11.6
+ */
+@ApiStatus.Internal
+public interface LazyResourceCollection<T> extends Collection<T> {
+    /**
+     * Adds a lazy resource with the given key, replacing any
+     * resource previously registered with that key.
+     *
+     * @param key The resource key
+     * @param resource The lazy resource
+     * @since 1.11.6
+     */
+    void addLazy(final @NotNull Key key, final @NotNull LazyResource<? extends T> resource);
+
+    /**
+     * Returns a view of the resources that have not been
+     * loaded yet.
+     *
+     * @return The resources that have not been loaded
+     * @since 1.11.6
+     */
+    @NotNull Collection<LazyResource<? extends T>> unloaded();
+
+    /**
+     * Performs the given actions for every resource in this
+     * collection, in order, without loading any of them.
+     *
+     * @param loaded The action for resources that are loaded
+     * @param unloaded The action for resources that are not loaded yet
+     * @since 1.11.6
+     */
+    void forEach(final @NotNull Consumer<? super T> loaded, final @NotNull Consumer<? super LazyResource<? extends T>> unloaded);
+}
@@ -0,0 +1,556 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.resources.ResourceChange;
+import team.unnamed.creative.util.Fingerprints;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Insertion-ordered map of resources whose values may be
+ * {@link LazyResource lazy resources}. Lazy resources are loaded
+ * when they are first accessed and replaced in place by the loaded
+ * value, so they are loaded at most once. Entries that other threads
+ * may be reading (read-only maps, and entries shared with snapshots)
+ * are never modified, the loaded values are kept in a separate
+ * thread-safe cache instead.
+ *
+ * <p>Checking for a key, removing it or counting the entries never
+ * loads a resource.</p>
+ *
+ * <p>{@link #snapshot() Snapshots} share the entries with this map,
+ * which are copied the first time this map is modified afterwards
+ * (copy-on-write), so taking a snapshot is O(1). Snapshots can't be
+ * modified, and can be read by other threads while this map is being
+ * modified. Otherwise, this class is not thread-safe.</p>
+ *
+ * <p>{@link #freeze() Frozen} maps are read-only and store their
+ * entries in a {@link CompactMap}, for resources that are kept for
+ * a long time but not modified anymore.</p>
+ *
+ * <p>{@link #concurrent() Concurrent} maps are thread-safe instead,
+ * they are sorted by key, so that iteration order doesn't depend on
+ * the order resources were added in, and their snapshots are copies.</p>
+ *
+ * @param <K> The key type
+ * @param <V> The resource type
+ */
+final class LazyResourceMap<K, V> {
+
+    // values are either V or LazyResource<? extends V>
+    private Map<K, Object> entries;
+    // whether the entries are shared with a snapshot and
+    // must be copied before being modified
+    private boolean shared;
+    private final boolean readOnly;
+    private final boolean concurrent;
+    // loaded values of lazy resources that couldn't be replaced in place,
+    // only valid while the key is still associated to the same lazy resource
+    private final Map<K, Loaded<V>> loaded = new ConcurrentHashMap<>();
+
+    private final Values values = new Values();
+    private @Nullable MapView map;
+
+    LazyResourceMap() {
+        this(new LinkedHashMap<>(), false, false);
+    }
+
+    private LazyResourceMap(final @NotNull Map<K, Object> entries, final boolean readOnly, final boolean concurrent) {
+        this.entries = entries;
+        this.readOnly = readOnly;
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * Creates a thread-safe map, sorted by key.
+     *
+     * @param <K> The key type
+     * @param <V> The resource type
+     * @return The created map
+     */
+    static <K extends Comparable<? super K>, V> @NotNull LazyResourceMap<K, V> concurrent() {
+        return new LazyResourceMap<>(new ConcurrentSkipListMap<>(), false, true);
+    }
+
+    /**
+     * Returns a read-only snapshot of this map, later
+     * modifications of this map are not visible in it.
+     *
+     * @return The snapshot
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull LazyResourceMap<K, V> snapshot() {
+        if (readOnly) {
+            return this;
+        }
+        if (concurrent) {
+            // entries may be modified at any time, so they can't be shared. Note
+            // that the copy is weakly consistent, resources added while copying
+            // may or may not be included
+            return new LazyResourceMap<>(new ConcurrentSkipListMap<>((ConcurrentSkipListMap<K, Object>) entries), true, true);
+        }
+        shared = true;
+        return new LazyResourceMap<>(entries, true, false);
+    }
+
+    /**
+     * Returns a read-only and compact copy of this map, the
+     * lazy resources are copied as-is, without loading them.
+     *
+     * @return The compact copy
+     */
+    @NotNull LazyResourceMap<K, V> freeze() {
+        if (readOnly && entries instanceof CompactMap<?, ?>) {
+            return this;
+        }
+        return new LazyResourceMap<>(CompactMap.copyOf(entries), true, false);
+    }
+
+    private @NotNull Map<K, Object> writableEntries() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Resource snapshots can't be modified");
+        }
+        if (shared) {
+            entries = new LinkedHashMap<>(entries);
+            shared = false;
+            // the entries are ours now, move the values loaded meanwhile to them
+            for (final Map.Entry<K, Loaded<V>> entry : loaded.entrySet()) {
+                entries.replace(entry.getKey(), entry.getValue().resource(), entry.getValue().value());
+            }
+            loaded.clear();
+        }
+        return entries;
+    }
+
+    @Nullable V get(final @NotNull Object key) {
+        final Map<K, Object> entries = this.entries;
+        final Object value = entries.get(key);
+        if (value instanceof LazyResource<?>) {
+            return load(cast(key), value, entries);
+        }
+        @SuppressWarnings("unchecked") final V resource = (V) value;
+        return resource;
+    }
+
+    /**
+     * Loads the given lazy resource, associated to the given key in the
+     * given entries, which are either the current entries or entries being
+     * iterated, and remembers the loaded value.
+     */
+    private V load(final @NotNull K key, final @NotNull Object resource, final @NotNull Map<K, Object> from) {
+        if (from == entries && !readOnly && (concurrent || !shared)) {
+            // nobody else can see these entries (or they are thread-safe), replacing
+            // the value of an existing key keeps the insertion order
+            final V value = load(resource);
+            // if another thread loaded it first, the resources are equal anyway
+            from.replace(key, resource, value);
+            return value;
+        }
+        // other threads may be reading these entries, don't touch them
+        final Loaded<V> cached = loaded.get(key);
+        if (cached != null && cached.resource() == resource) {
+            return cached.value();
+        }
+        final V value = load(resource);
+        loaded.put(key, new Loaded<>(resource, value));
+        return value;
+    }
+
+    void put(final @NotNull K key, final @NotNull V value) {
+        writableEntries().put(key, value);
+    }
+
+    /**
+     * Merges the given value with the value currently associated
+     * with the key, if any, using the given function, atomically for
+     * concurrent maps. The function may be called more than once.
+     *
+     * @param key The key
+     * @param value The value, used as-is if there is no value
+     * @param merger The function that merges the current value with the given one
+     */
+    void merge(final @NotNull K key, final @NotNull V value, final @NotNull BinaryOperator<V> merger) {
+        writableEntries().merge(key, value, (oldValue, newValue) -> merger.apply(
+                oldValue instanceof LazyResource<?> ? load(oldValue) : cast(oldValue),
+                value
+        ));
+    }
+
+    /**
+     * Compares this map, the old version, with the given one, the new
+     * version. Resources are only loaded if needed to compare them, not
+     * if they are the same object or lazy resources with the same data.
+     *
+     * @param other The new version
+     * @param consumer The consumer of each changed key
+     */
+    void diff(final @NotNull LazyResourceMap<K, V> other, final @NotNull BiConsumer<K, ResourceChange.Kind> consumer) {
+        final Map<K, Object> oldEntries = entries;
+        final Map<K, Object> newEntries = other.entries;
+        for (final Map.Entry<K, Object> entry : oldEntries.entrySet()) {
+            final K key = entry.getKey();
+            final Object newValue = newEntries.get(key);
+            if (newValue == null) {
+                consumer.accept(key, ResourceChange.Kind.REMOVED);
+            } else if (!sameContent(key, entry.getValue(), other, newValue)) {
+                consumer.accept(key, ResourceChange.Kind.CHANGED);
+            }
+        }
+        for (final K key : newEntries.keySet()) {
+            if (!oldEntries.containsKey(key)) {
+                consumer.accept(key, ResourceChange.Kind.ADDED);
+            }
+        }
+    }
+
+    private boolean sameContent(final @NotNull K key, final @NotNull Object oldValue, final @NotNull LazyResourceMap<K, V> other, final @NotNull Object newValue) {
+        if (oldValue == newValue) {
+            return true;
+        }
+        if (oldValue instanceof LazyResource<?> oldResource && newValue instanceof LazyResource<?> newResource
+                && Fingerprints.sameContent(oldResource.source(), newResource.source())) {
+            // same data, no need to load them
+            return true;
+        }
+        return Fingerprints.sameContent(
+                oldValue instanceof LazyResource<?> ? get(key) : oldValue,
+                newValue instanceof LazyResource<?> ? other.get(key) : newValue
+        );
+    }
+
+    boolean containsKey(final @NotNull Object key) {
+        return entries.containsKey(key);
+    }
+
+    boolean remove(final @NotNull Object key) {
+        if (!entries.containsKey(key)) {
+            // avoid copying shared entries when there is nothing to remove
+            return false;
+        }
+        return writableEntries().remove(key) != null;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    @NotNull LazyResourceCollection<V> values() {
+        return values;
+    }
+
+    /**
+     * Returns a {@link Map} view of this map, lazy
+     * resources are loaded when accessed through it.
+     *
+     * @return The map view
+     */
+    @NotNull Map<K, V> asMap() {
+        if (map == null) {
+            map = new MapView();
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V load(final Object value) {
+        return requireNonNull(((LazyResource<? extends V>) value).load(), "Lazy resource loaded null");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(final Object object) {
+        return (T) object;
+    }
+
+    /**
+     * Iterates over the entries, loading lazy resources. Removing
+     * entries from shared entries copies them first, iteration then
+     * continues over the original entries, which don't change.
+     */
+    private final class EntryIterator {
+        private final Map<K, Object> iterated = entries;
+        private final Iterator<Map.Entry<K, Object>> delegate = iterated.entrySet().iterator();
+        private @Nullable K lastKey;
+        private @Nullable V lastValue;
+
+        boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @NotNull K next() {
+            final Map.Entry<K, Object> entry = delegate.next();
+            final Object value = entry.getValue();
+            if (value instanceof LazyResource<?>) {
+                lastValue = load(entry.getKey(), value, iterated);
+            } else {
+                lastValue = cast(value);
+            }
+            lastKey = entry.getKey();
+            return lastKey;
+        }
+
+        V value() {
+            return lastValue;
+        }
+
+        void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            if (iterated == entries && !shared && !readOnly) {
+                delegate.remove();
+            } else {
+                writableEntries().remove(lastKey);
+            }
+            lastKey = null;
+        }
+    }
+
+    private record Loaded<V>(@NotNull Object resource, @NotNull V value) {
+    }
+
+    private final class Values extends AbstractCollection<V> implements LazyResourceCollection<V> {
+
+        private final Collection<LazyResource<? extends V>> unloaded = new UnloadedView();
+
+        @Override
+        public @NotNull Iterator<V> iterator() {
+            final EntryIterator delegate = new EntryIterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return delegate.hasNext();
+                }
+
+                @Override
+                public V next() {
+                    delegate.next();
+                    return delegate.value();
+                }
+
+                @Override
+                public void remove() {
+                    delegate.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            if (readOnly) {
+                throw new UnsupportedOperationException("Resource snapshots can't be modified");
+            }
+            if (concurrent) {
+                entries.clear();
+            } else {
+                entries = new LinkedHashMap<>();
+                shared = false;
+            }
+            loaded.clear();
+        }
+
+        @Override
+        public void addLazy(final @NotNull Key key, final @NotNull LazyResource<? extends V> resource) {
+            requireNonNull(key, "key");
+            requireNonNull(resource, "resource");
+            writableEntries().put(cast(key), resource);
+        }
+
+        @Override
+        public @NotNull Collection<LazyResource<? extends V>> unloaded() {
+            return unloaded;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(final @NotNull Consumer<? super V> loaded, final @NotNull Consumer<? super LazyResource<? extends V>> unloaded) {
+            requireNonNull(loaded, "loaded");
+            requireNonNull(unloaded, "unloaded");
+            for (final Object value : entries.values()) {
+                if (value instanceof LazyResource<?>) {
+                    unloaded.accept((LazyResource<? extends V>) value);
+                } else {
+                    loaded.accept((V) value);
+                }
+            }
+        }
+    }
+
+    // view over the lazy resources that are not loaded yet, never loads anything
+    private final class UnloadedView extends AbstractCollection<LazyResource<? extends V>> {
+        @Override
+        public @NotNull Iterator<LazyResource<? extends V>> iterator() {
+            final Iterator<Object> delegate = entries.values().iterator();
+            return new Iterator<>() {
+                private @Nullable Object next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && delegate.hasNext()) {
+                        final Object candidate = delegate.next();
+                        if (candidate instanceof LazyResource<?>) {
+                            next = candidate;
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public LazyResource<? extends V> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final Object value = next;
+                    next = null;
+                    return (LazyResource<? extends V>) value;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (final Object value : entries.values()) {
+                if (value instanceof LazyResource<?>) {
+                    size++;
+                }
+            }
+            return size;
+        }
+    }
+
+    private final class MapView extends AbstractMap<K, V> {
+        private final Set<Map.Entry<K, V>> entrySet = new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Map.Entry<K, V>> iterator() {
+                final EntryIterator delegate = new EntryIterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return delegate.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        final K key = delegate.next();
+                        return new SimpleEntry<>(key, delegate.value()) {
+                            @Override
+                            public V setValue(final V value) {
+                                requireNonNull(value, "value");
+                                put(key, value);
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        delegate.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+
+            @Override
+            public void clear() {
+                values.clear();
+            }
+        };
+
+        @Override
+        public @NotNull Set<Map.Entry<K, V>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return entries.containsKey(key);
+        }
+
+        @Override
+        public V get(final Object key) {
+            return LazyResourceMap.this.get(key);
+        }
+
+        @Override
+        public V put(final K key, final V value) {
+            requireNonNull(key, "key");
+            requireNonNull(value, "value");
+            final Object previous = writableEntries().put(key, value);
+            return previous instanceof LazyResource<?> ? load(previous) : cast(previous);
+        }
+
+        @Override
+        public V remove(final Object key) {
+            if (!entries.containsKey(key)) {
+                return null;
+            }
+            final Object previous = writableEntries().remove(key);
+            return previous instanceof LazyResource<?> ? load(previous) : cast(previous);
+        }
+
+        @Override
+        public void clear() {
+            values.clear();
+        }
+    }
+}
@@ -63,6 +63,26 @@ public interface Overlay extends ResourcePackPart, ResourceContainer {
     @Subst("dir")
     @NotNull String directory();
 
+    /**
+     * Returns a read-only snapshot of this overlay.
+     *
+     * @return The snapshot
+     * @see ResourceContainer#snapshot()
+     * @since 1.11.6
+     */
+    @Override
+    @NotNull Overlay snapshot();
+
+    /**
+     * Returns a read-only and compact copy of this overlay.
+     *
+     * @return The frozen copy
+     * @see ResourceContainer#freeze()
+     * @since 1.11.6
+     */
+    @Override
+    @NotNull Overlay freeze();
+
     /**
      * Adds this overlay to the given resource container,
      * which must be a resource pack.
@@ -90,7 +110,26 @@ public interface Overlay extends ResourcePackPart, ResourceContainer {
      * @since 1.1.0
      */
     static @NotNull Overlay overlay(final @NotNull @OverlayEntry.Directory String directory) {
-        return new OverlayImpl(directory);
+        return new OverlayImpl(directory, false);
+    }
+
+    /**
+     * Creates a new thread-safe overlay object that will live
+     * in the given directory name.
+     *
+     * <p>Resources can be added, removed and merged into it from
+     * several threads at once, each of these operations is atomic.
+     * Resources are kept sorted by key instead of in the order
+     * they were added, so that iteration order doesn't depend on
+     * the order threads added them in.</p>
+     *
+     * @param directory The overlay directory name.
+     * @return The created overlay.
+     * @see ResourcePack#concurrent()
+     * @since 1.11.6
+     */
+    static @NotNull Overlay concurrent(final @NotNull @OverlayEntry.Directory String directory) {
+        return new OverlayImpl(directory, true);
     }
 
 }
@@ -31,10 +31,26 @@ final class OverlayImpl extends ResourceContainerImpl implements Overlay {
 
     private final String directory;
 
-    OverlayImpl(final @NotNull String directory) {
+    OverlayImpl(final @NotNull String directory, final boolean concurrent) {
+        super(concurrent);
         this.directory = Objects.requireNonNull(directory, "directory");
     }
 
+    private OverlayImpl(final @NotNull OverlayImpl source, final boolean frozen) {
+        super(source, frozen);
+        this.directory = source.directory;
+    }
+
+    @Override
+    public @NotNull Overlay snapshot() {
+        return new OverlayImpl(this, false);
+    }
+
+    @Override
+    public @NotNull Overlay freeze() {
+        return new OverlayImpl(this, true);
+    }
+
     @Override
     public @NotNull String directory() {
         return directory;
@@ -38,8 +38,12 @@ import team.unnamed.creative.lang.Language;
 import team.unnamed.creative.metadata.Metadata;
 import team.unnamed.creative.model.Model;
 import team.unnamed.creative.part.ResourcePackPart;
+import team.unnamed.creative.resources.MergeConflict;
+import team.unnamed.creative.resources.MergeConflictException;
 import team.unnamed.creative.resources.MergeException;
+import team.unnamed.creative.resources.MergeReport;
 import team.unnamed.creative.resources.MergeStrategy;
+import team.unnamed.creative.resources.ResourceDiff;
 import team.unnamed.creative.sound.Sound;
 import team.unnamed.creative.sound.SoundEvent;
 import team.unnamed.creative.sound.SoundRegistry;
@@ -51,6 +55,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static java.util.Objects.requireNonNull;
 
@@ -773,4 +778,106 @@ public interface ResourceContainer {
      * @since 1.4.0
      */
     void merge(final @NotNull ResourceContainer other, final @NotNull MergeStrategy strategy);
+
+    /**
+     * Merges the given resource containers with this resource
+     * container at once.
+     *
+     * <p>The result is the same as merging them one by one, in order, but
+     * each resource is only resolved once, no matter how many containers
+     * provide it. Instead of failing on the first duplicate, all the
+     * conflicts are collected in the returned report, see {@link MergeConflict}.
+     * If the strategy is {@link MergeStrategy#mergeAndFailOnError()} and there
+     * are conflicts, nothing is merged and a {@link MergeConflictException}
+     * with the report is thrown.</p>
+     *
+     * @param others   The resource containers to merge, in order
+     * @param strategy The merge strategy
+     * @return The merge report
+     * @throws MergeConflictException If there are conflicts and the strategy is
+     *                                {@link MergeStrategy#mergeAndFailOnError()}
+     * @since 1.11.6
+     */
+    default @NotNull MergeReport merge(final @NotNull List<? extends ResourceContainer> others, final @NotNull MergeStrategy strategy) {
+        return merge(others, strategy, null);
+    }
+
+    /**
+     * Merges the given resource containers with this resource
+     * container at once, resolving each type of resource in
+     * parallel using the given executor.
+     *
+     * <p>The containers must not be modified during the merge.</p>
+     *
+     * @param others   The resource containers to merge, in order
+     * @param strategy The merge strategy
+     * @param executor The executor, or null to merge sequentially
+     * @return The merge report
+     * @throws MergeConflictException If there are conflicts and the strategy is
+     *                                {@link MergeStrategy#mergeAndFailOnError()}
+     * @see #merge(List, MergeStrategy)
+     * @since 1.11.6
+     */
+    @NotNull MergeReport merge(
+            final @NotNull List<? extends ResourceContainer> others,
+            final @NotNull MergeStrategy strategy,
+            final @Nullable Executor executor
+    );
+
+    /**
+     * Returns a read-only snapshot of this resource container,
+     * including its unknown files.
+     *
+     * <p>The snapshot shares the resources with this container until
+     * either is modified, so it is taken in constant time, and later
+     * modifications of this container are not visible in it. Any
+     * attempt to modify the snapshot throws an
+     * {@link UnsupportedOperationException}.</p>
+     *
+     * <p>This container must not be modified while the snapshot is
+     * taken, but it can be modified afterwards while the snapshot is
+     * read from other threads, e.g. to write it while resources keep
+     * being registered.</p>
+     *
+     * @return The snapshot
+     * @since 1.11.6
+     */
+    @NotNull ResourceContainer snapshot();
+
+    /**
+     * Returns a read-only and compact copy of this resource container,
+     * including its unknown files, for resources that are kept for a
+     * long time once they are complete.
+     *
+     * <p>The copy stores every kind of resource in plain arrays, in the
+     * same order, indexed by a hash table of positions, so it takes far
+     * less memory than this container and finds resources in constant
+     * time. Resources that are not loaded yet are copied without loading
+     * them. This container is left untouched and can be discarded.</p>
+     *
+     * <p>Any attempt to modify the copy throws an
+     * {@link UnsupportedOperationException}.</p>
+     *
+     * @return The frozen copy
+     * @since 1.11.6
+     */
+    @NotNull ResourceContainer freeze();
+
+    /**
+     * Compares this resource container, the old version, with the
+     * given one, the new version, and returns the added, removed and
+     * changed resources, including unknown files. For resource packs,
+     * the icon, metadata and overlays are compared too.
+     *
+     * <p>Resources are compared by content using fingerprints that are
+     * cached per resource, and resources that are the same object, e.g.
+     * when comparing a resource pack with a {@link #snapshot() snapshot}
+     * of it, are not compared at all. Lazy resources are only loaded if
+     * their data differs.</p>
+     *
+     * @param other The new version
+     * @return The differences
+     * @since 1.11.6
+     */
+    @NotNull ResourceDiff diff(final @NotNull ResourceContainer other);
 }
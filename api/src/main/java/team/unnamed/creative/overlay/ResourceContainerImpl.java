@@ -35,46 +35,122 @@ import team.unnamed.creative.equipment.Equipment;
 import team.unnamed.creative.equipment.EquipmentLayer;
 import team.unnamed.creative.equipment.EquipmentLayerType;
 import team.unnamed.creative.font.Font;
+import team.unnamed.creative.font.FontGlyphIndex;
 import team.unnamed.creative.font.FontProvider;
 import team.unnamed.creative.item.Item;
 import team.unnamed.creative.lang.Language;
 import team.unnamed.creative.model.ItemOverride;
 import team.unnamed.creative.model.Model;
+import team.unnamed.creative.resources.MergeConflict;
+import team.unnamed.creative.resources.MergeConflictException;
 import team.unnamed.creative.resources.MergeException;
+import team.unnamed.creative.resources.MergeReport;
 import team.unnamed.creative.resources.MergeStrategy;
+import team.unnamed.creative.resources.ResourceChange;
+import team.unnamed.creative.resources.ResourceDiff;
 import team.unnamed.creative.sound.Sound;
 import team.unnamed.creative.sound.SoundEvent;
 import team.unnamed.creative.sound.SoundRegistry;
 import team.unnamed.creative.texture.Texture;
+import team.unnamed.creative.util.Fingerprints;
 import team.unnamed.creative.waypoint.WaypointStyle;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
 
 @ApiStatus.Internal
 public class ResourceContainerImpl implements ResourceContainer {
 
-    private final Map<Key, Atlas> atlases = new LinkedHashMap<>();
-    private final Map<Key, BlockState> blockStates = new LinkedHashMap<>();
-    private final Map<Key, Equipment> equipment = new LinkedHashMap<>();
-    private final Map<Key, Font> fonts = new LinkedHashMap<>();
-    private final Map<Key, Item> items = new LinkedHashMap<>();
-    private final Map<Key, Language> languages = new LinkedHashMap<>();
-    private final Map<Key, Model> models = new LinkedHashMap<>();
-    private final Map<String, SoundRegistry> soundRegistries = new LinkedHashMap<>();
-    private final Map<Key, Sound> sounds = new LinkedHashMap<>();
-    private final Map<Key, Texture> textures = new LinkedHashMap<>();
-    private final Map<String, WaypointStyle> waypointStyles = new LinkedHashMap<>();
+    // Resources that can be lazily loaded, see LazyResourceCollection
+    private final LazyResourceMap<Key, Atlas> atlases;
+    private final LazyResourceMap<Key, BlockState> blockStates;
+    private final LazyResourceMap<Key, Equipment> equipment;
+    private final LazyResourceMap<Key, Font> fonts;
+    private final LazyResourceMap<Key, Item> items;
+    private final LazyResourceMap<Key, Language> languages;
+    private final LazyResourceMap<Key, Model> models;
+    // Resources that are always loaded, kept in the same structure so
+    // that every category can be snapshotted the same way
+    private final LazyResourceMap<String, SoundRegistry> soundRegistries;
+    private final LazyResourceMap<Key, Sound> sounds;
+    private final LazyResourceMap<Key, Texture> textures;
+    private final LazyResourceMap<String, WaypointStyle> waypointStyles;
 
     // Unknown files we don't know how to parse
-    private final Map<String, Writable> files = new LinkedHashMap<>();
+    private final LazyResourceMap<String, Writable> files;
+
+    public ResourceContainerImpl() {
+        this(false);
+    }
+
+    /**
+     * Creates an empty container.
+     *
+     * @param concurrent Whether the container is thread-safe, if it is,
+     *                   resources are kept sorted by key instead of in
+     *                   the order they were added
+     */
+    protected ResourceContainerImpl(final boolean concurrent) {
+        this.atlases = map(concurrent);
+        this.blockStates = map(concurrent);
+        this.equipment = map(concurrent);
+        this.fonts = map(concurrent);
+        this.items = map(concurrent);
+        this.languages = map(concurrent);
+        this.models = map(concurrent);
+        this.soundRegistries = map(concurrent);
+        this.sounds = map(concurrent);
+        this.textures = map(concurrent);
+        this.waypointStyles = map(concurrent);
+        this.files = map(concurrent);
+    }
+
+    private static <K extends Comparable<? super K>, V> @NotNull LazyResourceMap<K, V> map(final boolean concurrent) {
+        return concurrent ? LazyResourceMap.concurrent() : new LazyResourceMap<>();
+    }
+
+    private static <K, V> @NotNull LazyResourceMap<K, V> copy(final @NotNull LazyResourceMap<K, V> map, final boolean frozen) {
+        return frozen ? map.freeze() : map.snapshot();
+    }
+
+    /**
+     * Creates a read-only copy of the given container. Snapshots share
+     * the resources with the source container until it is modified, so
+     * they take constant time regardless of the container size, frozen
+     * copies store them compactly instead.
+     *
+     * @param source The copied container
+     * @param frozen Whether to create a frozen copy instead of a snapshot
+     */
+    protected ResourceContainerImpl(final @NotNull ResourceContainerImpl source, final boolean frozen) {
+        requireNonNull(source, "source");
+        this.atlases = copy(source.atlases, frozen);
+        this.blockStates = copy(source.blockStates, frozen);
+        this.equipment = copy(source.equipment, frozen);
+        this.fonts = copy(source.fonts, frozen);
+        this.items = copy(source.items, frozen);
+        this.languages = copy(source.languages, frozen);
+        this.models = copy(source.models, frozen);
+        this.soundRegistries = copy(source.soundRegistries, frozen);
+        this.sounds = copy(source.sounds, frozen);
+        this.textures = copy(source.textures, frozen);
+        this.waypointStyles = copy(source.waypointStyles, frozen);
+        this.files = copy(source.files, frozen);
+    }
 
     //#region Atlases (Keyed)
     @Override
@@ -92,7 +168,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeAtlas(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return atlases.remove(key) != null;
+        return atlases.remove(key);
     }
 
     @Override
@@ -117,7 +193,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeBlockState(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return blockStates.remove(key) != null;
+        return blockStates.remove(key);
     }
 
     @Override
@@ -142,7 +218,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeEquipment(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return equipment.remove(key) != null;
+        return equipment.remove(key);
     }
 
     @Override
@@ -167,7 +243,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeFont(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return fonts.remove(key) != null;
+        return fonts.remove(key);
     }
 
     @Override
@@ -192,7 +268,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeItem(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return items.remove(key) != null;
+        return items.remove(key);
     }
 
     @Override
@@ -217,7 +293,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeLanguage(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return languages.remove(key) != null;
+        return languages.remove(key);
     }
 
     @Override
@@ -242,7 +318,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeModel(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return models.remove(key) != null;
+        return models.remove(key);
     }
 
     @Override
@@ -267,7 +343,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeSoundRegistry(final @NotNull String namespace) {
         requireNonNull(namespace, "namespace");
-        return soundRegistries.remove(namespace) != null;
+        return soundRegistries.remove(namespace);
     }
 
     @Override
@@ -292,7 +368,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeSound(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return sounds.remove(key) != null;
+        return sounds.remove(key);
     }
 
     @Override
@@ -317,7 +393,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeTexture(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return textures.remove(key) != null;
+        return textures.remove(key);
     }
 
     @Override
@@ -340,7 +416,7 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeWaypointStyle(@NotNull Key key) {
         requireNonNull(key, "key");
-        return waypointStyles.remove(key.asString()) != null;
+        return waypointStyles.remove(key.asString());
     }
 
     @Override
@@ -366,209 +442,619 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public boolean removeUnknownFile(final @NotNull String path) {
         requireNonNull(path, "path");
-        return files.remove(path) != null;
+        return files.remove(path);
     }
 
     @Override
     public @NotNull Map<String, Writable> unknownFiles() {
-        return files;
+        return files.asMap();
     }
     //#endregion
 
+    @Override
+    public @NotNull ResourceContainer snapshot() {
+        return new ResourceContainerImpl(this, false);
+    }
+
+    @Override
+    public @NotNull ResourceContainer freeze() {
+        return new ResourceContainerImpl(this, true);
+    }
+
+    @Override
+    public @NotNull ResourceDiff diff(final @NotNull ResourceContainer other) {
+        requireNonNull(other, "other");
+        final List<ResourceChange> changes = new ArrayList<>();
+        diff(of(other), null, changes);
+        return new ResourceDiff(changes);
+    }
+
+    /**
+     * Adds the changes from this container, the old version, to
+     * the given one, the new version.
+     *
+     * @param other The new version
+     * @param overlay The overlay directory, if these are overlays
+     * @param changes The list to add the changes to
+     */
+    @ApiStatus.Internal
+    public void diff(final @NotNull ResourceContainerImpl other, final @Nullable String overlay, final @NotNull List<ResourceChange> changes) {
+        diff(atlases, other.atlases, ResourceChange.Type.ATLAS, overlay, changes);
+        diff(blockStates, other.blockStates, ResourceChange.Type.BLOCK_STATE, overlay, changes);
+        diff(equipment, other.equipment, ResourceChange.Type.EQUIPMENT, overlay, changes);
+        diff(fonts, other.fonts, ResourceChange.Type.FONT, overlay, changes);
+        diff(items, other.items, ResourceChange.Type.ITEM, overlay, changes);
+        diff(languages, other.languages, ResourceChange.Type.LANGUAGE, overlay, changes);
+        diff(models, other.models, ResourceChange.Type.MODEL, overlay, changes);
+        diff(soundRegistries, other.soundRegistries, ResourceChange.Type.SOUND_REGISTRY, overlay, changes);
+        diff(sounds, other.sounds, ResourceChange.Type.SOUND, overlay, changes);
+        diff(textures, other.textures, ResourceChange.Type.TEXTURE, overlay, changes);
+        diff(waypointStyles, other.waypointStyles, ResourceChange.Type.WAYPOINT_STYLE, overlay, changes);
+        diff(files, other.files, ResourceChange.Type.UNKNOWN_FILE, overlay, changes);
+    }
+
+    private static <K, V> void diff(
+            final @NotNull LazyResourceMap<K, V> oldMap,
+            final @NotNull LazyResourceMap<K, V> newMap,
+            final ResourceChange.@NotNull Type type,
+            final @Nullable String overlay,
+            final @NotNull List<ResourceChange> changes
+    ) {
+        oldMap.diff(newMap, (key, kind) -> changes.add(new ResourceChange(
+                overlay,
+                type,
+                key instanceof Key k ? k.asString() : key.toString(),
+                kind
+        )));
+    }
+
+    /**
+     * Returns the given container as an implementation of this class,
+     * copying it if it is of an unknown implementation.
+     *
+     * @param container The container
+     * @return The container, or a copy of it
+     */
+    @ApiStatus.Internal
+    public static @NotNull ResourceContainerImpl of(final @NotNull ResourceContainer container) {
+        if (container instanceof ResourceContainerImpl impl) {
+            return impl;
+        }
+        final ResourceContainerImpl copy = new ResourceContainerImpl();
+        copy.merge(container, MergeStrategy.override());
+        return copy;
+    }
+
     @Override
     public void merge(final @NotNull ResourceContainer other, final @NotNull MergeStrategy strategy) {
         final boolean override = strategy == MergeStrategy.override();
 
+        // every resource is merged atomically, so that concurrent containers
+        // can be merged into while resources are being added
+
         // merge atlases
         for (final Atlas atlas : other.atlases()) {
-            final Atlas oldAtlas = atlases.get(atlas.key());
-            if (oldAtlas == null || override) {
-                atlases.put(atlas.key(), atlas);
-                continue;
-            }
+            atlases.merge(atlas.key(), atlas, (oldAtlas, newAtlas) -> {
+                if (override || Fingerprints.sameContent(oldAtlas, newAtlas)) {
+                    return newAtlas;
+                }
 
-            // merge atlas sources (use a set to avoid duplicated sources)
-            final Set<AtlasSource> sources = new LinkedHashSet<>(oldAtlas.sources());
-            sources.addAll(atlas.sources());
-            atlases.put(atlas.key(), oldAtlas.toBuilder().sources(new ArrayList<>(sources)).build());
+                // merge atlas sources (use a set to avoid duplicated sources)
+                final Set<AtlasSource> sources = new LinkedHashSet<>(oldAtlas.sources());
+                sources.addAll(newAtlas.sources());
+                return oldAtlas.toBuilder().sources(new ArrayList<>(sources)).build();
+            });
         }
 
         // merge block states
         for (final BlockState blockState : other.blockStates()) {
-            if (blockStates.containsKey(blockState.key())) {
-                if (strategy == MergeStrategy.override()) {
-                    blockStates.put(blockState.key(), blockState);
-                } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicate block state '" + blockState.key()
-                            + "': exists in both resource containers");
-                }
-            } else {
-                blockStates.put(blockState.key(), blockState);
-            }
+            blockStates.merge(blockState.key(), blockState, (oldBlockState, newBlockState) -> resolveDuplicate(
+                    oldBlockState, newBlockState, strategy, "Duplicate block state '" + newBlockState.key() + "'"
+            ));
         }
 
         // merge equipment
         for (final Equipment equipment : other.equipment()) {
-            final Equipment oldEquipment = this.equipment.get(equipment.key());
-            if (oldEquipment == null || override) {
-                this.equipment.put(equipment.key(), equipment);
-                continue;
-            }
-
-            // merge layers
-            final Map<EquipmentLayerType, List<EquipmentLayer>> layersByType = new LinkedHashMap<>(oldEquipment.layers());
-            for (final Map.Entry<EquipmentLayerType, List<EquipmentLayer>> entry : equipment.layers().entrySet()) {
-                final List<EquipmentLayer> oldLayers = layersByType.get(entry.getKey());
-                if (oldLayers == null) {
-                    layersByType.put(entry.getKey(), entry.getValue());
-                    continue;
+            this.equipment.merge(equipment.key(), equipment, (oldEquipment, newEquipment) -> {
+                if (override || Fingerprints.sameContent(oldEquipment, newEquipment)) {
+                    return newEquipment;
                 }
 
-                final List<EquipmentLayer> newLayers = new ArrayList<>(oldLayers);
-                newLayers.addAll(entry.getValue());
-                layersByType.put(entry.getKey(), newLayers);
-            }
+                // merge layers
+                final Map<EquipmentLayerType, List<EquipmentLayer>> layersByType = new LinkedHashMap<>(oldEquipment.layers());
+                for (final Map.Entry<EquipmentLayerType, List<EquipmentLayer>> entry : newEquipment.layers().entrySet()) {
+                    final List<EquipmentLayer> oldLayers = layersByType.get(entry.getKey());
+                    if (oldLayers == null) {
+                        layersByType.put(entry.getKey(), entry.getValue());
+                        continue;
+                    }
+
+                    final List<EquipmentLayer> newLayers = new ArrayList<>(oldLayers);
+                    newLayers.addAll(entry.getValue());
+                    layersByType.put(entry.getKey(), newLayers);
+                }
 
-            this.equipment.put(equipment.key(), oldEquipment.layers(layersByType));
+                return oldEquipment.layers(layersByType);
+            });
         }
 
         // merge fonts
         for (final Font font : other.fonts()) {
-            final Font oldFont = fonts.get(font.key());
-            if (oldFont == null || override) {
-                fonts.put(font.key(), font);
-                continue;
-            }
+            fonts.merge(font.key(), font, (oldFont, newFont) -> {
+                if (override || Fingerprints.sameContent(oldFont, newFont)) {
+                    return newFont;
+                }
 
-            // todo: check for duplicated characters
-            final List<FontProvider> providers = new ArrayList<>(oldFont.providers());
-            providers.addAll(font.providers());
-            fonts.put(font.key(), oldFont.providers(providers));
+                // merge providers, glyphs from the first font are kept
+                final List<FontProvider> providers = FontGlyphIndex.merge(
+                        List.of(oldFont.providers(), newFont.providers()),
+                        (codepoint, first, second) -> {
+                            if (strategy == MergeStrategy.mergeAndFailOnError()) {
+                                throw new MergeException("Duplicated glyph " + FontGlyphIndex.format(codepoint)
+                                        + " in font '" + newFont.key() + "': exists in both resource containers");
+                            }
+                        }
+                );
+                return oldFont.providers(providers);
+            });
         }
 
         // merge items
         for (final Item item : other.items()) {
-            if (items.containsKey(item.key())) {
-                if (override) {
-                    items.put(item.key(), item);
-                } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicated item '" + item.key()
-                            + "': exists in both resource containers");
-                }
-            } else {
-                items.put(item.key(), item);
-            }
+            items.merge(item.key(), item, (oldItem, newItem) -> resolveDuplicate(
+                    oldItem, newItem, strategy, "Duplicated item '" + newItem.key() + "'"
+            ));
         }
 
         // merge languages
         for (final Language language : other.languages()) {
-            final Language oldLanguage = languages.get(language.key());
-            if (oldLanguage == null || override) {
-                languages.put(language.key(), language);
-                continue;
-            }
+            languages.merge(language.key(), language, (oldLanguage, newLanguage) -> {
+                if (override) {
+                    return newLanguage;
+                }
 
-            final Map<String, String> translations = new LinkedHashMap<>(oldLanguage.translations());
-            for (final Map.Entry<String, String> translation : language.translations().entrySet()) {
-                final String replaced = translations.put(translation.getKey(), translation.getValue());
-                if (replaced != null && strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException(
-                            "Duplicated translation keys in language " + language.key()
-                                    + ". Translation key: " + translation.getKey()
-                                    + ". Exists in both resource containers."
-                    );
+                final Map<String, String> translations = new LinkedHashMap<>(oldLanguage.translations());
+                for (final Map.Entry<String, String> translation : newLanguage.translations().entrySet()) {
+                    final String replaced = translations.put(translation.getKey(), translation.getValue());
+                    if (replaced != null && !replaced.equals(translation.getValue()) && strategy == MergeStrategy.mergeAndFailOnError()) {
+                        throw new MergeException(
+                                "Duplicated translation keys in language " + newLanguage.key()
+                                        + ". Translation key: " + translation.getKey()
+                                        + ". Exists in both resource containers."
+                        );
+                    }
                 }
-            }
-            languages.put(language.key(), Language.language(language.key(), translations));
+                return Language.language(newLanguage.key(), translations);
+            });
         }
 
         // merge models
         for (final Model model : other.models()) {
-            final Model oldModel = models.get(model.key());
-            if (oldModel == null || strategy == MergeStrategy.override()) {
-                models.put(model.key(), model);
-                continue;
-            }
+            models.merge(model.key(), model, (oldModel, newModel) -> {
+                if (override || Fingerprints.sameContent(oldModel, newModel)) {
+                    return newModel;
+                }
 
-            final Model.Builder oldModelBuilder = oldModel.toBuilder();
-            for (final ItemOverride itemOverride : model.overrides()) {
-                // todo: detect duplicated override keys
-                oldModelBuilder.addOverride(itemOverride);
-            }
-            models.put(model.key(), oldModelBuilder.build());
+                final Model.Builder oldModelBuilder = oldModel.toBuilder();
+                for (final ItemOverride itemOverride : newModel.overrides()) {
+                    // todo: detect duplicated override keys
+                    oldModelBuilder.addOverride(itemOverride);
+                }
+                return oldModelBuilder.build();
+            });
         }
 
         // merge sound registries
         for (final SoundRegistry soundRegistry : other.soundRegistries()) {
-            final SoundRegistry oldSoundRegistry = soundRegistries.get(soundRegistry.namespace());
-            if (oldSoundRegistry == null || override) {
-                soundRegistries.put(soundRegistry.namespace(), soundRegistry);
-                continue;
-            }
+            soundRegistries.merge(soundRegistry.namespace(), soundRegistry, (oldSoundRegistry, newSoundRegistry) -> {
+                if (override) {
+                    return newSoundRegistry;
+                }
 
-            final Map<Key, SoundEvent> soundEvents = new LinkedHashMap<>();
-            for (final SoundEvent soundEvent : oldSoundRegistry.sounds()) {
-                soundEvents.put(soundEvent.key(), soundEvent);
-            }
+                final Map<Key, SoundEvent> soundEvents = new LinkedHashMap<>();
+                for (final SoundEvent soundEvent : oldSoundRegistry.sounds()) {
+                    soundEvents.put(soundEvent.key(), soundEvent);
+                }
 
-            for (final SoundEvent soundEvent : soundRegistry.sounds()) {
-                final SoundEvent replacedSoundEvent = soundEvents.put(soundEvent.key(), soundEvent);
-                if (replacedSoundEvent != null && strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicated sound event '" + soundEvent + "': exists" +
-                            " in both resource-packs");
+                for (final SoundEvent soundEvent : newSoundRegistry.sounds()) {
+                    final SoundEvent replacedSoundEvent = soundEvents.put(soundEvent.key(), soundEvent);
+                    if (replacedSoundEvent != null && !Fingerprints.sameContent(replacedSoundEvent, soundEvent)
+                            && strategy == MergeStrategy.mergeAndFailOnError()) {
+                        throw new MergeException("Duplicated sound event '" + soundEvent + "': exists" +
+                                " in both resource-packs");
+                    }
                 }
-            }
 
-            soundRegistries.put(
-                    soundRegistry.namespace(),
-                    SoundRegistry.soundRegistry()
-                            .namespace(soundRegistry.namespace())
-                            .sounds(soundEvents.values())
-                            .build()
-            );
+                return SoundRegistry.soundRegistry()
+                        .namespace(newSoundRegistry.namespace())
+                        .sounds(soundEvents.values())
+                        .build();
+            });
         }
 
         // merge sounds
         for (final Sound sound : other.sounds()) {
-            if (sounds.containsKey(sound.key())) {
-                if (override) {
-                    sounds.put(sound.key(), sound);
-                } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicated sound '" + sound.key()
-                            + "': exists in both resource containers");
-                }
-            } else {
-                sounds.put(sound.key(), sound);
-            }
+            sounds.merge(sound.key(), sound, (oldSound, newSound) -> resolveDuplicate(
+                    oldSound, newSound, strategy, "Duplicated sound '" + newSound.key() + "'"
+            ));
         }
 
         // merge textures
         // todo: should we merge metadata?
         for (final Texture texture : other.textures()) {
-            if (textures.containsKey(texture.key())) {
-                if (override) {
-                    textures.put(texture.key(), texture);
-                } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicated texture '" + texture.key()
-                            + "': exists in both resource containers");
-                }
-            } else {
-                textures.put(texture.key(), texture);
-            }
+            textures.merge(texture.key(), texture, (oldTexture, newTexture) -> resolveDuplicate(
+                    oldTexture, newTexture, strategy, "Duplicated texture '" + newTexture.key() + "'"
+            ));
         }
 
         // merge unknown files
         for (final Map.Entry<String, Writable> entry : other.unknownFiles().entrySet()) {
-            if (files.containsKey(entry.getKey())) {
-                if (override) {
-                    files.put(entry.getKey(), entry.getValue());
-                } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicated unknown file: '" + entry.getKey()
-                            + "': exists in both resource containers");
+            files.merge(entry.getKey(), entry.getValue(), (oldFile, newFile) -> resolveDuplicate(
+                    oldFile, newFile, strategy, "Duplicated unknown file: '" + entry.getKey() + "'"
+            ));
+        }
+    }
+
+    // resolves a duplicate of a resource that can't be merged
+    private static <T> @NotNull T resolveDuplicate(
+            final @NotNull T oldValue,
+            final @NotNull T newValue,
+            final @NotNull MergeStrategy strategy,
+            final @NotNull String description
+    ) {
+        if (strategy == MergeStrategy.override()) {
+            // no need to compare the contents, the new one always wins
+            return newValue;
+        }
+        if (Fingerprints.sameContent(oldValue, newValue)) {
+            // identical duplicate, nothing to merge
+            return oldValue;
+        }
+        if (strategy == MergeStrategy.mergeAndFailOnError()) {
+            throw new MergeException(description + ": exists in both resource containers");
+        }
+        return oldValue;
+    }
+
+    @Override
+    public @NotNull MergeReport merge(
+            final @NotNull List<? extends ResourceContainer> others,
+            final @NotNull MergeStrategy strategy,
+            final @Nullable Executor executor
+    ) {
+        requireNonNull(others, "others");
+        requireNonNull(strategy, "strategy");
+
+        final List<ResourceContainer> containers = new ArrayList<>(others.size() + 1);
+        final int[] sources = new int[others.size() + 1];
+        containers.add(this);
+        sources[0] = -1;
+        for (int i = 0; i < others.size(); i++) {
+            containers.add(requireNonNull(others.get(i), "others[" + i + "]"));
+            sources[i + 1] = i;
+        }
+
+        final List<MergeTask> tasks = new ArrayList<>();
+        prepareMerge(containers, sources, strategy, null, tasks);
+
+        // resolve everything first (in parallel, if possible), so that
+        // nothing is modified if the merge fails
+        final List<MergeConflict> conflicts = new ArrayList<>();
+        final List<Runnable> actions = new ArrayList<>(tasks.size());
+        if (executor == null) {
+            for (final MergeTask task : tasks) {
+                actions.add(task.prepare(conflicts));
+            }
+        } else {
+            final List<List<MergeConflict>> conflictsByTask = new ArrayList<>(tasks.size());
+            final List<CompletableFuture<Runnable>> futures = new ArrayList<>(tasks.size());
+            for (final MergeTask task : tasks) {
+                final List<MergeConflict> taskConflicts = new ArrayList<>();
+                conflictsByTask.add(taskConflicts);
+                futures.add(CompletableFuture.supplyAsync(() -> task.prepare(taskConflicts), executor));
+            }
+            try {
+                for (final CompletableFuture<Runnable> future : futures) {
+                    actions.add(future.join());
+                }
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+            // keep conflicts in the same order as a sequential merge
+            for (final List<MergeConflict> taskConflicts : conflictsByTask) {
+                conflicts.addAll(taskConflicts);
+            }
+        }
+
+        final MergeReport report = new MergeReport(conflicts);
+        if (report.hasConflicts() && strategy == MergeStrategy.mergeAndFailOnError()) {
+            throw new MergeConflictException(report);
+        }
+
+        for (final Runnable action : actions) {
+            action.run();
+        }
+        return report;
+    }
+
+    /**
+     * Adds the tasks to merge the given containers into this one,
+     * the first container is always this one.
+     *
+     * @param containers The containers to merge, in order
+     * @param sources The index of each container, as reported in conflicts
+     * @param strategy The merge strategy
+     * @param overlay The overlay directory, if this is an overlay
+     * @param tasks The list to add the tasks to
+     */
+    @ApiStatus.Internal
+    public void prepareMerge(
+            final @NotNull List<? extends ResourceContainer> containers,
+            final int @NotNull [] sources,
+            final @NotNull MergeStrategy strategy,
+            final @Nullable String overlay,
+            final @NotNull List<MergeTask> tasks
+    ) {
+        final MergeContext context = new MergeContext(containers, sources, strategy, overlay);
+
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.ATLAS, ResourceContainer::atlases, Atlas::key, this::atlas, conflicts,
+                (contributions, c) -> {
+                    // merge atlas sources (use a set to avoid duplicated sources)
+                    final Set<AtlasSource> atlasSources = new LinkedHashSet<>();
+                    for (final Contribution<Atlas> contribution : contributions) {
+                        atlasSources.addAll(contribution.value().sources());
+                    }
+                    return contributions.get(0).value().toBuilder().sources(new ArrayList<>(atlasSources)).build();
+                }
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.BLOCK_STATE, ResourceContainer::blockStates, BlockState::key, this::blockState, conflicts, null
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.EQUIPMENT, ResourceContainer::equipment, Equipment::key, this::equipment, conflicts,
+                (contributions, c) -> {
+                    // merge layers
+                    final Map<EquipmentLayerType, List<EquipmentLayer>> layersByType = new LinkedHashMap<>();
+                    for (final Contribution<Equipment> contribution : contributions) {
+                        for (final Map.Entry<EquipmentLayerType, List<EquipmentLayer>> entry : contribution.value().layers().entrySet()) {
+                            layersByType.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+                        }
+                    }
+                    return contributions.get(0).value().layers(layersByType);
+                }
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.FONT, ResourceContainer::fonts, Font::key, this::font, conflicts,
+                (contributions, c) -> {
+                    // merge providers, glyphs from the first font are kept
+                    final List<List<FontProvider>> providersByFont = new ArrayList<>(contributions.size());
+                    for (final Contribution<Font> contribution : contributions) {
+                        providersByFont.add(contribution.value().providers());
+                    }
+                    final Map<Integer, List<Integer>> sourcesByCodepoint = new TreeMap<>();
+                    final List<FontProvider> providers = FontGlyphIndex.merge(providersByFont, (codepoint, first, font) ->
+                            sourcesByCodepoint.computeIfAbsent(codepoint, k -> new ArrayList<>(List.of(contributions.get(first).source())))
+                                    .add(contributions.get(font).source()));
+
+                    final Font firstFont = contributions.get(0).value();
+                    for (final Map.Entry<Integer, List<Integer>> entry : sourcesByCodepoint.entrySet()) {
+                        c.add(new MergeConflict(
+                                context.overlay(),
+                                MergeConflict.Type.GLYPH,
+                                firstFont.key().asString() + '/' + FontGlyphIndex.format(entry.getKey()),
+                                entry.getValue()
+                        ));
+                    }
+                    return firstFont.providers(providers);
                 }
-            } else {
-                files.put(entry.getKey(), entry.getValue());
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.ITEM, ResourceContainer::items, Item::key, this::item, conflicts, null
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.LANGUAGE, ResourceContainer::languages, Language::key, this::language, conflicts,
+                (contributions, c) -> {
+                    final Key key = contributions.get(0).value().key();
+                    final Map<String, String> translations = new LinkedHashMap<>();
+                    final Map<String, List<Integer>> sourcesByTranslation = new LinkedHashMap<>();
+                    final Set<String> conflicting = new HashSet<>();
+                    for (final Contribution<Language> contribution : contributions) {
+                        for (final Map.Entry<String, String> translation : contribution.value().translations().entrySet()) {
+                            final String replaced = translations.put(translation.getKey(), translation.getValue());
+                            if (replaced != null && !replaced.equals(translation.getValue())) {
+                                conflicting.add(translation.getKey());
+                            }
+                            sourcesByTranslation.computeIfAbsent(translation.getKey(), k -> new ArrayList<>()).add(contribution.source());
+                        }
+                    }
+                    context.conflicts(MergeConflict.Type.TRANSLATION, key.asString() + '/', sourcesByTranslation, conflicting, c);
+                    return Language.language(key, translations);
+                }
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.MODEL, ResourceContainer::models, Model::key, this::model, conflicts,
+                (contributions, c) -> {
+                    final Model.Builder builder = contributions.get(0).value().toBuilder();
+                    for (int i = 1; i < contributions.size(); i++) {
+                        for (final ItemOverride itemOverride : contributions.get(i).value().overrides()) {
+                            // todo: detect duplicated override keys
+                            builder.addOverride(itemOverride);
+                        }
+                    }
+                    return builder.build();
+                }
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.SOUND_REGISTRY, ResourceContainer::soundRegistries, SoundRegistry::namespace, this::soundRegistry, conflicts,
+                (contributions, c) -> {
+                    final Map<Key, SoundEvent> soundEvents = new LinkedHashMap<>();
+                    final Map<String, List<Integer>> sourcesBySoundEvent = new LinkedHashMap<>();
+                    final Set<String> conflicting = new HashSet<>();
+                    for (final Contribution<SoundRegistry> contribution : contributions) {
+                        for (final SoundEvent soundEvent : contribution.value().sounds()) {
+                            final SoundEvent replaced = soundEvents.put(soundEvent.key(), soundEvent);
+                            if (replaced != null && !Fingerprints.sameContent(replaced, soundEvent)) {
+                                conflicting.add(soundEvent.key().asString());
+                            }
+                            sourcesBySoundEvent.computeIfAbsent(soundEvent.key().asString(), k -> new ArrayList<>()).add(contribution.source());
+                        }
+                    }
+                    context.conflicts(MergeConflict.Type.SOUND_EVENT, "", sourcesBySoundEvent, conflicting, c);
+                    return SoundRegistry.soundRegistry()
+                            .namespace(contributions.get(0).value().namespace())
+                            .sounds(soundEvents.values())
+                            .build();
+                }
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.SOUND, ResourceContainer::sounds, Sound::key, this::sound, conflicts, null
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.TEXTURE, ResourceContainer::textures, Texture::key, this::texture, conflicts, null
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.WAYPOINT_STYLE, ResourceContainer::waypointStyles, WaypointStyle::key, this::waypointStyle, conflicts, null
+        ));
+        tasks.add(conflicts -> context.mergeKeyed(
+                MergeConflict.Type.UNKNOWN_FILE, container -> container.unknownFiles().entrySet(), Map.Entry::getKey,
+                entry -> unknownFile(entry.getKey(), entry.getValue()), conflicts, null
+        ));
+    }
+
+    /**
+     * A part of a bulk merge. It is resolved first, possibly in parallel
+     * with other tasks, and the returned action is run only if the
+     * whole merge succeeds.
+     */
+    @ApiStatus.Internal
+    @FunctionalInterface
+    public interface MergeTask {
+        @NotNull Runnable prepare(final @NotNull List<MergeConflict> conflicts);
+    }
+
+    /**
+     * A value provided by a container in a bulk merge.
+     *
+     * @param source The container index, as reported in conflicts
+     * @param value The value
+     */
+    @ApiStatus.Internal
+    public record Contribution<T>(int source, @NotNull T value) {
+    }
+
+    @FunctionalInterface
+    private interface Merger<T> {
+        @NotNull T merge(final @NotNull List<Contribution<T>> contributions, final @NotNull List<MergeConflict> conflicts);
+    }
+
+    private record MergeContext(
+            @NotNull List<? extends ResourceContainer> containers,
+            int @NotNull [] sources,
+            @NotNull MergeStrategy strategy,
+            @Nullable String overlay
+    ) {
+        /**
+         * Groups the values of all the containers by key, in a single
+         * pass, and resolves each key once.
+         */
+        <K, T> @NotNull Runnable mergeKeyed(
+                final @NotNull MergeConflict.Type type,
+                final @NotNull Function<ResourceContainer, Collection<T>> lister,
+                final @NotNull Function<T, K> keyer,
+                final @NotNull Consumer<T> setter,
+                final @NotNull List<MergeConflict> conflicts,
+                final @Nullable Merger<T> merger
+        ) {
+            final Map<K, List<Contribution<T>>> contributionsByKey = new LinkedHashMap<>();
+            for (int i = 0; i < containers.size(); i++) {
+                for (final T value : lister.apply(containers.get(i))) {
+                    contributionsByKey.computeIfAbsent(keyer.apply(value), k -> new ArrayList<>(2))
+                            .add(new Contribution<>(sources[i], value));
+                }
+            }
+
+            final int receptor = sources[0];
+            final List<T> results = new ArrayList<>();
+            for (final Map.Entry<K, List<Contribution<T>>> entry : contributionsByKey.entrySet()) {
+                final List<Contribution<T>> allContributions = entry.getValue();
+                // identical duplicates (e.g. from a shared library) are not conflicts,
+                // when overriding the contents are not compared, the last one wins anyway
+                final List<Contribution<T>> contributions = distinct(allContributions, strategy == MergeStrategy.override());
+                final T result;
+                if (contributions.size() == 1) {
+                    final Contribution<T> contribution = contributions.get(0);
+                    if (contribution.source() == receptor) {
+                        // only in this container, nothing to do
+                        continue;
+                    }
+                    result = contribution.value();
+                } else if (strategy == MergeStrategy.override()) {
+                    // last one wins
+                    conflicts.add(conflict(type, String.valueOf(entry.getKey()), allContributions));
+                    result = contributions.get(contributions.size() - 1).value();
+                } else if (merger != null) {
+                    result = merger.merge(contributions, conflicts);
+                } else {
+                    // can't be merged, keep the first one (merge fails later
+                    // if the strategy is merge and fail on error)
+                    conflicts.add(conflict(type, String.valueOf(entry.getKey()), allContributions));
+                    final Contribution<T> first = contributions.get(0);
+                    if (first.source() == receptor) {
+                        continue;
+                    }
+                    result = first.value();
+                }
+                results.add(result);
+            }
+
+            return () -> results.forEach(setter);
+        }
+
+        private static <T> @NotNull List<Contribution<T>> distinct(final @NotNull List<Contribution<T>> contributions, final boolean identity) {
+            if (contributions.size() == 1) {
+                return contributions;
+            }
+            final List<Contribution<T>> distinct = new ArrayList<>(contributions.size());
+            outer:
+            for (final Contribution<T> contribution : contributions) {
+                for (final Contribution<T> previous : distinct) {
+                    if (identity ? previous.value() == contribution.value() : Fingerprints.sameContent(previous.value(), contribution.value())) {
+                        continue outer;
+                    }
+                }
+                distinct.add(contribution);
+            }
+            return distinct;
+        }
+
+        void conflicts(
+                final @NotNull MergeConflict.Type type,
+                final @NotNull String prefix,
+                final @NotNull Map<String, List<Integer>> sourcesByName,
+                final @NotNull Set<String> conflicting,
+                final @NotNull List<MergeConflict> conflicts
+        ) {
+            for (final Map.Entry<String, List<Integer>> entry : sourcesByName.entrySet()) {
+                if (conflicting.contains(entry.getKey())) {
+                    conflicts.add(new MergeConflict(overlay, type, prefix + entry.getKey(), entry.getValue()));
+                }
+            }
+        }
+
+        @NotNull MergeConflict conflict(
+                final @NotNull MergeConflict.Type type,
+                final @NotNull String name,
+                final @NotNull List<? extends Contribution<?>> contributions
+        ) {
+            final List<Integer> conflictSources = new ArrayList<>(contributions.size());
+            for (final Contribution<?> contribution : contributions) {
+                conflictSources.add(contribution.source());
             }
+            return new MergeConflict(overlay, type, name, conflictSources);
         }
     }
 }
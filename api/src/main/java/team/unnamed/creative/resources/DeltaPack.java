@@ -0,0 +1,383 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import net.kyori.adventure.key.Key;
+import org.intellij.lang.annotations.Subst;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.font.Font;
+import team.unnamed.creative.font.FontGlyphIndex;
+import team.unnamed.creative.font.FontProvider;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.metadata.Metadata;
+import team.unnamed.creative.metadata.MetadataPart;
+import team.unnamed.creative.metadata.filter.FilterMeta;
+import team.unnamed.creative.metadata.language.LanguageMeta;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.part.ResourcePackPart;
+import team.unnamed.creative.sound.SoundEvent;
+import team.unnamed.creative.sound.SoundRegistry;
+import team.unnamed.creative.util.Fingerprints;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A delta resource pack: a resource pack with only the resources that were
+ * added or changed between two versions of a resource pack, meant to be
+ * applied on top of the old version, as an additional server resource pack,
+ * instead of sending the whole new version again.
+ *
+ * <p>Resource packs applied on top of others can add and replace files, but
+ * not remove them, and some resources (languages, atlases, fonts and sound
+ * registries) are combined with the ones in the packs below instead of
+ * replaced. For these, the delta only contains what was added or changed,
+ * and changes that remove something from them can't be applied by a delta,
+ * just like removed resources and changes to the icon or to the metadata
+ * (other than the overlays and languages), these are reported as
+ * {@link #unsupported() unsupported} and require sending the whole new
+ * version.</p>
+ *
+ * @param resourcePack The delta resource pack
+ * @param diff The differences between both versions
+ * @param strategy What should be sent to the clients that have the old version
+ * @param unsupported The changes that can't be applied by the delta
+ * @since 1.11.6
+ */
+public record DeltaPack(
+        @NotNull ResourcePack resourcePack,
+        @NotNull ResourceDiff diff,
+        @NotNull Strategy strategy,
+        @NotNull List<ResourceChange> unsupported
+) {
+    /**
+     * The default maximum ratio of changed resources, after which
+     * sending the whole new version is considered cheaper.
+     *
+     * @since 1.11.6
+     */
+    public static final double DEFAULT_MAX_RATIO = 0.5D;
+
+    public DeltaPack {
+        requireNonNull(resourcePack, "resourcePack");
+        requireNonNull(diff, "diff");
+        requireNonNull(strategy, "strategy");
+        unsupported = List.copyOf(requireNonNull(unsupported, "unsupported"));
+    }
+
+    /**
+     * Computes the delta resource pack between the given versions.
+     *
+     * @param base The old version, which clients already have
+     * @param target The new version
+     * @return The delta resource pack
+     * @see #delta(ResourcePack, ResourcePack, double)
+     * @since 1.11.6
+     */
+    public static @NotNull DeltaPack delta(final @NotNull ResourcePack base, final @NotNull ResourcePack target) {
+        return delta(base, target, DEFAULT_MAX_RATIO);
+    }
+
+    /**
+     * Computes the delta resource pack between the given versions.
+     *
+     * <p>Sending the whole new version is considered cheaper when the delta
+     * would contain more than the given ratio of the resources of the new
+     * version, since clients would download most of them anyway, and the
+     * old version would be mostly shadowed by the delta.</p>
+     *
+     * @param base The old version, which clients already have
+     * @param target The new version
+     * @param maxRatio The maximum ratio of changed resources, from 0 to 1
+     * @return The delta resource pack
+     * @since 1.11.6
+     */
+    public static @NotNull DeltaPack delta(final @NotNull ResourcePack base, final @NotNull ResourcePack target, final double maxRatio) {
+        requireNonNull(base, "base");
+        requireNonNull(target, "target");
+        if (maxRatio < 0D || maxRatio > 1D) {
+            throw new IllegalArgumentException("Max ratio must be between 0 and 1, got " + maxRatio);
+        }
+
+        final ResourceDiff diff = base.diff(target);
+        final ResourcePack delta = ResourcePack.resourcePack();
+        final List<ResourceChange> unsupported = new ArrayList<>();
+        int resources = 0;
+
+        for (final ResourceChange change : diff.changes()) {
+            if (change.kind() == ResourceChange.Kind.REMOVED) {
+                unsupported.add(change);
+                continue;
+            }
+            switch (change.type()) {
+                case OVERLAY -> {
+                    // the overlay resources are reported separately
+                }
+                case ICON -> unsupported.add(change);
+                case METADATA -> {
+                    // other metadata parts only take effect in the resource pack at the bottom
+                    if (!change.name().equals(OverlaysMeta.class.getSimpleName())
+                            && !change.name().equals(LanguageMeta.class.getSimpleName())) {
+                        unsupported.add(change);
+                    }
+                }
+                default -> {
+                    if (add(change, base, target, delta)) {
+                        resources++;
+                    } else {
+                        unsupported.add(change);
+                    }
+                }
+            }
+        }
+
+        delta.metadata(metadata(target.metadata(), delta));
+
+        final Strategy strategy;
+        if (diff.isEmpty()) {
+            strategy = Strategy.UP_TO_DATE;
+        } else if (!unsupported.isEmpty() || resources > maxRatio * count(target)) {
+            strategy = Strategy.FULL;
+        } else {
+            strategy = Strategy.DELTA;
+        }
+        return new DeltaPack(delta, diff, strategy, unsupported);
+    }
+
+    // adds the added or changed resource to the delta, returns false if the change can't be applied by a delta
+    private static boolean add(final @NotNull ResourceChange change, final @NotNull ResourcePack base, final @NotNull ResourcePack target, final @NotNull ResourcePack delta) {
+        final ResourceContainer oldContainer = container(base, change.overlay());
+        final ResourceContainer newContainer = requireNonNull(container(target, change.overlay()), "overlay");
+        final ResourceContainer deltaContainer = deltaContainer(delta, change.overlay());
+        final String name = change.name();
+
+        final ResourcePackPart part;
+        switch (change.type()) {
+            case ATLAS -> {
+                final Atlas newAtlas = requireNonNull(newContainer.atlas(Key.key(name)));
+                final Atlas oldAtlas = oldContainer == null ? null : oldContainer.atlas(Key.key(name));
+                if (oldAtlas == null) {
+                    part = newAtlas;
+                } else if (!newAtlas.sources().containsAll(oldAtlas.sources())) {
+                    // atlas sources are combined, they can't be removed
+                    return false;
+                } else {
+                    final List<AtlasSource> sources = new ArrayList<>(newAtlas.sources());
+                    sources.removeAll(oldAtlas.sources());
+                    part = newAtlas.toBuilder().sources(sources).build();
+                }
+            }
+            case FONT -> {
+                final Font newFont = requireNonNull(newContainer.font(Key.key(name)));
+                final Font oldFont = oldContainer == null ? null : oldContainer.font(Key.key(name));
+                if (oldFont != null && !covers(newFont, oldFont)) {
+                    // font providers are combined, glyphs can't be removed
+                    return false;
+                }
+                part = newFont;
+            }
+            case LANGUAGE -> {
+                final Language newLanguage = requireNonNull(newContainer.language(Key.key(name)));
+                final Language oldLanguage = oldContainer == null ? null : oldContainer.language(Key.key(name));
+                if (oldLanguage == null) {
+                    part = newLanguage;
+                } else if (!newLanguage.translations().keySet().containsAll(oldLanguage.translations().keySet())) {
+                    // translations are combined, they can't be removed
+                    return false;
+                } else {
+                    final Map<String, String> translations = new LinkedHashMap<>();
+                    for (final Map.Entry<String, String> translation : newLanguage.translations().entrySet()) {
+                        if (!translation.getValue().equals(oldLanguage.translations().get(translation.getKey()))) {
+                            translations.put(translation.getKey(), translation.getValue());
+                        }
+                    }
+                    part = Language.language(newLanguage.key(), translations);
+                }
+            }
+            case SOUND_REGISTRY -> {
+                final SoundRegistry newRegistry = requireNonNull(newContainer.soundRegistry(name));
+                final SoundRegistry oldRegistry = oldContainer == null ? null : oldContainer.soundRegistry(name);
+                if (oldRegistry == null) {
+                    part = newRegistry;
+                } else {
+                    final Map<Key, SoundEvent> oldEvents = new LinkedHashMap<>();
+                    for (final SoundEvent event : oldRegistry.sounds()) {
+                        oldEvents.put(event.key(), event);
+                    }
+                    final List<SoundEvent> events = new ArrayList<>();
+                    for (final SoundEvent event : newRegistry.sounds()) {
+                        final SoundEvent oldEvent = oldEvents.remove(event.key());
+                        if (oldEvent == null) {
+                            events.add(event);
+                        } else if (!Fingerprints.sameContent(oldEvent, event)) {
+                            // sound events are combined unless they replace the ones below
+                            events.add(SoundEvent.soundEvent(event.key(), true, event.subtitle(), event.sounds()));
+                        }
+                    }
+                    if (!oldEvents.isEmpty()) {
+                        // sound events can't be removed
+                        return false;
+                    }
+                    part = SoundRegistry.soundRegistry(name, events);
+                }
+            }
+            case BLOCK_STATE -> part = newContainer.blockState(Key.key(name));
+            case EQUIPMENT -> part = newContainer.equipment(Key.key(name));
+            case ITEM -> part = newContainer.item(Key.key(name));
+            case MODEL -> part = newContainer.model(Key.key(name));
+            case SOUND -> part = newContainer.sound(Key.key(name));
+            case TEXTURE -> part = newContainer.texture(Key.key(name));
+            case WAYPOINT_STYLE -> part = newContainer.waypointStyle(Key.key(name));
+            case UNKNOWN_FILE -> {
+                deltaContainer.unknownFile(name, requireNonNull(newContainer.unknownFile(name)));
+                return true;
+            }
+            default -> throw new IllegalStateException("Unexpected resource type: " + change.type());
+        }
+        requireNonNull(part, "part").addTo(deltaContainer);
+        return true;
+    }
+
+    // determines whether the new font provides every glyph the old font provided
+    private static boolean covers(final @NotNull Font newFont, final @NotNull Font oldFont) {
+        final BitSet newCodepoints = new BitSet();
+        for (final FontProvider provider : newFont.providers()) {
+            final BitSet codepoints = FontGlyphIndex.codepoints(provider);
+            if (codepoints != null) {
+                newCodepoints.or(codepoints);
+            }
+        }
+        final BitSet oldCodepoints = new BitSet();
+        for (final FontProvider provider : oldFont.providers()) {
+            final BitSet codepoints = FontGlyphIndex.codepoints(provider);
+            if (codepoints == null) {
+                // the glyphs of other providers are not known, they must be kept as-is
+                if (!newFont.providers().contains(provider)) {
+                    return false;
+                }
+            } else {
+                oldCodepoints.or(codepoints);
+            }
+        }
+        oldCodepoints.andNot(newCodepoints);
+        return oldCodepoints.isEmpty();
+    }
+
+    // the metadata of the delta, filters are not kept since they would hide resources of the base resource pack
+    private static @NotNull Metadata metadata(final @NotNull Metadata metadata, final @NotNull ResourcePack delta) {
+        final Metadata.Builder builder = Metadata.metadata();
+        for (final MetadataPart part : metadata.parts()) {
+            if (part instanceof FilterMeta) {
+                continue;
+            }
+            if (part instanceof OverlaysMeta overlaysMeta) {
+                // only keep the overlays in the delta
+                final List<OverlayEntry> entries = new ArrayList<>();
+                for (final OverlayEntry entry : overlaysMeta.entries()) {
+                    if (delta.overlay(entry.directory()) != null) {
+                        entries.add(entry);
+                    }
+                }
+                if (!entries.isEmpty()) {
+                    builder.addPart(OverlaysMeta.of(entries));
+                }
+                continue;
+            }
+            builder.addPart(part);
+        }
+        return builder.build();
+    }
+
+    private static @Nullable ResourceContainer container(final @NotNull ResourcePack resourcePack, final @Nullable String overlay) {
+        return overlay == null ? resourcePack : resourcePack.overlay(overlay);
+    }
+
+    private static @NotNull ResourceContainer deltaContainer(final @NotNull ResourcePack delta, final @Subst("dir") @Nullable String overlay) {
+        if (overlay == null) {
+            return delta;
+        }
+        Overlay deltaOverlay = delta.overlay(overlay);
+        if (deltaOverlay == null) {
+            deltaOverlay = Overlay.overlay(overlay);
+            delta.overlay(deltaOverlay);
+        }
+        return deltaOverlay;
+    }
+
+    private static int count(final @NotNull ResourcePack resourcePack) {
+        int count = count((ResourceContainer) resourcePack);
+        for (final Overlay overlay : resourcePack.overlays()) {
+            count += count(overlay);
+        }
+        return count;
+    }
+
+    private static int count(final @NotNull ResourceContainer container) {
+        return container.atlases().size()
+                + container.blockStates().size()
+                + container.equipment().size()
+                + container.fonts().size()
+                + container.items().size()
+                + container.languages().size()
+                + container.models().size()
+                + container.soundRegistries().size()
+                + container.sounds().size()
+                + container.textures().size()
+                + container.waypointStyles().size()
+                + container.unknownFiles().size();
+    }
+
+    /**
+     * What should be sent to the clients that have the old version.
+     *
+     * @since 1.11.6
+     */
+    public enum Strategy {
+        /**
+         * Nothing changed, nothing has to be sent.
+         */
+        UP_TO_DATE,
+        /**
+         * The delta resource pack should be sent on top of the old version.
+         */
+        DELTA,
+        /**
+         * The whole new version should be sent instead, because the delta
+         * can't apply every change, or because it would be about as big.
+         */
+        FULL
+    }
+}
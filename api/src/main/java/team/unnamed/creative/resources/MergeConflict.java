@@ -0,0 +1,92 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.overlay.ResourceContainer;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents a conflict found when merging several resource
+ * containers at once: a resource (or a part of it, like a
+ * translation) provided by more than one container, that
+ * couldn't be merged. Resources with the same content are never
+ * conflicts, they are only added once.
+ *
+ * <p>Containers are identified by their index in the list given to
+ * {@link ResourceContainer#merge(List, MergeStrategy)}, the container
+ * that receives the resources is identified by {@code -1}.</p>
+ *
+ * @param overlay The directory of the overlay the resource is in, or null if it is in the resource pack itself
+ * @param type The type of the conflicting resource
+ * @param name The name of the conflicting resource, e.g. its key or path
+ * @param sources The indexes of the containers that provide the resource, in merge order
+ * @since 1.11.6
+ */
+public record MergeConflict(
+        @Nullable String overlay,
+        @NotNull Type type,
+        @NotNull String name,
+        @NotNull List<Integer> sources
+) {
+    public MergeConflict {
+        requireNonNull(type, "type");
+        requireNonNull(name, "name");
+        sources = List.copyOf(requireNonNull(sources, "sources"));
+    }
+
+    /**
+     * The type of a conflicting resource.
+     *
+     * <p>Resources that can be merged (atlases, equipment, fonts, languages,
+     * models and sound registries) only conflict when using
+     * {@link MergeStrategy#override()}, otherwise, their contents are merged,
+     * and only duplicated glyphs, translations and sound events conflict.</p>
+     *
+     * @since 1.11.6
+     */
+    public enum Type {
+        ATLAS,
+        BLOCK_STATE,
+        EQUIPMENT,
+        FONT,
+        GLYPH,
+        ITEM,
+        LANGUAGE,
+        TRANSLATION,
+        MODEL,
+        SOUND_REGISTRY,
+        SOUND_EVENT,
+        SOUND,
+        TEXTURE,
+        WAYPOINT_STYLE,
+        UNKNOWN_FILE,
+        ICON,
+        METADATA
+    }
+}
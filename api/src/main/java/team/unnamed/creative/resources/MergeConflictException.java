@@ -0,0 +1,65 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serial;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Signals that merging several resource containers at once
+ * with {@link MergeStrategy#mergeAndFailOnError()} failed
+ * because of conflicts. Contains all the found conflicts,
+ * not only the first one.
+ *
+ * @since 1.11.6
+ */
+public class MergeConflictException extends MergeException {
+    @Serial private static final long serialVersionUID = 4311735210853934473L;
+
+    private final transient MergeReport report;
+
+    /**
+     * Constructs a new MergeConflictException with the given report.
+     *
+     * @param report The merge report, with the found conflicts
+     * @since 1.11.6
+     */
+    public MergeConflictException(final @NotNull MergeReport report) {
+        super(requireNonNull(report, "report").conflicts().size() + " conflict(s) found: " + report.conflicts());
+        this.report = report;
+    }
+
+    /**
+     * Gets the merge report, with the found conflicts.
+     *
+     * @return The merge report
+     * @since 1.11.6
+     */
+    public @NotNull MergeReport report() {
+        return report;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The result of merging several resource containers at once.
+ *
+ * @param conflicts The found conflicts, and how they were resolved
+ *                  depends on the merge strategy
+ * @see team.unnamed.creative.overlay.ResourceContainer#merge(List, MergeStrategy)
+ * @since 1.11.6
+ */
+public record MergeReport(@NotNull List<MergeConflict> conflicts) {
+    public MergeReport {
+        conflicts = List.copyOf(requireNonNull(conflicts, "conflicts"));
+    }
+
+    /**
+     * Determines whether any conflict was found.
+     *
+     * @return True if there are conflicts
+     * @since 1.11.6
+     */
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+}
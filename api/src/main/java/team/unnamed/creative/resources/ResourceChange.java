@@ -0,0 +1,99 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents a resource that was added, removed or changed between
+ * two versions of a resource container.
+ *
+ * @param overlay The directory of the overlay the resource is in, or null if it is in the resource pack itself
+ * @param type The type of the resource
+ * @param name The name of the resource, e.g. its key or path
+ * @param kind How the resource changed
+ * @see team.unnamed.creative.overlay.ResourceContainer#diff(team.unnamed.creative.overlay.ResourceContainer)
+ * @since 1.11.6
+ */
+public record ResourceChange(
+        @Nullable String overlay,
+        @NotNull Type type,
+        @NotNull String name,
+        @NotNull Kind kind
+) {
+    public ResourceChange {
+        requireNonNull(type, "type");
+        requireNonNull(name, "name");
+        requireNonNull(kind, "kind");
+    }
+
+    /**
+     * The type of a changed resource.
+     *
+     * <p>Metadata changes are reported per metadata part, named
+     * after the part type, e.g. {@code PackMeta}.</p>
+     *
+     * @since 1.11.6
+     */
+    public enum Type {
+        ATLAS,
+        BLOCK_STATE,
+        EQUIPMENT,
+        FONT,
+        ITEM,
+        LANGUAGE,
+        MODEL,
+        SOUND_REGISTRY,
+        SOUND,
+        TEXTURE,
+        WAYPOINT_STYLE,
+        UNKNOWN_FILE,
+        ICON,
+        METADATA,
+        OVERLAY
+    }
+
+    /**
+     * How a resource changed.
+     *
+     * @since 1.11.6
+     */
+    public enum Kind {
+        /**
+         * The resource is only in the new version.
+         */
+        ADDED,
+        /**
+         * The resource is only in the old version.
+         */
+        REMOVED,
+        /**
+         * The resource is in both versions, with different content.
+         */
+        CHANGED
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The differences between two versions of a resource container.
+ *
+ * @param changes The changed resources
+ * @see team.unnamed.creative.overlay.ResourceContainer#diff(team.unnamed.creative.overlay.ResourceContainer)
+ * @since 1.11.6
+ */
+public record ResourceDiff(@NotNull List<ResourceChange> changes) {
+    public ResourceDiff {
+        changes = List.copyOf(requireNonNull(changes, "changes"));
+    }
+
+    /**
+     * Determines whether both versions have the same content.
+     *
+     * @return True if nothing changed
+     * @since 1.11.6
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Returns the changes of the given type of resources.
+     *
+     * @param type The resource type
+     * @return The changes of that type
+     * @since 1.11.6
+     */
+    public @NotNull List<ResourceChange> changes(final @NotNull ResourceChange.Type type) {
+        requireNonNull(type, "type");
+        final List<ResourceChange> result = new ArrayList<>();
+        for (final ResourceChange change : changes) {
+            if (change.type() == type) {
+                result.add(change);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the changes of the given kind.
+     *
+     * @param kind The change kind
+     * @return The changes of that kind
+     * @since 1.11.6
+     */
+    public @NotNull List<ResourceChange> changes(final @NotNull ResourceChange.Kind kind) {
+        requireNonNull(kind, "kind");
+        final List<ResourceChange> result = new ArrayList<>();
+        for (final ResourceChange change : changes) {
+            if (change.kind() == kind) {
+                result.add(change);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.ImmutableWritable;
+import team.unnamed.creative.base.PathWritable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.sound.Sound;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Compares resources by content, using fingerprints: a digest of the data
+ * for {@link Writable}s, and the structural hash code for other resources
+ * (e.g. models or block states), which is only confirmed with
+ * {@link Object#equals(Object)} when the hashes match.
+ *
+ * <p>Fingerprints are computed the first time they are needed and cached
+ * for as long as the resource instance is alive, so they are reused across
+ * merges. Digests are only cached for data that can't change
+ * ({@link ImmutableWritable}) and for files ({@link PathWritable}), whose
+ * digest is computed again when their size or modification time changes.
+ * The data of any other {@link Writable} is read every time.</p>
+ */
+@ApiStatus.Internal
+public final class Fingerprints {
+
+    private static final WeakIdentityCache<Writable, byte[]> DIGESTS = new WeakIdentityCache<>();
+    private static final WeakIdentityCache<Writable, FileDigest> FILE_DIGESTS = new WeakIdentityCache<>();
+    private static final WeakIdentityCache<Object, Integer> HASHES = new WeakIdentityCache<>();
+
+    private Fingerprints() {
+    }
+
+    /**
+     * Determines whether the given resources have the same content.
+     *
+     * @param a The first resource
+     * @param b The second resource
+     * @return True if both have the same content
+     * @throws UncheckedIOException If reading the data of a {@link Writable} fails
+     */
+    public static boolean sameContent(final @Nullable Object a, final @Nullable Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        if (a instanceof Writable writableA && b instanceof Writable writableB) {
+            return Arrays.equals(digest(writableA), digest(writableB));
+        }
+        // resources holding data, the data is compared using its digest
+        if (a instanceof Texture textureA && b instanceof Texture textureB) {
+            return textureA.key().equals(textureB.key())
+                    && textureA.meta().equals(textureB.meta())
+                    && sameContent(textureA.data(), textureB.data());
+        }
+        if (a instanceof Sound soundA && b instanceof Sound soundB) {
+            return soundA.key().equals(soundB.key())
+                    && sameContent(soundA.data(), soundB.data());
+        }
+        if (a instanceof Map.Entry<?, ?> entryA && b instanceof Map.Entry<?, ?> entryB) {
+            return entryA.getKey().equals(entryB.getKey())
+                    && sameContent(entryA.getValue(), entryB.getValue());
+        }
+        // structural resources, compare the hashes first, which are cached
+        return hash(a) == hash(b) && a.equals(b);
+    }
+
+    /**
+     * Computes (or gets the cached) SHA-256 digest of the given data.
+     *
+     * @param writable The data
+     * @return The digest
+     * @throws UncheckedIOException If reading the data fails
+     */
+    public static byte @NotNull [] digest(final @NotNull Writable writable) {
+        if (writable instanceof ImmutableWritable) {
+            return DIGESTS.computeIfAbsent(writable, Fingerprints::computeDigest).clone();
+        }
+        if (writable instanceof PathWritable pathWritable) {
+            // read the attributes before the data, so that if the file
+            // changes while we read it, the digest is computed again later
+            final BasicFileAttributes attributes;
+            try {
+                attributes = pathWritable.attributes();
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to read the attributes of " + writable, e);
+            }
+            final FileDigest cached = FILE_DIGESTS.get(writable);
+            if (cached != null && cached.matches(attributes)) {
+                return cached.digest().clone();
+            }
+            final byte[] digest = computeDigest(writable);
+            FILE_DIGESTS.put(writable, new FileDigest(attributes.size(), attributes.lastModifiedTime(), digest));
+            return digest.clone();
+        }
+        // we can't know if the data changed, read it every time
+        return computeDigest(writable);
+    }
+
+    private static byte @NotNull [] computeDigest(final @NotNull Writable writable) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (final OutputStream output = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            writable.write(output);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to compute the digest of " + writable, e);
+        }
+        return digest.digest();
+    }
+
+    private static int hash(final @NotNull Object object) {
+        return HASHES.computeIfAbsent(object, Object::hashCode);
+    }
+
+    /**
+     * A cache keyed by object identity, that does not
+     * prevent the keys from being garbage collected.
+     */
+    private static final class WeakIdentityCache<K, V> {
+        private final Map<IdentityReference, V> values = new ConcurrentHashMap<>();
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+        @Nullable V get(final @NotNull K key) {
+            expunge();
+            return values.get(new IdentityReference(key, null));
+        }
+
+        void put(final @NotNull K key, final @NotNull V value) {
+            expunge();
+            values.put(new IdentityReference(key, queue), value);
+        }
+
+        V computeIfAbsent(final @NotNull K key, final @NotNull Function<K, V> function) {
+            expunge();
+            final V cached = values.get(new IdentityReference(key, null));
+            if (cached != null) {
+                return cached;
+            }
+            final V value = function.apply(key);
+            values.put(new IdentityReference(key, queue), value);
+            return value;
+        }
+
+        private void expunge() {
+            Object reference;
+            while ((reference = queue.poll()) != null) {
+                values.remove(reference);
+            }
+        }
+    }
+
+    /**
+     * The digest of a file, valid while its size and
+     * modification time don't change.
+     */
+    private record FileDigest(long size, @NotNull FileTime lastModified, byte @NotNull [] digest) {
+        boolean matches(final @NotNull BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime());
+        }
+    }
+
+    private static final class IdentityReference extends WeakReference<Object> {
+        private final int hash;
+
+        IdentityReference(final @NotNull Object referent, final @Nullable ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) return true;
+            if (!(other instanceof IdentityReference reference)) return false;
+            final Object referent = get();
+            return referent != null && referent == reference.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.resources.MergeStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ConcurrentResourcePackTest {
+    private static final int THREADS = 8;
+    private static final int FILES_PER_THREAD = 500;
+
+    @Test
+    void test_concurrent_additions_are_sorted() throws Exception {
+        final ResourcePack resourcePack = ResourcePack.concurrent();
+        runConcurrently(thread -> {
+            for (int i = 0; i < FILES_PER_THREAD; i++) {
+                // interleave the paths between threads
+                resourcePack.unknownFile(String.format("file-%05d.txt", i * THREADS + thread), Writable.EMPTY);
+            }
+        });
+
+        final List<String> paths = new ArrayList<>(resourcePack.unknownFiles().keySet());
+        assertEquals(THREADS * FILES_PER_THREAD, paths.size());
+        for (int i = 0; i < paths.size(); i++) {
+            assertEquals(String.format("file-%05d.txt", i), paths.get(i));
+        }
+    }
+
+    @Test
+    void test_concurrent_merges_are_atomic() throws Exception {
+        final Key key = Key.key("en_us");
+        final ResourcePack resourcePack = ResourcePack.concurrent();
+        runConcurrently(thread -> {
+            for (int i = 0; i < FILES_PER_THREAD; i++) {
+                final ResourcePack other = ResourcePack.resourcePack();
+                other.language(Language.language(key, Map.of("thread." + thread + "." + i, "value")));
+                other.unknownFile("shared.txt", Writable.stringUtf8("thread " + thread));
+                other.overlay(Overlay.overlay("dir"));
+                resourcePack.merge(other, MergeStrategy.mergeAndKeepFirstOnError());
+            }
+        });
+
+        final Language language = resourcePack.language(key);
+        assertNotNull(language);
+        // no translation was lost
+        assertEquals(THREADS * FILES_PER_THREAD, language.translations().size());
+        assertEquals(1, resourcePack.unknownFiles().size());
+        assertEquals(1, resourcePack.overlays().size());
+    }
+
+    private static void runConcurrently(final ThreadTask task) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int index = thread;
+                futures.add(executor.submit(() -> task.run(index)));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(final int thread);
+    }
+}
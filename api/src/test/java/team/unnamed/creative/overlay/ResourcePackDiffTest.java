@@ -0,0 +1,140 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.resources.ResourceChange;
+import team.unnamed.creative.resources.ResourceDiff;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourcePackDiffTest {
+    private static final Key EN_US = Key.key("en_us");
+    private static final Key ES_ES = Key.key("es_es");
+    private static final Key PT_BR = Key.key("pt_br");
+
+    @Test
+    void test_no_changes() {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Description");
+        resourcePack.icon(Writable.stringUtf8("icon"));
+        for (int i = 0; i < 50_000; i++) {
+            resourcePack.unknownFile("file-" + i + ".txt", Writable.stringUtf8(Integer.toString(i)));
+        }
+        final Overlay overlay = Overlay.overlay("dir");
+        overlay.language(Language.language(EN_US, Map.of("a", "A")));
+        resourcePack.overlay(overlay);
+
+        assertTrue(resourcePack.diff(resourcePack.snapshot()).isEmpty());
+        assertTrue(resourcePack.diff(resourcePack.freeze()).isEmpty());
+
+        // same content, but different instances
+        final ResourcePack copy = ResourcePack.resourcePack();
+        copy.packMeta(34, "Description");
+        copy.icon(Writable.stringUtf8("icon"));
+        for (int i = 0; i < 50_000; i++) {
+            copy.unknownFile("file-" + i + ".txt", Writable.stringUtf8(Integer.toString(i)));
+        }
+        final Overlay overlayCopy = Overlay.overlay("dir");
+        overlayCopy.language(Language.language(EN_US, Map.of("a", "A")));
+        copy.overlay(overlayCopy);
+        assertTrue(resourcePack.diff(copy).isEmpty());
+    }
+
+    @Test
+    void test_changes() {
+        final ResourcePack oldPack = ResourcePack.resourcePack();
+        oldPack.packMeta(34, "Description");
+        oldPack.icon(Writable.stringUtf8("icon"));
+        oldPack.language(Language.language(EN_US, Map.of("a", "A")));
+        oldPack.language(Language.language(ES_ES, Map.of("a", "A")));
+        oldPack.unknownFile("removed.txt", Writable.stringUtf8("removed"));
+        final Overlay removedOverlay = Overlay.overlay("removed");
+        removedOverlay.unknownFile("a.txt", Writable.stringUtf8("a"));
+        oldPack.overlay(removedOverlay);
+
+        final ResourcePack target = ResourcePack.resourcePack();
+        target.packMeta(46, "Description");
+        target.language(Language.language(EN_US, Map.of("a", "B")));
+        target.language(Language.language(ES_ES, Map.of("a", "A")));
+        target.language(Language.language(PT_BR, Map.of("a", "A")));
+        target.unknownFile("added.txt", Writable.stringUtf8("added"));
+        final Overlay addedOverlay = Overlay.overlay("added");
+        addedOverlay.language(Language.language(EN_US, Map.of("b", "B")));
+        target.overlay(addedOverlay);
+
+        final ResourceDiff diff = oldPack.diff(target);
+        assertEquals(List.of(
+                new ResourceChange(null, ResourceChange.Type.LANGUAGE, "minecraft:en_us", ResourceChange.Kind.CHANGED),
+                new ResourceChange(null, ResourceChange.Type.LANGUAGE, "minecraft:pt_br", ResourceChange.Kind.ADDED),
+                new ResourceChange(null, ResourceChange.Type.UNKNOWN_FILE, "removed.txt", ResourceChange.Kind.REMOVED),
+                new ResourceChange(null, ResourceChange.Type.UNKNOWN_FILE, "added.txt", ResourceChange.Kind.ADDED),
+                new ResourceChange(null, ResourceChange.Type.ICON, "pack.png", ResourceChange.Kind.REMOVED),
+                new ResourceChange(null, ResourceChange.Type.METADATA, "PackMeta", ResourceChange.Kind.CHANGED),
+                new ResourceChange(null, ResourceChange.Type.OVERLAY, "removed", ResourceChange.Kind.REMOVED),
+                new ResourceChange("removed", ResourceChange.Type.UNKNOWN_FILE, "a.txt", ResourceChange.Kind.REMOVED),
+                new ResourceChange(null, ResourceChange.Type.OVERLAY, "added", ResourceChange.Kind.ADDED),
+                new ResourceChange("added", ResourceChange.Type.LANGUAGE, "minecraft:en_us", ResourceChange.Kind.ADDED)
+        ), diff.changes());
+        assertEquals(4, diff.changes(ResourceChange.Kind.ADDED).size());
+        assertEquals(3, diff.changes(ResourceChange.Type.LANGUAGE).size());
+    }
+
+    @Test
+    void test_file_changes_between_diffs() throws IOException {
+        final Key key = Key.key("test:texture.png");
+        final Path file = Files.createTempFile("creative-diff", ".png");
+        try {
+            Files.writeString(file, "old");
+            final ResourcePack oldPack = ResourcePack.resourcePack();
+            oldPack.texture(Texture.texture(key, Writable.bytes("old".getBytes())));
+            final ResourcePack target = ResourcePack.resourcePack();
+            target.texture(Texture.texture(key, Writable.path(file)));
+            assertTrue(oldPack.diff(target).isEmpty());
+
+            // same size, only the modification time tells it changed
+            final FileTime lastModified = Files.getLastModifiedTime(file);
+            Files.writeString(file, "new");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 1000L));
+            assertEquals(List.of(
+                    new ResourceChange(null, ResourceChange.Type.TEXTURE, key.asString(), ResourceChange.Kind.CHANGED)
+            ), oldPack.diff(target).changes());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
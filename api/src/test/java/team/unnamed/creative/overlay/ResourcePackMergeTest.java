@@ -23,14 +23,32 @@
  */
 package team.unnamed.creative.overlay;
 
+import net.kyori.adventure.key.Key;
 import org.junit.jupiter.api.Test;
 import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.font.Font;
 import team.unnamed.creative.font.FontProvider;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.resources.MergeConflict;
+import team.unnamed.creative.resources.MergeConflictException;
+import team.unnamed.creative.resources.MergeException;
+import team.unnamed.creative.resources.MergeReport;
 import team.unnamed.creative.resources.MergeStrategy;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ResourcePackMergeTest {
     private static final Writable ICON_0 = Writable.stringUtf8("icon 0");
@@ -147,4 +165,202 @@ class ResourcePackMergeTest {
                 base.font(Font.MINECRAFT_DEFAULT)
         );
     }
+
+    @Test
+    void test_bulk_merge_reports_conflicts() {
+        final ResourcePack base = ResourcePack.resourcePack();
+        final List<ResourcePack> packs = createPacks();
+
+        final MergeReport report = base.merge(packs, MergeStrategy.mergeAndKeepFirstOnError());
+
+        assertEquals(ICON_0, base.icon()); // keeps first
+        assertEquals(TE, base.unknownFile("te")); // keeps first
+        assertEquals(AB, base.unknownFile("added")); // added
+        assertEquals(AB, base.texture(Key.key("test:overlay.png")).data());
+        assertEquals(3, base.font(Font.MINECRAFT_DEFAULT).providers().size()); // merged
+
+        final Language language = base.language(Key.key("en_us"));
+        assertNotNull(language);
+        assertEquals(Map.of("a", "A", "b", "B2", "c", "C"), language.translations());
+
+        final Overlay overlay = base.overlay("v20");
+        assertNotNull(overlay);
+        assertEquals(TE, overlay.unknownFile("te")); // keeps first
+
+        assertEquals(List.of(
+                new MergeConflict(null, MergeConflict.Type.TRANSLATION, "minecraft:en_us/b", List.of(0, 2)),
+                new MergeConflict(null, MergeConflict.Type.UNKNOWN_FILE, "te", List.of(0, 1, 2)),
+                new MergeConflict(null, MergeConflict.Type.ICON, "pack.png", List.of(0, 1)),
+                new MergeConflict("v20", MergeConflict.Type.UNKNOWN_FILE, "te", List.of(0, 1))
+        ), report.conflicts());
+    }
+
+    @Test
+    void test_bulk_merge_fails_with_all_conflicts() {
+        final ResourcePack base = ResourcePack.resourcePack();
+        final List<ResourcePack> packs = createPacks();
+
+        final MergeConflictException exception = assertThrows(
+                MergeConflictException.class,
+                () -> base.merge(packs, MergeStrategy.mergeAndFailOnError())
+        );
+        assertEquals(4, exception.report().conflicts().size());
+
+        // nothing is merged
+        assertNull(base.icon());
+        assertTrue(base.unknownFiles().isEmpty());
+        assertTrue(base.overlays().isEmpty());
+    }
+
+    @Test
+    void test_bulk_merge_same_as_one_by_one() {
+        final ResourcePack oneByOne = ResourcePack.resourcePack();
+        for (final ResourcePack pack : createPacks()) {
+            oneByOne.merge(pack, MergeStrategy.override());
+        }
+
+        final ResourcePack sequential = ResourcePack.resourcePack();
+        final MergeReport sequentialReport = sequential.merge(createPacks(), MergeStrategy.override());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final ResourcePack parallel = ResourcePack.resourcePack();
+        final MergeReport parallelReport;
+        try {
+            parallelReport = parallel.merge(createPacks(), MergeStrategy.override(), executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        for (final ResourcePack merged : List.of(sequential, parallel)) {
+            assertEquals(oneByOne.icon(), merged.icon());
+            assertEquals(oneByOne.unknownFiles(), merged.unknownFiles());
+            assertEquals(oneByOne.font(Font.MINECRAFT_DEFAULT), merged.font(Font.MINECRAFT_DEFAULT));
+            assertEquals(oneByOne.language(Key.key("en_us")), merged.language(Key.key("en_us")));
+            assertEquals(new ArrayList<>(oneByOne.textures()), new ArrayList<>(merged.textures()));
+        }
+        assertEquals(sequentialReport, parallelReport);
+    }
+
+    @Test
+    void test_identical_duplicates_are_not_conflicts() {
+        final List<ResourcePack> packs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            // same content, but different instances
+            final ResourcePack pack = ResourcePack.resourcePack();
+            pack.texture(Key.key("test:shared.png"), Writable.bytes(new byte[]{1, 2, 3}));
+            pack.unknownFile("shared.txt", Writable.stringUtf8("shared"));
+            pack.font(Font.font(Font.MINECRAFT_DEFAULT, FontProvider.space().advance("a", 5).build()));
+            packs.add(pack);
+        }
+        packs.get(2).texture(Key.key("test:other.png"), Writable.bytes(new byte[]{4}));
+
+        final ResourcePack bulk = ResourcePack.resourcePack();
+        final MergeReport report = bulk.merge(packs, MergeStrategy.mergeAndFailOnError());
+        assertTrue(report.conflicts().isEmpty());
+        assertEquals(2, bulk.textures().size());
+        assertEquals(1, bulk.font(Font.MINECRAFT_DEFAULT).providers().size());
+
+        final ResourcePack oneByOne = ResourcePack.resourcePack();
+        for (final ResourcePack pack : packs) {
+            oneByOne.merge(pack, MergeStrategy.mergeAndFailOnError());
+        }
+        assertEquals(2, oneByOne.textures().size());
+        assertEquals(1, oneByOne.font(Font.MINECRAFT_DEFAULT).providers().size());
+
+        // different content is still a conflict
+        packs.get(1).texture(Key.key("test:shared.png"), Writable.bytes(new byte[]{9}));
+        final MergeConflictException exception = assertThrows(
+                MergeConflictException.class,
+                () -> ResourcePack.resourcePack().merge(packs, MergeStrategy.mergeAndFailOnError())
+        );
+        assertEquals(List.of(new MergeConflict(null, MergeConflict.Type.TEXTURE, "test:shared.png", List.of(0, 1, 2))), exception.report().conflicts());
+    }
+
+    @Test
+    void test_override_does_not_read_contents() {
+        final List<Writable> unreadable = new ArrayList<>();
+        final List<ResourcePack> packs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final String name = "writable " + i;
+            final Writable writable = output -> {
+                throw new IOException("contents of " + name + " must not be read");
+            };
+            final ResourcePack pack = ResourcePack.resourcePack();
+            pack.icon(writable);
+            pack.texture(Key.key("test:texture.png"), writable);
+            pack.unknownFile("file", writable);
+            unreadable.add(writable);
+            packs.add(pack);
+        }
+
+        final ResourcePack oneByOne = ResourcePack.resourcePack();
+        for (final ResourcePack pack : packs) {
+            oneByOne.merge(pack, MergeStrategy.override());
+        }
+
+        final ResourcePack bulk = ResourcePack.resourcePack();
+        final MergeReport report = bulk.merge(packs, MergeStrategy.override());
+        assertEquals(3, report.conflicts().size());
+
+        for (final ResourcePack merged : List.of(oneByOne, bulk)) {
+            // last one wins
+            assertSame(unreadable.get(1), merged.icon());
+            assertSame(unreadable.get(1), merged.texture(Key.key("test:texture.png")).data());
+            assertSame(unreadable.get(1), merged.unknownFile("file"));
+        }
+    }
+
+    @Test
+    void test_font_merge_drops_shadowed_glyphs() {
+        final FontProvider first = FontProvider.bitMap(Key.key("test:first.png"), 8, 7, List.of("\uE000\uE001"));
+        final FontProvider shadowed = FontProvider.bitMap(Key.key("test:shadowed.png"), 8, 7, List.of("\uE001\u0000"));
+        final FontProvider partial = FontProvider.bitMap(Key.key("test:partial.png"), 8, 7, List.of("\uE001\uE002"));
+        final FontProvider unknown = FontProvider.reference(Key.key("test:other"));
+
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.font(Font.font(Font.MINECRAFT_DEFAULT, first));
+        final ResourcePack added = ResourcePack.resourcePack();
+        added.font(Font.font(Font.MINECRAFT_DEFAULT, shadowed, partial, unknown));
+
+        final MergeReport report = base.merge(List.of(added), MergeStrategy.mergeAndKeepFirstOnError());
+        assertEquals(List.of(first, partial, unknown), base.font(Font.MINECRAFT_DEFAULT).providers());
+        assertEquals(List.of(new MergeConflict(null, MergeConflict.Type.GLYPH, "minecraft:default/U+E001", List.of(-1, 0))), report.conflicts());
+
+        final ResourcePack oneByOne = ResourcePack.resourcePack();
+        oneByOne.font(Font.font(Font.MINECRAFT_DEFAULT, first));
+        oneByOne.merge(added, MergeStrategy.mergeAndKeepFirstOnError());
+        assertEquals(List.of(first, partial, unknown), oneByOne.font(Font.MINECRAFT_DEFAULT).providers());
+
+        final ResourcePack failing = ResourcePack.resourcePack();
+        failing.font(Font.font(Font.MINECRAFT_DEFAULT, first));
+        assertThrows(MergeException.class, () -> failing.merge(added, MergeStrategy.mergeAndFailOnError()));
+    }
+
+    private static List<ResourcePack> createPacks() {
+        final ResourcePack first = ResourcePack.resourcePack();
+        first.icon(ICON_0);
+        first.unknownFile("te", TE);
+        first.font(Font.font(Font.MINECRAFT_DEFAULT, FontProvider.space().advance("a", 5).build()));
+        first.language(Language.language(Key.key("en_us"), Map.of("a", "A", "b", "B")));
+        final Overlay firstOverlay = Overlay.overlay("v20");
+        firstOverlay.unknownFile("te", TE);
+        first.overlay(firstOverlay);
+
+        final ResourcePack second = ResourcePack.resourcePack();
+        second.icon(ICON_1);
+        second.unknownFile("te", AB);
+        second.unknownFile("added", AB);
+        second.font(Font.font(Font.MINECRAFT_DEFAULT, FontProvider.space().advance("b", 6).build()));
+        second.texture(Key.key("test:overlay.png"), AB);
+        final Overlay secondOverlay = Overlay.overlay("v20");
+        secondOverlay.unknownFile("te", AB);
+        second.overlay(secondOverlay);
+
+        final ResourcePack third = ResourcePack.resourcePack();
+        third.unknownFile("te", AB);
+        third.font(Font.font(Font.MINECRAFT_DEFAULT, FontProvider.space().advance("c", 7).build()));
+        third.language(Language.language(Key.key("en_us"), Map.of("b", "B2", "c", "C")));
+
+        return List.of(first, second, third);
+    }
 }
@@ -0,0 +1,264 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResourcePackSnapshotTest {
+    private static final Writable ICON = Writable.stringUtf8("icon");
+    private static final Writable DATA = Writable.stringUtf8("data");
+
+    private static final Key EN_US = Key.key("en_us");
+    private static final Key ES_ES = Key.key("es_es");
+
+    @Test
+    void test_snapshot_is_isolated() {
+        final ResourcePack live = ResourcePack.resourcePack();
+        live.icon(ICON);
+        live.language(Language.language(EN_US, Map.of("a", "A")));
+        live.unknownFile("a.txt", DATA);
+        final Overlay overlay = Overlay.overlay("dir");
+        overlay.unknownFile("b.txt", DATA);
+        live.overlay(overlay);
+
+        final ResourcePack snapshot = live.snapshot();
+
+        // modify everything in the live resource pack
+        live.icon(null);
+        live.language(Language.language(ES_ES, Map.of("b", "B")));
+        live.removeUnknownFile("a.txt");
+        live.unknownFiles().put("c.txt", DATA);
+        overlay.unknownFile("d.txt", DATA);
+        live.overlay(Overlay.overlay("other"));
+
+        assertEquals(ICON, snapshot.icon());
+        assertEquals(1, snapshot.languages().size());
+        assertNotNull(snapshot.language(EN_US));
+        assertNull(snapshot.language(ES_ES));
+        assertEquals(Map.of("a.txt", DATA), snapshot.unknownFiles());
+        assertEquals(1, snapshot.overlays().size());
+        final Overlay overlaySnapshot = snapshot.overlay("dir");
+        assertNotNull(overlaySnapshot);
+        assertEquals(Map.of("b.txt", DATA), overlaySnapshot.unknownFiles());
+
+        assertNull(live.icon());
+        assertEquals(2, live.languages().size());
+        assertEquals(Map.of("c.txt", DATA), live.unknownFiles());
+        assertEquals(2, overlay.unknownFiles().size());
+        assertEquals(2, live.overlays().size());
+    }
+
+    @Test
+    void test_snapshot_is_read_only() {
+        final ResourcePack live = ResourcePack.resourcePack();
+        live.language(Language.language(EN_US, Map.of("a", "A")));
+        live.unknownFile("a.txt", DATA);
+        live.overlay(Overlay.overlay("dir"));
+
+        final ResourcePack snapshot = live.snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.icon(ICON));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.language(Language.language(ES_ES, Map.of())));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.removeLanguage(EN_US));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.languages().clear());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.unknownFile("b.txt", DATA));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.unknownFiles().remove("a.txt"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.overlay(Overlay.overlay("other")));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.overlay("dir").unknownFile("b.txt", DATA));
+
+        // nothing was modified
+        assertEquals(1, snapshot.languages().size());
+        assertEquals(1, snapshot.unknownFiles().size());
+        assertEquals(1, live.languages().size());
+        assertEquals(1, live.unknownFiles().size());
+    }
+
+    @Test
+    void test_remove_while_iterating_after_snapshot() {
+        final ResourcePack live = ResourcePack.resourcePack();
+        live.unknownFile("a.txt", DATA);
+        live.unknownFile("b.txt", DATA);
+        live.unknownFile("c.txt", DATA);
+
+        final ResourcePack snapshot = live.snapshot();
+
+        final Iterator<String> iterator = live.unknownFiles().keySet().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().equals("b.txt")) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(Map.of("b.txt", DATA), live.unknownFiles());
+        assertEquals(3, snapshot.unknownFiles().size());
+    }
+
+    @Test
+    void test_freeze() {
+        final ResourcePack live = ResourcePack.resourcePack();
+        live.icon(ICON);
+        for (int i = 0; i < 1000; i++) {
+            live.unknownFile("file-" + i + ".txt", Writable.stringUtf8(Integer.toString(i)));
+        }
+        final Overlay overlay = Overlay.overlay("dir");
+        overlay.unknownFile("b.txt", DATA);
+        live.overlay(overlay);
+
+        // lazy resources are not loaded when freezing
+        final AtomicInteger loads = new AtomicInteger();
+        ((LazyResourceCollection<Language>) live.languages()).addLazy(EN_US, new LazyResource<>() {
+            @Override
+            public @NotNull String path() {
+                return "assets/minecraft/lang/en_us.json";
+            }
+
+            @Override
+            public @NotNull Writable source() {
+                return DATA;
+            }
+
+            @Override
+            public @NotNull Language load() {
+                loads.incrementAndGet();
+                return Language.language(EN_US, Map.of("a", "A"));
+            }
+        });
+
+        final ResourcePack frozen = live.freeze();
+        assertEquals(0, loads.get());
+
+        assertEquals(ICON, frozen.icon());
+        assertEquals(live.unknownFiles(), frozen.unknownFiles());
+        // same iteration order
+        assertEquals(new ArrayList<>(live.unknownFiles().keySet()), new ArrayList<>(frozen.unknownFiles().keySet()));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(live.unknownFile("file-" + i + ".txt"), frozen.unknownFile("file-" + i + ".txt"));
+        }
+        assertNull(frozen.unknownFile("missing.txt"));
+        assertNotNull(frozen.overlay("dir"));
+        assertEquals(Map.of("b.txt", DATA), frozen.overlay("dir").unknownFiles());
+
+        // lazy resources are loaded once, when accessed
+        assertNotNull(frozen.language(EN_US));
+        assertNotNull(frozen.language(EN_US));
+        assertEquals(1, loads.get());
+
+        assertThrows(UnsupportedOperationException.class, () -> frozen.unknownFile("c.txt", DATA));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.removeUnknownFile("file-0.txt"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.overlay("dir").unknownFile("c.txt", DATA));
+    }
+
+    @Test
+    void test_read_snapshots_while_modifying() throws Exception {
+        final int count = 1000;
+        final ResourcePack live = ResourcePack.resourcePack();
+        final AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < count; i++) {
+            ((LazyResourceCollection<Language>) live.languages()).addLazy(Key.key("lang_" + i), lazyLanguage("lang_" + i, loads));
+        }
+
+        final ResourcePack snapshot = live.snapshot();
+        final ResourcePack frozen = live.freeze();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> readers = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final ResourcePack read = thread % 2 == 0 ? snapshot : frozen;
+                readers.add(executor.submit(() -> {
+                    for (int i = 0; i < count; i++) {
+                        final Language language = read.language(Key.key("lang_" + i));
+                        assertNotNull(language);
+                        assertEquals(Map.of("key", "lang_" + i), language.translations());
+                    }
+                    assertEquals(count, read.languages().size());
+                }));
+            }
+
+            // meanwhile, load and modify the live resource pack
+            for (int i = 0; i < count; i++) {
+                assertNotNull(live.language(Key.key("lang_" + i)));
+                if (i % 2 == 0) {
+                    live.removeLanguage(Key.key("lang_" + i));
+                }
+            }
+
+            for (final Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(count / 2, live.languages().size());
+        // reading the snapshots never modifies the entries they share
+        assertEquals(count, ((LazyResourceCollection<Language>) snapshot.languages()).unloaded().size());
+        assertEquals(count, ((LazyResourceCollection<Language>) frozen.languages()).unloaded().size());
+        // and the loaded resources are remembered
+        final int loaded = loads.get();
+        for (final ResourcePack read : List.of(live, snapshot, frozen)) {
+            for (final Language language : read.languages()) {
+                assertNotNull(language);
+            }
+        }
+        assertEquals(loaded, loads.get());
+    }
+
+    private static @NotNull LazyResource<Language> lazyLanguage(final @NotNull String name, final @NotNull AtomicInteger loads) {
+        return new LazyResource<>() {
+            @Override
+            public @NotNull String path() {
+                return "assets/minecraft/lang/" + name + ".json";
+            }
+
+            @Override
+            public @NotNull Writable source() {
+                return DATA;
+            }
+
+            @Override
+            public @NotNull Language load() {
+                loads.incrementAndGet();
+                return Language.language(Key.key(name), Map.of("key", name));
+            }
+        };
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.KeyPattern;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.metadata.filter.FilterMeta;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.sound.SoundEvent;
+import team.unnamed.creative.sound.SoundRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeltaPackTest {
+    private static final Key EN_US = Key.key("en_us");
+    private static final Key PAPER = Key.key("item/paper");
+    private static final Key STICK = Key.key("item/stick");
+
+    // patterns are compared by identity, keep the same instance
+    private static final FilterMeta FILTER = FilterMeta.filter(KeyPattern.ofNamespace(Pattern.compile("realms")));
+
+    @Test
+    void test_up_to_date() {
+        final ResourcePack base = base();
+        final DeltaPack delta = DeltaPack.delta(base, base.snapshot());
+        assertEquals(DeltaPack.Strategy.UP_TO_DATE, delta.strategy());
+        assertTrue(delta.diff().isEmpty());
+    }
+
+    @Test
+    void test_delta() {
+        final ResourcePack base = base();
+        final ResourcePack target = base();
+        target.model(Model.model().key(PAPER).parent(Key.key("item/handheld")).build());
+        target.language(Language.language(EN_US, Map.of("a", "A", "b", "C", "c", "C")));
+        target.soundRegistry(SoundRegistry.soundRegistry("minecraft", List.of(
+                SoundEvent.soundEvent(Key.key("a"), false, "a", List.of()),
+                SoundEvent.soundEvent(Key.key("b"), false, "changed", List.of())
+        )));
+
+        final DeltaPack delta = DeltaPack.delta(base, target);
+        assertEquals(DeltaPack.Strategy.DELTA, delta.strategy());
+        assertTrue(delta.unsupported().isEmpty());
+
+        final ResourcePack resourcePack = delta.resourcePack();
+        assertEquals(target.model(PAPER), resourcePack.model(PAPER));
+        assertNull(resourcePack.model(STICK));
+        assertEquals(0, resourcePack.unknownFiles().size());
+
+        // only the changed translations and sound events
+        assertEquals(Language.language(EN_US, Map.of("b", "C", "c", "C")), resourcePack.language(EN_US));
+        final SoundRegistry soundRegistry = resourcePack.soundRegistry("minecraft");
+        assertNotNull(soundRegistry);
+        assertEquals(List.of(SoundEvent.soundEvent(Key.key("b"), true, "changed", List.of())), List.copyOf(soundRegistry.sounds()));
+
+        // same pack meta, but the filter is not kept
+        assertEquals(target.packMeta(), resourcePack.packMeta());
+        assertNull(resourcePack.filterMeta());
+    }
+
+    @Test
+    void test_full() {
+        final ResourcePack base = base();
+
+        // removed resources can't be applied by a delta
+        final ResourcePack removed = base();
+        removed.removeUnknownFile("file-0.txt");
+        final DeltaPack removedDelta = DeltaPack.delta(base, removed);
+        assertEquals(DeltaPack.Strategy.FULL, removedDelta.strategy());
+        assertEquals(List.of(new ResourceChange(null, ResourceChange.Type.UNKNOWN_FILE, "file-0.txt", ResourceChange.Kind.REMOVED)), removedDelta.unsupported());
+
+        // neither removed translations
+        final ResourcePack removedTranslation = base();
+        removedTranslation.language(Language.language(EN_US, Map.of("a", "A")));
+        assertEquals(DeltaPack.Strategy.FULL, DeltaPack.delta(base, removedTranslation).strategy());
+
+        // too many changes
+        final ResourcePack changed = base();
+        for (int i = 0; i < 8; i++) {
+            changed.unknownFile("file-" + i + ".txt", Writable.stringUtf8("changed " + i));
+        }
+        final DeltaPack changedDelta = DeltaPack.delta(base, changed);
+        assertEquals(DeltaPack.Strategy.FULL, changedDelta.strategy());
+        assertTrue(changedDelta.unsupported().isEmpty());
+        assertEquals(DeltaPack.Strategy.DELTA, DeltaPack.delta(base, changed, 1D).strategy());
+    }
+
+    private static ResourcePack base() {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(46, "Description");
+        resourcePack.filterMeta(FILTER);
+        resourcePack.model(Model.model().key(PAPER).parent(Key.key("item/generated")).build());
+        resourcePack.model(Model.model().key(STICK).parent(Key.key("item/generated")).build());
+        resourcePack.language(Language.language(EN_US, Map.of("a", "A", "b", "B")));
+        resourcePack.soundRegistry(SoundRegistry.soundRegistry("minecraft", List.of(
+                SoundEvent.soundEvent(Key.key("a"), false, "a", List.of()),
+                SoundEvent.soundEvent(Key.key("b"), false, "b", List.of())
+        )));
+        for (int i = 0; i < 10; i++) {
+            resourcePack.unknownFile("file-" + i + ".txt", Writable.stringUtf8(Integer.toString(i)));
+        }
+        return resourcePack;
+    }
+}
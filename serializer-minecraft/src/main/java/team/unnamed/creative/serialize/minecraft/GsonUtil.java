@@ -29,6 +29,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -37,6 +38,7 @@ import team.unnamed.creative.base.Vector3Float;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.math.BigDecimal;
 
 @ApiStatus.Internal
 public final class GsonUtil {
@@ -144,6 +146,83 @@ public final class GsonUtil {
         );
     }
 
+    // streaming equivalents of the methods above, they read the next value
+    // from the given reader, and return exactly what the tree methods return
+
+    public static @NotNull String readString(final @NotNull JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+        return reader.nextString();
+    }
+
+    public static boolean readBoolean(final @NotNull JsonReader reader, final @NotNull String key) throws IOException {
+        final JsonToken token = reader.peek();
+        if (token == JsonToken.BOOLEAN) {
+            return reader.nextBoolean();
+        } else if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        } else {
+            // invalid value!
+            throw new IllegalStateException("Field '" + key + "' must be a boolean");
+        }
+    }
+
+    public static int readInt(final @NotNull JsonReader reader, final @NotNull String key) throws IOException {
+        if (reader.peek() != JsonToken.NUMBER) {
+            throw new IllegalStateException("Field '" + key + "' must be an integer");
+        }
+        try {
+            return reader.nextInt();
+        } catch (final NumberFormatException e) {
+            // not an exact int (e.g. 1.5 or a long), truncate it like JsonElement#getAsInt does
+            final String value = reader.nextString();
+            try {
+                return (int) Long.parseLong(value);
+            } catch (final NumberFormatException ignored) {
+                return new BigDecimal(value).intValue();
+            }
+        }
+    }
+
+    public static float readFloat(final @NotNull JsonReader reader) throws IOException {
+        // same as JsonElement#getAsFloat, which does not go through double
+        return Float.parseFloat(readString(reader));
+    }
+
+    public static float readFloat(final @NotNull JsonReader reader, final @NotNull String key) throws IOException {
+        if (reader.peek() != JsonToken.NUMBER) {
+            throw new IllegalStateException("Field '" + key + "' must be a float");
+        }
+        // same as getFloat, which goes through double
+        return (float) reader.nextDouble();
+    }
+
+    /*
+     * Reads all the remaining properties of the current object into
+     * the given tree, without consuming the end of the object. Used to
+     * fall back to the tree methods when a streaming read can't continue
+     */
+    public static @NotNull JsonObject parseRemaining(final @NotNull JsonReader reader, final @NotNull JsonObject object) throws IOException {
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            object.add(name, parseReader(reader));
+        }
+        return object;
+    }
+
+    public static @NotNull Vector3Float readVector3Float(final @NotNull JsonReader reader) throws IOException {
+        reader.beginArray();
+        final float x = (float) reader.nextDouble();
+        final float y = (float) reader.nextDouble();
+        final float z = (float) reader.nextDouble();
+        while (reader.hasNext()) {
+            reader.skipValue();
+        }
+        reader.endArray();
+        return new Vector3Float(x, y, z);
+    }
+
     public static int parseColor(JsonElement element) {
         if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber()) {
             // Already a single integer
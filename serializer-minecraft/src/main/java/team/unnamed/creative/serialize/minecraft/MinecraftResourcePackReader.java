@@ -25,6 +25,7 @@ package team.unnamed.creative.serialize.minecraft;
 
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.serialize.ResourcePackReader;
 import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
@@ -35,6 +36,7 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.concurrent.Executor;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
@@ -114,6 +116,21 @@ public interface MinecraftResourcePackReader extends ResourcePackReader<FileTree
         return read(FileTreeReader.directory(directory));
     }
 
+    /**
+     * Reads a {@link ResourcePack} from the given directory, and keeps
+     * watching it, so that the files that change are read again and
+     * applied to the resource pack, without reading the whole directory.
+     *
+     * <p>The returned watcher should be closed when it is no longer
+     * needed.</p>
+     *
+     * @param directory The resource pack directory
+     * @return The watcher, holding the read resource pack
+     * @throws IOException If the directory can't be read or watched
+     * @since 1.11.6
+     */
+    @NotNull ResourcePackWatcher watch(final @NotNull Path directory) throws IOException;
+
     /**
      * A builder for {@link MinecraftResourcePackReader} instances.
      *
@@ -135,6 +152,71 @@ public interface MinecraftResourcePackReader extends ResourcePackReader<FileTree
         @Contract("_ -> this")
         @NotNull Builder lenient(final boolean lenient);
 
+        /**
+         * Sets the executor used to read resources in parallel.
+         *
+         * <p>When set, the files are read, decompressed and deserialized
+         * by tasks submitted to this executor, and then added to the resource
+         * pack in the order they were found, so the result is the same as
+         * when no executor is set. Works best with readers that give random
+         * access to their files, like {@link FileTreeReader#zip(ZipFile)}.</p>
+         *
+         * <p>By default, there is no executor, and everything is done on the
+         * calling thread.</p>
+         *
+         * @param executor The executor, or null to read sequentially
+         * @return This builder
+         * @since 1.11.6
+         */
+        @Contract("_ -> this")
+        @NotNull Builder executor(final @Nullable Executor executor);
+
+        /**
+         * Makes the reader lazy.
+         *
+         * <p>A lazy reader only indexes the JSON resources (models, block
+         * states, fonts, items, languages, atlases and equipment) instead
+         * of parsing them, each resource is parsed the first time it is
+         * accessed through the resource pack, and then kept. Resources that
+         * are never accessed are written back exactly as they were read,
+         * without being parsed nor, for ZIP files, decompressed.</p>
+         *
+         * <p>Lazy resources read their data from the {@link FileTreeReader}
+         * when they are loaded, so it should be kept open while the resource
+         * pack is in use. If it is closed, readers like {@link FileTreeReader#zip(ZipFile)}
+         * keep the data of the remaining entries in memory instead.</p>
+         *
+         * <p>Note that errors in a lazy resource are thrown when it is loaded,
+         * not when the resource pack is read. By default, readers are not lazy.</p>
+         *
+         * @param lazy Whether the reader should be lazy
+         * @return This builder
+         * @since 1.11.6
+         */
+        @Contract("_ -> this")
+        @NotNull Builder lazy(final boolean lazy);
+
+        /**
+         * Sets the filter for the files to read.
+         *
+         * <p>Files rejected by the filter are skipped without being opened,
+         * so reading only a few kinds of files, for example:</p>
+         * <pre>{@code
+         * MinecraftResourcePackReader.builder()
+         *     .filter(ResourcePackReadFilter.categories(FontSerializer.CATEGORY, LanguageSerializer.CATEGORY))
+         *     .build();
+         * }</pre>
+         * <p>is much faster than reading the whole resource pack. Note that
+         * the {@code pack.mcmeta} file is always read. By default, all the
+         * files are read.</p>
+         *
+         * @param filter The filter
+         * @return This builder
+         * @since 1.11.6
+         */
+        @Contract("_ -> this")
+        @NotNull Builder filter(final @NotNull ResourcePackReadFilter filter);
+
         /**
          * Builds a new {@link MinecraftResourcePackReader} instance.
          *
@@ -26,15 +26,16 @@ package team.unnamed.creative.serialize.minecraft;
 import com.google.gson.JsonElement;
 import com.google.gson.stream.JsonReader;
 import net.kyori.adventure.key.Key;
+import net.kyori.adventure.key.Keyed;
 import org.intellij.lang.annotations.Subst;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Readable;
 import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.metadata.Metadata;
-import team.unnamed.creative.metadata.overlays.OverlayEntry;
-import team.unnamed.creative.metadata.overlays.OverlaysMeta;
-import team.unnamed.creative.metadata.pack.PackMeta;
+import team.unnamed.creative.overlay.LazyResource;
+import team.unnamed.creative.overlay.LazyResourceCollection;
 import team.unnamed.creative.overlay.Overlay;
 import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.part.ResourcePackPart;
@@ -42,20 +43,26 @@ import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
 import team.unnamed.creative.serialize.minecraft.io.BinaryResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.ResourceDeserializer;
+import team.unnamed.creative.serialize.minecraft.io.StreamingJsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.metadata.MetadataSerializer;
 import team.unnamed.creative.serialize.minecraft.sound.SoundRegistrySerializer;
 import team.unnamed.creative.texture.Texture;
-import team.unnamed.creative.util.Keys;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
 import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.*;
@@ -66,15 +73,23 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
             .build();
 
     private final boolean lenient;
+    private final @Nullable Executor executor;
+    private final boolean lazy;
+    private final ResourcePackReadFilter filter;
 
     private MinecraftResourcePackReaderImpl(
-            final boolean lenient
+            final boolean lenient,
+            final @Nullable Executor executor,
+            final boolean lazy,
+            final @NotNull ResourcePackReadFilter filter
     ) {
         this.lenient = lenient;
+        this.executor = executor;
+        this.lazy = lazy;
+        this.filter = requireNonNull(filter, "filter");
     }
 
     @Override
-    @SuppressWarnings("PatternValidation")
     public @NotNull ResourcePack read(final @NotNull FileTreeReader reader) {
         ResourcePack resourcePack = ResourcePack.resourcePack();
 
@@ -84,231 +99,119 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
         // (null key means it is root resource pack)
         Map<@Nullable String, Map<Key, Texture>> incompleteTextures = new LinkedHashMap<>();
 
-        // fill in with the default ones first (pack format is unknown at the start)
-        Map<String, ResourceCategory<?>> categoriesByFolderThisPackFormat = ResourceCategories.buildCategoryMapByFolder(-1);
-        Map<String, Integer> packFormatsByOverlayDir = new HashMap<>();
-        int packFormat = -1;
+        // determines what each file is, updated when pack.mcmeta is found
+        ResourcePackRouter router = new ResourcePackRouter();
+
+        // deserializes the files, in parallel if there is an executor, the
+        // results are always added to the resource pack in the same order
+        EntryQueue queue = new EntryQueue(executor);
 
         while (reader.hasNext()) {
             String path = reader.next();
 
-            // tokenize path in sections, e.g.: [ assets, minecraft, textures, ... ]
-            Queue<String> tokens = tokenize(path);
-
-            if (tokens.isEmpty()) {
-                // this should never happen
-                throw new IllegalStateException("Token collection is empty!");
-            }
-
-            // single token means the file is on the
-            // root level (top level files) so it may be:
-            // - pack.mcmeta
-            // - pack.png
-            if (tokens.size() == 1) {
-                switch (tokens.poll()) {
-                    case PACK_METADATA_FILE: {
-                        // found pack.mcmeta file, deserialize and add
-                        Metadata metadata = MetadataSerializer.INSTANCE.readFromTree(parseJson(reader.stream()));
-                        resourcePack.metadata(metadata);
-
-                        // get the pack format from the metadata
-                        PackMeta packMeta = metadata.meta(PackMeta.class);
-                        if (packMeta == null) {
-                            // TODO: better warning system
-                            System.err.println("Reading a resource-pack with no pack meta in its pack.mcmeta file! Unknown pack format version :(");
-                        } else {
-                            // update the pack format and categories
-                            packFormat = packMeta.formats().min();
-                            categoriesByFolderThisPackFormat = ResourceCategories.buildCategoryMapByFolder(packFormat);
-                        }
-
-                        // overlays info
-                        OverlaysMeta overlaysMeta = metadata.meta(OverlaysMeta.class);
-                        if (overlaysMeta != null) for (OverlayEntry entry : overlaysMeta.entries()) {
-                            packFormatsByOverlayDir.put(entry.directory(), entry.formats().min());
-                        }
-                        continue;
-                    }
-                    case PACK_ICON_FILE: {
-                        // found pack.png file, add
-                        resourcePack.icon(reader.content().asWritable());
-                        continue;
-                    }
-                    default: {
-                        // unknown top level file
-                        resourcePack.unknownFile(path, reader.content().asWritable());
-                        continue;
-                    }
-                }
-            }
-
-            // the container to use, it is initially the default resource-pack,
-            // but it may change if the file is inside an overlay folder
-            @Subst("dir")
-            @Nullable String overlayDir = null;
-            int localPackFormat = packFormat;
-
-            // the file path, relative to the container
-            String containerPath = path;
-            ResourceContainer container = resourcePack;
-
-            // if there are two or more tokens, it means the
-            // file is inside a folder, in a Minecraft resource
-            // pack, the first folder is always "assets"
-            String folder = tokens.poll();
-
-            if (packFormatsByOverlayDir.containsKey(folder)) {
-                if (tokens.isEmpty()) {
-                    // this means that there is a file directly
-                    // inside the "overlays" folder, this is illegal
-                    resourcePack.unknownFile(containerPath, reader.content().asWritable());
-                    continue;
-                }
-
-                overlayDir = folder;
-                Overlay overlay = resourcePack.overlay(overlayDir);
-                if (overlay == null) {
-                    // first occurrence, register overlay
-                    overlay = Overlay.overlay(overlayDir);
-                    resourcePack.overlay(overlay);
-                }
-
-                container = overlay;
-                folder = tokens.poll();
-                containerPath = path.substring((overlayDir + '/').length());
-                localPackFormat = packFormatsByOverlayDir.getOrDefault(overlayDir, -1);
-            }
-
-            // null check to make ide happy
-            if (folder == null || !folder.equals(ASSETS_FOLDER) || tokens.isEmpty()) {
-                // not assets! this is an unknown file
-                container.unknownFile(containerPath, reader.content().asWritable());
+            if (!path.equals(PACK_METADATA_FILE) && !router.accepts(filter, path)) {
+                // filtered out, skip it without opening it
                 continue;
             }
 
-            // inside "assets", we should always have a folder
-            // with any name, which is a namespace, e.g. "minecraft"
-            String namespace = tokens.poll();
+            ResourcePackRouter.Route route = router.route(path);
+            String containerPath = route.containerPath();
 
-            if (!Keys.isValidNamespace(namespace)) {
-                // invalid namespace found
-                container.unknownFile(containerPath, reader.content().asWritable());
+            if (route.type() == ResourcePackRouter.Type.PACK_METADATA) {
+                // found pack.mcmeta file, deserialize and add
+                Metadata metadata = MetadataSerializer.INSTANCE.readFromTree(parseJson(reader.stream()));
+                resourcePack.metadata(metadata);
+                router.metadata(metadata);
                 continue;
-            }
-
-            if (tokens.isEmpty()) {
-                // found a file directly inside "assets", like
-                // assets/<file>, it is not allowed
-                container.unknownFile(containerPath, reader.content().asWritable());
+            } else if (route.type() == ResourcePackRouter.Type.PACK_ICON) {
+                // found pack.png file, add
+                resourcePack.icon(reader.content().asWritable());
                 continue;
             }
 
-            // so we already have "assets/<namespace>/", most files inside
-            // the namespace folder always have a "category", e.g. textures,
-            // lang, font, etc. But not always! There is sounds.json file and
-            // gpu_warnlist.json file
-            String categoryName = tokens.poll();
+            // the container to use, it is the default resource-pack,
+            // unless the file is inside an overlay folder
+            @Nullable String overlayDir = route.overlayDir();
+            ResourceContainer container = overlayDir == null ? resourcePack : overlay(resourcePack, overlayDir);
 
-            if (tokens.isEmpty()) {
-                // this means "category" is a file
-                // (remember: last tokens are always files)
-                if (categoryName.equals(SOUNDS_FILE)) {
+            switch (route.type()) {
+                case UNKNOWN: {
+                    container.unknownFile(containerPath, reader.content().asWritable());
+                    break;
+                }
+                case SOUND_REGISTRY: {
                     // found a sound registry!
-                    container.soundRegistry(SoundRegistrySerializer.INSTANCE.readFromTree(
-                            parseJson(reader.stream()),
+                    String namespace = requireNonNull(route.namespace(), "namespace");
+                    queue.submit(reader, path, input -> SoundRegistrySerializer.INSTANCE.readFromTree(
+                            parseJson(input),
                             namespace
-                    ));
-                } else {
-                    // TODO: gpu_warnlist.json?
-                    container.unknownFile(containerPath, reader.content().asWritable());
+                    ), container::soundRegistry);
+                    break;
                 }
-                continue;
-            }
-
-            // so "category" is actually a category like "textures",
-            // "lang", "font", etc. next we can compute the relative
-            // path inside the category
-            String categoryPath = path(tokens);
-
-            if (categoryName.equals(TEXTURES_FOLDER)) {
-                String keyOfMetadata = withoutExtension(categoryPath, METADATA_EXTENSION);
-                if (keyOfMetadata != null) {
+                case TEXTURE_METADATA: {
                     // found metadata for texture
-                    Key key = Key.key(namespace, keyOfMetadata);
-                    Metadata metadata = MetadataSerializer.INSTANCE.readFromTree(parseJson(reader.stream()));
-
-                    Map<Key, Texture> incompleteTexturesThisContainer = incompleteTextures.computeIfAbsent(overlayDir, k -> new LinkedHashMap<>());
-                    Texture texture = incompleteTexturesThisContainer.remove(key);
-                    if (texture == null) {
-                        // metadata was found first, put
-                        incompleteTexturesThisContainer.put(key, Texture.texture(key, Writable.EMPTY, metadata));
-                    } else {
-                        // texture was found before the metadata, nice!
-                        container.texture(texture.meta(metadata));
-                    }
-                } else {
-                    Key key = Key.key(namespace, categoryPath);
-                    Writable data = reader.content().asWritable();
+                    Key key = requireNonNull(route.key(), "key");
                     Map<Key, Texture> incompleteTexturesThisContainer = incompleteTextures.computeIfAbsent(overlayDir, k -> new LinkedHashMap<>());
-                    Texture waiting = incompleteTexturesThisContainer.remove(key);
-
-                    if (waiting == null) {
-                        // found texture before metadata
-                        incompleteTexturesThisContainer.put(key, Texture.texture(key, data));
-                    } else {
-                        // metadata was found first
-                        container.texture(Texture.texture(
-                                key,
-                                data,
-                                waiting.meta()
-                        ));
-                    }
-                }
-            } else {
-                // get the resource category, if the local pack format (overlay or root) is the same as the
-                // root pack format, we can use the previously computed map, otherwise we need to compute it
-                // (we could save some time by caching the computed map, but, is it worth it?)
-                ResourceCategory<?> category = (localPackFormat == packFormat
-                        ? categoriesByFolderThisPackFormat
-                        : ResourceCategories.buildCategoryMapByFolder(localPackFormat)).get(categoryName);
-                if (category == null) {
-                    // unknown category
-                    container.unknownFile(containerPath, reader.content().asWritable());
-                    continue;
-                }
-                String keyValue = withoutExtension(categoryPath, category.extension(-1));
-                if (keyValue == null) {
-                    // wrong extension
-                    container.unknownFile(containerPath, reader.content().asWritable());
-                    continue;
+                    queue.submit(reader, path, input -> MetadataSerializer.INSTANCE.readFromTree(parseJson(input)), metadata -> {
+                        Texture texture = incompleteTexturesThisContainer.remove(key);
+                        if (texture == null) {
+                            // metadata was found first, put
+                            incompleteTexturesThisContainer.put(key, Texture.texture(key, Writable.EMPTY, metadata));
+                        } else {
+                            // texture was found before the metadata, nice!
+                            container.texture(texture.meta(metadata));
+                        }
+                    });
+                    break;
                 }
+                case TEXTURE: {
+                    Key key = requireNonNull(route.key(), "key");
+                    Map<Key, Texture> incompleteTexturesThisContainer = incompleteTextures.computeIfAbsent(overlayDir, k -> new LinkedHashMap<>());
+                    Writable data = reader.content().asWritable();
+                    queue.run(() -> {
+                        Texture waiting = incompleteTexturesThisContainer.remove(key);
 
-                if (keyValue.startsWith("equipment/")) {
-                    // skip trying to load "namespace:equipment/X.json" as a normal model
-                    container.unknownFile(containerPath, reader.content().asWritable());
-                    continue;
+                        if (waiting == null) {
+                            // found texture before metadata
+                            incompleteTexturesThisContainer.put(key, Texture.texture(key, data));
+                        } else {
+                            // metadata was found first
+                            container.texture(Texture.texture(
+                                    key,
+                                    data,
+                                    waiting.meta()
+                            ));
+                        }
+                    });
+                    break;
                 }
-
-                Key key = Key.key(namespace, keyValue);
-                try {
+                case RESOURCE: {
+                    Key key = requireNonNull(route.key(), "key");
+                    ResourceCategory<?> category = requireNonNull(route.category(), "category");
                     ResourceDeserializer<? extends ResourcePackPart> deserializer = category.deserializer();
-                    ResourcePackPart resource;
                     if (deserializer instanceof BinaryResourceDeserializer) {
-                        resource = ((BinaryResourceDeserializer<? extends ResourcePackPart>) deserializer)
+                        // nothing to parse, create it directly
+                        ResourcePackPart resource = ((BinaryResourceDeserializer<? extends ResourcePackPart>) deserializer)
                                 .deserializeBinary(reader.content().asWritable(), key);
-                    } else if (deserializer instanceof JsonResourceDeserializer) {
-                        resource = ((JsonResourceDeserializer<? extends ResourcePackPart>) deserializer)
-                                .deserializeFromJson(parseJson(reader.stream()), key);
+                        queue.run(() -> resource.addTo(container));
+                    } else if (lazy && category.lister().apply(container) instanceof LazyResourceCollection) {
+                        // don't parse it now, it is parsed when it is first accessed
+                        Readable content = reader.content();
+                        int packFormat = router.packFormat(overlayDir);
+                        queue.run(() -> addLazy(category, container, key, containerPath, content, packFormat));
                     } else {
-                        resource = deserializer.deserialize(reader.stream(), key);
+                        queue.submit(reader, path, input -> deserialize(deserializer, input, key), resource -> resource.addTo(container));
                     }
-                    resource.addTo(container);
-                } catch (IOException e) {
-                    throw new UncheckedIOException("Failed to deserialize resource at: '" + path + "'", e);
+                    break;
                 }
+                default:
+                    throw new IllegalStateException("Unexpected route type: " + route.type());
             }
         }
 
+        // add the deserialized resources in order
+        queue.finish();
+
         for (Map.Entry<String, Map<Key, Texture>> entry : incompleteTextures.entrySet()) {
             @Subst("dir")
             @Nullable String overlayDir = entry.getKey();
@@ -333,16 +236,57 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
         return resourcePack;
     }
 
-    private static @Nullable String withoutExtension(String string, String extension) {
-        if (string.endsWith(extension)) {
-            return string.substring(0, string.length() - extension.length());
+    @Override
+    public @NotNull ResourcePackWatcher watch(final @NotNull Path directory) throws IOException {
+        requireNonNull(directory, "directory");
+        return new ResourcePackWatcherImpl(this, directory);
+    }
+
+    @NotNull ResourcePackReadFilter filter() {
+        return filter;
+    }
+
+    @SuppressWarnings("PatternValidation")
+    static @NotNull Overlay overlay(final @NotNull ResourcePack resourcePack, final @NotNull @Subst("dir") String directory) {
+        Overlay overlay = resourcePack.overlay(directory);
+        if (overlay == null) {
+            // first occurrence, register overlay
+            overlay = Overlay.overlay(directory);
+            resourcePack.overlay(overlay);
+        }
+        return overlay;
+    }
+
+    @NotNull ResourcePackPart deserialize(
+            final @NotNull ResourceDeserializer<? extends ResourcePackPart> deserializer,
+            final @NotNull InputStream input,
+            final @NotNull Key key
+    ) throws IOException {
+        if (deserializer instanceof StreamingJsonResourceDeserializer) {
+            // prefer reading token by token, without building a tree
+            return deserializer.deserialize(input, key);
+        } else if (deserializer instanceof JsonResourceDeserializer) {
+            return ((JsonResourceDeserializer<? extends ResourcePackPart>) deserializer)
+                    .deserializeFromJson(parseJson(input), key);
         } else {
-            // string doesn't end with extension
-            return null;
+            return deserializer.deserialize(input, key);
         }
     }
 
-    private @NotNull JsonElement parseJson(final @NotNull InputStream input) {
+    @SuppressWarnings("unchecked")
+    private <T extends Keyed & ResourcePackPart> void addLazy(
+            final @NotNull ResourceCategory<T> category,
+            final @NotNull ResourceContainer container,
+            final @NotNull Key key,
+            final @NotNull String path,
+            final @NotNull Readable content,
+            final int packFormat
+    ) {
+        final LazyResourceCollection<T> resources = (LazyResourceCollection<T>) category.lister().apply(container);
+        resources.addLazy(key, new LazyEntry<>(category.deserializer(), key, path, content, packFormat));
+    }
+
+    @NotNull JsonElement parseJson(final @NotNull InputStream input) {
         try (final JsonReader jsonReader = new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
             jsonReader.setLenient(lenient);
             return GsonUtil.parseReader(jsonReader);
@@ -351,8 +295,138 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
         }
     }
 
+    /**
+     * Deserializes the entries of a file tree and applies the results in the
+     * order the entries were found. Without an executor, everything happens
+     * immediately, otherwise, entries are read and deserialized concurrently,
+     * and the results are applied when {@link #finish()} is called.
+     */
+    private static final class EntryQueue {
+        private final @Nullable Executor executor;
+        private final List<CompletableFuture<?>> futures = new ArrayList<>();
+        private final List<Runnable> actions = new ArrayList<>();
+
+        EntryQueue(final @Nullable Executor executor) {
+            this.executor = executor;
+        }
+
+        <T> void submit(
+                final @NotNull FileTreeReader reader,
+                final @NotNull String path,
+                final @NotNull EntryDeserializer<T> deserializer,
+                final @NotNull Consumer<T> action
+        ) {
+            if (executor == null) {
+                action.accept(deserialize(reader.stream(), path, deserializer));
+                return;
+            }
+
+            // the stream is only valid until the next entry, but the content can be read later
+            final Readable content = reader.content();
+            final CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+                try (InputStream input = content.open()) {
+                    return deserialize(input, path, deserializer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read resource at: '" + path + "'", e);
+                }
+            }, executor);
+            futures.add(future);
+            actions.add(() -> action.accept(future.join()));
+        }
+
+        void run(final @NotNull Runnable action) {
+            if (executor == null) {
+                action.run();
+            } else {
+                actions.add(action);
+            }
+        }
+
+        void finish() {
+            try {
+                for (Runnable action : actions) {
+                    action.run();
+                }
+            } catch (RuntimeException e) {
+                futures.forEach(future -> future.cancel(false));
+                if (e instanceof CompletionException && e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        private static <T> T deserialize(final @NotNull InputStream input, final @NotNull String path, final @NotNull EntryDeserializer<T> deserializer) {
+            try {
+                return deserializer.deserialize(input);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to deserialize resource at: '" + path + "'", e);
+            }
+        }
+    }
+
+    /**
+     * A resource found by a lazy reader, holds the entry content
+     * and deserializes it every time it is loaded (the resource
+     * container caches the loaded value).
+     */
+    private final class LazyEntry<T extends ResourcePackPart> implements LazyResource<T> {
+        private final ResourceDeserializer<T> deserializer;
+        private final Key key;
+        private final String path;
+        private final Readable content;
+        private final int packFormat;
+
+        LazyEntry(
+                final @NotNull ResourceDeserializer<T> deserializer,
+                final @NotNull Key key,
+                final @NotNull String path,
+                final @NotNull Readable content,
+                final int packFormat
+        ) {
+            this.deserializer = deserializer;
+            this.key = key;
+            this.path = path;
+            this.content = content;
+            this.packFormat = packFormat;
+        }
+
+        @Override
+        public @NotNull String path() {
+            return path;
+        }
+
+        @Override
+        public @NotNull Writable source() {
+            return content.asWritable();
+        }
+
+        @Override
+        public int packFormat() {
+            return packFormat;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public @NotNull T load() {
+            try (final InputStream input = content.open()) {
+                return (T) deserialize(deserializer, input, key);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to deserialize resource at: '" + path + "'", e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryDeserializer<T> {
+        T deserialize(final @NotNull InputStream input) throws IOException;
+    }
+
     static final class BuilderImpl implements Builder {
         private boolean lenient = false;
+        private @Nullable Executor executor;
+        private boolean lazy = false;
+        private ResourcePackReadFilter filter = ResourcePackReadFilter.all();
 
         @Override
         public @NotNull Builder lenient(final boolean lenient) {
@@ -360,9 +434,27 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
             return this;
         }
 
+        @Override
+        public @NotNull Builder executor(final @Nullable Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder lazy(final boolean lazy) {
+            this.lazy = lazy;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder filter(final @NotNull ResourcePackReadFilter filter) {
+            this.filter = requireNonNull(filter, "filter");
+            return this;
+        }
+
         @Override
         public @NotNull MinecraftResourcePackReader build() {
-            return new MinecraftResourcePackReaderImpl(lenient);
+            return new MinecraftResourcePackReaderImpl(lenient, executor, lazy, filter);
         }
     }
 }
@@ -25,11 +25,14 @@ package team.unnamed.creative.serialize.minecraft;
 
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.BuiltResourcePack;
 import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.serialize.ResourcePackWriter;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
 import team.unnamed.creative.serialize.minecraft.fs.FileTreeWriter;
+import team.unnamed.creative.serialize.minecraft.fs.ZipCompressionPolicy;
 import team.unnamed.creative.serialize.minecraft.fs.ZipEntryLifecycleHandler;
 
 import java.io.BufferedOutputStream;
@@ -37,12 +40,18 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 import java.util.zip.ZipOutputStream;
 
@@ -103,9 +112,55 @@ public interface MinecraftResourcePackWriter extends ResourcePackWriter<FileTree
         return ZipEntryLifecycleHandler.DEFAULT;
     }
 
+    /**
+     * Returns the {@link ZipCompressionPolicy} used to decide how
+     * each entry is compressed when writing the resource pack zip.
+     *
+     * @return The zip compression policy
+     * @since 1.11.6
+     */
+    default @NotNull ZipCompressionPolicy compressionPolicy() {
+        return ZipCompressionPolicy.deflate();
+    }
+
+    /**
+     * Returns the executor used to serialize resources and compress
+     * resource pack zip entries in parallel, or null if everything is
+     * done on the calling thread.
+     *
+     * @return The executor, or null
+     * @since 1.11.6
+     */
+    default @Nullable Executor executor() {
+        return null;
+    }
+
+    /**
+     * Returns the {@link ResourcePackBuildCache} used to reuse the
+     * serialized and compressed files of previous builds, or null
+     * if there is no build cache.
+     *
+     * @return The build cache, or null
+     * @since 1.11.6
+     */
+    default @Nullable ResourcePackBuildCache buildCache() {
+        return null;
+    }
+
+    /**
+     * Writes the given resource pack to a ZIP file at the given path.
+     *
+     * <p>The ZIP file is written to a temporary file next to it, which
+     * then replaces it, so an existing file is never modified in place,
+     * and can be the file the resource pack was read from, even using
+     * {@link FileTreeReader#mappedZip(Path)}.</p>
+     *
+     * @param path The path of the ZIP file to write, replaced if exists
+     * @param resourcePack The resource pack to write
+     */
     default void writeToZipFile(Path path, ResourcePack resourcePack) {
-        try (ZipOutputStream outputStream = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
-            write(FileTreeWriter.zip(outputStream, zipEntryLifecycleHandler()), resourcePack);
+        try {
+            writeZipFile(path, resourcePack, null);
         } catch (FileNotFoundException e) {
             throw new IllegalStateException("Failed to write resource pack to zip file: File not found: " + path, e);
         } catch (IOException e) {
@@ -121,38 +176,64 @@ public interface MinecraftResourcePackWriter extends ResourcePackWriter<FileTree
         write(FileTreeWriter.directory(directory), resourcePack);
     }
 
-    default BuiltResourcePack build(ResourcePack resourcePack) {
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance("SHA-1");
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("Cannot find SHA-1 algorithm");
+    /**
+     * Writes the given resource pack to the given directory, only writing
+     * the files that changed since the directory was last written, and
+     * deleting the files that are no longer part of the resource pack.
+     *
+     * <p>Much faster than {@link #writeToDirectory(File, ResourcePack)}
+     * when writing the same resource pack again with a few changes.</p>
+     *
+     * @param directory The directory
+     * @param resourcePack The resource pack to write
+     * @see FileTreeWriter#directorySync(Path, Executor)
+     * @since 1.11.6
+     */
+    default void syncToDirectory(Path directory, ResourcePack resourcePack) {
+        try (FileTreeWriter writer = FileTreeWriter.directorySync(directory, executor())) {
+            write(writer, resourcePack);
         }
+    }
+
+    default BuiltResourcePack build(ResourcePack resourcePack) {
+        MessageDigest digest = sha1();
         ByteArrayOutputStream output = new ByteArrayOutputStream();
 
         // write resource to zip
-        try (FileTreeWriter writer = FileTreeWriter.zip(new ZipOutputStream(new DigestOutputStream(output, digest)), zipEntryLifecycleHandler())) {
+        try (FileTreeWriter writer = zipWriter(new DigestOutputStream(output, digest))) {
             write(writer, resourcePack);
         }
 
         byte[] bytes = output.toByteArray();
-        String hash;
-
-        // stringify SHA-1 hash
-        {
-            byte[] hashBytes = digest.digest();
-            StringBuilder builder = new StringBuilder(hashBytes.length * 2);
-            for (byte b : hashBytes) {
-                int part1 = (b >> 4) & 0xF;
-                int part2 = b & 0xF;
-                builder
-                        .append(Character.forDigit(part1, 16))
-                        .append(Character.forDigit(part2, 16));
-            }
-            hash = builder.toString();
+        return BuiltResourcePack.of(Writable.bytes(bytes), hex(digest.digest()), bytes.length);
+    }
+
+    /**
+     * Builds the given {@link ResourcePack} to a ZIP file at the given
+     * {@link Path path} and returns a file-backed {@link BuiltResourcePack}.
+     *
+     * <p>Unlike {@link #build(ResourcePack)}, the resulting resource-pack
+     * data is never held in memory, it is streamed to the file while its
+     * hash is computed, and can then be served directly from the file.</p>
+     *
+     * <p>Like {@link #writeToZipFile(Path, ResourcePack)}, an existing file
+     * is replaced once the new one is complete, never modified in place.</p>
+     *
+     * @param path The path of the ZIP file to write, replaced if exists
+     * @param resourcePack The resource-pack to build
+     * @return The file-backed built resource-pack
+     * @since 1.11.6
+     */
+    default BuiltResourcePack build(Path path, ResourcePack resourcePack) {
+        MessageDigest digest = sha1();
+
+        try {
+            writeZipFile(path, resourcePack, digest);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build resource pack to zip file: " + path, e);
         }
 
-        return BuiltResourcePack.of(Writable.bytes(bytes), hash);
+        return BuiltResourcePack.of(path, hex(digest.digest()));
     }
 
     default BuiltResourcePack build(Consumer<ResourcePack> consumer) {
@@ -161,6 +242,74 @@ public interface MinecraftResourcePackWriter extends ResourcePackWriter<FileTree
         return build(resourcePack);
     }
 
+    /**
+     * Writes the given resource pack to a temporary file in the same directory
+     * as the given path, and then moves it to the given path. Truncating a file
+     * in place would break anything still reading it, specially readers that
+     * mapped it into memory, which crash the JVM instead of throwing an exception.
+     */
+    private void writeZipFile(Path path, ResourcePack resourcePack, @Nullable MessageDigest digest) throws IOException {
+        Path temporary = path.toAbsolutePath().resolveSibling(
+                "." + path.getFileName() + '.' + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        try {
+            OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+            if (digest != null) {
+                output = new DigestOutputStream(output, digest);
+            }
+            try (FileTreeWriter writer = zipWriter(output)) {
+                write(writer, resourcePack);
+            }
+            try {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the file tree writer for a resource pack zip written to the given
+     * output stream, closing the file tree closes the output stream too.
+     *
+     * <p>Zip archives are written with a {@link ZipOutputStream}, unless a build
+     * cache, compression policy or executor is set, which need the zip format to
+     * be written {@link FileTreeWriter#zipArchive(OutputStream, ZipEntryLifecycleHandler, ZipCompressionPolicy, Executor) directly}.</p>
+     */
+    private FileTreeWriter zipWriter(OutputStream output) {
+        if (buildCache() == null && compressionPolicy() == ZipCompressionPolicy.deflate() && executor() == null) {
+            return FileTreeWriter.zip(new ZipOutputStream(output), zipEntryLifecycleHandler());
+        }
+        return FileTreeWriter.zipArchive(output, zipEntryLifecycleHandler(), compressionPolicy(), executor());
+    }
+
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot find SHA-1 algorithm");
+        }
+    }
+
+    // stringify SHA-1 hash
+    private static String hex(byte[] hashBytes) {
+        StringBuilder builder = new StringBuilder(hashBytes.length * 2);
+        for (byte b : hashBytes) {
+            int part1 = (b >> 4) & 0xF;
+            int part2 = b & 0xF;
+            builder
+                    .append(Character.forDigit(part1, 16))
+                    .append(Character.forDigit(part2, 16));
+        }
+        return builder.toString();
+    }
+
     /**
      * A builder for {@link MinecraftResourcePackWriter} instances.
      *
@@ -210,6 +359,58 @@ public interface MinecraftResourcePackWriter extends ResourcePackWriter<FileTree
          */
         @NotNull Builder targetPackFormat(final int packFormat);
 
+        /**
+         * Sets the executor used to serialize resources in parallel.
+         *
+         * <p>When set, the resources from every category (models, items,
+         * block states, fonts, languages...) are serialized to memory by
+         * tasks submitted to this executor, and then written to the file tree
+         * sequentially, in the same order used when no executor is set, so
+         * the output is byte-for-byte identical. The entries of the resource
+         * pack zips built by this writer are also compressed concurrently.
+         * Set to {@code null} (the default) to do everything on the calling
+         * thread.</p>
+         *
+         * @param executor The executor, or null to serialize sequentially
+         * @return This builder
+         * @since 1.11.6
+         */
+        @NotNull Builder executor(final @Nullable Executor executor);
+
+        /**
+         * Sets the cache used to avoid serializing and compressing
+         * again the files that did not change since the previous
+         * build of the same writer.
+         *
+         * <p>When set, every file is serialized to memory and kept in the
+         * cache along with its checksum and deflated data, which is copied
+         * as-is to the ZIP archives built by {@link MinecraftResourcePackWriter#build(ResourcePack)},
+         * {@link MinecraftResourcePackWriter#build(Path, ResourcePack)} and
+         * {@link MinecraftResourcePackWriter#writeToZipFile(Path, ResourcePack)}.
+         * Set to {@code null} (the default) to disable caching.</p>
+         *
+         * @param buildCache The build cache, or null to disable caching
+         * @return This builder
+         * @see ResourcePackBuildCache
+         * @since 1.11.6
+         */
+        @NotNull Builder buildCache(final @Nullable ResourcePackBuildCache buildCache);
+
+        /**
+         * Sets the {@link ZipCompressionPolicy} used to decide how each
+         * entry is compressed when writing the resource pack zip.
+         *
+         * <p>Defaults to {@link ZipCompressionPolicy#deflate()}, use
+         * {@link ZipCompressionPolicy#contentAware()} to store PNG and
+         * OGG files instead, which are already compressed, making builds
+         * of texture and sound heavy resource packs much faster.</p>
+         *
+         * @param compressionPolicy The zip compression policy
+         * @return This builder
+         * @since 1.11.6
+         */
+        @NotNull Builder compressionPolicy(final @NotNull ZipCompressionPolicy compressionPolicy);
+
         /**
          * Builds a new {@link MinecraftResourcePackWriter} instance.
          *
@@ -26,6 +26,7 @@ package team.unnamed.creative.serialize.minecraft;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Keyed;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.metadata.Metadata;
@@ -33,25 +34,47 @@ import team.unnamed.creative.metadata.overlays.OverlayEntry;
 import team.unnamed.creative.metadata.overlays.OverlaysMeta;
 import team.unnamed.creative.metadata.pack.PackFormat;
 import team.unnamed.creative.metadata.pack.PackMeta;
+import team.unnamed.creative.overlay.LazyResource;
+import team.unnamed.creative.overlay.LazyResourceCollection;
 import team.unnamed.creative.overlay.Overlay;
 import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.part.ResourcePackPart;
+import team.unnamed.creative.serialize.minecraft.atlas.AtlasSerializer;
+import team.unnamed.creative.serialize.minecraft.blockstate.BlockStateSerializer;
+import team.unnamed.creative.serialize.minecraft.equipment.EquipmentCategory;
+import team.unnamed.creative.serialize.minecraft.font.FontSerializer;
+import team.unnamed.creative.serialize.minecraft.fs.CompressedWritable;
 import team.unnamed.creative.serialize.minecraft.fs.FileTreeWriter;
+import team.unnamed.creative.serialize.minecraft.fs.ZipCompressionPolicy;
 import team.unnamed.creative.serialize.minecraft.fs.ZipEntryLifecycleHandler;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceSerializer;
 import team.unnamed.creative.serialize.minecraft.io.ResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.io.Utf8JsonWriter;
+import team.unnamed.creative.serialize.minecraft.item.ItemSerializer;
+import team.unnamed.creative.serialize.minecraft.language.LanguageSerializer;
 import team.unnamed.creative.serialize.minecraft.metadata.MetadataSerializer;
 import team.unnamed.creative.serialize.minecraft.sound.SoundRegistrySerializer;
+import team.unnamed.creative.serialize.minecraft.waypoint.WaypointStyleSerializer;
 import team.unnamed.creative.sound.SoundRegistry;
 import team.unnamed.creative.texture.Texture;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
+import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.ASSETS_FOLDER;
 import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.PACK_ICON_FILE;
 import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.PACK_METADATA_FILE;
 
@@ -60,18 +83,49 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
             .prettyPrinting(false)
             .build();
 
+    /**
+     * The amount of resources serialized by a single task when
+     * an executor is set, big enough to amortize the scheduling
+     * cost and small enough to balance the work between threads.
+     */
+    private static final int PARALLEL_BATCH_SIZE = 256;
+
+    /**
+     * The categories whose serializers write the same content for every
+     * pack format, unloaded resources of these categories can be copied
+     * as-is even if they were read with a different pack format.
+     */
+    private static final Set<ResourceCategory<?>> FORMAT_INDEPENDENT_CATEGORIES = Set.of(
+            AtlasSerializer.CATEGORY,
+            LanguageSerializer.CATEGORY,
+            BlockStateSerializer.CATEGORY,
+            FontSerializer.CATEGORY,
+            EquipmentCategory.INSTANCE,
+            ItemSerializer.CATEGORY,
+            WaypointStyleSerializer.CATEGORY
+    );
+
     private final ZipEntryLifecycleHandler zipEntryLifecycleHandler;
     private final boolean prettyPrinting;
     private final int targetPackFormat;
+    private final @Nullable Executor executor;
+    private final @Nullable ResourcePackBuildCacheImpl buildCache;
+    private final ZipCompressionPolicy compressionPolicy;
 
     private MinecraftResourcePackWriterImpl(
             final @NotNull ZipEntryLifecycleHandler zipEntryLifecycleHandler,
             final boolean prettyPrinting,
-            final int targetPackFormat
+            final int targetPackFormat,
+            final @Nullable Executor executor,
+            final @Nullable ResourcePackBuildCacheImpl buildCache,
+            final @NotNull ZipCompressionPolicy compressionPolicy
     ) {
         this.zipEntryLifecycleHandler = zipEntryLifecycleHandler; // trust the caller (builder)
         this.prettyPrinting = prettyPrinting;
         this.targetPackFormat = targetPackFormat;
+        this.executor = executor;
+        this.buildCache = buildCache;
+        this.compressionPolicy = compressionPolicy;
     }
 
     @Override
@@ -79,6 +133,21 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
         return zipEntryLifecycleHandler;
     }
 
+    @Override
+    public @NotNull ZipCompressionPolicy compressionPolicy() {
+        return compressionPolicy;
+    }
+
+    @Override
+    public @Nullable Executor executor() {
+        return executor;
+    }
+
+    @Override
+    public @Nullable ResourcePackBuildCache buildCache() {
+        return buildCache;
+    }
+
     @Override
     public int targetPackFormat() {
         return targetPackFormat;
@@ -91,11 +160,25 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
             final @NotNull ResourceCategory<T> category,
             final int localTargetPackFormat
     ) {
-        for (T resource : category.lister().apply(resourceContainer)) {
+        writeFullCategory(basePath, resourceContainer, target, category, localTargetPackFormat, null);
+    }
+
+    private <T extends Keyed & ResourcePackPart> void writeFullCategory(
+            final @NotNull String basePath,
+            final @NotNull ResourceContainer resourceContainer,
+            final @NotNull FileTreeWriter target,
+            final @NotNull ResourceCategory<T> category,
+            final int localTargetPackFormat,
+            final ResourcePackBuildCacheImpl.@Nullable Session cache
+    ) {
+        final ResourceSerializer<T> serializer = category.serializer();
+        final Utf8JsonWriter json = cache == null ? null : createJsonWriter(null);
+        final Consumer<T> write = resource -> {
             String path = basePath + category.pathOf(resource, localTargetPackFormat);
-            final ResourceSerializer<T> serializer = category.serializer();
 
-            if (serializer instanceof JsonResourceSerializer) {
+            if (cache != null) {
+                target.write(path, serializeCached(cache, serializer, resource, path, localTargetPackFormat, json));
+            } else if (serializer instanceof JsonResourceSerializer) {
                 // if it's a JSON serializer, we can use our own method, that will
                 // do some extra configuration
                 writeToJson(target, (JsonResourceSerializer<T>) serializer, resource, path, localTargetPackFormat);
@@ -106,46 +189,241 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
                     throw new UncheckedIOException(e);
                 }
             }
+        };
+
+        final Collection<T> resources = category.lister().apply(resourceContainer);
+        if (canCopyUnloaded(resources, category, localTargetPackFormat)) {
+            // lazy resources that were never loaded are written as they were read
+            ((LazyResourceCollection<T>) resources).forEach(
+                    write,
+                    resource -> target.write(basePath + resource.path(), resource.source())
+            );
+        } else {
+            resources.forEach(write);
+        }
+    }
+
+    private <T extends Keyed & ResourcePackPart> void serializeFullCategoryAsync(
+            final @NotNull String basePath,
+            final @NotNull ResourceContainer resourceContainer,
+            final @NotNull ResourceCategory<T> category,
+            final int localTargetPackFormat,
+            final @NotNull Executor executor,
+            final ResourcePackBuildCacheImpl.@Nullable Session cache,
+            final @NotNull List<CompletableFuture<List<SerializedFile>>> batches
+    ) {
+        final Collection<T> resources = category.lister().apply(resourceContainer);
+        if (resources.isEmpty()) {
+            return;
+        }
+
+        // batches keep the resource order, consecutive resources to serialize
+        // go to the executor, and consecutive copied resources are completed
+        final List<T> pending = new ArrayList<>();
+        final List<SerializedFile> copied = new ArrayList<>();
+        final Runnable submitPending = () -> {
+            if (!pending.isEmpty()) {
+                final List<T> batch = List.copyOf(pending);
+                pending.clear();
+                batches.add(CompletableFuture.supplyAsync(() -> serializeBatch(basePath, category, batch, localTargetPackFormat, cache), executor));
+            }
+        };
+        final Runnable submitCopied = () -> {
+            if (!copied.isEmpty()) {
+                batches.add(CompletableFuture.completedFuture(List.copyOf(copied)));
+                copied.clear();
+            }
+        };
+        final Consumer<T> serialize = resource -> {
+            submitCopied.run();
+            pending.add(resource);
+            if (pending.size() == PARALLEL_BATCH_SIZE) {
+                submitPending.run();
+            }
+        };
+
+        if (canCopyUnloaded(resources, category, localTargetPackFormat)) {
+            ((LazyResourceCollection<T>) resources).forEach(serialize, resource -> {
+                submitPending.run();
+                copied.add(new SerializedFile(basePath + resource.path(), resource.source()));
+            });
+        } else {
+            resources.forEach(serialize);
         }
+        submitPending.run();
+        submitCopied.run();
     }
 
-    private void writeWithBasePathAndTargetPackFormat(FileTreeWriter target, ResourceContainer container, String basePath, final int localTargetPackFormat) {
+    /**
+     * Determines whether the lazy resources in the given collection that were
+     * never loaded can be written exactly as they were read, that is, if their
+     * location is the same in the target pack format, and their content too,
+     * either because they were read with the target pack format, or because
+     * the category serializer doesn't depend on the pack format.
+     */
+    private static boolean canCopyUnloaded(
+            final @NotNull Collection<?> resources,
+            final @NotNull ResourceCategory<?> category,
+            final int localTargetPackFormat
+    ) {
+        if (!(resources instanceof LazyResourceCollection)) {
+            return false;
+        }
+        final boolean formatIndependent = FORMAT_INDEPENDENT_CATEGORIES.contains(category);
+        for (LazyResource<?> resource : ((LazyResourceCollection<?>) resources).unloaded()) {
+            if (!isAtTargetLocation(resource.path(), category, localTargetPackFormat)) {
+                // the target pack format places this category somewhere
+                // else, so everything is loaded and serialized again
+                return false;
+            }
+            if (!formatIndependent && (resource.packFormat() == -1 || resource.packFormat() != localTargetPackFormat)) {
+                // the content may be different in the target pack format (e.g. model
+                // element rotations), so everything is loaded and serialized again
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAtTargetLocation(
+            final @NotNull String path,
+            final @NotNull ResourceCategory<?> category,
+            final int localTargetPackFormat
+    ) {
+        // assets/<namespace>/<category>/<path><extension>
+        final int namespaceEnd = path.indexOf('/', ASSETS_FOLDER.length() + 1);
+        final String folder = category.folder(localTargetPackFormat);
+        return namespaceEnd != -1
+                && path.startsWith(folder + '/', namespaceEnd + 1)
+                && path.endsWith(category.extension(localTargetPackFormat));
+    }
+
+    private <T extends Keyed & ResourcePackPart> @NotNull List<SerializedFile> serializeBatch(
+            final @NotNull String basePath,
+            final @NotNull ResourceCategory<T> category,
+            final @NotNull List<T> batch,
+            final int localTargetPackFormat,
+            final ResourcePackBuildCacheImpl.@Nullable Session cache
+    ) {
+        final List<SerializedFile> files = new ArrayList<>(batch.size());
+        final ResourceSerializer<T> serializer = category.serializer();
+        // the JSON writer and its buffer are reused by all the resources in this batch
+        final Utf8JsonWriter json = createJsonWriter(null);
+
+        for (T resource : batch) {
+            final String path = basePath + category.pathOf(resource, localTargetPackFormat);
+            files.add(new SerializedFile(path, serializeCached(cache, serializer, resource, path, localTargetPackFormat, json)));
+        }
+        return files;
+    }
+
+    /**
+     * Serializes the given resource to memory, or returns its cached
+     * serialized data if there is a cache, and it has not changed since
+     * the last build.
+     */
+    private <T> @NotNull CompressedWritable serializeCached(
+            final ResourcePackBuildCacheImpl.@Nullable Session cache,
+            final @NotNull ResourceSerializer<T> serializer,
+            final @NotNull T resource,
+            final @NotNull String path,
+            final int localTargetPackFormat,
+            final @NotNull Utf8JsonWriter json
+    ) {
+        if (cache != null) {
+            final CompressedWritable cached = cache.get(path, resource, localTargetPackFormat);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final byte[] data;
+        if (serializer instanceof JsonResourceSerializer) {
+            json.reset();
+            writeToJson(json, (JsonResourceSerializer<T>) serializer, resource, path, localTargetPackFormat);
+            data = json.toByteArray();
+        } else {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try {
+                serializer.serialize(resource, output, localTargetPackFormat);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write to " + path, e);
+            }
+            data = output.toByteArray();
+        }
+
+        final CompressedWritable writable = CompressedWritable.compressed(data, compressionPolicy.compressionFor(path));
+        if (cache != null) {
+            cache.put(path, resource, localTargetPackFormat, writable);
+        }
+        return writable;
+    }
+
+    private void writeWithBasePathAndTargetPackFormat(FileTreeWriter target, ResourceContainer container, String basePath, final int localTargetPackFormat, final ResourcePackBuildCacheImpl.@Nullable Session cache) {
         // write resources from most categories
-        for (ResourceCategory<?> category : ResourceCategories.categories()) {
-            writeFullCategory(basePath, container, target, category, localTargetPackFormat);
+        if (executor == null) {
+            for (ResourceCategory<?> category : ResourceCategories.categories()) {
+                writeFullCategory(basePath, container, target, category, localTargetPackFormat, cache);
+            }
+        } else {
+            // serialize in parallel, but write in the same order as the sequential
+            // path does, so that the resulting file tree (and its hash) is the same
+            final List<CompletableFuture<List<SerializedFile>>> batches = new ArrayList<>();
+            for (ResourceCategory<?> category : ResourceCategories.categories()) {
+                serializeFullCategoryAsync(basePath, container, category, localTargetPackFormat, executor, cache, batches);
+            }
+            for (CompletableFuture<List<SerializedFile>> batch : batches) {
+                final List<SerializedFile> files;
+                try {
+                    files = batch.join();
+                } catch (CompletionException e) {
+                    batches.forEach(future -> future.cancel(false));
+                    if (e.getCause() instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    throw e;
+                }
+                for (SerializedFile file : files) {
+                    target.write(file.path(), file.data());
+                }
+            }
         }
 
         // write sound registries
         for (SoundRegistry soundRegistry : container.soundRegistries()) {
-            writeToJson(target, SoundRegistrySerializer.INSTANCE, soundRegistry, basePath + MinecraftResourcePackStructure.pathOf(soundRegistry), localTargetPackFormat);
+            writeToJson(target, cache, SoundRegistrySerializer.INSTANCE, soundRegistry, basePath + MinecraftResourcePackStructure.pathOf(soundRegistry), localTargetPackFormat);
         }
 
         // write textures
         for (Texture texture : container.textures()) {
-            target.write(
+            writeWritable(
+                    target,
+                    cache,
                     basePath + MinecraftResourcePackStructure.pathOf(texture),
                     texture.data()
             );
 
             Metadata metadata = texture.meta();
             if (!metadata.parts().isEmpty()) {
-                writeToJson(target, MetadataSerializer.INSTANCE, metadata, basePath + MinecraftResourcePackStructure.pathOfMeta(texture), localTargetPackFormat);
+                writeToJson(target, cache, MetadataSerializer.INSTANCE, metadata, basePath + MinecraftResourcePackStructure.pathOfMeta(texture), localTargetPackFormat);
             }
         }
 
         // write unknown files
         for (Map.Entry<String, Writable> entry : container.unknownFiles().entrySet()) {
-            target.write(basePath + entry.getKey(), entry.getValue());
+            writeWritable(target, cache, basePath + entry.getKey(), entry.getValue());
         }
     }
 
     @Override
     public void write(final @NotNull FileTreeWriter target, final @NotNull ResourcePack resourcePack) {
+        final ResourcePackBuildCacheImpl.Session cache = buildCache == null ? null : buildCache.open(this);
+
         // write icon
         {
             Writable icon = resourcePack.icon();
             if (icon != null) {
-                target.write(PACK_ICON_FILE, icon);
+                writeWritable(target, cache, PACK_ICON_FILE, icon);
             }
         }
 
@@ -160,10 +438,10 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
                 System.err.println("Resource pack format mismatch, the resource pack specifies formats "
                         + packMeta.formats() + " but the target format specified to the writer is " + targetPackFormat);
             }
-            writeToJson(target, MetadataSerializer.INSTANCE, metadata, PACK_METADATA_FILE, targetPackFormat);
+            writeToJson(target, cache, MetadataSerializer.INSTANCE, metadata, PACK_METADATA_FILE, targetPackFormat);
         }
 
-        writeWithBasePathAndTargetPackFormat(target, resourcePack, "", targetPackFormat);
+        writeWithBasePathAndTargetPackFormat(target, resourcePack, "", targetPackFormat, cache);
 
         // write from overlays
         Map<String, PackFormat> overlayFormats = new HashMap<>();
@@ -180,25 +458,75 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
             String dir = overlay.directory();
             PackFormat packFormat = overlayFormats.get(dir);
             int overlayTargetPackFormat = packFormat == null ? -1 : packFormat.min(); // todo: consider max pack format
-            writeWithBasePathAndTargetPackFormat(target, overlay, dir + '/', overlayTargetPackFormat);
+            writeWithBasePathAndTargetPackFormat(target, overlay, dir + '/', overlayTargetPackFormat, cache);
+        }
+
+        if (cache != null) {
+            // only keep what was written in this build
+            cache.commit();
         }
     }
 
-    private <T> void writeToJson(FileTreeWriter writer, JsonResourceSerializer<T> serializer, T object, String path, final int localTargetPackFormat) {
-        try (JsonWriter jsonWriter = new JsonWriter(writer.openWriter(path))) {
-            if (prettyPrinting) {
-                jsonWriter.setIndent("  ");
+    private void writeWritable(FileTreeWriter target, ResourcePackBuildCacheImpl.@Nullable Session cache, String path, Writable data) {
+        if (cache == null || data instanceof CompressedWritable) {
+            target.write(path, data);
+            return;
+        }
+
+        CompressedWritable cached = cache.get(path, data, -1);
+        if (cached == null) {
+            try {
+                cached = CompressedWritable.compressed(data.toByteArray(), compressionPolicy.compressionFor(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write to " + path, e);
             }
+            cache.put(path, data, -1, cached);
+        }
+        target.write(path, cached);
+    }
+
+    private <T> void writeToJson(FileTreeWriter writer, ResourcePackBuildCacheImpl.@Nullable Session cache, JsonResourceSerializer<T> serializer, T object, String path, final int localTargetPackFormat) {
+        if (cache == null) {
+            writeToJson(writer, serializer, object, path, localTargetPackFormat);
+        } else {
+            writer.write(path, serializeCached(cache, serializer, object, path, localTargetPackFormat, createJsonWriter(null)));
+        }
+    }
+
+    private <T> void writeToJson(FileTreeWriter writer, JsonResourceSerializer<T> serializer, T object, String path, final int localTargetPackFormat) {
+        writeToJson(createJsonWriter(writer.openStream(path)), serializer, object, path, localTargetPackFormat);
+    }
+
+    private <T> void writeToJson(JsonWriter jsonWriter, JsonResourceSerializer<T> serializer, T object, String path, final int localTargetPackFormat) {
+        try (jsonWriter) {
             serializer.serializeToJson(object, jsonWriter, localTargetPackFormat);
         } catch (IOException e) {
             throw new UncheckedIOException("Failed to write to " + path, e);
         }
     }
 
+    /**
+     * Creates a JSON writer that encodes directly to UTF-8, writing to the
+     * given output stream, or to memory if it's null.
+     */
+    private @NotNull Utf8JsonWriter createJsonWriter(final @Nullable OutputStream output) {
+        final Utf8JsonWriter writer = output == null ? new Utf8JsonWriter() : new Utf8JsonWriter(output);
+        if (prettyPrinting) {
+            writer.setIndent("  ");
+        }
+        return writer;
+    }
+
+    private record SerializedFile(@NotNull String path, @NotNull Writable data) {
+    }
+
     static final class BuilderImpl implements Builder {
         private ZipEntryLifecycleHandler zipEntryLifecycleHandler = ZipEntryLifecycleHandler.DEFAULT;
         private boolean prettyPrinting;
         private int targetPackFormat = -1;
+        private Executor executor;
+        private ResourcePackBuildCacheImpl buildCache;
+        private ZipCompressionPolicy compressionPolicy = ZipCompressionPolicy.deflate();
 
         @Override
         public @NotNull Builder zipEntryLifecycleHandler(final @NotNull ZipEntryLifecycleHandler zipEntryLifecycleHandler) {
@@ -218,9 +546,27 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
             return this;
         }
 
+        @Override
+        public @NotNull Builder executor(final @Nullable Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder buildCache(final @Nullable ResourcePackBuildCache buildCache) {
+            this.buildCache = (ResourcePackBuildCacheImpl) buildCache;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder compressionPolicy(final @NotNull ZipCompressionPolicy compressionPolicy) {
+            this.compressionPolicy = requireNonNull(compressionPolicy, "compressionPolicy");
+            return this;
+        }
+
         @Override
         public @NotNull MinecraftResourcePackWriter build() {
-            return new MinecraftResourcePackWriterImpl(zipEntryLifecycleHandler, prettyPrinting, targetPackFormat);
+            return new MinecraftResourcePackWriterImpl(zipEntryLifecycleHandler, prettyPrinting, targetPackFormat, executor, buildCache, compressionPolicy);
         }
     }
 }
@@ -68,6 +68,18 @@ public interface ResourceCategory<T extends Keyed & ResourcePackPart> {
 
     @NotNull ResourceSerializer<T> serializer();
 
+    /**
+     * Removes the resource with the given key from the given
+     * container, without listing (and loading) the rest of the
+     * resources in this category.
+     *
+     * @param container The container to remove the resource from
+     * @param key The resource key
+     * @return True if a resource was removed
+     * @since 1.11.6
+     */
+    boolean remove(final @NotNull ResourceContainer container, final @NotNull Key key);
+
     default @NotNull String pathOf(final @NotNull T resource, final int packFormat) {
         Key key = resource.key();
         // assets/<namespace>/<category>/<path><extension>
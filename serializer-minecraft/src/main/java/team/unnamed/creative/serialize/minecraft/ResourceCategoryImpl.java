@@ -23,6 +23,7 @@
  */
 package team.unnamed.creative.serialize.minecraft;
 
+import net.kyori.adventure.key.Key;
 import net.kyori.adventure.key.Keyed;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -32,6 +33,7 @@ import team.unnamed.creative.serialize.minecraft.io.ResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.ResourceSerializer;
 
 import java.util.Collection;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
@@ -42,6 +44,7 @@ public final class ResourceCategoryImpl<T extends Keyed & ResourcePackPart> impl
     private final String folder;
     private final String extension;
     private final Function<ResourceContainer, Collection<T>> lister;
+    private final BiPredicate<ResourceContainer, Key> remover;
 
     private final ResourceDeserializer<T> deserializer;
     private final ResourceSerializer<T> serializer;
@@ -50,12 +53,14 @@ public final class ResourceCategoryImpl<T extends Keyed & ResourcePackPart> impl
             String folder,
             String extension,
             Function<ResourceContainer, Collection<T>> lister,
+            BiPredicate<ResourceContainer, Key> remover,
             ResourceDeserializer<T> deserializer,
             ResourceSerializer<T> serializer
     ) {
         this.folder = requireNonNull(folder, "folder");
         this.extension = requireNonNull(extension, "extension");
         this.lister = requireNonNull(lister, "lister");
+        this.remover = requireNonNull(remover, "remover");
         this.deserializer = requireNonNull(deserializer, "deserializer");
         this.serializer = requireNonNull(serializer, "serializer");
     }
@@ -64,12 +69,14 @@ public final class ResourceCategoryImpl<T extends Keyed & ResourcePackPart> impl
             String folder,
             String extension,
             Function<ResourceContainer, Collection<T>> lister,
+            BiPredicate<ResourceContainer, Key> remover,
             TCodec codec
     ) {
         this(
                 folder,
                 extension,
                 lister,
+                remover,
                 codec,
                 codec
         );
@@ -99,4 +106,9 @@ public final class ResourceCategoryImpl<T extends Keyed & ResourcePackPart> impl
     public @NotNull ResourceSerializer<T> serializer() {
         return serializer;
     }
+
+    @Override
+    public boolean remove(final @NotNull ResourceContainer container, final @NotNull Key key) {
+        return remover.test(container, key);
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A cache of serialized and compressed resource-pack files, that can
+ * be shared by consecutive builds of a {@link MinecraftResourcePackWriter}
+ * so that only the files that changed since the previous build are
+ * serialized and compressed again.
+ *
+ * <p>Files are identified by their path, and are only reused if the
+ * resource they were written from is the same or {@link Object#equals(Object) equal}
+ * to the current one. {@link team.unnamed.creative.base.Writable} instances
+ * (textures, sounds, unknown files...) are compared using equals too, which for
+ * most of them means the same instance, and their content must also have the
+ * same CRC-32 checksum and size, computed again on every build, so changes to
+ * the files a writable reads from are detected.
+ * Files that were not written in the last build are evicted from the cache.</p>
+ *
+ * <p>Caches are bound to the writer that uses them, using the same cache with
+ * a different writer discards its contents. Builds using the same cache must
+ * not run concurrently.</p>
+ *
+ * @see MinecraftResourcePackWriter.Builder#buildCache(ResourcePackBuildCache)
+ * @since 1.11.6
+ */
+@ApiStatus.NonExtendable
+public interface ResourcePackBuildCache {
+    /**
+     * Creates a new, empty {@link ResourcePackBuildCache}.
+     *
+     * @return The created build cache
+     * @since 1.11.6
+     */
+    @Contract("-> new")
+    static @NotNull ResourcePackBuildCache create() {
+        return new ResourcePackBuildCacheImpl();
+    }
+
+    /**
+     * Returns the amount of files currently cached.
+     *
+     * @return The amount of cached files
+     * @since 1.11.6
+     */
+    int size();
+
+    /**
+     * Removes all the cached files, the next build will
+     * serialize and compress every file again.
+     *
+     * @since 1.11.6
+     */
+    void clear();
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.fs.CompressedWritable;
+import team.unnamed.creative.sound.Sound;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import static java.util.Objects.requireNonNull;
+
+final class ResourcePackBuildCacheImpl implements ResourcePackBuildCache {
+    private Object owner;
+    private Map<String, Entry> entries = Collections.emptyMap();
+
+    synchronized @NotNull Session open(final @NotNull Object owner) {
+        requireNonNull(owner, "owner");
+        if (this.owner != owner) {
+            // cached data may have been serialized using different settings
+            this.owner = owner;
+            this.entries = Collections.emptyMap();
+        }
+        return new Session(owner, entries);
+    }
+
+    private synchronized void commit(final @NotNull Object owner, final @NotNull Map<String, Entry> entries) {
+        if (this.owner == owner) {
+            this.entries = entries;
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries = Collections.emptyMap();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ResourcePackBuildCache{size=" + entries.size() + '}';
+    }
+
+    /**
+     * Computes the CRC-32 checksum and size of the data written to it,
+     * the same values stored in {@link CompressedWritable} instances.
+     */
+    private static final class ChecksumOutputStream extends OutputStream {
+        private final CRC32 crc = new CRC32();
+        private long size;
+
+        @Override
+        public void write(final int b) {
+            crc.update(b);
+            size++;
+        }
+
+        @Override
+        public void write(final byte @NotNull [] b, final int off, final int len) {
+            crc.update(b, off, len);
+            size += len;
+        }
+    }
+
+    private record Entry(@NotNull Object source, int packFormat, @NotNull CompressedWritable data) {
+    }
+
+    /**
+     * A single build using the cache, holds the entries from the previous
+     * build and collects the entries written by the current one, which
+     * replace the previous ones when the session is committed.
+     */
+    final class Session {
+        private final Object owner;
+        private final Map<String, Entry> previous;
+        private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+        private Session(final @NotNull Object owner, final @NotNull Map<String, Entry> previous) {
+            this.owner = owner;
+            this.previous = previous;
+        }
+
+        /**
+         * Gets the cached data for the file at the given path if it
+         * was written from the same (or an equal) source and pack format,
+         * and the source content, for sources holding data, has the same
+         * checksum and size.
+         *
+         * @param path The file path
+         * @param source The resource or writable the file is written from
+         * @param packFormat The pack format the file is written for
+         * @return The cached data, or null if there is no valid cached data
+         */
+        @Nullable CompressedWritable get(final @NotNull String path, final @NotNull Object source, final int packFormat) {
+            final Entry entry = previous.get(path);
+            if (entry == null
+                    || entry.packFormat() != packFormat
+                    || (entry.source() != source && !entry.source().equals(source))
+                    || !sameContent(path, source, entry.data())) {
+                return null;
+            }
+            current.put(path, entry);
+            return entry.data();
+        }
+
+        /**
+         * Determines whether the data held by the given source, if any, is
+         * still the cached one, the same {@link Writable} instance may read
+         * different data over time (e.g. files changed on disk). Structural
+         * resources are immutable, and only compared using equals.
+         */
+        private static boolean sameContent(final @NotNull String path, final @NotNull Object source, final @NotNull CompressedWritable cached) {
+            final Writable content;
+            if (source instanceof Writable writable) {
+                content = writable;
+            } else if (source instanceof Sound sound) {
+                content = sound.data();
+            } else {
+                return true;
+            }
+
+            if (content instanceof CompressedWritable compressed) {
+                // already has a checksum, and can't change
+                return compressed.crc() == cached.crc() && compressed.size() == cached.size();
+            }
+
+            final ChecksumOutputStream checksum = new ChecksumOutputStream();
+            try {
+                content.write(checksum);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to read the content of " + path, e);
+            }
+            return checksum.crc.getValue() == cached.crc() && checksum.size == cached.size();
+        }
+
+        void put(final @NotNull String path, final @NotNull Object source, final int packFormat, final @NotNull CompressedWritable data) {
+            current.put(path, new Entry(source, packFormat, data));
+        }
+
+        void commit() {
+            ResourcePackBuildCacheImpl.this.commit(owner, current);
+        }
+    }
+}
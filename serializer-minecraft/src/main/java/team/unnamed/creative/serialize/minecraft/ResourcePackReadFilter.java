@@ -0,0 +1,224 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.ASSETS_FOLDER;
+
+/**
+ * A filter for the files read by a {@link MinecraftResourcePackReader},
+ * rejected files are skipped without being opened nor decompressed.
+ *
+ * <p>The {@code pack.mcmeta} file is always read, since it determines
+ * how the rest of the files are read.</p>
+ *
+ * @since 1.11.6
+ */
+@FunctionalInterface
+public interface ResourcePackReadFilter {
+    /**
+     * Returns a filter that accepts every file.
+     *
+     * @return The filter
+     * @since 1.11.6
+     */
+    static @NotNull ResourcePackReadFilter all() {
+        return (overlay, path, packFormat) -> true;
+    }
+
+    /**
+     * Returns a filter that accepts the files of the given resource
+     * categories, e.g. {@code assets/<namespace>/font/<path>.json} for
+     * fonts, according to the pack format of the root or overlay.
+     *
+     * @param categories The accepted categories
+     * @return The filter
+     * @since 1.11.6
+     */
+    static @NotNull ResourcePackReadFilter categories(final @NotNull ResourceCategory<?> @NotNull ... categories) {
+        requireNonNull(categories, "categories");
+        final List<ResourceCategory<?>> accepted = List.of(categories);
+        return (overlay, path, packFormat) -> {
+            final int namespaceEnd = namespaceEnd(path);
+            if (namespaceEnd == -1) {
+                return false;
+            }
+            for (final ResourceCategory<?> category : accepted) {
+                if (path.startsWith(category.folder(packFormat) + '/', namespaceEnd + 1)
+                        && path.endsWith(category.extension(packFormat))) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Returns a filter that accepts the files inside the given folders of
+     * every namespace, e.g. {@code textures} accepts the files inside
+     * {@code assets/<namespace>/textures/}.
+     *
+     * @param folders The accepted folder names
+     * @return The filter
+     * @since 1.11.6
+     */
+    static @NotNull ResourcePackReadFilter folders(final @NotNull String @NotNull ... folders) {
+        requireNonNull(folders, "folders");
+        final Set<String> accepted = Set.of(folders);
+        return (overlay, path, packFormat) -> {
+            final int namespaceEnd = namespaceEnd(path);
+            if (namespaceEnd == -1) {
+                return false;
+            }
+            final int folderEnd = path.indexOf('/', namespaceEnd + 1);
+            return folderEnd != -1 && accepted.contains(path.substring(namespaceEnd + 1, folderEnd));
+        };
+    }
+
+    /**
+     * Returns a filter that accepts the files inside the given namespaces,
+     * i.e. the files inside {@code assets/<namespace>/}.
+     *
+     * @param namespaces The accepted namespaces
+     * @return The filter
+     * @since 1.11.6
+     */
+    static @NotNull ResourcePackReadFilter namespaces(final @NotNull String @NotNull ... namespaces) {
+        requireNonNull(namespaces, "namespaces");
+        final Set<String> accepted = Set.of(namespaces);
+        return (overlay, path, packFormat) -> {
+            final int namespaceEnd = namespaceEnd(path);
+            return namespaceEnd != -1 && accepted.contains(path.substring(ASSETS_FOLDER.length() + 1, namespaceEnd));
+        };
+    }
+
+    /**
+     * Returns a filter that accepts the files whose path, relative
+     * to the root or overlay, starts with any of the given prefixes.
+     *
+     * @param prefixes The accepted path prefixes
+     * @return The filter
+     * @since 1.11.6
+     */
+    static @NotNull ResourcePackReadFilter pathPrefixes(final @NotNull String @NotNull ... prefixes) {
+        requireNonNull(prefixes, "prefixes");
+        final List<String> accepted = List.of(prefixes);
+        return (overlay, path, packFormat) -> {
+            for (final String prefix : accepted) {
+                if (path.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Returns a filter that accepts the files that are not
+     * inside any overlay.
+     *
+     * @return The filter
+     * @since 1.11.6
+     */
+    static @NotNull ResourcePackReadFilter root() {
+        return (overlay, path, packFormat) -> overlay == null;
+    }
+
+    /**
+     * Returns a filter that accepts the files inside the given overlays.
+     *
+     * @param directories The accepted overlay directories
+     * @return The filter
+     * @since 1.11.6
+     */
+    static @NotNull ResourcePackReadFilter overlays(final @NotNull String @NotNull ... directories) {
+        requireNonNull(directories, "directories");
+        final Set<String> accepted = Set.of(directories);
+        return (overlay, path, packFormat) -> overlay != null && accepted.contains(overlay);
+    }
+
+    /**
+     * Determines whether the file at the given path should be read.
+     *
+     * @param overlay The directory of the overlay containing the file, or
+     *                null if it is not inside an overlay
+     * @param path The file path, relative to the root or overlay, for example
+     *             {@code assets/minecraft/textures/item/diamond.png}
+     * @param packFormat The pack format of the root or overlay, or -1 if unknown
+     * @return True to read the file, false to skip it
+     * @since 1.11.6
+     */
+    boolean test(final @Nullable String overlay, final @NotNull String path, final int packFormat);
+
+    /**
+     * Returns a filter that accepts the files accepted
+     * by both this filter and the given filter.
+     *
+     * @param other The other filter
+     * @return The combined filter
+     * @since 1.11.6
+     */
+    default @NotNull ResourcePackReadFilter and(final @NotNull ResourcePackReadFilter other) {
+        requireNonNull(other, "other");
+        return (overlay, path, packFormat) -> test(overlay, path, packFormat) && other.test(overlay, path, packFormat);
+    }
+
+    /**
+     * Returns a filter that accepts the files accepted
+     * by this filter or the given filter.
+     *
+     * @param other The other filter
+     * @return The combined filter
+     * @since 1.11.6
+     */
+    default @NotNull ResourcePackReadFilter or(final @NotNull ResourcePackReadFilter other) {
+        requireNonNull(other, "other");
+        return (overlay, path, packFormat) -> test(overlay, path, packFormat) || other.test(overlay, path, packFormat);
+    }
+
+    /**
+     * Returns a filter that accepts the files
+     * rejected by this filter.
+     *
+     * @return The negated filter
+     * @since 1.11.6
+     */
+    default @NotNull ResourcePackReadFilter negate() {
+        return (overlay, path, packFormat) -> !test(overlay, path, packFormat);
+    }
+
+    // index of the slash after the namespace in assets/<namespace>/..., or -1 if the path is not like this
+    private static int namespaceEnd(final @NotNull String path) {
+        if (!path.startsWith(ASSETS_FOLDER + '/')) {
+            return -1;
+        }
+        return path.indexOf('/', ASSETS_FOLDER.length() + 1);
+    }
+}
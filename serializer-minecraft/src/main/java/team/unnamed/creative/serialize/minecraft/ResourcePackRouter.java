@@ -0,0 +1,308 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import net.kyori.adventure.key.Key;
+import org.intellij.lang.annotations.Subst;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.metadata.Metadata;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.PackMeta;
+import team.unnamed.creative.util.Keys;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.*;
+
+/**
+ * Determines what each file of a resource pack file tree is, and where
+ * it belongs (root resource pack or overlay), according to the pack format
+ * and overlays declared by the {@code pack.mcmeta} file.
+ *
+ * <p>Shared by the resource pack reader and watcher, so that both
+ * interpret the files in the same way.</p>
+ */
+final class ResourcePackRouter {
+
+    // fill in with the default ones first (pack format is unknown at the start)
+    private Map<String, ResourceCategory<?>> categoriesByFolderThisPackFormat = ResourceCategories.buildCategoryMapByFolder(-1);
+    private final Map<String, Integer> packFormatsByOverlayDir = new HashMap<>();
+    private int packFormat = -1;
+
+    /**
+     * Updates the pack format and overlays from
+     * the given {@code pack.mcmeta} file metadata.
+     *
+     * @param metadata The resource pack metadata
+     */
+    void metadata(final @NotNull Metadata metadata) {
+        // get the pack format from the metadata
+        PackMeta packMeta = metadata.meta(PackMeta.class);
+        if (packMeta == null) {
+            // TODO: better warning system
+            System.err.println("Reading a resource-pack with no pack meta in its pack.mcmeta file! Unknown pack format version :(");
+        } else {
+            // update the pack format and categories
+            packFormat = packMeta.formats().min();
+            categoriesByFolderThisPackFormat = ResourceCategories.buildCategoryMapByFolder(packFormat);
+        }
+
+        // overlays info
+        OverlaysMeta overlaysMeta = metadata.meta(OverlaysMeta.class);
+        if (overlaysMeta != null) for (OverlayEntry entry : overlaysMeta.entries()) {
+            packFormatsByOverlayDir.put(entry.directory(), entry.formats().min());
+        }
+    }
+
+    /**
+     * Returns the pack format of the root resource pack,
+     * or of the overlay in the given directory.
+     *
+     * @param overlayDir The overlay directory, or null for the root resource pack
+     * @return The pack format, or -1 if unknown
+     */
+    int packFormat(final @Nullable String overlayDir) {
+        return overlayDir == null ? packFormat : packFormatsByOverlayDir.getOrDefault(overlayDir, -1);
+    }
+
+    /**
+     * Determines whether the given filter accepts the file at the given path.
+     *
+     * @param filter The filter
+     * @param path The file path
+     * @return True if the file is accepted
+     */
+    boolean accepts(final @NotNull ResourcePackReadFilter filter, final @NotNull String path) {
+        final int slash = path.indexOf('/');
+        if (slash != -1) {
+            final String overlayDir = path.substring(0, slash);
+            final Integer overlayPackFormat = packFormatsByOverlayDir.get(overlayDir);
+            if (overlayPackFormat != null) {
+                return filter.test(overlayDir, path.substring(slash + 1), overlayPackFormat);
+            }
+        }
+        return filter.test(null, path, packFormat);
+    }
+
+    /**
+     * Determines what the file at the given path is.
+     *
+     * @param path The file path, relative to the file tree root
+     * @return The file route
+     */
+    @SuppressWarnings("PatternValidation")
+    @NotNull Route route(final @NotNull String path) {
+        // tokenize path in sections, e.g.: [ assets, minecraft, textures, ... ]
+        Queue<String> tokens = tokenize(path);
+
+        if (tokens.isEmpty()) {
+            // this should never happen
+            throw new IllegalStateException("Token collection is empty!");
+        }
+
+        // single token means the file is on the
+        // root level (top level files) so it may be:
+        // - pack.mcmeta
+        // - pack.png
+        if (tokens.size() == 1) {
+            switch (tokens.poll()) {
+                case PACK_METADATA_FILE:
+                    return new Route(Type.PACK_METADATA, null, path, null, null, null);
+                case PACK_ICON_FILE:
+                    return new Route(Type.PACK_ICON, null, path, null, null, null);
+                default:
+                    // unknown top level file
+                    return new Route(Type.UNKNOWN, null, path, null, null, null);
+            }
+        }
+
+        // the container to use, it is initially the default resource-pack,
+        // but it may change if the file is inside an overlay folder
+        @Subst("dir")
+        @Nullable String overlayDir = null;
+        int localPackFormat = packFormat;
+
+        // the file path, relative to the container
+        String containerPath = path;
+
+        // if there are two or more tokens, it means the
+        // file is inside a folder, in a Minecraft resource
+        // pack, the first folder is always "assets"
+        String folder = tokens.poll();
+
+        if (packFormatsByOverlayDir.containsKey(folder)) {
+            if (tokens.isEmpty()) {
+                // this means that there is a file directly
+                // inside the "overlays" folder, this is illegal
+                return new Route(Type.UNKNOWN, null, containerPath, null, null, null);
+            }
+
+            overlayDir = folder;
+            folder = tokens.poll();
+            containerPath = path.substring((overlayDir + '/').length());
+            localPackFormat = packFormatsByOverlayDir.getOrDefault(overlayDir, -1);
+        }
+
+        // null check to make ide happy
+        if (folder == null || !folder.equals(ASSETS_FOLDER) || tokens.isEmpty()) {
+            // not assets! this is an unknown file
+            return new Route(Type.UNKNOWN, overlayDir, containerPath, null, null, null);
+        }
+
+        // inside "assets", we should always have a folder
+        // with any name, which is a namespace, e.g. "minecraft"
+        String namespace = tokens.poll();
+
+        if (!Keys.isValidNamespace(namespace)) {
+            // invalid namespace found
+            return new Route(Type.UNKNOWN, overlayDir, containerPath, null, null, null);
+        }
+
+        if (tokens.isEmpty()) {
+            // found a file directly inside "assets", like
+            // assets/<file>, it is not allowed
+            return new Route(Type.UNKNOWN, overlayDir, containerPath, null, null, null);
+        }
+
+        // so we already have "assets/<namespace>/", most files inside
+        // the namespace folder always have a "category", e.g. textures,
+        // lang, font, etc. But not always! There is sounds.json file and
+        // gpu_warnlist.json file
+        String categoryName = tokens.poll();
+
+        if (tokens.isEmpty()) {
+            // this means "category" is a file
+            // (remember: last tokens are always files)
+            if (categoryName.equals(SOUNDS_FILE)) {
+                // found a sound registry!
+                return new Route(Type.SOUND_REGISTRY, overlayDir, containerPath, namespace, null, null);
+            } else {
+                // TODO: gpu_warnlist.json?
+                return new Route(Type.UNKNOWN, overlayDir, containerPath, null, null, null);
+            }
+        }
+
+        // so "category" is actually a category like "textures",
+        // "lang", "font", etc. next we can compute the relative
+        // path inside the category
+        String categoryPath = path(tokens);
+
+        if (categoryName.equals(TEXTURES_FOLDER)) {
+            String keyOfMetadata = withoutExtension(categoryPath, METADATA_EXTENSION);
+            if (keyOfMetadata != null) {
+                // found metadata for texture
+                return new Route(Type.TEXTURE_METADATA, overlayDir, containerPath, namespace, Key.key(namespace, keyOfMetadata), null);
+            } else {
+                return new Route(Type.TEXTURE, overlayDir, containerPath, namespace, Key.key(namespace, categoryPath), null);
+            }
+        }
+
+        // get the resource category, if the local pack format (overlay or root) is the same as the
+        // root pack format, we can use the previously computed map, otherwise we need to compute it
+        // (we could save some time by caching the computed map, but, is it worth it?)
+        ResourceCategory<?> category = (localPackFormat == packFormat
+                ? categoriesByFolderThisPackFormat
+                : ResourceCategories.buildCategoryMapByFolder(localPackFormat)).get(categoryName);
+        if (category == null) {
+            // unknown category
+            return new Route(Type.UNKNOWN, overlayDir, containerPath, null, null, null);
+        }
+        String keyValue = withoutExtension(categoryPath, category.extension(-1));
+        if (keyValue == null) {
+            // wrong extension
+            return new Route(Type.UNKNOWN, overlayDir, containerPath, null, null, null);
+        }
+
+        if (keyValue.startsWith("equipment/")) {
+            // skip trying to load "namespace:equipment/X.json" as a normal model
+            return new Route(Type.UNKNOWN, overlayDir, containerPath, null, null, null);
+        }
+
+        return new Route(Type.RESOURCE, overlayDir, containerPath, namespace, Key.key(namespace, keyValue), category);
+    }
+
+    private static @Nullable String withoutExtension(String string, String extension) {
+        if (string.endsWith(extension)) {
+            return string.substring(0, string.length() - extension.length());
+        } else {
+            // string doesn't end with extension
+            return null;
+        }
+    }
+
+    enum Type {
+        /**
+         * The {@code pack.mcmeta} file.
+         */
+        PACK_METADATA,
+        /**
+         * The {@code pack.png} file.
+         */
+        PACK_ICON,
+        /**
+         * A file we don't know how to parse.
+         */
+        UNKNOWN,
+        /**
+         * A {@code sounds.json} file, has a namespace.
+         */
+        SOUND_REGISTRY,
+        /**
+         * A texture, has a namespace and key.
+         */
+        TEXTURE,
+        /**
+         * A texture metadata file, has a namespace and the key of its texture.
+         */
+        TEXTURE_METADATA,
+        /**
+         * A resource from a {@link ResourceCategory}, has a namespace, key and category.
+         */
+        RESOURCE
+    }
+
+    /**
+     * The route of a file.
+     *
+     * @param type The file type
+     * @param overlayDir The directory of the overlay containing the file, or null if it is in the root
+     * @param containerPath The file path, relative to its container (root or overlay)
+     * @param namespace The namespace, for sound registries, textures and resources
+     * @param key The key, for textures and resources
+     * @param category The category, for resources
+     */
+    record Route(
+            @NotNull Type type,
+            @Nullable String overlayDir,
+            @NotNull String containerPath,
+            @Nullable String namespace,
+            @Nullable Key key,
+            @Nullable ResourceCategory<?> category
+    ) {
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.ResourcePack;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps a {@link ResourcePack} up to date with a resource pack directory.
+ *
+ * <p>The directory is read once when the watcher is created, then, every
+ * time {@link #poll()} or {@link #take()} is called, only the files that
+ * changed since the last call are read again and applied to the resource
+ * pack. Textures are always updated together with their {@code .mcmeta}
+ * file, and files inside overlay folders are applied to their overlay.</p>
+ *
+ * <p>If the {@code pack.mcmeta} file changes, which may change the pack
+ * format and overlays, or if the underlying watch service loses events, the
+ * whole directory is read again into a new resource pack, see
+ * {@link #resourcePack()}.</p>
+ *
+ * <p>Watchers are not thread-safe, the resource pack is modified by the
+ * thread calling {@link #poll()} or {@link #take()}, so it should only be
+ * accessed from that thread.</p>
+ *
+ * @see MinecraftResourcePackReader#watch(Path)
+ * @since 1.11.6
+ */
+public interface ResourcePackWatcher extends AutoCloseable {
+    /**
+     * Returns the watched directory.
+     *
+     * @return The watched directory
+     * @since 1.11.6
+     */
+    @NotNull Path directory();
+
+    /**
+     * Returns the current resource pack.
+     *
+     * <p>It is modified in place when files change, but a new instance is
+     * created when the whole directory is read again (see {@link Changes#reloaded()}),
+     * so this method should be called again after every change.</p>
+     *
+     * @return The current resource pack
+     * @since 1.11.6
+     */
+    @NotNull ResourcePack resourcePack();
+
+    /**
+     * Applies the changes that happened since the last call, without waiting.
+     *
+     * @return The applied changes, or null if there were no changes
+     * @throws java.io.UncheckedIOException If the directory can't be watched anymore
+     * @since 1.11.6
+     */
+    @Nullable Changes poll();
+
+    /**
+     * Applies the changes that happened since the last call, waiting
+     * up to the given time if there are none yet.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     * @return The applied changes, or null if there were no changes
+     * @throws InterruptedException If interrupted while waiting
+     * @throws java.io.UncheckedIOException If the directory can't be watched anymore
+     * @since 1.11.6
+     */
+    @Nullable Changes poll(final long timeout, final @NotNull TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Applies the changes that happened since the last call, waiting
+     * until there are some if there are none yet.
+     *
+     * @return The applied changes
+     * @throws InterruptedException If interrupted while waiting
+     * @throws java.io.UncheckedIOException If the directory can't be watched anymore
+     * @since 1.11.6
+     */
+    @NotNull Changes take() throws InterruptedException;
+
+    /**
+     * Stops watching the directory. The resource pack is kept as it is.
+     *
+     * @throws IOException If closing the watch service fails
+     * @since 1.11.6
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * A set of changes applied to the resource pack.
+     *
+     * @param paths The paths of the files that were created, modified or deleted,
+     *              relative to the watched directory, using {@code /} as separator
+     * @param failures The files that failed to be read, by path, the resource pack
+     *                 keeps their previous version
+     * @param reloaded Whether the whole directory was read again into a new resource pack
+     * @since 1.11.6
+     */
+    record Changes(
+            @NotNull Set<String> paths,
+            @NotNull Map<String, Exception> failures,
+            boolean reloaded
+    ) {
+        public Changes {
+            paths = Set.copyOf(requireNonNull(paths, "paths"));
+            failures = Map.copyOf(requireNonNull(failures, "failures"));
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import net.kyori.adventure.key.Key;
+import org.intellij.lang.annotations.Subst;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.metadata.Metadata;
+import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.part.ResourcePackPart;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
+import team.unnamed.creative.serialize.minecraft.io.BinaryResourceDeserializer;
+import team.unnamed.creative.serialize.minecraft.io.ResourceDeserializer;
+import team.unnamed.creative.serialize.minecraft.metadata.MetadataSerializer;
+import team.unnamed.creative.serialize.minecraft.sound.SoundRegistrySerializer;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.METADATA_EXTENSION;
+import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.PACK_METADATA_FILE;
+
+final class ResourcePackWatcherImpl implements ResourcePackWatcher {
+
+    private final MinecraftResourcePackReaderImpl reader;
+    private final Path directory;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directoriesByKey = new HashMap<>();
+
+    // the known files, sorted, so that the files inside
+    // a deleted directory can be found
+    private final NavigableSet<String> files = new TreeSet<>();
+
+    private ResourcePack resourcePack;
+    private ResourcePackRouter router;
+
+    ResourcePackWatcherImpl(final @NotNull MinecraftResourcePackReaderImpl reader, final @NotNull Path directory) throws IOException {
+        this.reader = requireNonNull(reader, "reader");
+        this.directory = requireNonNull(directory, "directory");
+        if (!Files.isDirectory(directory)) {
+            throw new NotDirectoryException(directory.toString());
+        }
+        this.watchService = directory.getFileSystem().newWatchService();
+        try {
+            // start watching before reading, so no change is missed
+            reload();
+        } catch (final IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public @NotNull Path directory() {
+        return directory;
+    }
+
+    @Override
+    public @NotNull ResourcePack resourcePack() {
+        return resourcePack;
+    }
+
+    @Override
+    public @Nullable Changes poll() {
+        return process(watchService.poll());
+    }
+
+    @Override
+    public @Nullable Changes poll(final long timeout, final @NotNull TimeUnit unit) throws InterruptedException {
+        requireNonNull(unit, "unit");
+        return process(watchService.poll(timeout, unit));
+    }
+
+    @Override
+    public @NotNull Changes take() throws InterruptedException {
+        Changes changes;
+        do {
+            changes = process(watchService.take());
+        } while (changes == null);
+        return changes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private @Nullable Changes process(@Nullable WatchKey key) {
+        if (key == null) {
+            return null;
+        }
+
+        // collect all the pending events, editors usually produce
+        // several events per save, and files are only read once
+        final Set<String> changed = new LinkedHashSet<>();
+        boolean overflow = false;
+        while (key != null) {
+            final Path parent = directoriesByKey.get(key);
+            for (final WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // events were lost, we don't know what changed
+                    overflow = true;
+                    continue;
+                }
+                if (parent == null) {
+                    continue;
+                }
+                final Path file = parent.resolve((Path) event.context());
+                final String path = relativize(file);
+                if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                    if (files.contains(path)) {
+                        changed.add(path);
+                    } else {
+                        // may be a directory, its files were deleted too
+                        final String prefix = path + '/';
+                        final Iterator<String> iterator = files.tailSet(prefix, true).iterator();
+                        while (iterator.hasNext()) {
+                            final String child = iterator.next();
+                            if (!child.startsWith(prefix)) break;
+                            changed.add(child);
+                        }
+                    }
+                } else if (Files.isDirectory(file, LinkOption.NOFOLLOW_LINKS)) {
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        // new directory, watch it, its files are new too
+                        try {
+                            register(file, changed);
+                        } catch (final IOException e) {
+                            throw new UncheckedIOException("Failed to watch directory: " + file, e);
+                        }
+                    }
+                } else {
+                    changed.add(path);
+                }
+            }
+            if (!key.reset()) {
+                // directory no longer exists
+                directoriesByKey.remove(key);
+            }
+            key = watchService.poll();
+        }
+
+        final Map<String, Exception> failures = new LinkedHashMap<>();
+
+        if (overflow || changed.contains(PACK_METADATA_FILE)) {
+            // the pack format or overlays may have changed, which
+            // changes how every file is read, read everything again
+            try {
+                reload();
+                return new Changes(changed, failures, true);
+            } catch (final IOException | RuntimeException e) {
+                failures.put(PACK_METADATA_FILE, e);
+                return new Changes(changed, failures, false);
+            }
+        }
+
+        final Set<String> applied = new LinkedHashSet<>();
+        for (final String path : changed) {
+            if (!router.accepts(reader.filter(), path)) {
+                // filtered out, as when reading
+                continue;
+            }
+            applied.add(path);
+            try {
+                apply(path);
+            } catch (final IOException | RuntimeException e) {
+                // keep the previous version
+                failures.put(path, e);
+            }
+        }
+
+        return applied.isEmpty() ? null : new Changes(applied, failures, false);
+    }
+
+    private void reload() throws IOException {
+        files.clear();
+        register(directory, null);
+
+        final ResourcePack resourcePack;
+        try (final FileTreeReader tree = FileTreeReader.directory(directory)) {
+            resourcePack = reader.read(tree);
+        }
+
+        final ResourcePackRouter router = new ResourcePackRouter();
+        if (files.contains(PACK_METADATA_FILE)) {
+            router.metadata(resourcePack.metadata());
+        }
+
+        this.resourcePack = resourcePack;
+        this.router = router;
+    }
+
+    private void register(final @NotNull Path start, final @Nullable Set<String> created) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public @NotNull FileVisitResult preVisitDirectory(final @NotNull Path dir, final @NotNull BasicFileAttributes attrs) throws IOException {
+                final WatchKey key = dir.register(
+                        watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY
+                );
+                directoriesByKey.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public @NotNull FileVisitResult visitFile(final @NotNull Path file, final @NotNull BasicFileAttributes attrs) {
+                final String path = relativize(file);
+                if (files.add(path) && created != null) {
+                    created.add(path);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public @NotNull FileVisitResult visitFileFailed(final @NotNull Path file, final @NotNull IOException e) throws IOException {
+                if (e instanceof NoSuchFileException) {
+                    // deleted while walking, there will be an event for it
+                    return FileVisitResult.CONTINUE;
+                }
+                throw e;
+            }
+        });
+    }
+
+    @SuppressWarnings("PatternValidation")
+    private void apply(final @NotNull String path) throws IOException {
+        final ResourcePackRouter.Route route = router.route(path);
+        final byte[] data = readIfExists(path);
+
+        if (data == null) {
+            files.remove(path);
+        } else {
+            files.add(path);
+        }
+
+        @Subst("dir")
+        final String overlayDir = route.overlayDir();
+        final ResourceContainer container;
+        if (overlayDir == null) {
+            container = resourcePack;
+        } else if (data != null) {
+            container = MinecraftResourcePackReaderImpl.overlay(resourcePack, overlayDir);
+        } else {
+            container = resourcePack.overlay(overlayDir);
+            if (container == null) {
+                // nothing to remove
+                return;
+            }
+        }
+
+        final String containerPath = route.containerPath();
+        switch (route.type()) {
+            case PACK_ICON: {
+                resourcePack.icon(data == null ? null : Writable.bytes(data));
+                break;
+            }
+            case UNKNOWN: {
+                if (data == null) {
+                    container.removeUnknownFile(containerPath);
+                } else {
+                    container.unknownFile(containerPath, Writable.bytes(data));
+                }
+                break;
+            }
+            case SOUND_REGISTRY: {
+                @Subst("minecraft")
+                final String namespace = requireNonNull(route.namespace(), "namespace");
+                if (data == null) {
+                    container.removeSoundRegistry(namespace);
+                } else {
+                    container.soundRegistry(SoundRegistrySerializer.INSTANCE.readFromTree(
+                            reader.parseJson(new ByteArrayInputStream(data)),
+                            namespace
+                    ));
+                }
+                break;
+            }
+            case TEXTURE:
+            case TEXTURE_METADATA: {
+                // textures and their metadata are always read together
+                final Key key = requireNonNull(route.key(), "key");
+                final boolean isTexture = route.type() == ResourcePackRouter.Type.TEXTURE;
+                final String texturePath = isTexture ? path : path.substring(0, path.length() - METADATA_EXTENSION.length());
+                final String metadataPath = texturePath + METADATA_EXTENSION;
+
+                final byte[] textureData = isTexture ? data : readIfExists(texturePath);
+                if (textureData == null) {
+                    // metadata without texture is ignored, as when reading
+                    container.removeTexture(key);
+                    break;
+                }
+
+                final byte[] metadataData = isTexture
+                        ? (router.accepts(reader.filter(), metadataPath) ? readIfExists(metadataPath) : null)
+                        : data;
+                final Metadata metadata = metadataData == null
+                        ? Metadata.empty()
+                        : MetadataSerializer.INSTANCE.readFromTree(reader.parseJson(new ByteArrayInputStream(metadataData)));
+                container.texture(Texture.texture(key, Writable.bytes(textureData), metadata));
+                break;
+            }
+            case RESOURCE: {
+                final Key key = requireNonNull(route.key(), "key");
+                final ResourceCategory<?> category = requireNonNull(route.category(), "category");
+                if (data == null) {
+                    category.remove(container, key);
+                } else {
+                    final ResourceDeserializer<? extends ResourcePackPart> deserializer = category.deserializer();
+                    final ResourcePackPart resource;
+                    if (deserializer instanceof BinaryResourceDeserializer) {
+                        resource = ((BinaryResourceDeserializer<? extends ResourcePackPart>) deserializer)
+                                .deserializeBinary(Writable.bytes(data), key);
+                    } else {
+                        resource = reader.deserialize(deserializer, new ByteArrayInputStream(data), key);
+                    }
+                    resource.addTo(container);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected route type: " + route.type());
+        }
+    }
+
+    private byte @Nullable [] readIfExists(final @NotNull String path) throws IOException {
+        final Path file = directory.resolve(path);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(file);
+        } catch (final NoSuchFileException e) {
+            // deleted meanwhile, there will be an event for it
+            return null;
+        }
+    }
+
+    private @NotNull String relativize(final @NotNull Path file) {
+        final StringJoiner joiner = new StringJoiner("/");
+        for (final Path name : directory.relativize(file)) {
+            joiner.add(name.toString());
+        }
+        return joiner.toString();
+    }
+}
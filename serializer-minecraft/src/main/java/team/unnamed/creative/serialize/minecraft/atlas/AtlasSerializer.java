@@ -53,6 +53,7 @@ public final class AtlasSerializer implements JsonResourceSerializer<Atlas>, Jso
                 "atlases",
                 ".json",
                 ResourceContainer::atlases,
+                ResourceContainer::removeAtlas,
                 INSTANCE
         );
     }
@@ -25,6 +25,8 @@ package team.unnamed.creative.serialize.minecraft.blockstate;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Key;
 import team.unnamed.creative.blockstate.BlockState;
@@ -36,8 +38,8 @@ import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.serialize.minecraft.GsonUtil;
 import team.unnamed.creative.serialize.minecraft.ResourceCategoryImpl;
 import team.unnamed.creative.serialize.minecraft.base.KeySerializer;
-import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.io.StreamingJsonResourceDeserializer;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -46,7 +48,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public final class BlockStateSerializer implements JsonResourceSerializer<BlockState>, JsonResourceDeserializer<BlockState> {
+import static java.util.Objects.requireNonNull;
+
+public final class BlockStateSerializer implements JsonResourceSerializer<BlockState>, StreamingJsonResourceDeserializer<BlockState> {
 
     public static final BlockStateSerializer INSTANCE;
     public static final ResourceCategoryImpl<BlockState> CATEGORY;
@@ -57,6 +61,7 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
                 "blockstates",
                 ".json",
                 ResourceContainer::blockStates,
+                ResourceContainer::removeBlockState,
                 INSTANCE
         );
     }
@@ -116,6 +121,39 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
         return BlockState.of(key, variants, multipart);
     }
 
+    @Override
+    public BlockState deserializeFromJson(JsonReader reader, Key key) throws IOException {
+        Map<String, MultiVariant> variants = new LinkedHashMap<>();
+        List<Selector> multipart = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "variants" -> {
+                    variants.clear();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String variantKey = reader.nextName();
+                        variants.put(variantKey, readMultiVariant(reader));
+                    }
+                    reader.endObject();
+                }
+                case "multipart" -> {
+                    multipart.clear();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        multipart.add(readSelector(reader));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return BlockState.of(key, variants, multipart);
+    }
+
     private static void writeMultiVariant(JsonWriter writer, MultiVariant multiVariant) throws IOException {
         List<Variant> variants = multiVariant.variants();
         if (variants.size() == 1) {
@@ -145,6 +183,22 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
         }
     }
 
+    private static MultiVariant readMultiVariant(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+            // single variant
+            return MultiVariant.of(readVariant(reader));
+        } else {
+            // multiple variants
+            List<Variant> variants = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                variants.add(readVariant(reader));
+            }
+            reader.endArray();
+            return MultiVariant.of(variants);
+        }
+    }
+
     private static void writeVariant(JsonWriter writer, Variant variant) throws IOException {
         writer
                 .beginObject()
@@ -178,6 +232,35 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
                 .build();
     }
 
+    private static Variant readVariant(JsonReader reader) throws IOException {
+        String model = null;
+        int x = Variant.DEFAULT_X_ROTATION;
+        int y = Variant.DEFAULT_Y_ROTATION;
+        boolean uvLock = Variant.DEFAULT_UV_LOCK;
+        int weight = Variant.DEFAULT_WEIGHT;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "model" -> model = GsonUtil.readString(reader);
+                case "x" -> x = GsonUtil.readInt(reader, "x");
+                case "y" -> y = GsonUtil.readInt(reader, "y");
+                case "uvlock" -> uvLock = GsonUtil.readBoolean(reader, "uvlock");
+                case "weight" -> weight = GsonUtil.readInt(reader, "weight");
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return Variant.builder()
+                .model(Key.key(requireNonNull(model, "model")))
+                .x(x)
+                .y(y)
+                .uvLock(uvLock)
+                .weight(weight)
+                .build();
+    }
+
     private static void writeSelector(JsonWriter writer, Selector selector) throws IOException {
         writer.beginObject();
 
@@ -204,6 +287,25 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
         return Selector.of(condition, multiVariant);
     }
 
+    private static Selector readSelector(JsonReader reader) throws IOException {
+        Condition condition = Condition.NONE;
+        MultiVariant multiVariant = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                // conditions are small, and their format depends on
+                // how many properties they have, read them as a tree
+                case "when" -> condition = readCondition(GsonUtil.parseReader(reader).getAsJsonObject());
+                case "apply" -> multiVariant = readMultiVariant(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return Selector.of(condition, requireNonNull(multiVariant, "apply"));
+    }
+
     private static void writeCondition(JsonWriter writer, Condition condition) throws IOException {
         writeCondition(writer, condition, false);
     }
@@ -23,6 +23,7 @@
  */
 package team.unnamed.creative.serialize.minecraft.equipment;
 
+import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import team.unnamed.creative.equipment.Equipment;
@@ -73,4 +74,9 @@ public final class EquipmentCategory implements ResourceCategory<Equipment> {
     public @NotNull ResourceSerializer<Equipment> serializer() {
         return EquipmentSerializer.INSTANCE;
     }
+
+    @Override
+    public boolean remove(final @NotNull ResourceContainer container, final @NotNull Key key) {
+        return container.removeEquipment(key);
+    }
 }
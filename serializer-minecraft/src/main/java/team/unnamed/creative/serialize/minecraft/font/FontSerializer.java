@@ -26,6 +26,8 @@ package team.unnamed.creative.serialize.minecraft.font;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Key;
 import team.unnamed.creative.base.Vector2Float;
@@ -40,8 +42,8 @@ import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.serialize.minecraft.GsonUtil;
 import team.unnamed.creative.serialize.minecraft.ResourceCategoryImpl;
 import team.unnamed.creative.serialize.minecraft.base.KeySerializer;
-import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.io.StreamingJsonResourceDeserializer;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -49,7 +51,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-public final class FontSerializer implements JsonResourceSerializer<Font>, JsonResourceDeserializer<Font> {
+import static java.util.Objects.requireNonNull;
+
+public final class FontSerializer implements JsonResourceSerializer<Font>, StreamingJsonResourceDeserializer<Font> {
 
     public static final FontSerializer INSTANCE;
     public static final ResourceCategoryImpl<Font> CATEGORY;
@@ -60,6 +64,7 @@ public final class FontSerializer implements JsonResourceSerializer<Font>, JsonR
                 "font",
                 ".json",
                 ResourceContainer::fonts,
+                ResourceContainer::removeFont,
                 INSTANCE
         );
     }
@@ -87,34 +92,69 @@ public final class FontSerializer implements JsonResourceSerializer<Font>, JsonR
         JsonObject objectNode = node.getAsJsonObject();
         List<FontProvider> providers = new ArrayList<>();
         for (JsonElement providerNode : objectNode.getAsJsonArray("providers")) {
-            JsonObject providerObjectNode = providerNode.getAsJsonObject();
-            String type = providerObjectNode.get("type").getAsString();
-            switch (type) {
-                case "bitmap": {
-                    providers.add(readBitMap(providerObjectNode));
-                    break;
-                }
-                case "space": {
-                    providers.add(readSpace(providerObjectNode));
-                    break;
-                }
-                case "ttf": {
-                    providers.add(readTrueType(providerObjectNode));
-                    break;
-                }
-                case "reference": {
-                    providers.add(readReference(providerObjectNode));
-                    break;
-                }
-                case "unihex": {
-                    providers.add(readUnihex(providerObjectNode));
-                    break;
+            providers.add(readProvider(providerNode.getAsJsonObject()));
+        }
+        return Font.font(key, providers);
+    }
+
+    @Override
+    public Font deserializeFromJson(JsonReader reader, Key key) throws IOException {
+        List<FontProvider> providers = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("providers")) {
+                providers = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    providers.add(readProvider(reader));
                 }
-                default:
-                    throw new IllegalStateException("Unknown font provider type: " + type);
+                reader.endArray();
+            } else {
+                reader.skipValue();
             }
         }
-        return Font.font(key, providers);
+        reader.endObject();
+
+        return Font.font(key, requireNonNull(providers, "providers"));
+    }
+
+    private static FontProvider readProvider(JsonObject node) {
+        String type = node.get("type").getAsString();
+        return switch (type) {
+            case "bitmap" -> readBitMap(node);
+            case "space" -> readSpace(node);
+            case "ttf" -> readTrueType(node);
+            case "reference" -> readReference(node);
+            case "unihex" -> readUnihex(node);
+            default -> throw new IllegalStateException("Unknown font provider type: " + type);
+        };
+    }
+
+    private static FontProvider readProvider(JsonReader reader) throws IOException {
+        reader.beginObject();
+        String name = reader.nextName();
+        FontProvider provider;
+        if (name.equals("type")) {
+            // the type comes first (it always does in the files we
+            // write and in vanilla files), we can keep streaming
+            String type = GsonUtil.readString(reader);
+            provider = switch (type) {
+                case "bitmap" -> readBitMap(reader);
+                case "space" -> readSpace(reader);
+                case "ttf" -> readTrueType(reader);
+                case "reference" -> readReference(reader);
+                case "unihex" -> readUnihex(reader);
+                default -> throw new IllegalStateException("Unknown font provider type: " + type);
+            };
+        } else {
+            // we don't know the type yet, read this provider as a tree
+            JsonObject node = new JsonObject();
+            node.add(name, GsonUtil.parseReader(reader));
+            provider = readProvider(GsonUtil.parseRemaining(reader, node));
+        }
+        reader.endObject();
+        return provider;
     }
 
     private static void writeBitMap(JsonWriter writer, BitMapFontProvider provider) throws IOException {
@@ -153,6 +193,37 @@ public final class FontSerializer implements JsonResourceSerializer<Font>, JsonR
                 .build();
     }
 
+    private static BitMapFontProvider readBitMap(JsonReader reader) throws IOException {
+        String file = null;
+        int height = BitMapFontProvider.DEFAULT_HEIGHT;
+        Integer ascent = null;
+        List<String> characters = null;
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "file" -> file = GsonUtil.readString(reader);
+                case "height" -> height = GsonUtil.readInt(reader, "height");
+                case "ascent" -> ascent = GsonUtil.readInt(reader, "ascent");
+                case "chars" -> {
+                    characters = new ArrayList<>();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        characters.add(GsonUtil.readString(reader));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+
+        return FontProvider.bitMap()
+                .file(Key.key(requireNonNull(file, "file")))
+                .height(height)
+                .ascent(requireNonNull(ascent, "ascent"))
+                .characters(requireNonNull(characters, "chars"))
+                .build();
+    }
+
     private static void writeSpace(JsonWriter writer, SpaceFontProvider provider) throws IOException {
         writer.beginObject()
                 .name("type").value("space")
@@ -174,6 +245,24 @@ public final class FontSerializer implements JsonResourceSerializer<Font>, JsonR
         return FontProvider.space(advances);
     }
 
+    private static SpaceFontProvider readSpace(JsonReader reader) throws IOException {
+        Map<String, Integer> advances = null;
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("advances")) {
+                advances = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String character = reader.nextName();
+                    advances.put(character, GsonUtil.readInt(reader, character));
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        return FontProvider.space(requireNonNull(advances, "advances"));
+    }
+
     private static void writeUnihex(JsonWriter writer, UnihexFontProvider provider) throws IOException {
         writer.beginObject()
                 .name("type").value("unihex")
@@ -207,6 +296,57 @@ public final class FontSerializer implements JsonResourceSerializer<Font>, JsonR
                 .build();
     }
 
+    private static UnihexFontProvider readUnihex(JsonReader reader) throws IOException {
+        String file = null;
+        List<UnihexFontProvider.SizeOverride> sizes = null;
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "hex_file" -> file = GsonUtil.readString(reader);
+                case "size_overrides" -> {
+                    sizes = new ArrayList<>();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        sizes.add(readSizeOverride(reader));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+
+        return FontProvider.unihex()
+                .file(Key.key(requireNonNull(file, "hex_file")))
+                .sizes(requireNonNull(sizes, "size_overrides"))
+                .build();
+    }
+
+    private static UnihexFontProvider.SizeOverride readSizeOverride(JsonReader reader) throws IOException {
+        String from = null;
+        String to = null;
+        Integer left = null;
+        Integer right = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "from" -> from = GsonUtil.readString(reader);
+                case "to" -> to = GsonUtil.readString(reader);
+                case "left" -> left = GsonUtil.readInt(reader, "left");
+                case "right" -> right = GsonUtil.readInt(reader, "right");
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return UnihexFontProvider.SizeOverride.override(
+                requireNonNull(from, "from"),
+                requireNonNull(to, "to"),
+                requireNonNull(left, "left"),
+                requireNonNull(right, "right")
+        );
+    }
+
     private static void writeTrueType(JsonWriter writer, TrueTypeFontProvider provider) throws IOException {
         writer.beginObject()
                 .name("type").value("ttf")
@@ -283,6 +423,55 @@ public final class FontSerializer implements JsonResourceSerializer<Font>, JsonR
                 .build();
     }
 
+    private static TrueTypeFontProvider readTrueType(JsonReader reader) throws IOException {
+        String file = null;
+        Vector2Float shift = Vector2Float.ZERO;
+        List<String> skip = new ArrayList<>();
+        float size = TrueTypeFontProvider.DEFAULT_SIZE;
+        float oversample = TrueTypeFontProvider.DEFAULT_OVERSAMPLE;
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "file" -> file = GsonUtil.readString(reader);
+                case "shift" -> {
+                    reader.beginArray();
+                    float x = (float) reader.nextDouble();
+                    float y = (float) reader.nextDouble();
+                    while (reader.hasNext()) {
+                        reader.skipValue();
+                    }
+                    reader.endArray();
+                    shift = new Vector2Float(x, y);
+                }
+                case "skip" -> {
+                    skip = new ArrayList<>();
+                    if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        // multiple skip
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            skip.add(GsonUtil.readString(reader));
+                        }
+                        reader.endArray();
+                    } else {
+                        // single
+                        skip.add(GsonUtil.readString(reader));
+                    }
+                }
+                case "size" -> size = GsonUtil.readFloat(reader, "size");
+                case "oversample" -> oversample = GsonUtil.readFloat(reader, "oversample");
+                default -> reader.skipValue();
+            }
+        }
+
+        return FontProvider.trueType()
+                .file(Key.key(requireNonNull(file, "file")))
+                .shift(shift)
+                .skip(skip)
+                .size(size)
+                .oversample(oversample)
+                .build();
+    }
+
     private static void writeReference(JsonWriter writer, ReferenceFontProvider provider) throws IOException {
         writer.beginObject();
         writer.name("type").value("reference");
@@ -293,4 +482,16 @@ public final class FontSerializer implements JsonResourceSerializer<Font>, JsonR
     private static ReferenceFontProvider readReference(JsonObject node) {
         return FontProvider.reference(Key.key(node.get("id").getAsString()));
     }
-}
\ No newline at end of file
+
+    private static ReferenceFontProvider readReference(JsonReader reader) throws IOException {
+        String id = null;
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("id")) {
+                id = GsonUtil.readString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        return FontProvider.reference(Key.key(requireNonNull(id, "id")));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.ImmutableWritable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import static java.util.Objects.requireNonNull;
+
+final class ByteArrayCompressedWritable implements CompressedWritable, ImmutableWritable {
+
+    private final byte[] data;
+    private final ZipCompressionImpl compression;
+    private final long crc;
+
+    private volatile byte[] compressed;
+
+    ByteArrayCompressedWritable(final byte @NotNull [] data, final @NotNull ZipCompression compression) {
+        this.data = requireNonNull(data, "data");
+        this.compression = ZipCompressionImpl.of(requireNonNull(compression, "compression"));
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        this.crc = crc.getValue();
+    }
+
+    /**
+     * Compresses the data, if not compressed yet, using a deflater from
+     * the given pool instead of allocating a new one.
+     *
+     * @param deflaters The deflater pool
+     */
+    void compress(final @NotNull DeflaterPool deflaters) {
+        if (compressed != null) {
+            return;
+        }
+        if (compression.method() == ZipEntry.STORED) {
+            compressed(null);
+            return;
+        }
+        final int level = compression.level();
+        final Deflater deflater = deflaters.acquire(level);
+        try {
+            compressed(deflater);
+        } finally {
+            deflaters.release(level, deflater);
+        }
+    }
+
+    private byte @NotNull [] compressed() {
+        final byte[] compressed = this.compressed;
+        if (compressed != null) {
+            return compressed;
+        }
+        if (compression.method() == ZipEntry.STORED) {
+            return compressed(null);
+        }
+        // not compressed by a writer, use our own deflater
+        final Deflater deflater = new Deflater(compression.level(), true);
+        try {
+            return compressed(deflater);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte @NotNull [] compressed(final @Nullable Deflater deflater) {
+        byte[] compressed = deflater == null ? null : compression.compress(deflater, data, 0, data.length);
+        if (compressed == null) {
+            // stored
+            compressed = data;
+        }
+        this.compressed = compressed;
+        return compressed;
+    }
+
+    @Override
+    public int method() {
+        return compressed() == data ? ZipEntry.STORED : ZipEntry.DEFLATED;
+    }
+
+    @Override
+    public long crc() {
+        return crc;
+    }
+
+    @Override
+    public long size() {
+        return data.length;
+    }
+
+    @Override
+    public long compressedSize() {
+        return compressed().length;
+    }
+
+    @Override
+    public void writeCompressed(final @NotNull OutputStream output) throws IOException {
+        requireNonNull(output, "output");
+        output.write(compressed());
+    }
+
+    @Override
+    public void write(final @NotNull OutputStream output) throws IOException {
+        requireNonNull(output, "output");
+        output.write(data);
+    }
+
+    @Override
+    public byte @NotNull [] toByteArray() {
+        return data.clone();
+    }
+
+    @Override
+    public @NotNull String toUTF8String() {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "ByteArrayCompressedWritable { size=" + data.length + ", compression=" + compression + " }";
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Writable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * A {@link Writable} whose compressed ZIP representation is already
+ * known (or can be computed once and remembered), so that ZIP file tree
+ * writers can copy it to the archive as-is, without inflating and
+ * deflating it again.
+ *
+ * <p>{@link #write(OutputStream)} always writes the uncompressed
+ * data, so these writables can be used with any {@link FileTreeWriter}.</p>
+ *
+ * @since 1.11.6
+ */
+public interface CompressedWritable extends Writable {
+
+    /**
+     * Creates a new {@link CompressedWritable} for the given data,
+     * compressed using the given {@link ZipCompression} the first
+     * time the compressed representation is requested.
+     *
+     * @param data The uncompressed data, not copied
+     * @param compression The compression to use
+     * @return The compressed writable
+     * @since 1.11.6
+     */
+    static @NotNull CompressedWritable compressed(final byte @NotNull [] data, final @NotNull ZipCompression compression) {
+        return new ByteArrayCompressedWritable(data, compression);
+    }
+
+    /**
+     * Creates a new {@link CompressedWritable} for the given data,
+     * deflated using the given compression level the first time
+     * the compressed representation is requested.
+     *
+     * @param data The uncompressed data, not copied
+     * @param level The compression level, from {@link Deflater#NO_COMPRESSION}
+     *              to {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return The compressed writable
+     * @since 1.11.6
+     */
+    static @NotNull CompressedWritable deflated(final byte @NotNull [] data, final int level) {
+        return compressed(data, ZipCompression.deflated(level));
+    }
+
+    /**
+     * Creates a new {@link CompressedWritable} for the given data,
+     * deflated using the default compression level the first time
+     * the compressed representation is requested.
+     *
+     * @param data The uncompressed data, not copied
+     * @return The compressed writable
+     * @since 1.11.6
+     */
+    static @NotNull CompressedWritable deflated(final byte @NotNull [] data) {
+        return deflated(data, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Returns the ZIP compression method of the compressed
+     * data, either {@link ZipEntry#DEFLATED} or {@link ZipEntry#STORED}.
+     *
+     * @return The compression method
+     * @since 1.11.6
+     */
+    int method();
+
+    /**
+     * Returns the CRC-32 checksum of the uncompressed data.
+     *
+     * @return The CRC-32 checksum
+     * @since 1.11.6
+     */
+    long crc();
+
+    /**
+     * Returns the size of the uncompressed data, in bytes.
+     *
+     * @return The uncompressed size
+     * @since 1.11.6
+     */
+    long size();
+
+    /**
+     * Returns the size of the compressed data, in bytes.
+     *
+     * @return The compressed size
+     * @since 1.11.6
+     */
+    long compressedSize();
+
+    /**
+     * Writes the compressed data to the given output stream.
+     *
+     * @param output The target output stream
+     * @throws IOException If write fails
+     * @since 1.11.6
+     */
+    void writeCompressed(final @NotNull OutputStream output) throws IOException;
+
+}
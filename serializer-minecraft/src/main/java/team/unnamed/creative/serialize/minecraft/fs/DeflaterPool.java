@@ -0,0 +1,74 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * A pool of raw {@link Deflater} instances (one pool per compression level,
+ * since changing the level of a deflater only takes effect after its next
+ * deflate call), limits the amount of idle deflaters (and their native
+ * memory) kept between uses.
+ */
+final class DeflaterPool implements AutoCloseable {
+
+    private final Map<Integer, Deque<Deflater>> idle = new HashMap<>();
+    private final int maxIdlePerLevel;
+    private boolean closed;
+
+    DeflaterPool(int maxIdlePerLevel) {
+        this.maxIdlePerLevel = maxIdlePerLevel;
+    }
+
+    synchronized @NotNull Deflater acquire(int level) {
+        final Deque<Deflater> deflaters = idle.get(level);
+        final Deflater deflater = deflaters == null ? null : deflaters.pollLast();
+        return deflater == null ? new Deflater(level, true) : deflater;
+    }
+
+    synchronized void release(int level, @NotNull Deflater deflater) {
+        final Deque<Deflater> deflaters = idle.computeIfAbsent(level, k -> new ArrayDeque<>());
+        if (closed || deflaters.size() >= maxIdlePerLevel) {
+            deflater.end();
+        } else {
+            deflaters.addLast(deflater);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Deque<Deflater> deflaters : idle.values()) {
+            deflaters.forEach(Deflater::end);
+            deflaters.clear();
+        }
+    }
+
+}
@@ -25,113 +25,203 @@ package team.unnamed.creative.serialize.minecraft.fs;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.ImmutableWritable;
+import team.unnamed.creative.base.Writable;
 
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Queue;
 
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link FileTreeReader} implementation for directories, visits
+ * the files of a directory before the files of its subdirectories.
+ *
+ * <p>Directories are listed one at a time when needed, and files are
+ * only opened when their {@link #stream()} or {@link #content()} is
+ * requested.</p>
+ */
 final class DirectoryFileTreeReader implements FileTreeReader {
 
-    private final File root;
-    private final List<File> folders = new ArrayList<>();
-    private int folderCursor;
-    private File @Nullable [] files;
-    private int fileCursor;
+    private final Path root;
+    // directories waiting to be listed, with their path relative to root
+    private final Queue<Directory> directories = new ArrayDeque<>();
 
-    private InputStream currentStream;
+    private @Nullable Directory directory;
+    private @Nullable DirectoryStream<Path> listing;
+    private @Nullable Iterator<Path> children;
 
-    DirectoryFileTreeReader(File root) {
-        this.root = root;
-        folders.add(root);
+    private @Nullable Path nextFile;
+    private @Nullable String nextName;
+
+    private @Nullable Path currentFile;
+    private @Nullable InputStream currentStream;
+
+    DirectoryFileTreeReader(final @NotNull Path root) {
+        this.root = requireNonNull(root, "root");
+        directories.add(new Directory(root, ""));
     }
 
     @Override
     public boolean hasNext() {
-        while (true) {
-            if (files == null) {
-                // we must look for a folder and make
-                // files be equal to its children
-                if (folderCursor >= folders.size()) {
-                    // no more folders
+        while (nextFile == null) {
+            if (children == null) {
+                // we must look for a directory and list its children
+                final Directory directory = directories.poll();
+                if (directory == null) {
+                    // no more directories
                     return false;
                 }
-
-                File folder = folders.get(folderCursor++);
-                files = folder.listFiles();
-
-                if (files == null) {
-                    throw new IllegalStateException("Null children from file " + folder);
+                try {
+                    this.listing = Files.newDirectoryStream(directory.path);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException("Couldn't list the children of directory: " + directory.path, e);
                 }
+                this.directory = directory;
+                this.children = listing.iterator();
             }
 
-            while (fileCursor < files.length) {
-                File file = files[fileCursor];
-                if (file.isDirectory()) {
-                    folders.add(file);
-                    fileCursor++;
+            if (children.hasNext()) {
+                final Path child = children.next();
+                final String name = directory.relativePath + child.getFileName();
+                if (Files.isDirectory(child)) {
+                    directories.add(new Directory(child, name + '/'));
                 } else {
-                    return true;
+                    nextFile = child;
+                    nextName = name;
                 }
+            } else {
+                closeListing();
             }
-            files = null;
-            fileCursor = 0;
         }
+        return true;
     }
 
     @Override
-    public String next() {
+    public @NotNull String next() {
         if (!hasNext()) {
             throw new NoSuchElementException("No more elements");
         }
+        closeCurrentStream();
 
-        if (currentStream != null) {
-            Streams.closeUnchecked(currentStream);
-            currentStream = null;
+        final String name = requireNonNull(nextName, "nextName");
+        currentFile = nextFile;
+        nextFile = null;
+        nextName = null;
+        return name;
+    }
+
+    private @NotNull Path currentFile() {
+        if (currentFile == null) {
+            throw new IllegalStateException("No current entry, call next() first");
         }
+        return currentFile;
+    }
 
-        if (files == null || fileCursor >= files.length) {
-            throw new NoSuchElementException("No more elements");
-        } else {
-            File current = files[fileCursor++];
+    @Override
+    public @NotNull InputStream stream() {
+        if (currentStream == null) {
+            final Path file = currentFile();
             try {
-                currentStream = new FileInputStream(current);
-            } catch (IOException e) {
-                throw new IllegalStateException("Couldn't open InputStream for: " + current, e);
+                currentStream = Files.newInputStream(file);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Couldn't open InputStream for: " + file, e);
             }
-            return relativize(root, current);
         }
+        return currentStream;
     }
 
     @Override
-    public @NotNull InputStream stream() {
-        return currentStream;
+    public @NotNull Readable content() {
+        final Path file = currentFile();
+        try {
+            // read at once, to an array of the exact size
+            return new FileContent(Files.readAllBytes(file));
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Couldn't read file: " + file, e);
+        }
     }
 
     @Override
     public void close() {
+        closeCurrentStream();
+        closeListing();
+    }
+
+    private void closeCurrentStream() {
         if (currentStream != null) {
             Streams.closeUnchecked(currentStream);
             currentStream = null;
         }
     }
 
-    private static String relativize(File parent, File child) {
-        StringBuilder builder = new StringBuilder();
-        builder.append(child.getName());
-
-        while ((child = child.getParentFile()) != null) {
-            if (parent.equals(child)) {
-                // finished!
-                return builder.toString();
-            }
-            // prepend current folder to the string builder
-            builder.insert(0, child.getName() + "/");
+    private void closeListing() {
+        if (listing != null) {
+            Streams.closeUnchecked(listing);
+            listing = null;
         }
-        throw new IllegalStateException("");
+        directory = null;
+        children = null;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "DirectoryFileTreeReader { root=" + root + " }";
     }
 
+    private record Directory(@NotNull Path path, @NotNull String relativePath) {
+    }
+
+    /**
+     * The content of a file, read when it was requested.
+     */
+    private static final class FileContent implements Readable {
+        private final byte[] bytes;
+
+        FileContent(final byte @NotNull [] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public @NotNull InputStream open() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public byte @NotNull [] readAsByteArray() {
+            return bytes.clone();
+        }
+
+        @Override
+        public @NotNull String readAsUTF8String() {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public @NotNull Writable asWritable() {
+            return new ImmutableWritable() {
+                @Override
+                public void write(final @NotNull OutputStream output) throws IOException {
+                    output.write(bytes);
+                }
+
+                @Override
+                public byte @NotNull [] toByteArray() {
+                    return bytes.clone();
+                }
+            };
+        }
+    }
 }
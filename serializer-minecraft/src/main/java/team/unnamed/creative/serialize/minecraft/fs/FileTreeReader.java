@@ -30,6 +30,7 @@ import team.unnamed.creative.base.Readable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
@@ -103,7 +104,56 @@ public interface FileTreeReader extends AutoCloseable {
         return new ZipFileTreeReader(zipFile);
     }
 
+    /**
+     * Creates a new {@link FileTreeReader} that maps the ZIP file
+     * at the given path into memory.
+     *
+     * <p>The entries are read from the mapped file instead of being
+     * copied to the heap: stored entries are read directly, deflated
+     * entries are inflated when they are opened, and both can be copied
+     * as-is to other ZIP archives. The created contents remain valid
+     * after the reader is closed, since the file is unmapped when they
+     * are no longer reachable.</p>
+     *
+     * <p>The file must not be truncated or modified in place while any
+     * of those contents is reachable: reading a mapped region that no
+     * longer exists in the file crashes the JVM (an {@link InternalError},
+     * or a {@code SIGBUS} signal) instead of throwing an {@link IOException}.
+     * Replacing the file with a new one is safe, and it is what
+     * {@code MinecraftResourcePackWriter} does when writing ZIP files, so
+     * a resource pack read with this reader can be written back to the
+     * same path. Some platforms do not allow deleting or replacing a file
+     * while it is mapped, in which case writing to it fails with an
+     * {@link IOException}.</p>
+     *
+     * <p>Only supports files of up to 2GB.</p>
+     *
+     * @param path The path to the ZIP file
+     * @return The created file tree reader
+     * @throws IOException If the file cannot be read or is not a valid ZIP file
+     * @since 1.11.6
+     */
+    static @NotNull FileTreeReader mappedZip(final @NotNull Path path) throws IOException {
+        return new MappedZipFileTreeReader(path);
+    }
+
     static FileTreeReader directory(File root) {
+        return directory(root.toPath());
+    }
+
+    /**
+     * Creates a new {@link FileTreeReader} for the directory
+     * at the given path.
+     *
+     * <p>Files are only opened when their content is requested,
+     * and their paths are relative to the given directory, using
+     * {@code /} as separator.</p>
+     *
+     * @param root The root directory
+     * @return The created file tree reader
+     * @since 1.11.6
+     */
+    static @NotNull FileTreeReader directory(final @NotNull Path root) {
         return new DirectoryFileTreeReader(root);
     }
 
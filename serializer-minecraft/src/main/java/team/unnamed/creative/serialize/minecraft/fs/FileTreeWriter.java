@@ -25,6 +25,7 @@ package team.unnamed.creative.serialize.minecraft.fs;
 
 import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.base.Writable;
 
 import java.io.File;
@@ -32,6 +33,8 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -144,6 +147,42 @@ public interface FileTreeWriter extends AutoCloseable {
         return directory(root, true);
     }
 
+    /**
+     * Creates a new {@link FileTreeWriter} instance that synchronizes
+     * the given directory with the written files.
+     *
+     * <p>Instead of deleting the directory contents and writing every
+     * file again, files are only written if their size or content differs
+     * from the ones on disk. When the file tree is finished or closed,
+     * the files that were not written are deleted, along with the
+     * directories left empty.</p>
+     *
+     * <p>If an executor is given, files are compared and written
+     * concurrently, and finishing the file tree waits for them.</p>
+     *
+     * @param root The root directory, created if it does not exist
+     * @param executor The executor used to compare and write files, or
+     *                 null to do it on the calling thread
+     * @return The created file tree for the given directory
+     * @since 1.11.6
+     */
+    static FileTreeWriter directorySync(Path root, @Nullable Executor executor) {
+        return new SyncDirectoryFileTreeWriter(root, executor);
+    }
+
+    /**
+     * Creates a new {@link FileTreeWriter} instance that synchronizes
+     * the given directory with the written files, on the calling thread.
+     *
+     * @param root The root directory, created if it does not exist
+     * @return The created file tree for the given directory
+     * @see #directorySync(Path, Executor)
+     * @since 1.11.6
+     */
+    static FileTreeWriter directorySync(Path root) {
+        return directorySync(root, null);
+    }
+
     /**
      * Creates a new {@link FileTreeWriter} instance for
      * the given {@link ZipOutputStream}, will not
@@ -206,4 +245,91 @@ public interface FileTreeWriter extends AutoCloseable {
         return zip(zipStream, ZipEntryLifecycleHandler.DEFAULT);
     }
 
+    /**
+     * Creates a new {@link FileTreeWriter} instance that writes
+     * a ZIP archive to the given {@link OutputStream}.
+     *
+     * <p>Unlike {@link #zip(ZipOutputStream, ZipEntryLifecycleHandler)},
+     * the ZIP format is written directly by the file tree, so the
+     * data of {@link CompressedWritable} instances is copied to the
+     * archive as-is, without compressing it again.</p>
+     *
+     * <p>Note that closing the created file tree will also
+     * close the given output stream</p>
+     *
+     * @param output The underlying output stream
+     * @param entryLifecycleHandler The ZIP archive entry lifecycle handler
+     * @return The file tree for the given output stream
+     * @since 1.11.6
+     */
+    static FileTreeWriter zipArchive(OutputStream output, ZipEntryLifecycleHandler entryLifecycleHandler) {
+        return zipArchive(output, entryLifecycleHandler, ZipCompressionPolicy.deflate());
+    }
+
+    /**
+     * Creates a new {@link FileTreeWriter} instance that writes
+     * a ZIP archive to the given {@link OutputStream}, compressing
+     * each entry as decided by the given {@link ZipCompressionPolicy}.
+     *
+     * <p>Entries whose method is explicitly set to {@link ZipEntry#STORED}
+     * by the lifecycle handler are always stored.</p>
+     *
+     * <p>Note that closing the created file tree will also
+     * close the given output stream</p>
+     *
+     * @param output The underlying output stream
+     * @param entryLifecycleHandler The ZIP archive entry lifecycle handler
+     * @param compressionPolicy The compression policy
+     * @return The file tree for the given output stream
+     * @see #zipArchive(OutputStream, ZipEntryLifecycleHandler)
+     * @since 1.11.6
+     */
+    static FileTreeWriter zipArchive(OutputStream output, ZipEntryLifecycleHandler entryLifecycleHandler, ZipCompressionPolicy compressionPolicy) {
+        return zipArchive(output, entryLifecycleHandler, compressionPolicy, null);
+    }
+
+    /**
+     * Creates a new {@link FileTreeWriter} instance that writes
+     * a ZIP archive to the given {@link OutputStream}, compressing
+     * entries concurrently using the given {@link Executor}.
+     *
+     * <p>Entries are always written to the archive in the order they
+     * were added, so the output is exactly the same as the one of a file
+     * tree without executor. Only a bounded amount of entries is compressed
+     * ahead of the ones being written, and {@link java.util.zip.Deflater}
+     * instances are pooled between entries.</p>
+     *
+     * <p>Note that closing the created file tree will also
+     * close the given output stream</p>
+     *
+     * @param output The underlying output stream
+     * @param entryLifecycleHandler The ZIP archive entry lifecycle handler
+     * @param compressionPolicy The compression policy
+     * @param executor The executor used to compress entries, or null
+     *                 to compress them on the calling thread
+     * @return The file tree for the given output stream
+     * @see #zipArchive(OutputStream, ZipEntryLifecycleHandler, ZipCompressionPolicy)
+     * @since 1.11.6
+     */
+    static FileTreeWriter zipArchive(OutputStream output, ZipEntryLifecycleHandler entryLifecycleHandler, ZipCompressionPolicy compressionPolicy, @Nullable Executor executor) {
+        return new ZipArchiveFileTreeWriter(output, entryLifecycleHandler, compressionPolicy, executor);
+    }
+
+    /**
+     * Creates a new {@link FileTreeWriter} instance that writes
+     * a ZIP archive to the given {@link OutputStream}, using the
+     * default {@link ZipEntryLifecycleHandler}.
+     *
+     * <p>Note that closing the created file tree will also
+     * close the given output stream</p>
+     *
+     * @param output The underlying output stream
+     * @return The file tree for the given output stream
+     * @see #zipArchive(OutputStream, ZipEntryLifecycleHandler)
+     * @since 1.11.6
+     */
+    static FileTreeWriter zipArchive(OutputStream output) {
+        return zipArchive(output, ZipEntryLifecycleHandler.DEFAULT);
+    }
+
 }
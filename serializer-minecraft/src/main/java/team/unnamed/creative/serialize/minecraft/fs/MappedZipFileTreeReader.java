@@ -0,0 +1,310 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.ImmutableWritable;
+import team.unnamed.creative.base.Writable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link FileTreeReader} implementation that maps a ZIP file into
+ * memory and reads its central directory itself.
+ *
+ * <p>The content of the entries are views of the mapped file, stored
+ * entries are read directly from it, and deflated entries are inflated
+ * every time they are opened. Compressed data is never copied to the
+ * heap, and it can be copied as-is to other ZIP archives.</p>
+ *
+ * <p>The mapping is kept until the created contents are unreachable,
+ * so they remain valid after this reader is closed.</p>
+ */
+final class MappedZipFileTreeReader implements FileTreeReader {
+    private static final int TRANSFER_BUFFER_LENGTH = 8192;
+
+    private final ByteBuffer archive;
+    private final Iterator<ZipCentralDirectory.Entry> entries;
+
+    private ZipCentralDirectory.@Nullable Entry currentEntry;
+    private ZipCentralDirectory.@Nullable Entry nextEntry;
+
+    MappedZipFileTreeReader(final @NotNull Path path) throws IOException {
+        requireNonNull(path, "path");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new ZipException("ZIP file is too large to be mapped (" + size + " bytes): " + path);
+            }
+            this.entries = ZipCentralDirectory.read(channel).values().iterator();
+            // the mapping remains valid after the channel is closed
+            this.archive = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        this.next0();
+    }
+
+    private void next0() {
+        nextEntry = null;
+        while (entries.hasNext()) {
+            final ZipCentralDirectory.Entry entry = entries.next();
+            if (!entry.name().endsWith("/")) {
+                nextEntry = entry;
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextEntry != null;
+    }
+
+    @Override
+    public @NotNull String next() {
+        if (nextEntry == null) {
+            throw new NoSuchElementException();
+        }
+        this.currentEntry = nextEntry;
+        this.next0();
+        return currentEntry.name();
+    }
+
+    @Override
+    public @NotNull InputStream stream() {
+        try {
+            return content().open();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to get input stream for current entry: " + currentEntry, e);
+        }
+    }
+
+    @Override
+    public @NotNull Readable content() {
+        if (this.currentEntry == null) {
+            throw new IllegalStateException("No current entry, call next() first");
+        }
+        return new MappedEntryReadable(currentEntry);
+    }
+
+    @Override
+    public void close() {
+        // nothing to close, the file channel is closed after mapping it,
+        // and the mapping is released when it is no longer reachable
+    }
+
+    private final class MappedEntryReadable implements Readable {
+        private final ZipCentralDirectory.Entry entry;
+        private @Nullable ByteBuffer data;
+
+        MappedEntryReadable(final ZipCentralDirectory.@NotNull Entry entry) {
+            this.entry = requireNonNull(entry, "entry");
+        }
+
+        /**
+         * Returns a new view of the raw (compressed) data
+         * of this entry, positioned at its start.
+         */
+        @NotNull ByteBuffer data() throws IOException {
+            if (data == null) {
+                if (!entry.isCopyable()) {
+                    throw new ZipException("Unsupported compression method or encryption for entry: " + entry.name());
+                }
+                final long offset = entry.dataOffset(archive);
+                if (offset + entry.compressedSize() > archive.limit()
+                        || (entry.method() == ZipEntry.STORED && entry.compressedSize() != entry.size())) {
+                    throw new ZipException("Invalid sizes for entry: " + entry.name());
+                }
+                data = archive.slice((int) offset, (int) entry.compressedSize());
+            }
+            return data.duplicate();
+        }
+
+        @Override
+        public @NotNull InputStream open() throws IOException {
+            final InputStream raw = new ByteBufferInputStream(data());
+            if (entry.method() == ZipEntry.STORED) {
+                return raw;
+            }
+            final Inflater inflater = new Inflater(true);
+            return new InflaterInputStream(raw, inflater, (int) Math.max(1, Math.min(entry.compressedSize(), TRANSFER_BUFFER_LENGTH))) {
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    if (!closed) {
+                        closed = true;
+                        inflater.end();
+                        super.close();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public @NotNull Writable asWritable() {
+            return entry.isCopyable() ? new MappedEntryWritable(this) : Readable.super.asWritable();
+        }
+
+        @Override
+        public byte @NotNull [] readAsByteArray() {
+            if (entry.method() != ZipEntry.STORED) {
+                return Readable.super.readAsByteArray();
+            }
+            try {
+                final ByteBuffer data = data();
+                final byte[] bytes = new byte[data.remaining()];
+                data.get(bytes);
+                return bytes;
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to read entry: " + entry.name(), e);
+            }
+        }
+
+        @Override
+        public @NotNull String readAsUTF8String() {
+            return new String(readAsByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Writable for mapped entries, its compressed data
+     * can be copied as-is to other ZIP archives.
+     */
+    private static final class MappedEntryWritable implements CompressedWritable, ImmutableWritable {
+        private final MappedEntryReadable readable;
+
+        private MappedEntryWritable(final @NotNull MappedEntryReadable readable) {
+            this.readable = readable;
+        }
+
+        @Override
+        public int method() {
+            return readable.entry.method();
+        }
+
+        @Override
+        public long crc() {
+            return readable.entry.crc();
+        }
+
+        @Override
+        public long size() {
+            return readable.entry.size();
+        }
+
+        @Override
+        public long compressedSize() {
+            return readable.entry.compressedSize();
+        }
+
+        @Override
+        public void writeCompressed(final @NotNull OutputStream output) throws IOException {
+            requireNonNull(output, "output");
+            transfer(readable.data(), output);
+        }
+
+        @Override
+        public void write(final @NotNull OutputStream output) throws IOException {
+            requireNonNull(output, "output");
+            if (method() == ZipEntry.STORED) {
+                transfer(readable.data(), output);
+            } else {
+                try (InputStream input = readable.open()) {
+                    input.transferTo(output);
+                }
+            }
+        }
+
+        private static void transfer(final @NotNull ByteBuffer data, final @NotNull OutputStream output) throws IOException {
+            final byte[] buffer = new byte[Math.min(data.remaining(), TRANSFER_BUFFER_LENGTH)];
+            while (data.hasRemaining()) {
+                final int length = Math.min(data.remaining(), buffer.length);
+                data.get(buffer, 0, length);
+                output.write(buffer, 0, length);
+            }
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "MappedEntryWritable { name='" + readable.entry.name() + "', method=" + method() + ", size=" + size() + " }";
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final @NotNull ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte @NotNull [] bytes, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link FileTreeWriter} implementation that synchronizes a directory
+ * with the written files, instead of deleting and writing it again.
+ *
+ * <p>A file is only written if its size or content differs from the
+ * file on disk, and the files that were not written are deleted when
+ * finishing, along with the directories left empty.</p>
+ *
+ * <p>If an executor is given, files are compared and written by
+ * tasks submitted to it, which are awaited when finishing.</p>
+ */
+final class SyncDirectoryFileTreeWriter implements FileTreeWriter {
+    private static final int BUFFER_LENGTH = 8192;
+
+    private final Path root;
+    private final @Nullable Executor executor;
+
+    private final Set<String> names = new HashSet<>();
+    private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+    private boolean finished;
+
+    SyncDirectoryFileTreeWriter(final @NotNull Path root, final @Nullable Executor executor) {
+        this.root = requireNonNull(root, "root");
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean exists(final String path) {
+        return names.contains(path);
+    }
+
+    @Override
+    public OutputStream openStream(final String path) {
+        register(path);
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                if (!closed) {
+                    closed = true;
+                    sync(path, Writable.bytes(toByteArray()));
+                }
+            }
+        };
+    }
+
+    @Override
+    public void write(final String path, final Writable data) {
+        requireNonNull(data, "data");
+        register(path);
+        sync(path, data);
+    }
+
+    private void register(final String path) {
+        requireNonNull(path, "path");
+        if (finished) {
+            throw new IllegalStateException("Writer is already finished");
+        }
+        if (!names.add(path)) {
+            throw new IllegalStateException("File " + path + " already exists!");
+        }
+    }
+
+    private void sync(final @NotNull String path, final @NotNull Writable data) {
+        final Path file = root.resolve(path);
+        if (executor == null) {
+            syncFile(file, data);
+        } else {
+            pending.add(CompletableFuture.runAsync(() -> syncFile(file, data), executor));
+        }
+    }
+
+    private static void syncFile(final @NotNull Path file, final @NotNull Writable data) {
+        try {
+            if (data instanceof CompressedWritable compressed) {
+                // size and checksum are known, no need to decompress the data to compare it
+                if (Files.isRegularFile(file) && Files.size(file) == compressed.size() && crc(file) == compressed.crc()) {
+                    return;
+                }
+                Files.createDirectories(file.getParent());
+                try (OutputStream output = Files.newOutputStream(file)) {
+                    compressed.write(output);
+                }
+            } else {
+                final byte[] bytes = data.toByteArray();
+                if (Files.isRegularFile(file) && Files.size(file) == bytes.length && Arrays.equals(Files.readAllBytes(file), bytes)) {
+                    return;
+                }
+                Files.createDirectories(file.getParent());
+                Files.write(file, bytes);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to write file: " + file, e);
+        }
+    }
+
+    private static long crc(final @NotNull Path file) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[BUFFER_LENGTH];
+        try (InputStream input = Files.newInputStream(file)) {
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                crc.update(buffer, 0, length);
+            }
+        }
+        return crc.getValue();
+    }
+
+    @Override
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            pending.clear();
+        }
+
+        if (Files.isDirectory(root)) {
+            deleteStaleFiles();
+        }
+    }
+
+    /**
+     * Deletes the files that were not written, and
+     * the directories that are left empty.
+     */
+    private void deleteStaleFiles() {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) throws IOException {
+                    if (!names.contains(relativize(file))) {
+                        Files.deleteIfExists(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(final Path directory, final IOException exception) throws IOException {
+                    if (exception != null) {
+                        throw exception;
+                    }
+                    if (!directory.equals(root) && isEmpty(directory)) {
+                        Files.delete(directory);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to delete stale files in: " + root, e);
+        }
+    }
+
+    private @NotNull String relativize(final @NotNull Path file) {
+        final Path relative = root.relativize(file);
+        final StringBuilder builder = new StringBuilder();
+        for (final Path name : relative) {
+            if (builder.length() > 0) {
+                builder.append('/');
+            }
+            builder.append(name);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isEmpty(final @NotNull Path directory) throws IOException {
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+            return !children.iterator().hasNext();
+        } catch (final NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        finish();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "SyncDirectoryFileTreeWriter { root=" + root + " }";
+    }
+}
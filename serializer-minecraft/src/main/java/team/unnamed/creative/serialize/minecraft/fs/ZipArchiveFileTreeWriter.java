@@ -0,0 +1,548 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * {@link FileTreeWriter} implementation that writes the ZIP
+ * format directly to an {@link OutputStream}, which lets it copy
+ * the data of {@link CompressedWritable} instances to the archive
+ * without deflating it again.
+ *
+ * <p>Entries are fully buffered before being written, so their
+ * sizes and checksum are always written in the local file header
+ * (no data descriptors are used)</p>
+ *
+ * <p>If an executor is given, entries are compressed concurrently
+ * by it, but always written in the order they were added, so the
+ * output is exactly the same as without an executor</p>
+ */
+final class ZipArchiveFileTreeWriter implements FileTreeWriter {
+
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_FILE_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int VERSION_STORED = 10;
+    private static final int VERSION_DEFLATED = 20;
+    private static final int VERSION_ZIP64 = 45;
+
+    // names are always UTF-8 encoded (language encoding flag)
+    private static final int FLAG_UTF8 = 0x0800;
+
+    private static final long DOSTIME_BEFORE_1980 = (1 << 21) | (1 << 16);
+    private static final long MAX_UINT32 = 0xFFFFFFFFL;
+    private static final int MAX_UINT16 = 0xFFFF;
+
+    // limits for entries being prepared concurrently,
+    // so that memory usage doesn't grow unbounded
+    private static final int MAX_PENDING_ENTRIES = 1024;
+    private static final long MAX_PENDING_SIZE = 64L * 1024 * 1024;
+    private static final int MAX_IDLE_DEFLATERS = Runtime.getRuntime().availableProcessors();
+
+    private final Set<String> names = new HashSet<>();
+    private final List<CentralDirectoryEntry> entries = new ArrayList<>();
+    private final CountingOutputStream output;
+    private final ZipEntryLifecycleHandler entryLifecycleHandler;
+    private final ZipCompressionPolicy compressionPolicy;
+    private final Executor executor;
+    private final DeflaterPool deflaters;
+    // entries being prepared by the executor, in order
+    private final Queue<CompletableFuture<PreparedEntry>> pending = new ArrayDeque<>();
+    private long pendingSize;
+    private final ByteArrayOutputStream header = new ByteArrayOutputStream(128);
+
+    private EntryOutputStream current;
+    private boolean finished;
+
+    ZipArchiveFileTreeWriter(OutputStream output, ZipEntryLifecycleHandler entryLifecycleHandler, ZipCompressionPolicy compressionPolicy, Executor executor) {
+        this.output = new CountingOutputStream(output);
+        this.entryLifecycleHandler = entryLifecycleHandler;
+        this.compressionPolicy = compressionPolicy;
+        this.executor = executor;
+        this.deflaters = new DeflaterPool(executor == null ? 1 : MAX_IDLE_DEFLATERS);
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return names.contains(path);
+    }
+
+    @Override
+    public OutputStream openStream(String path) {
+        ensureOpen();
+        if (!names.add(path)) {
+            throw new IllegalStateException("File " + path + " already exists!");
+        }
+        closeCurrent();
+        current = new EntryOutputStream(path);
+        return current; // should be closed when any other method is called
+    }
+
+    @Override
+    public void write(String path, Writable data) {
+        ensureOpen();
+        if (!names.add(path)) {
+            throw new IllegalStateException("File " + path + " already exists!");
+        }
+        closeCurrent();
+
+        final ZipEntry entry = entryLifecycleHandler.create(path);
+        final ZipCompression compression = compressionOf(entry);
+        if (data instanceof CompressedWritable compressed) {
+            // compressed writables may compress lazily, so that
+            // can be done concurrently
+            submit(entry, compressed.size(), () -> prepare(entry, compression, compressed));
+        } else {
+            final byte[] bytes;
+            try {
+                bytes = data.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write to " + path, e);
+            }
+            submit(entry, bytes.length, () -> prepare(entry, compression, bytes, 0, bytes.length));
+        }
+    }
+
+    private ZipCompression compressionOf(ZipEntry entry) {
+        if (entry.getMethod() == ZipEntry.STORED) {
+            // explicitly set by the lifecycle handler
+            return ZipCompression.stored();
+        }
+        return compressionPolicy.compressionFor(entry.getName());
+    }
+
+    /**
+     * Prepares the given entry, calling the given task on the executor, if any, or
+     * directly otherwise. Entries are always written in the order they are submitted.
+     */
+    private void submit(ZipEntry entry, long size, Supplier<PreparedEntry> task) {
+        if (executor == null) {
+            writePrepared(task.get());
+            return;
+        }
+
+        pending.add(CompletableFuture.supplyAsync(task, executor));
+        pendingSize += size;
+
+        // write the entries that are already prepared, and wait for the
+        // oldest ones if too many entries (or data) are waiting
+        while (!pending.isEmpty() && (pending.peek().isDone()
+                || pending.size() > MAX_PENDING_ENTRIES
+                || pendingSize > MAX_PENDING_SIZE)) {
+            writeNextPending();
+        }
+    }
+
+    private void writeNextPending() {
+        final PreparedEntry prepared;
+        try {
+            prepared = pending.remove().join();
+        } catch (CompletionException e) {
+            pending.forEach(future -> future.cancel(false));
+            pending.clear();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        pendingSize -= prepared.size();
+        writePrepared(prepared);
+    }
+
+    private PreparedEntry prepare(ZipEntry entry, ZipCompression compression, CompressedWritable compressed) {
+        if (compressed instanceof ByteArrayCompressedWritable byteArray) {
+            // compress it now, if needed, with our deflaters
+            byteArray.compress(deflaters);
+        }
+        if (compressed.method() == compression.method() || compression.minGain() > 0F) {
+            // already compressed the way we want (or adaptive compression,
+            // which accepts any method), just copy it
+            return new PreparedEntry(entry, compressed.method(), compressed.crc(), compressed.size(), compressed.compressedSize(), compressed::writeCompressed);
+        } else if (compression.method() == ZipEntry.STORED) {
+            // no need to compute the checksum again
+            return new PreparedEntry(entry, ZipEntry.STORED, compressed.crc(), compressed.size(), compressed.size(), compressed);
+        }
+
+        final byte[] bytes;
+        try {
+            bytes = compressed.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to " + entry.getName(), e);
+        }
+        return prepare(entry, compression, bytes, 0, bytes.length);
+    }
+
+    private PreparedEntry prepare(ZipEntry entry, ZipCompression compression, byte[] data, int offset, int length) {
+        final CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+
+        final ZipCompressionImpl impl = ZipCompressionImpl.of(compression);
+        final byte[] compressed;
+        if (impl.method() == ZipEntry.STORED) {
+            compressed = null;
+        } else {
+            final Deflater deflater = deflaters.acquire(impl.level());
+            try {
+                compressed = impl.compress(deflater, data, offset, length);
+            } finally {
+                deflaters.release(impl.level(), deflater);
+            }
+        }
+
+        if (compressed == null) {
+            return new PreparedEntry(entry, ZipEntry.STORED, crc.getValue(), length, length, out -> out.write(data, offset, length));
+        } else {
+            return new PreparedEntry(entry, ZipEntry.DEFLATED, crc.getValue(), length, compressed.length, out -> out.write(compressed));
+        }
+    }
+
+    private void writePrepared(PreparedEntry prepared) {
+        try {
+            writeEntry(prepared.entry(), prepared.method(), prepared.crc(), prepared.size(), prepared.compressedSize(), prepared.compressedData());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to " + prepared.entry().getName(), e);
+        }
+    }
+
+    private void writeEntry(ZipEntry entry, int method, long crc, long size, long compressedSize, Writable compressedData) throws IOException {
+        if (size > MAX_UINT32 || compressedSize > MAX_UINT32) {
+            throw new IllegalStateException("Entry " + entry.getName() + " is too big, entries bigger than 4 GiB are not supported");
+        }
+
+        final long offset = output.count();
+        if (offset > MAX_UINT32) {
+            throw new IllegalStateException("Archive is too big, archives bigger than 4 GiB are not supported");
+        }
+
+        final byte[] name = entry.getName().getBytes(StandardCharsets.UTF_8);
+        final byte[] extra = entry.getExtra() == null ? new byte[0] : entry.getExtra();
+        final long dosTime = dosTime(entry.getTime() == -1 ? System.currentTimeMillis() : entry.getTime());
+        final int version = method == ZipEntry.STORED ? VERSION_STORED : VERSION_DEFLATED;
+
+        header.reset();
+        writeInt(LOCAL_FILE_HEADER_SIGNATURE);
+        writeShort(version);
+        writeShort(FLAG_UTF8);
+        writeShort(method);
+        writeInt(dosTime);
+        writeInt(crc);
+        writeInt(compressedSize);
+        writeInt(size);
+        writeShort(name.length);
+        writeShort(extra.length);
+        header.write(name);
+        header.write(extra);
+        header.writeTo(output);
+
+        final long start = output.count();
+        compressedData.write(output);
+        if (output.count() - start != compressedSize) {
+            throw new IOException("Entry " + entry.getName() + " compressed size mismatch, expected "
+                    + compressedSize + " bytes but " + (output.count() - start) + " were written");
+        }
+
+        entry.setMethod(method);
+        entry.setCrc(crc);
+        entry.setSize(size);
+        entry.setCompressedSize(compressedSize);
+        entries.add(new CentralDirectoryEntry(name, extra, entry.getComment(), version, method, dosTime, crc, size, compressedSize, offset));
+        entryLifecycleHandler.onClose(entry);
+    }
+
+    private void writeCentralDirectory() throws IOException {
+        final long start = output.count();
+
+        for (CentralDirectoryEntry entry : entries) {
+            final byte[] comment = entry.comment() == null ? new byte[0] : entry.comment().getBytes(StandardCharsets.UTF_8);
+            header.reset();
+            writeInt(CENTRAL_FILE_HEADER_SIGNATURE);
+            writeShort(entry.version()); // version made by
+            writeShort(entry.version()); // version needed to extract
+            writeShort(FLAG_UTF8);
+            writeShort(entry.method());
+            writeInt(entry.dosTime());
+            writeInt(entry.crc());
+            writeInt(entry.compressedSize());
+            writeInt(entry.size());
+            writeShort(entry.name().length);
+            writeShort(entry.extra().length);
+            writeShort(comment.length);
+            writeShort(0); // disk number start
+            writeShort(0); // internal file attributes
+            writeInt(0); // external file attributes
+            writeInt(entry.offset());
+            header.write(entry.name());
+            header.write(entry.extra());
+            header.write(comment);
+            header.writeTo(output);
+        }
+
+        final long end = output.count();
+        final long size = end - start;
+        final int count = entries.size();
+        header.reset();
+
+        if (count > MAX_UINT16 || start > MAX_UINT32 || size > MAX_UINT32) {
+            // zip64 end of central directory record
+            writeInt(ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            writeLong(44); // size of the remaining record
+            writeShort(VERSION_ZIP64); // version made by
+            writeShort(VERSION_ZIP64); // version needed to extract
+            writeInt(0); // number of this disk
+            writeInt(0); // disk where central directory starts
+            writeLong(count); // number of entries on this disk
+            writeLong(count); // total number of entries
+            writeLong(size);
+            writeLong(start);
+
+            // zip64 end of central directory locator
+            writeInt(ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE);
+            writeInt(0); // disk where the zip64 end of central directory starts
+            writeLong(end);
+            writeInt(1); // total number of disks
+        }
+
+        writeInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+        writeShort(0); // number of this disk
+        writeShort(0); // disk where central directory starts
+        writeShort(Math.min(count, MAX_UINT16));
+        writeShort(Math.min(count, MAX_UINT16));
+        writeInt(Math.min(size, MAX_UINT32));
+        writeInt(Math.min(start, MAX_UINT32));
+        writeShort(0); // comment length
+        header.writeTo(output);
+    }
+
+    private void writeShort(int value) {
+        header.write(value & 0xFF);
+        header.write((value >>> 8) & 0xFF);
+    }
+
+    private void writeInt(long value) {
+        writeShort((int) (value & 0xFFFF));
+        writeShort((int) ((value >>> 16) & 0xFFFF));
+    }
+
+    private void writeLong(long value) {
+        writeInt(value & MAX_UINT32);
+        writeInt(value >>> 32);
+    }
+
+    private static long dosTime(long time) {
+        final LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        final int year = date.getYear();
+        if (year < 1980) {
+            return DOSTIME_BEFORE_1980;
+        }
+        return ((long) (year - 1980) << 25)
+                | ((long) date.getMonthValue() << 21)
+                | ((long) date.getDayOfMonth() << 16)
+                | ((long) date.getHour() << 11)
+                | ((long) date.getMinute() << 5)
+                | ((long) date.getSecond() >> 1);
+    }
+
+    private void closeCurrent() {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private void ensureOpen() {
+        if (finished) {
+            throw new IllegalStateException("File tree has already been finished");
+        }
+    }
+
+    @Override
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        try {
+            closeCurrent();
+            while (!pending.isEmpty()) {
+                writeNextPending();
+            }
+            writeCentralDirectory();
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            finished = true;
+            deflaters.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            finish();
+        } finally {
+            try {
+                output.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private record PreparedEntry(
+            ZipEntry entry,
+            int method,
+            long crc,
+            long size,
+            long compressedSize,
+            Writable compressedData
+    ) {
+    }
+
+    private record CentralDirectoryEntry(
+            byte[] name,
+            byte[] extra,
+            String comment,
+            int version,
+            int method,
+            long dosTime,
+            long crc,
+            long size,
+            long compressedSize,
+            long offset
+    ) {
+    }
+
+    private class EntryOutputStream extends ByteArrayOutputStream {
+
+        private final String path;
+        private boolean closed;
+
+        private EntryOutputStream(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public void write(int b) {
+            ensureValid();
+            super.write(b);
+        }
+
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) {
+            ensureValid();
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                final ZipEntry entry = entryLifecycleHandler.create(path);
+                final ZipCompression compression = compressionOf(entry);
+                // the buffer is never written again, no need to copy it
+                final byte[] data = buf;
+                final int length = count;
+                submit(entry, length, () -> prepare(entry, compression, data, 0, length));
+            }
+        }
+
+        private void ensureValid() {
+            if (closed) {
+                if (current != this) {
+                    // !!! A new entry output stream was opened,
+                    // we are not anymore the current entry os
+                    throw new UncheckedIOException(new IOException("A new output stream has been " +
+                            "opened, this one is no longer usable"));
+                }
+                throw new UncheckedIOException(new IOException("Stream closed"));
+            }
+        }
+
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        private long count;
+
+        private CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,284 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Minimal reader of the central directory of a ZIP file, gives
+ * access to the raw (compressed) data of its entries, which is
+ * not exposed by {@link java.util.zip.ZipFile}.
+ */
+final class ZipCentralDirectory {
+
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_FILE_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_LENGTH = 20;
+    private static final int LOCAL_FILE_HEADER_LENGTH = 30;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+
+    private static final int FLAG_ENCRYPTED = 0x0001;
+    private static final long MAX_UINT32 = 0xFFFFFFFFL;
+    private static final int MAX_UINT16 = 0xFFFF;
+
+    private ZipCentralDirectory() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Reads the central directory of the ZIP file in the given channel.
+     *
+     * @param channel The ZIP file channel
+     * @return The entries in the central directory, by name, in order
+     * @throws IOException If reading fails or the file is not a valid ZIP file
+     */
+    static @NotNull Map<String, Entry> read(final @NotNull FileChannel channel) throws IOException {
+        final long fileSize = channel.size();
+        final long endOffset = findEndOfCentralDirectory(channel, fileSize);
+        final ByteBuffer end = read(channel, endOffset, END_OF_CENTRAL_DIRECTORY_LENGTH);
+
+        long count = end.getShort(10) & MAX_UINT16;
+        long size = end.getInt(12) & MAX_UINT32;
+        long offset = end.getInt(16) & MAX_UINT32;
+
+        if (count == MAX_UINT16 || size == MAX_UINT32 || offset == MAX_UINT32) {
+            // may be a zip64 archive
+            final long locatorOffset = endOffset - ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_LENGTH;
+            if (locatorOffset >= 0) {
+                final ByteBuffer locator = read(channel, locatorOffset, ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_LENGTH);
+                if (locator.getInt(0) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE) {
+                    final ByteBuffer zip64End = read(channel, locator.getLong(8), 56);
+                    if (zip64End.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                        throw new ZipException("Invalid zip64 end of central directory record");
+                    }
+                    count = zip64End.getLong(32);
+                    size = zip64End.getLong(40);
+                    offset = zip64End.getLong(48);
+                }
+            }
+        }
+
+        if (size > Integer.MAX_VALUE || offset + size > fileSize) {
+            throw new ZipException("Invalid central directory (offset: " + offset + ", size: " + size + ")");
+        }
+
+        final ByteBuffer directory = read(channel, offset, (int) size);
+        final Map<String, Entry> entries = new LinkedHashMap<>((int) Math.min(count, 1 << 20) * 4 / 3 + 1);
+        int position = 0;
+        for (long i = 0; i < count; i++) {
+            if (directory.getInt(position) != CENTRAL_FILE_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory file header at " + (offset + position));
+            }
+            final int flags = directory.getShort(position + 8) & MAX_UINT16;
+            final int method = directory.getShort(position + 10) & MAX_UINT16;
+            final long crc = directory.getInt(position + 16) & MAX_UINT32;
+            long compressedSize = directory.getInt(position + 20) & MAX_UINT32;
+            long uncompressedSize = directory.getInt(position + 24) & MAX_UINT32;
+            final int nameLength = directory.getShort(position + 28) & MAX_UINT16;
+            final int extraLength = directory.getShort(position + 30) & MAX_UINT16;
+            final int commentLength = directory.getShort(position + 32) & MAX_UINT16;
+            long localHeaderOffset = directory.getInt(position + 42) & MAX_UINT32;
+
+            final byte[] nameBytes = new byte[nameLength];
+            directory.get(position + 46, nameBytes);
+            final String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+            if (uncompressedSize == MAX_UINT32 || compressedSize == MAX_UINT32 || localHeaderOffset == MAX_UINT32) {
+                // read values from the zip64 extended information extra field
+                int extra = position + 46 + nameLength;
+                final int extraEnd = extra + extraLength;
+                while (extra + 4 <= extraEnd) {
+                    final int id = directory.getShort(extra) & MAX_UINT16;
+                    final int length = directory.getShort(extra + 2) & MAX_UINT16;
+                    if (id == ZIP64_EXTRA_FIELD_ID) {
+                        int field = extra + 4;
+                        if (uncompressedSize == MAX_UINT32) {
+                            uncompressedSize = directory.getLong(field);
+                            field += 8;
+                        }
+                        if (compressedSize == MAX_UINT32) {
+                            compressedSize = directory.getLong(field);
+                            field += 8;
+                        }
+                        if (localHeaderOffset == MAX_UINT32) {
+                            localHeaderOffset = directory.getLong(field);
+                        }
+                        break;
+                    }
+                    extra += 4 + length;
+                }
+            }
+
+            entries.put(name, new Entry(
+                    name,
+                    method,
+                    (flags & FLAG_ENCRYPTED) != 0,
+                    crc,
+                    compressedSize,
+                    uncompressedSize,
+                    localHeaderOffset
+            ));
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    private static long findEndOfCentralDirectory(final @NotNull FileChannel channel, final long fileSize) throws IOException {
+        if (fileSize < END_OF_CENTRAL_DIRECTORY_LENGTH) {
+            throw new ZipException("File is too small to be a ZIP file");
+        }
+        final int length = (int) Math.min(fileSize, END_OF_CENTRAL_DIRECTORY_LENGTH + MAX_COMMENT_LENGTH);
+        final long start = fileSize - length;
+        final ByteBuffer tail = read(channel, start, length);
+        // the record is at the end of the file, followed by a comment
+        // of up to 65535 bytes, scan backwards
+        for (int i = length - END_OF_CENTRAL_DIRECTORY_LENGTH; i >= 0; i--) {
+            if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE
+                    && i + END_OF_CENTRAL_DIRECTORY_LENGTH + (tail.getShort(i + 20) & MAX_UINT16) == length) {
+                return start + i;
+            }
+        }
+        throw new ZipException("End of central directory record not found");
+    }
+
+    static @NotNull ByteBuffer read(final @NotNull FileChannel channel, final long position, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                throw new ZipException("Unexpected end of ZIP file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * An entry from the central directory.
+     *
+     * @param name The entry name
+     * @param method The compression method
+     * @param encrypted Whether the entry data is encrypted
+     * @param crc The CRC-32 checksum of the uncompressed data
+     * @param compressedSize The size of the compressed data
+     * @param size The size of the uncompressed data
+     * @param localHeaderOffset The offset of the entry local file header
+     */
+    record Entry(
+            @NotNull String name,
+            int method,
+            boolean encrypted,
+            long crc,
+            long compressedSize,
+            long size,
+            long localHeaderOffset
+    ) {
+        /**
+         * Determines whether the raw data of this entry can be
+         * copied to another archive as-is.
+         *
+         * @return True if the raw data can be copied
+         */
+        boolean isCopyable() {
+            return !encrypted && (method == ZipEntry.STORED || method == ZipEntry.DEFLATED);
+        }
+
+        /**
+         * Computes the offset of the data of this entry, reading
+         * the variable length fields of its local file header.
+         *
+         * @param channel The ZIP file channel
+         * @return The data offset
+         * @throws IOException If reading fails
+         */
+        long dataOffset(final @NotNull FileChannel channel) throws IOException {
+            final ByteBuffer header = read(channel, localHeaderOffset, LOCAL_FILE_HEADER_LENGTH);
+            if (header.getInt(0) != LOCAL_FILE_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid local file header for entry " + name);
+            }
+            final int nameLength = header.getShort(26) & MAX_UINT16;
+            final int extraLength = header.getShort(28) & MAX_UINT16;
+            return localHeaderOffset + LOCAL_FILE_HEADER_LENGTH + nameLength + extraLength;
+        }
+
+        /**
+         * Computes the offset of the data of this entry, reading
+         * the variable length fields of its local file header from
+         * the given little-endian view of the whole ZIP file.
+         *
+         * @param archive The ZIP file data
+         * @return The data offset
+         * @throws ZipException If the local file header is invalid
+         */
+        long dataOffset(final @NotNull ByteBuffer archive) throws ZipException {
+            if (localHeaderOffset + LOCAL_FILE_HEADER_LENGTH > archive.limit()
+                    || archive.getInt((int) localHeaderOffset) != LOCAL_FILE_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid local file header for entry " + name);
+            }
+            final int nameLength = archive.getShort((int) localHeaderOffset + 26) & MAX_UINT16;
+            final int extraLength = archive.getShort((int) localHeaderOffset + 28) & MAX_UINT16;
+            return localHeaderOffset + LOCAL_FILE_HEADER_LENGTH + nameLength + extraLength;
+        }
+
+        /**
+         * Copies the raw (compressed) data of this entry to the given output.
+         *
+         * @param channel The ZIP file channel
+         * @param dataOffset The data offset, see {@link #dataOffset(FileChannel)}
+         * @param output The target output stream
+         * @throws IOException If reading or writing fails
+         */
+        void copyRaw(final @NotNull FileChannel channel, final long dataOffset, final @NotNull OutputStream output) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(compressedSize, 64 * 1024));
+            long position = dataOffset;
+            long remaining = compressedSize;
+            while (remaining > 0) {
+                buffer.clear().limit((int) Math.min(remaining, buffer.capacity()));
+                final int read = channel.read(buffer, position);
+                if (read == -1) {
+                    throw new ZipException("Unexpected end of ZIP file reading entry " + name);
+                }
+                output.write(buffer.array(), 0, read);
+                position += read;
+                remaining -= read;
+            }
+        }
+    }
+
+}
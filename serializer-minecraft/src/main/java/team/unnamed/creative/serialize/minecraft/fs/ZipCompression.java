@@ -0,0 +1,128 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * Represents how a single ZIP archive entry is compressed.
+ *
+ * @see ZipCompressionPolicy
+ * @since 1.11.6
+ */
+@ApiStatus.NonExtendable
+public interface ZipCompression {
+    /**
+     * Returns a {@link ZipCompression} that stores the data
+     * without compressing it, useful for data that is already
+     * compressed, like PNG images or OGG sounds.
+     *
+     * @return The stored compression
+     * @since 1.11.6
+     */
+    static @NotNull ZipCompression stored() {
+        return ZipCompressionImpl.STORED;
+    }
+
+    /**
+     * Returns a {@link ZipCompression} that always deflates the
+     * data using the given compression level.
+     *
+     * @param level The compression level, from {@link Deflater#NO_COMPRESSION}
+     *              to {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return The deflated compression
+     * @since 1.11.6
+     */
+    static @NotNull ZipCompression deflated(final int level) {
+        return level == Deflater.DEFAULT_COMPRESSION
+                ? ZipCompressionImpl.DEFLATED
+                : new ZipCompressionImpl(ZipEntry.DEFLATED, ZipCompressionImpl.checkLevel(level), 0F);
+    }
+
+    /**
+     * Returns a {@link ZipCompression} that always deflates the
+     * data using the default compression level.
+     *
+     * @return The deflated compression
+     * @since 1.11.6
+     */
+    static @NotNull ZipCompression deflated() {
+        return ZipCompressionImpl.DEFLATED;
+    }
+
+    /**
+     * Returns a {@link ZipCompression} that deflates the data using the
+     * given compression level, but stores it instead if deflating doesn't
+     * make it at least {@code minGain} smaller.
+     *
+     * <p>For big entries, a sample from the start of the data is deflated
+     * first, and the entry is stored without deflating the rest of it if the
+     * sample's gain is already below the threshold.</p>
+     *
+     * @param level The compression level, from {@link Deflater#NO_COMPRESSION}
+     *              to {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param minGain The minimum gain, from {@code 0} to {@code 1}, e.g. {@code 0.05}
+     *                to require deflated data to be at least 5% smaller
+     * @return The adaptive compression
+     * @since 1.11.6
+     */
+    static @NotNull ZipCompression adaptive(final int level, final float minGain) {
+        if (!(minGain > 0F && minGain < 1F)) {
+            throw new IllegalArgumentException("Minimum gain must be between 0 and 1 (exclusive), got " + minGain);
+        }
+        return new ZipCompressionImpl(ZipEntry.DEFLATED, ZipCompressionImpl.checkLevel(level), minGain);
+    }
+
+    /**
+     * Returns the preferred compression method, either {@link ZipEntry#DEFLATED}
+     * or {@link ZipEntry#STORED}. Note that adaptive compressions prefer
+     * {@link ZipEntry#DEFLATED} but may end up storing the data.
+     *
+     * @return The preferred compression method
+     * @since 1.11.6
+     */
+    int method();
+
+    /**
+     * Returns the deflate compression level, only meaningful
+     * if the {@link #method()} is {@link ZipEntry#DEFLATED}.
+     *
+     * @return The compression level
+     * @since 1.11.6
+     */
+    int level();
+
+    /**
+     * Returns the minimum gain required to keep deflated data,
+     * {@code 0} if the data is always deflated.
+     *
+     * @return The minimum gain
+     * @since 1.11.6
+     */
+    float minGain();
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+record ZipCompressionImpl(int method, int level, float minGain) implements ZipCompression {
+    static final ZipCompression STORED = new ZipCompressionImpl(ZipEntry.STORED, Deflater.NO_COMPRESSION, 0F);
+    static final ZipCompression DEFLATED = new ZipCompressionImpl(ZipEntry.DEFLATED, Deflater.DEFAULT_COMPRESSION, 0F);
+
+    /**
+     * The amount of bytes deflated by adaptive compressions
+     * to decide whether to store big entries.
+     */
+    private static final int SAMPLE_LENGTH = 64 * 1024;
+
+    static int checkLevel(final int level) {
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        return level;
+    }
+
+    static @NotNull ZipCompressionImpl of(final @NotNull ZipCompression compression) {
+        return compression instanceof ZipCompressionImpl impl
+                ? impl
+                : new ZipCompressionImpl(compression.method(), compression.level(), compression.minGain());
+    }
+
+    /**
+     * Compresses the given data.
+     *
+     * @param deflater The deflater to use, must use this compression {@link #level()}
+     * @return The deflated data, or null if the data must be stored
+     */
+    byte[] compress(final @NotNull Deflater deflater, final byte @NotNull [] data, final int offset, final int length) {
+        if (method == ZipEntry.STORED) {
+            return null;
+        }
+        if (minGain > 0F && length > SAMPLE_LENGTH && !worthIt(deflate(deflater, data, offset, SAMPLE_LENGTH).length, SAMPLE_LENGTH)) {
+            return null;
+        }
+        final byte[] compressed = deflate(deflater, data, offset, length);
+        if (minGain > 0F && !worthIt(compressed.length, length)) {
+            return null;
+        }
+        return compressed;
+    }
+
+    private boolean worthIt(final int compressedLength, final int length) {
+        return length - compressedLength >= length * minGain;
+    }
+
+    static byte @NotNull [] deflate(final @NotNull Deflater deflater, final byte @NotNull [] data, final int offset, final int length) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, length / 2));
+        final byte[] buffer = new byte[Math.max(512, Math.min(length, 8192))];
+        deflater.reset();
+        deflater.setInput(data, offset, length);
+        deflater.finish();
+        while (!deflater.finished()) {
+            final int count = deflater.deflate(buffer);
+            output.write(buffer, 0, count);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Decides how each entry of a ZIP archive written by a
+ * {@link FileTreeWriter} is compressed, based on its path.
+ *
+ * @see FileTreeWriter#zipArchive(java.io.OutputStream, ZipEntryLifecycleHandler, ZipCompressionPolicy)
+ * @since 1.11.6
+ */
+@FunctionalInterface
+public interface ZipCompressionPolicy {
+    /**
+     * Returns a {@link ZipCompressionPolicy} that deflates
+     * every entry using the default compression level.
+     *
+     * @return The deflate compression policy
+     * @since 1.11.6
+     */
+    static @NotNull ZipCompressionPolicy deflate() {
+        return ZipCompressionPolicyImpl.DEFLATE;
+    }
+
+    /**
+     * Returns a {@link ZipCompressionPolicy} that stores PNG images
+     * and OGG sounds, which are already compressed, and deflates every
+     * other entry using the default compression level.
+     *
+     * @return The content-aware compression policy
+     * @since 1.11.6
+     */
+    static @NotNull ZipCompressionPolicy contentAware() {
+        return ZipCompressionPolicyImpl.CONTENT_AWARE;
+    }
+
+    /**
+     * Creates a new {@link Builder} for compression policies.
+     *
+     * @return The created builder
+     * @since 1.11.6
+     */
+    @Contract("-> new")
+    static @NotNull Builder builder() {
+        return new ZipCompressionPolicyImpl.BuilderImpl();
+    }
+
+    /**
+     * Returns the compression for the entry at the given path.
+     *
+     * @param path The entry path
+     * @return The compression for the entry
+     * @since 1.11.6
+     */
+    @NotNull ZipCompression compressionFor(final @NotNull String path);
+
+    /**
+     * A builder for rule-based {@link ZipCompressionPolicy} instances.
+     *
+     * <p>Extension rules take precedence over folder rules, and
+     * folder rules take precedence over the default compression. When
+     * several folder rules match, the most specific one is used.</p>
+     *
+     * @since 1.11.6
+     */
+    interface Builder {
+        /**
+         * Sets the compression for entries with the given file extension.
+         *
+         * @param extension The file extension, without the dot, e.g. {@code "png"}
+         * @param compression The compression for those entries
+         * @return This builder
+         * @since 1.11.6
+         */
+        @Contract("_, _ -> this")
+        @NotNull Builder extension(final @NotNull String extension, final @NotNull ZipCompression compression);
+
+        /**
+         * Sets the compression for entries inside the given resource
+         * folder of any namespace, i.e. {@code assets/<namespace>/<folder>/},
+         * including overlays. Resource categories can be configured using
+         * their folder, e.g. {@code "models"}, {@code "items"} or {@code "lang"}.
+         *
+         * @param folder The resource folder, e.g. {@code "models"} or {@code "textures/item"}
+         * @param compression The compression for those entries
+         * @return This builder
+         * @since 1.11.6
+         */
+        @Contract("_, _ -> this")
+        @NotNull Builder folder(final @NotNull String folder, final @NotNull ZipCompression compression);
+
+        /**
+         * Sets the compression for entries that don't match
+         * any other rule, {@link ZipCompression#deflated()} by default.
+         *
+         * @param compression The default compression
+         * @return This builder
+         * @since 1.11.6
+         */
+        @Contract("_ -> this")
+        @NotNull Builder defaultCompression(final @NotNull ZipCompression compression);
+
+        /**
+         * Builds the compression policy.
+         *
+         * @return The built compression policy
+         * @since 1.11.6
+         */
+        @Contract("-> new")
+        @NotNull ZipCompressionPolicy build();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+final class ZipCompressionPolicyImpl implements ZipCompressionPolicy {
+    static final ZipCompressionPolicy DEFLATE = path -> ZipCompression.deflated();
+    static final ZipCompressionPolicy CONTENT_AWARE = ZipCompressionPolicy.builder()
+            .extension("png", ZipCompression.stored())
+            .extension("ogg", ZipCompression.stored())
+            .build();
+
+    private final Map<String, ZipCompression> extensions;
+    private final Map<String, ZipCompression> folders;
+    private final ZipCompression defaultCompression;
+
+    private ZipCompressionPolicyImpl(
+            final @NotNull Map<String, ZipCompression> extensions,
+            final @NotNull Map<String, ZipCompression> folders,
+            final @NotNull ZipCompression defaultCompression
+    ) {
+        this.extensions = extensions;
+        this.folders = folders;
+        this.defaultCompression = defaultCompression;
+    }
+
+    @Override
+    public @NotNull ZipCompression compressionFor(final @NotNull String path) {
+        requireNonNull(path, "path");
+
+        if (!extensions.isEmpty()) {
+            final int slash = path.lastIndexOf('/');
+            final int dot = path.lastIndexOf('.');
+            if (dot > slash) {
+                final ZipCompression compression = extensions.get(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+                if (compression != null) {
+                    return compression;
+                }
+            }
+        }
+
+        if (!folders.isEmpty()) {
+            final String resourcePath = resourcePath(path);
+            if (resourcePath != null) {
+                for (Map.Entry<String, ZipCompression> entry : folders.entrySet()) {
+                    if (resourcePath.startsWith(entry.getKey())) {
+                        return entry.getValue();
+                    }
+                }
+            }
+        }
+
+        return defaultCompression;
+    }
+
+    /**
+     * Returns the path relative to the namespace folder, e.g. {@code models/item/diamond.json}
+     * for {@code assets/minecraft/models/item/diamond.json}, or null if the path is not
+     * inside a namespace folder.
+     */
+    private static String resourcePath(final @NotNull String path) {
+        final int assets;
+        if (path.startsWith("assets/")) {
+            assets = 0;
+        } else {
+            // may be inside an overlay
+            final int index = path.indexOf("/assets/");
+            if (index == -1) {
+                return null;
+            }
+            assets = index + 1;
+        }
+        final int namespaceEnd = path.indexOf('/', assets + "assets/".length());
+        return namespaceEnd == -1 ? null : path.substring(namespaceEnd + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ZipCompressionPolicy{extensions=" + extensions + ", folders=" + folders + ", defaultCompression=" + defaultCompression + '}';
+    }
+
+    static final class BuilderImpl implements Builder {
+        private final Map<String, ZipCompression> extensions = new HashMap<>();
+        private final Map<String, ZipCompression> folders = new LinkedHashMap<>();
+        private ZipCompression defaultCompression = ZipCompression.deflated();
+
+        @Override
+        public @NotNull Builder extension(final @NotNull String extension, final @NotNull ZipCompression compression) {
+            requireNonNull(extension, "extension");
+            requireNonNull(compression, "compression");
+            extensions.put(extension.toLowerCase(Locale.ROOT), compression);
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder folder(final @NotNull String folder, final @NotNull ZipCompression compression) {
+            requireNonNull(folder, "folder");
+            requireNonNull(compression, "compression");
+            folders.put(folder.endsWith("/") ? folder : folder + '/', compression);
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder defaultCompression(final @NotNull ZipCompression compression) {
+            this.defaultCompression = requireNonNull(compression, "compression");
+            return this;
+        }
+
+        @Override
+        public @NotNull ZipCompressionPolicy build() {
+            // more specific (longer) folders are checked first
+            final Map<String, ZipCompression> sortedFolders = new LinkedHashMap<>();
+            folders.entrySet().stream()
+                    .sorted(Comparator.comparingInt((Map.Entry<String, ZipCompression> entry) -> entry.getKey().length()).reversed())
+                    .forEachOrdered(entry -> sortedFolders.put(entry.getKey(), entry.getValue()));
+            return new ZipCompressionPolicyImpl(new HashMap<>(extensions), sortedFolders, defaultCompression);
+        }
+    }
+}
@@ -26,19 +26,30 @@ package team.unnamed.creative.serialize.minecraft.fs;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.ImmutableWritable;
 import team.unnamed.creative.base.Writable;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.lang.ref.WeakReference;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
 import static java.util.Objects.requireNonNull;
@@ -47,6 +58,10 @@ final class ZipFileTreeReader implements FileTreeReader {
     private final ZipFile zipFile;
     private final Enumeration<? extends ZipEntry> entries;
 
+    // lazily read, used to give access to the raw data of the entries
+    private @Nullable Map<String, ZipCentralDirectory.Entry> centralDirectory;
+    private @Nullable FileChannel channel;
+
     private final Collection<WeakReference<ZipFileEntryReadable>> createdContent = new HashSet<>();
 
     private @Nullable ZipEntry currentEntry;
@@ -101,11 +116,45 @@ final class ZipFileTreeReader implements FileTreeReader {
         if (this.currentEntry == null) {
             throw new IllegalStateException("No current entry, call next() first");
         }
-        final ZipFileEntryReadable readable = new ZipFileEntryReadable(currentEntry);
+        final ZipFileEntryReadable readable = new ZipFileEntryReadable(currentEntry, rawEntry(currentEntry));
         createdContent.add(new WeakReference<>(readable));
         return readable;
     }
 
+    /**
+     * Finds the central directory entry for the given entry, if its
+     * raw data can be copied as-is to another ZIP archive.
+     */
+    private ZipCentralDirectory.@Nullable Entry rawEntry(final @NotNull ZipEntry entry) {
+        if (centralDirectory == null) {
+            try {
+                channel = FileChannel.open(Path.of(zipFile.getName()), StandardOpenOption.READ);
+                centralDirectory = ZipCentralDirectory.read(channel);
+            } catch (final IOException | RuntimeException e) {
+                // the file may not be accessible, raw entries are just an optimization
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (final IOException ignored) {
+                    }
+                    channel = null;
+                }
+                centralDirectory = Collections.emptyMap();
+            }
+        }
+
+        final ZipCentralDirectory.Entry raw = centralDirectory.get(entry.getName());
+        if (raw == null
+                || !raw.isCopyable()
+                || raw.method() != entry.getMethod()
+                || raw.crc() != entry.getCrc()
+                || raw.size() != entry.getSize()
+                || raw.compressedSize() != entry.getCompressedSize()) {
+            return null;
+        }
+        return raw;
+    }
+
     @Override
     public void close() throws IOException {
         // memoize created content before closing
@@ -118,21 +167,34 @@ final class ZipFileTreeReader implements FileTreeReader {
         }
 
         // close zip file
-        zipFile.close();
+        try {
+            zipFile.close();
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
     }
 
     private class ZipFileEntryReadable implements Readable {
         private final ZipEntry entry;
+        private final ZipCentralDirectory.@Nullable Entry raw;
         private byte @Nullable [] memoized;
+        // if there is a raw entry, the compressed data is memoized instead
+        private byte @Nullable [] memoizedRaw;
+        private long dataOffset = -1;
 
-        ZipFileEntryReadable(final @NotNull ZipEntry entry) {
+        ZipFileEntryReadable(final @NotNull ZipEntry entry, final ZipCentralDirectory.@Nullable Entry raw) {
             this.entry = requireNonNull(entry, "entry");
+            this.raw = raw;
         }
 
         @Override
         public @NotNull InputStream open() throws IOException {
             if (memoized != null) {
                 return new ByteArrayInputStream(memoized);
+            } else if (memoizedRaw != null) {
+                return new ByteArrayInputStream(inflateMemoizedRaw());
             } else {
                 return zipFile.getInputStream(entry);
             }
@@ -140,7 +202,9 @@ final class ZipFileTreeReader implements FileTreeReader {
 
         @Override
         public @NotNull Writable asWritable() {
-            if (memoized != null) {
+            if (raw != null) {
+                return new RawEntryWritable(this, raw);
+            } else if (memoized != null) {
                 return Writable.bytes(memoized);
             } else {
                 return Readable.super.asWritable();
@@ -148,11 +212,64 @@ final class ZipFileTreeReader implements FileTreeReader {
         }
 
         void memoize() {
-            if (memoized != null) {
+            if (memoized != null || memoizedRaw != null) {
                 // already memoized!
                 return;
             }
-            this.memoized = Readable.super.readAsByteArray();
+            if (raw != null) {
+                // compressed data is smaller, and can still be copied as-is
+                final ByteArrayOutputStream output = new ByteArrayOutputStream((int) raw.compressedSize());
+                try {
+                    writeRaw(output);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException("Failed to read raw data of entry: " + entry, e);
+                }
+                this.memoizedRaw = output.toByteArray();
+            } else {
+                this.memoized = Readable.super.readAsByteArray();
+            }
+        }
+
+        void writeRaw(final @NotNull OutputStream output) throws IOException {
+            requireNonNull(raw, "raw");
+            if (memoizedRaw != null) {
+                output.write(memoizedRaw);
+                return;
+            }
+            final FileChannel channel = requireNonNull(ZipFileTreeReader.this.channel, "channel");
+            if (dataOffset == -1) {
+                dataOffset = raw.dataOffset(channel);
+            }
+            raw.copyRaw(channel, dataOffset, output);
+        }
+
+        private byte @NotNull [] inflateMemoizedRaw() throws IOException {
+            requireNonNull(raw, "raw");
+            requireNonNull(memoizedRaw, "memoizedRaw");
+            if (raw.method() == ZipEntry.STORED) {
+                return memoizedRaw;
+            }
+            final byte[] data = new byte[(int) raw.size()];
+            final Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(memoizedRaw);
+                int offset = 0;
+                while (offset < data.length && !inflater.finished()) {
+                    final int count = inflater.inflate(data, offset, data.length - offset);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    offset += count;
+                }
+                if (offset != data.length) {
+                    throw new ZipException("Invalid compressed data for entry: " + entry);
+                }
+            } catch (final DataFormatException e) {
+                throw new ZipException("Invalid compressed data for entry: " + entry + ": " + e.getMessage());
+            } finally {
+                inflater.end();
+            }
+            return data;
         }
 
         @Override
@@ -173,4 +290,57 @@ final class ZipFileTreeReader implements FileTreeReader {
             }
         }
     }
+
+    /**
+     * Writable for entries whose compressed data can be copied
+     * as-is to other ZIP archives.
+     */
+    private static final class RawEntryWritable implements CompressedWritable, ImmutableWritable {
+        private final ZipFileEntryReadable readable;
+        private final ZipCentralDirectory.Entry raw;
+
+        private RawEntryWritable(final @NotNull ZipFileEntryReadable readable, final ZipCentralDirectory.@NotNull Entry raw) {
+            this.readable = readable;
+            this.raw = raw;
+        }
+
+        @Override
+        public int method() {
+            return raw.method();
+        }
+
+        @Override
+        public long crc() {
+            return raw.crc();
+        }
+
+        @Override
+        public long size() {
+            return raw.size();
+        }
+
+        @Override
+        public long compressedSize() {
+            return raw.compressedSize();
+        }
+
+        @Override
+        public void writeCompressed(final @NotNull OutputStream output) throws IOException {
+            requireNonNull(output, "output");
+            readable.writeRaw(output);
+        }
+
+        @Override
+        public void write(final @NotNull OutputStream output) throws IOException {
+            requireNonNull(output, "output");
+            try (InputStream input = readable.open()) {
+                input.transferTo(output);
+            }
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "RawEntryWritable { name='" + raw.name() + "', method=" + raw.method() + ", size=" + raw.size() + " }";
+        }
+    }
 }
@@ -28,9 +28,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
 
 public interface JsonResourceSerializer<T> extends ResourceSerializer<T> {
 
@@ -38,7 +36,7 @@ public interface JsonResourceSerializer<T> extends ResourceSerializer<T> {
 
     @Override
     default void serialize(T object, OutputStream output, int targetPackFormat) throws IOException {
-        try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+        try (JsonWriter writer = new Utf8JsonWriter(output)) {
             serializeToJson(object, writer, targetPackFormat);
         }
     }
@@ -0,0 +1,735 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.io;
+
+import com.google.gson.FormattingStyle;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link JsonWriter} that encodes JSON directly to UTF-8 bytes in
+ * a reusable buffer, instead of writing characters to a {@link Writer}.
+ *
+ * <p>Its output is exactly the same as the output of a Gson {@link JsonWriter}
+ * writing to an UTF-8 {@link java.io.OutputStreamWriter} (including
+ * formatting styles, HTML-safe escaping, and number formatting), so it can
+ * be used by every {@link JsonResourceSerializer}. Integers and common float
+ * values (e.g. model coordinates) are formatted without creating strings.</p>
+ *
+ * <p>If created without an output stream, the JSON is kept in memory and
+ * can be retrieved using {@link #toByteArray()}, and the writer can be
+ * {@link #reset() reset} to write another document reusing its buffer.</p>
+ *
+ * @since 1.11.6
+ */
+public final class Utf8JsonWriter extends JsonWriter {
+    private static final Writer UNUSED_WRITER = new Writer() {
+        @Override
+        public void write(final char @NotNull [] buffer, final int offset, final int length) {
+            throw new UnsupportedOperationException("Utf8JsonWriter doesn't write to its Writer");
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    // scopes, same as Gson's JsonScope
+    private static final int EMPTY_ARRAY = 1;
+    private static final int NONEMPTY_ARRAY = 2;
+    private static final int EMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int EMPTY_DOCUMENT = 6;
+    private static final int NONEMPTY_DOCUMENT = 7;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final Pattern VALID_JSON_NUMBER_PATTERN = Pattern.compile("-?(?:0|[1-9][0-9]*)(?:\\.[0-9]+)?(?:[eE][-+]?[0-9]+)?");
+
+    private static final byte[][] REPLACEMENT_CHARS = new byte[128][];
+    private static final byte[][] HTML_SAFE_REPLACEMENT_CHARS;
+    private static final byte[] U2028 = ascii("\\u2028");
+    private static final byte[] U2029 = ascii("\\u2029");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] COLON = ascii(":");
+    private static final byte[] SPACED_COLON = ascii(": ");
+    private static final byte[] COMMA = ascii(",");
+    private static final byte[] SPACED_COMMA = ascii(", ");
+
+    private static final double[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000};
+
+    static {
+        for (int i = 0; i <= 0x1f; i++) {
+            REPLACEMENT_CHARS[i] = ascii(String.format("\\u%04x", i));
+        }
+        REPLACEMENT_CHARS['"'] = ascii("\\\"");
+        REPLACEMENT_CHARS['\\'] = ascii("\\\\");
+        REPLACEMENT_CHARS['\t'] = ascii("\\t");
+        REPLACEMENT_CHARS['\b'] = ascii("\\b");
+        REPLACEMENT_CHARS['\n'] = ascii("\\n");
+        REPLACEMENT_CHARS['\r'] = ascii("\\r");
+        REPLACEMENT_CHARS['\f'] = ascii("\\f");
+        HTML_SAFE_REPLACEMENT_CHARS = REPLACEMENT_CHARS.clone();
+        HTML_SAFE_REPLACEMENT_CHARS['<'] = ascii("\\u003c");
+        HTML_SAFE_REPLACEMENT_CHARS['>'] = ascii("\\u003e");
+        HTML_SAFE_REPLACEMENT_CHARS['&'] = ascii("\\u0026");
+        HTML_SAFE_REPLACEMENT_CHARS['='] = ascii("\\u003d");
+        HTML_SAFE_REPLACEMENT_CHARS['\''] = ascii("\\u0027");
+    }
+
+    private final @Nullable OutputStream out;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+
+    private int[] stack = new int[32];
+    private int stackSize;
+    private @Nullable String deferredName;
+
+    // cached formatting style data
+    private @Nullable FormattingStyle style;
+    private byte[] newline;
+    private byte[] indent;
+    private byte[] colon;
+    private byte[] comma;
+    private boolean compact;
+
+    // scratch space for integer digits
+    private final byte[] digits = new byte[20];
+
+    /**
+     * Creates a new {@link Utf8JsonWriter} that writes to the given
+     * output stream, which is closed when this writer is closed.
+     *
+     * @param out The output stream
+     * @since 1.11.6
+     */
+    public Utf8JsonWriter(final @NotNull OutputStream out) {
+        super(UNUSED_WRITER);
+        this.out = Objects.requireNonNull(out, "out");
+        push(EMPTY_DOCUMENT);
+    }
+
+    /**
+     * Creates a new {@link Utf8JsonWriter} that keeps the written
+     * JSON in memory, see {@link #toByteArray()}.
+     *
+     * @since 1.11.6
+     */
+    public Utf8JsonWriter() {
+        super(UNUSED_WRITER);
+        this.out = null;
+        push(EMPTY_DOCUMENT);
+    }
+
+    private static byte @NotNull [] ascii(final @NotNull String string) {
+        return string.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Resets this writer so that it can write a new document,
+     * discarding the current one. Only for writers without
+     * output stream, formatting settings are kept.
+     *
+     * @since 1.11.6
+     */
+    public void reset() {
+        if (out != null) {
+            throw new IllegalStateException("Only in-memory writers can be reset");
+        }
+        count = 0;
+        stackSize = 0;
+        deferredName = null;
+        push(EMPTY_DOCUMENT);
+    }
+
+    /**
+     * Returns a copy of the JSON written to this in-memory writer.
+     *
+     * @return The written UTF-8 encoded JSON
+     * @since 1.11.6
+     */
+    public byte @NotNull [] toByteArray() {
+        if (out != null) {
+            throw new IllegalStateException("Only the JSON written by in-memory writers can be retrieved");
+        }
+        return Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Writes the JSON written to this in-memory writer to the given stream.
+     *
+     * @param output The target output stream
+     * @throws IOException If write fails
+     * @since 1.11.6
+     */
+    public void writeTo(final @NotNull OutputStream output) throws IOException {
+        if (out != null) {
+            throw new IllegalStateException("Only the JSON written by in-memory writers can be retrieved");
+        }
+        output.write(buffer, 0, count);
+    }
+
+    // region Structure
+    @Override
+    public @NotNull JsonWriter beginArray() throws IOException {
+        writeDeferredName();
+        return open(EMPTY_ARRAY, '[');
+    }
+
+    @Override
+    public @NotNull JsonWriter endArray() throws IOException {
+        return close(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+
+    @Override
+    public @NotNull JsonWriter beginObject() throws IOException {
+        writeDeferredName();
+        return open(EMPTY_OBJECT, '{');
+    }
+
+    @Override
+    public @NotNull JsonWriter endObject() throws IOException {
+        return close(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+
+    private @NotNull JsonWriter open(final int empty, final char openBracket) throws IOException {
+        beforeValue();
+        push(empty);
+        writeByte((byte) openBracket);
+        return this;
+    }
+
+    private @NotNull JsonWriter close(final int empty, final int nonempty, final char closeBracket) throws IOException {
+        final int context = peek();
+        if (context != nonempty && context != empty) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        if (deferredName != null) {
+            throw new IllegalStateException("Dangling name: " + deferredName);
+        }
+
+        stackSize--;
+        if (context == nonempty) {
+            newline();
+        }
+        writeByte((byte) closeBracket);
+        return this;
+    }
+
+    private void push(final int newTop) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = newTop;
+    }
+
+    private int peek() {
+        if (stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+        return stack[stackSize - 1];
+    }
+
+    private void replaceTop(final int topOfStack) {
+        stack[stackSize - 1] = topOfStack;
+    }
+
+    @Override
+    public @NotNull JsonWriter name(final @NotNull String name) throws IOException {
+        Objects.requireNonNull(name, "name == null");
+        if (deferredName != null) {
+            throw new IllegalStateException("Already wrote a name, expecting a value.");
+        }
+        final int context = peek();
+        if (context != EMPTY_OBJECT && context != NONEMPTY_OBJECT) {
+            throw new IllegalStateException("Please begin an object before writing a name.");
+        }
+        deferredName = name;
+        return this;
+    }
+
+    private void writeDeferredName() throws IOException {
+        if (deferredName != null) {
+            beforeName();
+            string(deferredName);
+            deferredName = null;
+        }
+    }
+
+    private void beforeName() throws IOException {
+        final int context = peek();
+        if (context == NONEMPTY_OBJECT) {
+            // first in object
+            updateStyle();
+            writeBytes(comma);
+        } else if (context != EMPTY_OBJECT) {
+            // not in an object!
+            throw new IllegalStateException("Nesting problem.");
+        }
+        newline();
+        replaceTop(DANGLING_NAME);
+    }
+
+    private void beforeValue() throws IOException {
+        switch (peek()) {
+            case NONEMPTY_DOCUMENT:
+                if (getStrictness() != Strictness.LENIENT) {
+                    throw new IllegalStateException("JSON must have only one top-level value.");
+                }
+                // fall-through
+            case EMPTY_DOCUMENT:
+                // first in document
+                replaceTop(NONEMPTY_DOCUMENT);
+                break;
+            case EMPTY_ARRAY:
+                // first in array
+                replaceTop(NONEMPTY_ARRAY);
+                newline();
+                break;
+            case NONEMPTY_ARRAY:
+                // another in array
+                updateStyle();
+                writeBytes(comma);
+                newline();
+                break;
+            case DANGLING_NAME:
+                // value for name
+                updateStyle();
+                writeBytes(colon);
+                replaceTop(NONEMPTY_OBJECT);
+                break;
+            default:
+                throw new IllegalStateException("Nesting problem.");
+        }
+    }
+
+    private void newline() throws IOException {
+        updateStyle();
+        if (compact) {
+            return;
+        }
+        writeBytes(newline);
+        for (int i = 1, size = stackSize; i < size; i++) {
+            writeBytes(indent);
+        }
+    }
+
+    private void updateStyle() {
+        final FormattingStyle current = getFormattingStyle();
+        if (current == style) {
+            return;
+        }
+        style = current;
+        newline = current.getNewline().getBytes(StandardCharsets.UTF_8);
+        indent = current.getIndent().getBytes(StandardCharsets.UTF_8);
+        compact = newline.length == 0 && indent.length == 0;
+        if (current.usesSpaceAfterSeparators()) {
+            colon = SPACED_COLON;
+            comma = newline.length == 0 ? SPACED_COMMA : COMMA;
+        } else {
+            colon = COLON;
+            comma = COMMA;
+        }
+    }
+    // endregion
+
+    // region Values
+    @Override
+    public @NotNull JsonWriter value(final @Nullable String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        string(value);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final boolean value) throws IOException {
+        writeDeferredName();
+        beforeValue();
+        writeBytes(value ? TRUE : FALSE);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final @Nullable Boolean value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        return value(value.booleanValue());
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final float value) throws IOException {
+        writeDeferredName();
+        if (getStrictness() != Strictness.LENIENT && (Float.isNaN(value) || Float.isInfinite(value))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        beforeValue();
+        writeFloat(value);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final double value) throws IOException {
+        writeDeferredName();
+        if (getStrictness() != Strictness.LENIENT && (Double.isNaN(value) || Double.isInfinite(value))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        beforeValue();
+        writeDouble(value);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final long value) throws IOException {
+        writeDeferredName();
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final @Nullable Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+
+        writeDeferredName();
+        final Class<? extends Number> type = value.getClass();
+        if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == AtomicInteger.class || type == AtomicLong.class) {
+            beforeValue();
+            writeLong(value.longValue());
+            return this;
+        }
+
+        final String string = value.toString();
+        if (string.equals("-Infinity") || string.equals("Infinity") || string.equals("NaN")) {
+            if (getStrictness() != Strictness.LENIENT) {
+                throw new IllegalArgumentException("Numeric values must be finite, but was " + string);
+            }
+        } else if (!isTrustedNumberType(type) && !VALID_JSON_NUMBER_PATTERN.matcher(string).matches()) {
+            throw new IllegalArgumentException("String created by " + type + " is not a valid JSON number: " + string);
+        }
+
+        beforeValue();
+        if (type == Float.class) {
+            writeFloat(value.floatValue());
+        } else if (type == Double.class) {
+            writeDouble(value.doubleValue());
+        } else {
+            writeAscii(string);
+        }
+        return this;
+    }
+
+    private static boolean isTrustedNumberType(final @NotNull Class<? extends Number> type) {
+        return type == Integer.class || type == Long.class || type == Double.class || type == Float.class
+                || type == Byte.class || type == Short.class || type == BigDecimal.class || type == BigInteger.class
+                || type == AtomicInteger.class || type == AtomicLong.class;
+    }
+
+    @Override
+    public @NotNull JsonWriter nullValue() throws IOException {
+        if (deferredName != null) {
+            if (getSerializeNulls()) {
+                writeDeferredName();
+            } else {
+                deferredName = null;
+                return this; // skip the name and the value
+            }
+        }
+        beforeValue();
+        writeBytes(NULL);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter jsonValue(final @Nullable String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        writeUtf8(value);
+        return this;
+    }
+    // endregion
+
+    // region Encoding
+    private void string(final @NotNull String value) throws IOException {
+        final byte[][] replacements = isHtmlSafe() ? HTML_SAFE_REPLACEMENT_CHARS : REPLACEMENT_CHARS;
+        writeByte((byte) '"');
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 128) {
+                final byte[] replacement = replacements[c];
+                if (replacement == null) {
+                    writeByte((byte) c);
+                } else {
+                    writeBytes(replacement);
+                }
+            } else if (c == '\u2028') {
+                writeBytes(U2028);
+            } else if (c == '\u2029') {
+                writeBytes(U2029);
+            } else {
+                i = writeNonAscii(value, i, c);
+            }
+        }
+        writeByte((byte) '"');
+    }
+
+    private void writeUtf8(final @NotNull String value) throws IOException {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 128) {
+                writeByte((byte) c);
+            } else {
+                i = writeNonAscii(value, i, c);
+            }
+        }
+    }
+
+    /**
+     * Writes the non-ASCII character at the given index, returns
+     * the index of its last char (surrogate pairs use two chars).
+     */
+    private int writeNonAscii(final @NotNull String value, final int index, final char c) throws IOException {
+        ensureCapacity(4);
+        if (c < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            if (Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+                buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                return index + 1;
+            }
+            // malformed, replaced like the UTF-8 encoder does
+            buffer[count++] = (byte) '?';
+        } else {
+            buffer[count++] = (byte) (0xE0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return index;
+    }
+
+    private void writeLong(final long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        long remaining = Math.abs(value);
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + (remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0);
+
+        ensureCapacity(length + 1);
+        if (value < 0) {
+            buffer[count++] = '-';
+        }
+        while (length > 0) {
+            buffer[count++] = digits[--length];
+        }
+    }
+
+    /**
+     * Writes the given unscaled value with the given amount of
+     * fraction digits, e.g. {@code 15, 1} is written as {@code 1.5}
+     */
+    private void writeDecimal(final boolean negative, final long unscaled, final int scale) throws IOException {
+        long remaining = unscaled;
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + (remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0 || length <= scale);
+
+        ensureCapacity(length + 2);
+        if (negative) {
+            buffer[count++] = '-';
+        }
+        while (length > 0) {
+            if (length == scale) {
+                buffer[count++] = '.';
+            }
+            buffer[count++] = digits[--length];
+        }
+    }
+
+    /**
+     * Writes the given float value exactly as {@link Float#toString(float)}
+     * does, which is used by Gson, without creating a string for plain
+     * values with up to four fraction digits.
+     */
+    private void writeFloat(final float value) throws IOException {
+        final float abs = Math.abs(value);
+        if (abs >= 1e-3F && abs < 1e7F) {
+            final boolean negative = value < 0;
+            if (abs == (float) (long) abs) {
+                writeDecimal(negative, (long) abs * 10, 1);
+                return;
+            }
+
+            // find the shortest decimal that rounds to this float, which
+            // is exactly what Float.toString returns
+            final double exact = abs;
+            final double gapBelow = exact - Math.nextDown(abs);
+            final double gapAbove = Math.nextUp(abs) - exact;
+            for (int scale = 1; scale < POWERS_OF_TEN.length; scale++) {
+                final double power = POWERS_OF_TEN[scale];
+                // exact, floats have 24 significant bits and 10^4 only needs 14
+                final double scaled = exact * power;
+                final double unscaled = Math.rint(scaled);
+                final double difference = unscaled - scaled;
+                final double gap = difference >= 0 ? gapAbove : gapBelow;
+                // the decimal must be strictly closer to this float than to
+                // its neighbours, ties are left to Float.toString
+                if (Math.abs(difference) * 2 < gap * power) {
+                    writeDecimal(negative, (long) unscaled, scale);
+                    return;
+                }
+            }
+        }
+        writeAscii(Float.toString(value));
+    }
+
+    /**
+     * Writes the given double value exactly as {@link Double#toString(double)}
+     * does, which is used by Gson, without creating a string for integers.
+     */
+    private void writeDouble(final double value) throws IOException {
+        final double abs = Math.abs(value);
+        if (abs >= 1 && abs < 1e7 && abs == (double) (long) abs) {
+            writeDecimal(value < 0, (long) abs * 10, 1);
+        } else {
+            writeAscii(Double.toString(value));
+        }
+    }
+
+    private void writeAscii(final @NotNull String value) throws IOException {
+        final int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[count++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeByte(final byte value) throws IOException {
+        if (count == buffer.length) {
+            ensureCapacity(1);
+        }
+        buffer[count++] = value;
+    }
+
+    private void writeBytes(final byte @NotNull [] bytes) throws IOException {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensureCapacity(final int length) throws IOException {
+        if (buffer.length - count >= length) {
+            return;
+        }
+        if (out != null && count > 0) {
+            flushBuffer();
+            if (buffer.length >= length) {
+                return;
+            }
+        }
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+    }
+
+    private void flushBuffer() throws IOException {
+        if (out != null && count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+    // endregion
+
+    @Override
+    public void flush() throws IOException {
+        if (stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+        if (out != null) {
+            flushBuffer();
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            flushBuffer();
+            out.close();
+        }
+
+        final int size = stackSize;
+        if (size > 1 || (size == 1 && stack[0] != NONEMPTY_DOCUMENT)) {
+            throw new IOException("Incomplete document");
+        }
+        stackSize = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Utf8JsonWriter{size=" + count + ", inMemory=" + (out == null) + '}';
+    }
+}
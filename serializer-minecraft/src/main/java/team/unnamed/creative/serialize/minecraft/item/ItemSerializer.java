@@ -26,6 +26,7 @@ package team.unnamed.creative.serialize.minecraft.item;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.NotNull;
@@ -54,15 +55,17 @@ import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.serialize.minecraft.GsonUtil;
 import team.unnamed.creative.serialize.minecraft.ResourceCategoryImpl;
 import team.unnamed.creative.serialize.minecraft.base.KeySerializer;
-import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.io.StreamingJsonResourceDeserializer;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
-public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonResourceDeserializer<Item> {
+import static java.util.Objects.requireNonNull;
+
+public final class ItemSerializer implements JsonResourceSerializer<Item>, StreamingJsonResourceDeserializer<Item> {
     public static final ItemSerializer INSTANCE;
     public static final ResourceCategoryImpl<Item> CATEGORY;
 
@@ -72,6 +75,7 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
                 "items",
                 ".json",
                 ResourceContainer::items,
+                ResourceContainer::removeItem,
                 INSTANCE
         );
     }
@@ -115,6 +119,56 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
         };
     }
 
+    private @NotNull ItemModel deserializeItemModel(final @NotNull JsonReader reader) throws IOException {
+        reader.beginObject();
+        final String name = reader.nextName();
+        final ItemModel model;
+        if (name.equals("type")) {
+            // the type comes first (it always does in the files we
+            // write and in vanilla files), we can keep streaming
+            model = deserializeItemModel(reader, Key.key(GsonUtil.readString(reader)));
+        } else {
+            // we don't know the type yet, read this model as a tree
+            final JsonObject node = new JsonObject();
+            node.add(name, GsonUtil.parseReader(reader));
+            model = deserializeItemModel(GsonUtil.parseRemaining(reader, node));
+        }
+        reader.endObject();
+        return model;
+    }
+
+    private @NotNull ItemModel deserializeItemModel(final @NotNull JsonReader reader, final @NotNull Key type) throws IOException {
+        if (!type.namespace().equals(Key.MINECRAFT_NAMESPACE)) {
+            throw new IllegalArgumentException("Unknown item model type: " + type);
+        }
+        return switch (type.value()) {
+            case "empty" -> {
+                skipRemaining(reader);
+                yield ItemModel.empty();
+            }
+            // references and special models have no nested models and
+            // are small, read them as a tree
+            case "model" -> readReference(GsonUtil.parseRemaining(reader, new JsonObject()));
+            case "special" -> readSpecial(GsonUtil.parseRemaining(reader, new JsonObject()));
+            case "composite" -> readComposite(reader);
+            case "condition" -> readCondition(reader);
+            case "select" -> readSelect(reader);
+            case "range_dispatch" -> readRangeDispatch(reader);
+            case "bundle/selected_item" -> {
+                skipRemaining(reader);
+                yield ItemModel.bundleSelectedItem();
+            }
+            default -> throw new IllegalArgumentException("Unknown item model type: " + type);
+        };
+    }
+
+    private static void skipRemaining(final @NotNull JsonReader reader) throws IOException {
+        while (reader.hasNext()) {
+            reader.nextName();
+            reader.skipValue();
+        }
+    }
+
     @Override
     public void serializeToJson(Item item, JsonWriter writer, int targetPackFormat) throws IOException {
         writer.beginObject();
@@ -155,6 +209,29 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
         return Item.item(key, model, handAnimationOnSwap, oversizedInGui, swapAnimationScale);
     }
 
+    @Override
+    public Item deserializeFromJson(JsonReader reader, Key key) throws IOException {
+        ItemModel model = null;
+        boolean handAnimationOnSwap = Item.DEFAULT_HAND_ANIMATION_ON_SWAP;
+        boolean oversizedInGui = Item.DEFAULT_OVERSIZED_IN_GUI;
+        float swapAnimationScale = Item.DEFAULT_SWAP_ANIMATION_SCALE;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "model" -> model = deserializeItemModel(reader);
+                case "hand_animation_on_swap" ->
+                        handAnimationOnSwap = GsonUtil.readBoolean(reader, "hand_animation_on_swap");
+                case "oversized_in_gui" -> oversizedInGui = GsonUtil.readBoolean(reader, "oversized_in_gui");
+                case "swap_animation_scale" -> swapAnimationScale = GsonUtil.readFloat(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return Item.item(key, requireNonNull(model, "model"), handAnimationOnSwap, oversizedInGui, swapAnimationScale);
+    }
+
     private void writeReference(final @NotNull JsonWriter writer, final @NotNull ReferenceItemModel model) throws IOException {
         writer.name("type").value("model");
         writer.name("model").value(KeySerializer.toString(model.model()));
@@ -400,6 +477,23 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
         return ItemModel.composite(models);
     }
 
+    private @NotNull CompositeItemModel readComposite(final @NotNull JsonReader reader) throws IOException {
+        List<ItemModel> models = null;
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("models")) {
+                models = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    models.add(deserializeItemModel(reader));
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        return ItemModel.composite(requireNonNull(models, "models"));
+    }
+
     private void writeCondition(final @NotNull JsonWriter writer, final @NotNull ConditionItemModel model, final int targetPackFormat) throws IOException {
         writer.name("type").value("condition");
         final ItemBooleanProperty condition = model.condition();
@@ -440,6 +534,34 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
     }
 
     private @NotNull ConditionItemModel readCondition(final @NotNull JsonObject node) throws IOException {
+        return ItemModel.conditional(
+                readBooleanProperty(node),
+                deserializeItemModel(node.get("on_true")),
+                deserializeItemModel(node.get("on_false"))
+        );
+    }
+
+    private @NotNull ConditionItemModel readCondition(final @NotNull JsonReader reader) throws IOException {
+        // the property fields are small, they are read as a tree
+        final JsonObject node = new JsonObject();
+        ItemModel onTrue = null;
+        ItemModel onFalse = null;
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            switch (name) {
+                case "on_true" -> onTrue = deserializeItemModel(reader);
+                case "on_false" -> onFalse = deserializeItemModel(reader);
+                default -> node.add(name, GsonUtil.parseReader(reader));
+            }
+        }
+        return ItemModel.conditional(
+                readBooleanProperty(node),
+                requireNonNull(onTrue, "on_true"),
+                requireNonNull(onFalse, "on_false")
+        );
+    }
+
+    private @NotNull ItemBooleanProperty readBooleanProperty(final @NotNull JsonObject node) {
         final ItemBooleanProperty condition;
         final Key property = Key.key(node.get("property").getAsString());
         if (!property.namespace().equals(Key.MINECRAFT_NAMESPACE)) {
@@ -497,11 +619,7 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
             default:
                 throw new IllegalArgumentException("Unknown condition property: " + property);
         }
-        return ItemModel.conditional(
-                condition,
-                deserializeItemModel(node.get("on_true")),
-                deserializeItemModel(node.get("on_false"))
-        );
+        return condition;
     }
 
     private void writeSelect(final @NotNull JsonWriter writer, final @NotNull SelectItemModel model, final int targetPackFormat) throws IOException {
@@ -568,6 +686,70 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
     }
 
     private @NotNull SelectItemModel readSelect(final @NotNull JsonObject node) throws IOException {
+        final ItemStringProperty property = readStringProperty(node);
+
+        final List<SelectItemModel.Case> cases = new ArrayList<>();
+        for (JsonElement caseElement : node.getAsJsonArray("cases")) {
+            final JsonObject caseObject = caseElement.getAsJsonObject();
+            cases.add(SelectItemModel.Case._case(deserializeItemModel(caseObject.get("model")), readWhen(caseObject.get("when"))));
+        }
+
+        final ItemModel fallback = node.has("fallback")
+                ? deserializeItemModel(node.get("fallback"))
+                : null;
+
+        return ItemModel.select(property, cases, fallback);
+    }
+
+    private @NotNull SelectItemModel readSelect(final @NotNull JsonReader reader) throws IOException {
+        // the property fields are small, they are read as a tree
+        final JsonObject node = new JsonObject();
+        List<SelectItemModel.Case> cases = null;
+        ItemModel fallback = null;
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            switch (name) {
+                case "cases" -> {
+                    cases = new ArrayList<>();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        cases.add(readCase(reader));
+                    }
+                    reader.endArray();
+                }
+                case "fallback" -> fallback = deserializeItemModel(reader);
+                default -> node.add(name, GsonUtil.parseReader(reader));
+            }
+        }
+        return ItemModel.select(readStringProperty(node), requireNonNull(cases, "cases"), fallback);
+    }
+
+    private @NotNull SelectItemModel.Case readCase(final @NotNull JsonReader reader) throws IOException {
+        JsonElement whenNode = null;
+        ItemModel model = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "when" -> whenNode = GsonUtil.parseReader(reader);
+                case "model" -> model = deserializeItemModel(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return SelectItemModel.Case._case(requireNonNull(model, "model"), readWhen(whenNode));
+    }
+
+    private static @NotNull List<JsonElement> readWhen(final JsonElement whenNode) {
+        final List<JsonElement> when = new ArrayList<>();
+        if (whenNode instanceof JsonArray whenArray) for (JsonElement whenElement : whenArray) {
+            when.add(whenElement);
+        } else {
+            when.add(whenNode);
+        }
+        return when;
+    }
+
+    private @NotNull ItemStringProperty readStringProperty(final @NotNull JsonObject node) {
         final ItemStringProperty property;
         final Key propertyType = Key.key(node.get("property").getAsString());
         if (!propertyType.namespace().equals(Key.MINECRAFT_NAMESPACE)) {
@@ -617,26 +799,7 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
             default:
                 throw new IllegalArgumentException("Unknown select property type: " + propertyType);
         }
-
-        final List<SelectItemModel.Case> cases = new ArrayList<>();
-        for (JsonElement caseElement : node.getAsJsonArray("cases")) {
-            final JsonObject caseObject = caseElement.getAsJsonObject();
-            final List<JsonElement> when = new ArrayList<>();
-
-            JsonElement whenNode = caseObject.get("when");
-            if (whenNode instanceof JsonArray whenArray) for (JsonElement whenElement : whenArray) {
-                when.add(whenElement);
-            } else {
-                when.add(whenNode);
-            }
-            cases.add(SelectItemModel.Case._case(deserializeItemModel(caseObject.get("model")), when));
-        }
-
-        final ItemModel fallback = node.has("fallback")
-                ? deserializeItemModel(node.get("fallback"))
-                : null;
-
-        return ItemModel.select(property, cases, fallback);
+        return property;
     }
 
     private void writeRangeDispatch(final @NotNull JsonWriter writer, final @NotNull RangeDispatchItemModel model, final int targetPackFormat) throws IOException {
@@ -725,6 +888,70 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
     }
 
     private @NotNull RangeDispatchItemModel readRangeDispatch(final @NotNull JsonObject node) throws IOException {
+        final ItemNumericProperty property = readNumericProperty(node);
+        final float scale = readScale(node);
+
+        final List<RangeDispatchItemModel.Entry> entries = new ArrayList<>();
+        for (JsonElement entryElement : node.getAsJsonArray("entries")) {
+            final JsonObject entryObject = entryElement.getAsJsonObject();
+            entries.add(RangeDispatchItemModel.Entry.entry(
+                    entryObject.get("threshold").getAsFloat(),
+                    deserializeItemModel(entryObject.get("model"))
+            ));
+        }
+
+        final ItemModel fallback = node.has("fallback")
+                ? deserializeItemModel(node.get("fallback"))
+                : null;
+
+        return ItemModel.rangeDispatch(property, scale, entries, fallback);
+    }
+
+    private @NotNull RangeDispatchItemModel readRangeDispatch(final @NotNull JsonReader reader) throws IOException {
+        // the property fields and the scale are small, they are read as a tree
+        final JsonObject node = new JsonObject();
+        List<RangeDispatchItemModel.Entry> entries = null;
+        ItemModel fallback = null;
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            switch (name) {
+                case "entries" -> {
+                    entries = new ArrayList<>();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        entries.add(readEntry(reader));
+                    }
+                    reader.endArray();
+                }
+                case "fallback" -> fallback = deserializeItemModel(reader);
+                default -> node.add(name, GsonUtil.parseReader(reader));
+            }
+        }
+        return ItemModel.rangeDispatch(readNumericProperty(node), readScale(node), requireNonNull(entries, "entries"), fallback);
+    }
+
+    private @NotNull RangeDispatchItemModel.Entry readEntry(final @NotNull JsonReader reader) throws IOException {
+        Float threshold = null;
+        ItemModel model = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "threshold" -> threshold = GsonUtil.readFloat(reader);
+                case "model" -> model = deserializeItemModel(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return RangeDispatchItemModel.Entry.entry(requireNonNull(threshold, "threshold"), requireNonNull(model, "model"));
+    }
+
+    private static float readScale(final @NotNull JsonObject node) {
+        return node.has("scale")
+                ? node.get("scale").getAsFloat()
+                : RangeDispatchItemModel.DEFAULT_SCALE;
+    }
+
+    private @NotNull ItemNumericProperty readNumericProperty(final @NotNull JsonObject node) {
         final ItemNumericProperty property;
         final Key propertyType = Key.key(node.get("property").getAsString());
         if (!propertyType.namespace().equals(Key.MINECRAFT_NAMESPACE)) {
@@ -787,24 +1014,6 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
             default:
                 throw new IllegalArgumentException("Unknown range dispatch property type: " + propertyType);
         }
-
-        final float scale = node.has("scale")
-                ? node.get("scale").getAsFloat()
-                : RangeDispatchItemModel.DEFAULT_SCALE;
-
-        final List<RangeDispatchItemModel.Entry> entries = new ArrayList<>();
-        for (JsonElement entryElement : node.getAsJsonArray("entries")) {
-            final JsonObject entryObject = entryElement.getAsJsonObject();
-            entries.add(RangeDispatchItemModel.Entry.entry(
-                    entryObject.get("threshold").getAsFloat(),
-                    deserializeItemModel(entryObject.get("model"))
-            ));
-        }
-
-        final ItemModel fallback = node.has("fallback")
-                ? deserializeItemModel(node.get("fallback"))
-                : null;
-
-        return ItemModel.rangeDispatch(property, scale, entries, fallback);
+        return property;
     }
 }
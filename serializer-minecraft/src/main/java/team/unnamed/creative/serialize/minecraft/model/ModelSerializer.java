@@ -27,6 +27,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.ApiStatus;
@@ -39,8 +40,8 @@ import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.serialize.minecraft.GsonUtil;
 import team.unnamed.creative.serialize.minecraft.ResourceCategoryImpl;
 import team.unnamed.creative.serialize.minecraft.base.KeySerializer;
-import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.io.StreamingJsonResourceDeserializer;
 import team.unnamed.creative.texture.TextureUV;
 
 import java.io.IOException;
@@ -50,8 +51,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import static java.util.Objects.requireNonNull;
+
 @ApiStatus.Internal
-public final class ModelSerializer implements JsonResourceSerializer<Model>, JsonResourceDeserializer<Model> {
+public final class ModelSerializer implements JsonResourceSerializer<Model>, StreamingJsonResourceDeserializer<Model> {
 
     private static final float MINECRAFT_UV_UNIT = 16F;
 
@@ -64,6 +67,7 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 "models",
                 ".json",
                 ResourceContainer::models,
+                ResourceContainer::removeModel,
                 ModelSerializer.INSTANCE
         );
     }
@@ -184,6 +188,66 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 .build();
     }
 
+    @Override
+    public Model deserializeFromJson(JsonReader reader, Key key) throws IOException {
+        Key parent = null;
+        Map<ItemTransform.Type, ItemTransform> display = new LinkedHashMap<>();
+        List<Element> elements = new ArrayList<>();
+        boolean ambientOcclusion = Model.DEFAULT_AMBIENT_OCCLUSION;
+        ModelTextures texture = ModelTextures.builder().build();
+        Model.GuiLight guiLight = null;
+        List<ItemOverride> overrides = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            // duplicated properties replace the previous value, like in the tree
+            switch (reader.nextName()) {
+                case "parent" -> parent = Key.key(GsonUtil.readString(reader));
+                case "display" -> {
+                    display.clear();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        ItemTransform.Type type = ItemTransform.Type.valueOf(reader.nextName().toUpperCase(Locale.ROOT));
+                        display.put(type, readItemTransform(reader));
+                    }
+                    reader.endObject();
+                }
+                case "elements" -> {
+                    elements.clear();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        elements.add(readElement(reader));
+                    }
+                    reader.endArray();
+                }
+                case "ambientocclusion" -> ambientOcclusion = GsonUtil.readBoolean(reader, "ambientocclusion");
+                case "textures" -> texture = readTextures(reader);
+                case "gui_light" -> guiLight = Model.GuiLight.valueOf(GsonUtil.readString(reader).toUpperCase(Locale.ROOT));
+                case "overrides" -> {
+                    overrides.clear();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        overrides.add(readItemOverride(reader));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return Model.model()
+                .key(key)
+                .parent(parent)
+                .display(display)
+                .elements(elements)
+                .ambientOcclusion(ambientOcclusion)
+                .textures(texture)
+                .guiLight(guiLight)
+                .overrides(overrides)
+                .build();
+    }
+
     private static void writeElement(JsonWriter writer, Element element, int targetPackFormat) throws IOException {
         writer.beginObject().name("from");
         GsonUtil.writeVector3Float(writer, element.from());
@@ -311,6 +375,106 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 .build();
     }
 
+    private static Element readElement(JsonReader reader) throws IOException {
+        Vector3Float from = null;
+        Vector3Float to = null;
+        ElementRotation rotation = null;
+        boolean shade = Element.DEFAULT_SHADE;
+        int lightEmission = 0;
+        Map<CubeFace, ElementFace> faces = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "from" -> from = GsonUtil.readVector3Float(reader);
+                case "to" -> to = GsonUtil.readVector3Float(reader);
+                case "rotation" -> rotation = readElementRotation(reader);
+                case "shade" -> shade = GsonUtil.readBoolean(reader, "shade");
+                case "light_emission" -> lightEmission = GsonUtil.readInt(reader, "light_emission");
+                case "faces" -> {
+                    faces = new LinkedHashMap<>();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        CubeFace face = CubeFace.valueOf(reader.nextName().toUpperCase(Locale.ROOT));
+                        ElementFace elementFace = readElementFace(reader);
+                        if (elementFace == null) {
+                            // skipped face (also replaces a previous one)
+                            faces.remove(face);
+                        } else {
+                            faces.put(face, elementFace);
+                        }
+                    }
+                    reader.endObject();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return Element.element()
+                .from(requireNonNull(from, "from"))
+                .to(requireNonNull(to, "to"))
+                .rotation(rotation)
+                .shade(shade)
+                .lightEmission(lightEmission)
+                .faces(requireNonNull(faces, "faces"))
+                .build();
+    }
+
+    /*
+     * Reads an element face, returns null if the face
+     * must be skipped (unknown cull face)
+     */
+    private static ElementFace readElementFace(JsonReader reader) throws IOException {
+        TextureUV uv = null;
+        String texture = null;
+        String cullFaceName = null;
+        int rotation = ElementFace.DEFAULT_ROTATION;
+        int tintIndex = ElementFace.DEFAULT_TINT_INDEX;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "uv" -> {
+                    reader.beginArray();
+                    Vector2Float from = new Vector2Float(GsonUtil.readFloat(reader), GsonUtil.readFloat(reader));
+                    Vector2Float to = new Vector2Float(GsonUtil.readFloat(reader), GsonUtil.readFloat(reader));
+                    while (reader.hasNext()) {
+                        reader.skipValue();
+                    }
+                    reader.endArray();
+                    uv = TextureUV.uv(
+                            from.divide(MINECRAFT_UV_UNIT),
+                            to.divide(MINECRAFT_UV_UNIT)
+                    );
+                }
+                case "texture" -> texture = GsonUtil.readString(reader);
+                case "cullface" -> cullFaceName = GsonUtil.readString(reader);
+                case "rotation" -> rotation = GsonUtil.readInt(reader, "rotation");
+                case "tintindex" -> tintIndex = GsonUtil.readInt(reader, "tintindex");
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        CubeFace cullFace = null;
+        if (cullFaceName != null) {
+            try {
+                cullFace = CubeFace.valueOf(cullFaceName.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        return ElementFace.face()
+                .uv(uv)
+                .texture(requireNonNull(texture, "texture"))
+                .cullFace(cullFace)
+                .rotation(rotation)
+                .tintIndex(tintIndex)
+                .build();
+    }
+
     private static void writeElementRotation(JsonWriter writer, ElementRotation rotation, int targetPackFormat) throws IOException {
         writer.beginObject().name("origin");
         GsonUtil.writeVector3Float(writer, rotation.origin());
@@ -351,6 +515,47 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 .build();
     }
 
+    private static ElementRotation readElementRotation(JsonReader reader) throws IOException {
+        // angles are kept as strings until we know which format is used
+        String axis = null;
+        String angle = null;
+        String x = null;
+        String y = null;
+        String z = null;
+        Vector3Float origin = null;
+        boolean rescale = ElementRotation.DEFAULT_RESCALE;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "axis" -> axis = GsonUtil.readString(reader);
+                case "angle" -> angle = GsonUtil.readString(reader);
+                case "x" -> x = GsonUtil.readString(reader);
+                case "y" -> y = GsonUtil.readString(reader);
+                case "z" -> z = GsonUtil.readString(reader);
+                case "origin" -> origin = GsonUtil.readVector3Float(reader);
+                case "rescale" -> rescale = GsonUtil.readBoolean(reader, "rescale");
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        Vector3Float rotation;
+        if (axis != null && angle != null) {
+            rotation = Vector3Float.ZERO.with(Axis3D.valueOf(axis.toUpperCase(Locale.ROOT)), Float.parseFloat(angle));
+        } else {
+            rotation = new Vector3Float(
+                    Float.parseFloat(requireNonNull(x, "x")),
+                    Float.parseFloat(requireNonNull(y, "y")),
+                    Float.parseFloat(requireNonNull(z, "z"))
+            );
+        }
+        return ElementRotation.builder().rotation(rotation)
+                .origin(requireNonNull(origin, "origin"))
+                .rescale(rescale)
+                .build();
+    }
+
     private static void writeItemOverride(JsonWriter writer, ItemOverride override) throws IOException {
         writer.beginObject().name("predicate").beginObject();
         for (ItemPredicate predicate : override.predicate()) {
@@ -384,6 +589,47 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
         return ItemOverride.of(key, predicates);
     }
 
+    private static ItemOverride readItemOverride(JsonReader reader) throws IOException {
+        String model = null;
+        Map<String, Object> predicates = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "model" -> model = GsonUtil.readString(reader);
+                case "predicate" -> {
+                    predicates = new LinkedHashMap<>();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        predicates.put(name, readPredicateValue(reader));
+                    }
+                    reader.endObject();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        Key key = Key.key(requireNonNull(model, "model"));
+        List<ItemPredicate> predicateList = new ArrayList<>();
+        for (Map.Entry<String, Object> predicate : requireNonNull(predicates, "predicate").entrySet()) {
+            predicateList.add(ItemPredicate.custom(predicate.getKey(), predicate.getValue()));
+        }
+        return ItemOverride.of(key, predicateList);
+    }
+
+    private static Object readPredicateValue(JsonReader reader) throws IOException {
+        // same values as getObject(...)
+        return switch (reader.peek()) {
+            // parsed to an element, numbers are lazily parsed, like getAsNumber() does
+            case NUMBER -> GsonUtil.parseReader(reader).getAsNumber();
+            case BOOLEAN -> reader.nextBoolean();
+            case STRING -> reader.nextString();
+            default -> GsonUtil.parseReader(reader).getAsString();
+        };
+    }
+
     private static Object getObject(Map.Entry<String, JsonElement> predicateEntry) {
         JsonElement value = predicateEntry.getValue();
         // TODO: better transformation
@@ -432,26 +678,49 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
             rotation = GsonUtil.readVector3Float(objectNode.get("rotation"));
         }
         if (objectNode.has("translation")) {
-            translation = GsonUtil.readVector3Float(objectNode.get("translation"));
-            // clamp translations between -80 and 80 (what Minecraft does)
-            translation = new Vector3Float(
-                    Math.max(-80F, Math.min(80F, translation.x())),
-                    Math.max(-80F, Math.min(80F, translation.y())),
-                    Math.max(-80F, Math.min(80F, translation.z()))
-            );
+            translation = clampTranslation(GsonUtil.readVector3Float(objectNode.get("translation")));
         }
         if (objectNode.has("scale")) {
-            scale = GsonUtil.readVector3Float(objectNode.get("scale"));
-            // set max to 4 (what Minecraft does)
-            scale = new Vector3Float(
-                    Math.min(4F, scale.x()),
-                    Math.min(4F, scale.y()),
-                    Math.min(4F, scale.z())
-            );
+            scale = clampScale(GsonUtil.readVector3Float(objectNode.get("scale")));
         }
         return ItemTransform.transform(rotation, translation, scale);
     }
 
+    private static ItemTransform readItemTransform(JsonReader reader) throws IOException {
+        Vector3Float rotation = ItemTransform.DEFAULT_ROTATION;
+        Vector3Float translation = ItemTransform.DEFAULT_TRANSLATION;
+        Vector3Float scale = ItemTransform.DEFAULT_SCALE;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "rotation" -> rotation = GsonUtil.readVector3Float(reader);
+                case "translation" -> translation = clampTranslation(GsonUtil.readVector3Float(reader));
+                case "scale" -> scale = clampScale(GsonUtil.readVector3Float(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return ItemTransform.transform(rotation, translation, scale);
+    }
+
+    private static Vector3Float clampTranslation(Vector3Float translation) {
+        // clamp translations between -80 and 80 (what Minecraft does)
+        return new Vector3Float(
+                Math.max(-80F, Math.min(80F, translation.x())),
+                Math.max(-80F, Math.min(80F, translation.y())),
+                Math.max(-80F, Math.min(80F, translation.z()))
+        );
+    }
+
+    private static Vector3Float clampScale(Vector3Float scale) {
+        // set max to 4 (what Minecraft does)
+        return new Vector3Float(
+                Math.min(4F, scale.x()),
+                Math.min(4F, scale.y()),
+                Math.min(4F, scale.z())
+        );
+    }
+
     private static void writeTextures(JsonWriter writer, ModelTextures texture) throws IOException {
         final ModelTexture particle = texture.particle();
         final List<ModelTexture> layers = texture.layers();
@@ -488,15 +757,33 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
     }
 
     private static ModelTextures readTextures(JsonElement node) {
-
         JsonObject objectNode = node.getAsJsonObject();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : objectNode.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().getAsString());
+        }
+        return readTextures(values);
+    }
+
+    private static ModelTextures readTextures(JsonReader reader) throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            values.put(key, GsonUtil.readString(reader));
+        }
+        reader.endObject();
+        return readTextures(values);
+    }
+
+    private static ModelTextures readTextures(Map<String, String> values) {
         ModelTexture particle = null;
-        List<ModelTexture> layers = new ArrayList<>(objectNode.entrySet().size());
+        List<ModelTexture> layers = new ArrayList<>(values.size());
         Map<String, ModelTexture> variables = new LinkedHashMap<>();
 
-        for (Map.Entry<String, JsonElement> entry : objectNode.entrySet()) {
+        for (Map.Entry<String, String> entry : values.entrySet()) {
             String key = entry.getKey();
-            String value = entry.getValue().getAsString();
+            String value = entry.getValue();
             ModelTexture texture = value.charAt(0) == '#'
                     ? ModelTexture.ofReference(value.substring(1))
                     : ModelTexture.ofKey(Key.key(value));
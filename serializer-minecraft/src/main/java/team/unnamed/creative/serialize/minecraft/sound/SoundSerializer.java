@@ -36,6 +36,7 @@ public class SoundSerializer {
             "sounds",
             ".ogg",
             ResourceContainer::sounds,
+            ResourceContainer::removeSound,
             (BinaryResourceDeserializer<Sound>) (data, key) -> Sound.sound(key, data),
             (sound, output, targetPackFormat) -> sound.data().write(output)
     );
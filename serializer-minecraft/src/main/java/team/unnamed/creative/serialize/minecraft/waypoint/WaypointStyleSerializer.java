@@ -46,6 +46,7 @@ public class WaypointStyleSerializer implements JsonResourceSerializer<WaypointS
                 "waypoint_style",
                 ".json",
                 ResourceContainer::waypointStyles,
+                ResourceContainer::removeWaypointStyle,
                 INSTANCE
         );
     }
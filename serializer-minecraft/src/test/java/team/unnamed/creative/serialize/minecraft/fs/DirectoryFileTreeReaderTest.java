@@ -23,13 +23,51 @@
  */
 package team.unnamed.creative.serialize.minecraft.fs;
 
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class DirectoryFileTreeReaderTest implements FileTreeReaderTest {
+    private @TempDir Path tempDir;
 
     @Override
     public FileTreeReader createReader() {
         return FileTreeReader.directory(new File("src/test/resources/folder"));
     }
 
+    @Test
+    void test_nested_directories() throws IOException {
+        final Map<String, String> expected = new HashMap<>();
+        expected.put("pack.mcmeta", "{}");
+        expected.put("assets/minecraft/lang/en_us.json", "{ \"a\": \"b\" }");
+        expected.put("assets/minecraft/textures/item/deep/nested/file.png", "png");
+        for (final Map.Entry<String, String> entry : expected.entrySet()) {
+            final Path file = tempDir.resolve(entry.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, entry.getValue());
+        }
+        Files.createDirectories(tempDir.resolve("assets/empty"));
+
+        final Map<String, String> files = new HashMap<>();
+        try (FileTreeReader reader = FileTreeReader.directory(tempDir)) {
+            while (reader.hasNext()) {
+                final String path = reader.next();
+                if (path.endsWith(".png")) {
+                    files.put(path, new String(reader.stream().readAllBytes(), StandardCharsets.UTF_8));
+                } else {
+                    files.put(path, reader.content().readAsUTF8String());
+                }
+            }
+        }
+        assertEquals(expected, files);
+    }
 }
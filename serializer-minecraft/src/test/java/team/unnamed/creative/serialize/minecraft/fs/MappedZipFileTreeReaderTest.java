@@ -0,0 +1,160 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedZipFileTreeReaderTest implements FileTreeReaderTest {
+    private @TempDir Path tempDir;
+
+    @Override
+    public @NotNull FileTreeReader createReader() {
+        try {
+            return FileTreeReader.mappedZip(Path.of("src/test/resources/ziptree.zip"));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void test_stored_and_deflated_entries() throws IOException {
+        final byte[] texture = new byte[100_000];
+        new Random(7).nextBytes(texture);
+        final byte[] text = "{ \"parent\": \"item/generated\" }\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+        final Path path = tempDir.resolve("mixed.zip");
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(path))) {
+            final CRC32 crc = new CRC32();
+            crc.update(texture);
+            final ZipEntry stored = new ZipEntry("assets/minecraft/textures/item/random.png");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(texture.length);
+            stored.setCompressedSize(texture.length);
+            stored.setCrc(crc.getValue());
+            output.putNextEntry(stored);
+            output.write(texture);
+            output.closeEntry();
+
+            output.putNextEntry(new ZipEntry("assets/minecraft/"));
+            output.closeEntry();
+
+            output.putNextEntry(new ZipEntry("assets/minecraft/models/item/text.json"));
+            output.write(text);
+            output.closeEntry();
+        }
+
+        final Map<String, Readable> files = new LinkedHashMap<>();
+        try (FileTreeReader reader = FileTreeReader.mappedZip(path)) {
+            while (reader.hasNext()) {
+                files.put(reader.next(), reader.content());
+            }
+        }
+        // contents must remain valid after closing the reader
+        assertEquals(2, files.size());
+        assertArrayEquals(texture, files.get("assets/minecraft/textures/item/random.png").readAsByteArray());
+        try (InputStream input = files.get("assets/minecraft/models/item/text.json").open()) {
+            assertArrayEquals(text, input.readAllBytes());
+        }
+
+        final CompressedWritable deflated = assertInstanceOf(CompressedWritable.class, files.get("assets/minecraft/models/item/text.json").asWritable());
+        assertEquals(ZipEntry.DEFLATED, deflated.method());
+        assertEquals(text.length, deflated.size());
+        assertArrayEquals(text, deflated.toByteArray());
+    }
+
+    @Test
+    void test_raw_entries_are_copied() throws IOException {
+        final Map<String, Writable> files = new LinkedHashMap<>();
+        try (FileTreeReader reader = createReader()) {
+            while (reader.hasNext()) {
+                files.put(reader.next(), reader.content().asWritable());
+            }
+        }
+
+        final Path output = tempDir.resolve("copy.zip");
+        try (FileTreeWriter writer = FileTreeWriter.zipArchive(Files.newOutputStream(output))) {
+            for (Map.Entry<String, Writable> file : files.entrySet()) {
+                writer.write(file.getKey(), file.getValue());
+            }
+        }
+
+        try (ZipFile source = new ZipFile("src/test/resources/ziptree.zip"); ZipFile copy = new ZipFile(output.toFile())) {
+            for (Map.Entry<String, Writable> file : files.entrySet()) {
+                final CompressedWritable writable = assertInstanceOf(CompressedWritable.class, file.getValue());
+                final ZipEntry sourceEntry = source.getEntry(file.getKey());
+                final ZipEntry copyEntry = copy.getEntry(file.getKey());
+
+                assertEquals(sourceEntry.getMethod(), copyEntry.getMethod());
+                assertEquals(sourceEntry.getCrc(), copyEntry.getCrc());
+                assertEquals(sourceEntry.getCompressedSize(), copyEntry.getCompressedSize());
+
+                final byte[] expected;
+                try (InputStream input = source.getInputStream(sourceEntry)) {
+                    expected = input.readAllBytes();
+                }
+                try (InputStream input = copy.getInputStream(copyEntry)) {
+                    assertArrayEquals(expected, input.readAllBytes());
+                }
+                final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                writable.writeCompressed(compressed);
+                assertEquals(sourceEntry.getCompressedSize(), compressed.size());
+            }
+        }
+    }
+
+    @Test
+    void test_invalid_file_fails() throws IOException {
+        final Path path = tempDir.resolve("invalid.zip");
+        try (OutputStream output = Files.newOutputStream(path)) {
+            output.write("not a zip file".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThrows(ZipException.class, () -> FileTreeReader.mappedZip(path));
+    }
+}
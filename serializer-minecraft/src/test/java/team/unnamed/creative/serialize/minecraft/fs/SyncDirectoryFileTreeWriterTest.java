@@ -0,0 +1,110 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.base.Writable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SyncDirectoryFileTreeWriterTest implements FileTreeWriterTest {
+
+    private static final FileTime OLD_TIME = FileTime.fromMillis(1_000_000_000_000L);
+
+    private @TempDir Path tempDir;
+
+    private Path root() {
+        return tempDir.resolve("output");
+    }
+
+    @Override
+    public FileTreeWriter createWriter() throws IOException {
+        // stale files, must be deleted
+        write("stale.txt", "Stale");
+        write("stale/dir/file.txt", "Stale");
+        return FileTreeWriter.directorySync(root());
+    }
+
+    @Override
+    public void assertWritten() throws IOException {
+        assertEquals("Hello there", read("file.txt"));
+        assertEquals("", read("emptyfile.txt"));
+        assertArrayEquals(new byte[]{(byte) 0xB0, 0x0B}, Files.readAllBytes(root().resolve("binaryfile.bin")));
+        assertEquals("{\"libraryMainDeveloper\":\"yusshu\",\"license\":\"MIT\",\"year\":2023}", read("file.json"));
+        assertEquals("File in directory", read("dir/file.txt"));
+        assertEquals("File without extension in subdirectory", read("dir/subdir/noext"));
+        assertFalse(Files.exists(root().resolve("stale.txt")));
+        assertFalse(Files.exists(root().resolve("stale")));
+    }
+
+    @Test
+    void test_only_changed_files_are_written() throws IOException {
+        final byte[] compressedData = "Compressed data, compressed data".getBytes(StandardCharsets.UTF_8);
+        write("unchanged.txt", "Unchanged");
+        write("changed.txt", "Before");
+        write("resized.txt", "Short");
+        Files.write(root().resolve("compressed.txt"), compressedData);
+        for (final String path : new String[]{"unchanged.txt", "changed.txt", "resized.txt", "compressed.txt"}) {
+            Files.setLastModifiedTime(root().resolve(path), OLD_TIME);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (FileTreeWriter writer = FileTreeWriter.directorySync(root(), executor)) {
+            writer.write("unchanged.txt", Writable.stringUtf8("Unchanged"));
+            writer.write("changed.txt", Writable.stringUtf8("Afters"));
+            writer.write("resized.txt", Writable.stringUtf8("Not so short"));
+            writer.write("compressed.txt", CompressedWritable.deflated(compressedData));
+            writer.write("new/file.txt", Writable.stringUtf8("New"));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(root().resolve("unchanged.txt")));
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(root().resolve("compressed.txt")));
+        assertEquals("Afters", read("changed.txt"));
+        assertEquals("Not so short", read("resized.txt"));
+        assertEquals("New", read("new/file.txt"));
+    }
+
+    private void write(final String path, final String content) throws IOException {
+        final Path file = root().resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private String read(final String path) throws IOException {
+        return Files.readString(root().resolve(path));
+    }
+}
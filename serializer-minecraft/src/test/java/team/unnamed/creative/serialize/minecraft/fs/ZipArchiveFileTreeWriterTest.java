@@ -0,0 +1,212 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ZipArchiveFileTreeWriterTest implements FileTreeWriterTest {
+
+    private @TempDir Path tempDir;
+
+    private Path zipPath() {
+        return tempDir.resolve("test-output.zip");
+    }
+
+    @Override
+    public FileTreeWriter createWriter() throws IOException {
+        return FileTreeWriter.zipArchive(Files.newOutputStream(zipPath()));
+    }
+
+    @Override
+    public void assertWritten() throws IOException {
+        // read using the central directory, to make sure it is valid too
+        final Map<String, String> files = readAll();
+        assertEquals(6, files.size(), "Unexpected files: " + files.keySet());
+        assertEquals("Hello there", files.get("file.txt"));
+        assertEquals("", files.get("emptyfile.txt"));
+        assertArrayEquals(new byte[]{(byte) 0xB0, 0x0B}, files.get("binaryfile.bin").getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals("{\"libraryMainDeveloper\":\"yusshu\",\"license\":\"MIT\",\"year\":2023}", files.get("file.json"));
+        assertEquals("File in directory", files.get("dir/file.txt"));
+        assertEquals("File without extension in subdirectory", files.get("dir/subdir/noext"));
+    }
+
+    @Test
+    void test_compressed_writable_is_copied() throws IOException {
+        final byte[] data = "Compressed data, compressed data, compressed data".getBytes(StandardCharsets.UTF_8);
+        final CompressedWritable writable = CompressedWritable.deflated(data);
+
+        try (FileTreeWriter writer = createWriter()) {
+            writer.write("compressed.txt", writable);
+            writer.write("stored.txt", Writable.bytes(data));
+        }
+
+        try (ZipFile zip = new ZipFile(zipPath().toFile())) {
+            final ZipEntry entry = zip.getEntry("compressed.txt");
+            assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+            assertEquals(writable.crc(), entry.getCrc());
+            assertEquals(writable.compressedSize(), entry.getCompressedSize());
+            try (InputStream input = zip.getInputStream(entry)) {
+                assertArrayEquals(data, input.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    void test_compressed_writable_uses_pooled_deflater() {
+        final byte[] data = "Compressed data, compressed data, compressed data".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayCompressedWritable writable = (ByteArrayCompressedWritable) CompressedWritable.deflated(data, Deflater.BEST_COMPRESSION);
+
+        final AtomicInteger uses = new AtomicInteger();
+        final Deflater pooled = new Deflater(Deflater.BEST_COMPRESSION, true) {
+            @Override
+            public void reset() {
+                uses.incrementAndGet();
+                super.reset();
+            }
+        };
+        try (DeflaterPool deflaters = new DeflaterPool(1)) {
+            deflaters.release(Deflater.BEST_COMPRESSION, pooled);
+            writable.compress(deflaters);
+            writable.compress(deflaters);
+
+            // compressed once, with the pooled deflater, which is given back
+            assertEquals(1, uses.get());
+            assertSame(pooled, deflaters.acquire(Deflater.BEST_COMPRESSION));
+        } finally {
+            pooled.end();
+        }
+        assertEquals(ZipEntry.DEFLATED, writable.method());
+        assertEquals(CompressedWritable.deflated(data, Deflater.BEST_COMPRESSION).compressedSize(), writable.compressedSize());
+    }
+
+    @Test
+    void test_compression_policy() throws IOException {
+        final byte[] text = "Compressible text, compressible text, compressible text".getBytes(StandardCharsets.UTF_8);
+        final byte[] random = new byte[4096];
+        new Random(7270).nextBytes(random);
+
+        final ZipCompressionPolicy policy = ZipCompressionPolicy.builder()
+                .extension("png", ZipCompression.stored())
+                .defaultCompression(ZipCompression.adaptive(Deflater.DEFAULT_COMPRESSION, 0.05F))
+                .build();
+
+        try (FileTreeWriter writer = FileTreeWriter.zipArchive(Files.newOutputStream(zipPath()), ZipEntryLifecycleHandler.DEFAULT, policy)) {
+            writer.write("image.png", Writable.bytes(text));
+            writer.write("precompressed.png", CompressedWritable.deflated(text));
+            writer.write("text.txt", Writable.bytes(text));
+            writer.write("random.bin", Writable.bytes(random));
+        }
+
+        try (ZipFile zip = new ZipFile(zipPath().toFile())) {
+            assertEquals(ZipEntry.STORED, zip.getEntry("image.png").getMethod());
+            assertEquals(ZipEntry.STORED, zip.getEntry("precompressed.png").getMethod());
+            assertEquals(ZipEntry.DEFLATED, zip.getEntry("text.txt").getMethod());
+            assertEquals(ZipEntry.STORED, zip.getEntry("random.bin").getMethod());
+            try (InputStream input = zip.getInputStream(zip.getEntry("precompressed.png"))) {
+                assertArrayEquals(text, input.readAllBytes());
+            }
+            try (InputStream input = zip.getInputStream(zip.getEntry("random.bin"))) {
+                assertArrayEquals(random, input.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    void test_concurrent_compression_is_deterministic() throws IOException {
+        final ZipCompressionPolicy policy = ZipCompressionPolicy.builder()
+                .extension("bin", ZipCompression.stored())
+                .folder("fast", ZipCompression.deflated(Deflater.BEST_SPEED))
+                .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+            final ByteArrayOutputStream concurrent = new ByteArrayOutputStream();
+            writeFiles(FileTreeWriter.zipArchive(sequential, ZipEntryLifecycleHandler.DEFAULT, policy));
+            writeFiles(FileTreeWriter.zipArchive(concurrent, ZipEntryLifecycleHandler.DEFAULT, policy, executor));
+            assertArrayEquals(sequential.toByteArray(), concurrent.toByteArray());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void writeFiles(final FileTreeWriter writer) throws IOException {
+        final Random random = new Random(7270);
+        try (writer) {
+            for (int i = 0; i < 500; i++) {
+                final StringBuilder content = new StringBuilder();
+                for (int j = 0; j < i; j++) {
+                    content.append("line ").append(random.nextInt(100)).append('\n');
+                }
+                final String name = (i % 3 == 0 ? "assets/test/fast/" : "assets/test/other/") + i;
+                if (i % 2 == 0) {
+                    writer.write(name + ".txt", Writable.stringUtf8(content.toString()));
+                } else {
+                    try (OutputStream output = writer.openStream(name + ".bin")) {
+                        output.write(content.toString().getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            }
+        }
+    }
+
+    private Map<String, String> readAll() throws IOException {
+        final Map<String, String> files = new HashMap<>();
+        try (ZipFile zip = new ZipFile(zipPath().toFile())) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                try (InputStream input = zip.getInputStream(entry)) {
+                    files.put(entry.getName(), new String(input.readAllBytes(), StandardCharsets.ISO_8859_1));
+                }
+            }
+        }
+        // text files are ASCII
+        return files;
+    }
+
+}
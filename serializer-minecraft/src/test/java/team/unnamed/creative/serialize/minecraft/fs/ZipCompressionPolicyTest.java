@@ -0,0 +1,76 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZipCompressionPolicyTest {
+
+    @Test
+    void test_content_aware() {
+        final ZipCompressionPolicy policy = ZipCompressionPolicy.contentAware();
+        assertEquals(ZipCompression.stored(), policy.compressionFor("assets/minecraft/textures/item/diamond.png"));
+        assertEquals(ZipCompression.stored(), policy.compressionFor("pack.PNG"));
+        assertEquals(ZipCompression.stored(), policy.compressionFor("overlay/assets/minecraft/sounds/ambient/cave.ogg"));
+        assertEquals(ZipCompression.deflated(), policy.compressionFor("assets/minecraft/textures/item/diamond.png.mcmeta"));
+        assertEquals(ZipCompression.deflated(), policy.compressionFor("assets/minecraft/models/item/diamond.json"));
+        assertEquals(ZipCompression.deflated(), policy.compressionFor("png"));
+    }
+
+    @Test
+    void test_rules() {
+        final ZipCompression fast = ZipCompression.deflated(Deflater.BEST_SPEED);
+        final ZipCompression best = ZipCompression.deflated(Deflater.BEST_COMPRESSION);
+        final ZipCompression adaptive = ZipCompression.adaptive(Deflater.DEFAULT_COMPRESSION, 0.1F);
+        final ZipCompressionPolicy policy = ZipCompressionPolicy.builder()
+                .extension("png", ZipCompression.stored())
+                .folder("textures", adaptive)
+                .folder("textures/font", best)
+                .folder("models", fast)
+                .defaultCompression(best)
+                .build();
+
+        assertEquals(ZipCompression.stored(), policy.compressionFor("assets/minecraft/textures/font/ascii.png"));
+        assertEquals(best, policy.compressionFor("assets/minecraft/textures/font/ascii.png.mcmeta"));
+        assertEquals(adaptive, policy.compressionFor("assets/minecraft/textures/item/diamond.png.mcmeta"));
+        assertEquals(fast, policy.compressionFor("assets/creative/models/item/ruby.json"));
+        assertEquals(fast, policy.compressionFor("overlay_1/assets/creative/models/item/ruby.json"));
+        assertEquals(best, policy.compressionFor("assets/models/models.json"));
+        assertEquals(best, policy.compressionFor("models/item/ruby.json"));
+        assertEquals(best, policy.compressionFor("pack.mcmeta"));
+    }
+
+    @Test
+    void test_invalid_compressions() {
+        assertThrows(IllegalArgumentException.class, () -> ZipCompression.deflated(10));
+        assertThrows(IllegalArgumentException.class, () -> ZipCompression.adaptive(Deflater.DEFAULT_COMPRESSION, 0F));
+        assertThrows(IllegalArgumentException.class, () -> ZipCompression.adaptive(Deflater.DEFAULT_COMPRESSION, 1F));
+    }
+
+}
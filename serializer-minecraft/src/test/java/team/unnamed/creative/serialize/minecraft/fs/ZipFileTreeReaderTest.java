@@ -24,13 +24,29 @@
 package team.unnamed.creative.serialize.minecraft.fs;
 
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.base.Writable;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
 class ZipFileTreeReaderTest implements FileTreeReaderTest {
+    private @TempDir Path tempDir;
+
     @Override
     public @NotNull FileTreeReader createReader() {
         final File file = new File("src/test/resources/ziptree.zip");
@@ -40,4 +56,46 @@ class ZipFileTreeReaderTest implements FileTreeReaderTest {
             throw new UncheckedIOException(e);
         }
     }
+
+    @Test
+    void test_raw_entries_are_copied() throws IOException {
+        final Map<String, Writable> files = new LinkedHashMap<>();
+        try (FileTreeReader reader = createReader()) {
+            while (reader.hasNext()) {
+                files.put(reader.next(), reader.content().asWritable());
+            }
+        }
+        // reader is closed, compressed data must have been memoized
+
+        final Path output = tempDir.resolve("copy.zip");
+        try (FileTreeWriter writer = FileTreeWriter.zipArchive(Files.newOutputStream(output))) {
+            for (Map.Entry<String, Writable> file : files.entrySet()) {
+                writer.write(file.getKey(), file.getValue());
+            }
+        }
+
+        try (ZipFile source = new ZipFile("src/test/resources/ziptree.zip"); ZipFile copy = new ZipFile(output.toFile())) {
+            for (Map.Entry<String, Writable> file : files.entrySet()) {
+                final CompressedWritable writable = assertInstanceOf(CompressedWritable.class, file.getValue());
+                final ZipEntry sourceEntry = source.getEntry(file.getKey());
+                final ZipEntry copyEntry = copy.getEntry(file.getKey());
+
+                assertEquals(sourceEntry.getMethod(), copyEntry.getMethod());
+                assertEquals(sourceEntry.getCrc(), copyEntry.getCrc());
+                assertEquals(sourceEntry.getCompressedSize(), copyEntry.getCompressedSize());
+                assertEquals(sourceEntry.getCompressedSize(), writable.compressedSize());
+
+                final byte[] expected;
+                try (InputStream input = source.getInputStream(sourceEntry)) {
+                    expected = input.readAllBytes();
+                }
+                try (InputStream input = copy.getInputStream(copyEntry)) {
+                    assertArrayEquals(expected, input.readAllBytes());
+                }
+                final ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+                writable.write(uncompressed);
+                assertArrayEquals(expected, uncompressed.toByteArray());
+            }
+        }
+    }
 }
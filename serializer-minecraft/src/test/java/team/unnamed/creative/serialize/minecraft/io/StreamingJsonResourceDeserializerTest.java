@@ -0,0 +1,195 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.io;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.serialize.minecraft.blockstate.BlockStateSerializer;
+import team.unnamed.creative.serialize.minecraft.font.FontSerializer;
+import team.unnamed.creative.serialize.minecraft.item.ItemSerializer;
+import team.unnamed.creative.serialize.minecraft.language.LanguageSerializer;
+import team.unnamed.creative.serialize.minecraft.model.ModelSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingJsonResourceDeserializerTest {
+
+    private static final Key KEY = Key.key("creative:test");
+
+    @Test
+    void test_models() throws IOException {
+        for (String name : new String[]{"cross", "cube", "cube_all", "door_top_left_open"}) {
+            assertSameResult(ModelSerializer.INSTANCE, resource("model/" + name + ".json"));
+        }
+        assertSameResult(ModelSerializer.INSTANCE, """
+                {
+                  "parent": "item/generated",
+                  "unknown": {"nested": [1, 2, {"a": null}]},
+                  "ambientocclusion": "false",
+                  "gui_light": "front",
+                  "display": {
+                    "gui": {"rotation": [30, 225, 0], "translation": [0, 100, -1.5, 7], "scale": [0.625, 5, 0.1]},
+                    "head": {"scale": ["2", 2, 2]}
+                  },
+                  "textures": {"layer0": "item/stick", "particle": "#layer0", "layer1": "creative:item/overlay", "side": 7},
+                  "elements": [
+                    {
+                      "from": [0.1, 0, 8], "to": [15.9, 16, 8.000001],
+                      "rotation": {"origin": [8, 8, 8], "axis": "y", "angle": 22.5, "rescale": true},
+                      "shade": false,
+                      "light_emission": 14.7,
+                      "faces": {
+                        "north": {"uv": [0, 0, 16, 16], "texture": "#side", "cullface": "north", "tintindex": 0},
+                        "south": {"uv": [0.1, 0.2, 15.3, 7], "texture": "#side", "rotation": 90},
+                        "up": {"texture": "#side", "cullface": "invalid"},
+                        "down": {"texture": "#side", "cullface": "down"}
+                      }
+                    },
+                    {
+                      "from": [0, 0, 0], "to": [16, 16, 16],
+                      "rotation": {"origin": [8, 8, 8], "x": 10, "y": "-22.5", "z": 0.3},
+                      "faces": {"east": {"texture": "#side"}, "east": {"texture": "#replaced", "cullface": "up"}}
+                    }
+                  ],
+                  "overrides": [
+                    {"predicate": {"custom_model_data": 1, "pulling": 0.65, "broken": true, "name": "x"}, "model": "item/bow_1"},
+                    {"model": "creative:item/bow_2", "predicate": {"custom_model_data": 10000000000}}
+                  ]
+                }""");
+    }
+
+    @Test
+    void test_block_states() throws IOException {
+        assertSameResult(BlockStateSerializer.INSTANCE, """
+                {
+                  "variants": {
+                    "facing=east,half=lower": {"model": "block/door_bottom", "y": 90, "uvlock": true},
+                    "facing=north": [{"model": "block/a", "weight": 3}, {"model": "creative:block/b", "x": 180}]
+                  }
+                }""");
+        assertSameResult(BlockStateSerializer.INSTANCE, """
+                {
+                  "multipart": [
+                    {"apply": {"model": "block/fence_post"}},
+                    {"when": {"north": "true"}, "apply": {"model": "block/fence_side", "uvlock": "true"}},
+                    {"when": {"east": true, "up": "false"}, "apply": [{"model": "block/a"}, {"model": "block/b"}]},
+                    {"when": {"OR": [{"north": "side|up"}, {"AND": [{"east": "up"}, {"west": "none"}]}]}, "apply": {"model": "block/c"}}
+                  ]
+                }""");
+    }
+
+    @Test
+    void test_items() throws IOException {
+        assertSameResult(ItemSerializer.INSTANCE, """
+                {
+                  "hand_animation_on_swap": "false",
+                  "swap_animation_scale": 1.25,
+                  "unknown": [1, {"a": null}],
+                  "model": {
+                    "type": "minecraft:select",
+                    "property": "minecraft:display_context",
+                    "cases": [
+                      {"when": "gui", "model": {"type": "model", "model": "item/bow", "tints": [{"type": "constant", "value": -1}]}},
+                      {"model": {"model": "item/bow_pulling", "type": "minecraft:model"}, "when": ["head", "fixed"]}
+                    ],
+                    "fallback": {
+                      "type": "range_dispatch",
+                      "entries": [
+                        {"threshold": 0.65, "model": {"type": "empty"}},
+                        {"model": {"type": "composite", "models": [{"type": "bundle/selected_item", "extra": 1}, {"base": "item/chest", "type": "special", "model": {"type": "chest", "texture": "normal"}}]}, "threshold": "0.9"}
+                      ],
+                      "property": "use_duration",
+                      "scale": 0.05
+                    }
+                  }
+                }""");
+        assertSameResult(ItemSerializer.INSTANCE, """
+                {
+                  "oversized_in_gui": true,
+                  "model": {
+                    "on_true": {"type": "model", "model": "item/a"},
+                    "property": "has_component",
+                    "component": "minecraft:damage",
+                    "type": "condition",
+                    "on_false": {
+                      "type": "condition",
+                      "property": "custom_model_data",
+                      "index": 2,
+                      "on_true": {"type": "model", "model": "item/b"},
+                      "on_false": {"type": "model", "model": "item/c"},
+                      "on_false": {"type": "model", "model": "item/replaced"}
+                    }
+                  }
+                }""");
+    }
+
+    @Test
+    void test_fonts() throws IOException {
+        for (String name : new String[]{"alt", "default", "illageralt", "uniform", "include/space", "include/unifont"}) {
+            assertSameResult(FontSerializer.INSTANCE, resource("font/" + name + ".json"));
+        }
+        assertSameResult(FontSerializer.INSTANCE, """
+                {
+                  "providers": [
+                    {"type": "bitmap", "file": "creative:font/a.png", "ascent": 7, "height": 9, "chars": ["ab", "cd"], "unknown": {}},
+                    {"ascent": 8, "chars": ["e"], "file": "font/b.png", "type": "bitmap"},
+                    {"type": "space", "advances": {" ": 4, "\u200c": 0}},
+                    {"type": "ttf", "file": "creative:font/c.ttf", "shift": [0.5, 1], "skip": "xyz", "size": 11.5, "oversample": 2},
+                    {"file": "font/d.ttf", "type": "ttf", "skip": ["a", "b"]},
+                    {"type": "reference", "id": "minecraft:include/space"},
+                    {"type": "unihex", "hex_file": "font/unifont.zip", "size_overrides": [{"from": "\u3001", "to": "\u30ff", "left": 0, "right": 15}]}
+                  ]
+                }""");
+    }
+
+    @Test
+    void test_languages() throws IOException {
+        assertSameResult(LanguageSerializer.INSTANCE, resource("en_us_lang.json"));
+        assertSameResult(LanguageSerializer.INSTANCE, """
+                {"a": "A", "b": 1.50, "c": true, "ignored": {"x": 1}, "d": null, "a": "replaced", "e": [1]}""");
+    }
+
+    private static <T, S extends JsonResourceSerializer<T> & StreamingJsonResourceDeserializer<T>> void assertSameResult(S serializer, String json) throws IOException {
+        T expected = serializer.deserializeFromJsonString(json, KEY);
+        T actual = serializer.deserialize(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), KEY);
+        // not every resource implements equals (e.g. block state conditions),
+        // so we compare their serialized form (using the latest format)
+        assertEquals(
+                serializer.serializeToJsonString(expected, Integer.MAX_VALUE),
+                serializer.serializeToJsonString(actual, Integer.MAX_VALUE)
+        );
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream input = StreamingJsonResourceDeserializerTest.class.getClassLoader().getResourceAsStream(name)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.io;
+
+import com.google.gson.FormattingStyle;
+import com.google.gson.Strictness;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.stream.JsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Utf8JsonWriterTest {
+
+    @Test
+    void test_floats_are_written_like_gson() throws IOException {
+        final Random random = new Random(1234);
+        final float[] randomValues = new float[100_000];
+        for (int i = 0; i < randomValues.length; i++) {
+            final float bits = Float.intBitsToFloat(random.nextInt());
+            randomValues[i] = i % 2 == 0 || !Float.isFinite(bits) ? random.nextFloat() * 32F - 16F : bits;
+        }
+
+        assertSameOutput(null, writer -> {
+            writer.beginArray();
+            for (int i = -20_000; i <= 20_000; i++) {
+                writer.value(i / 16F);
+                writer.value(i / 10F);
+                writer.value(i / 1000F);
+                writer.value(i * 0.0001F);
+            }
+            for (final float value : randomValues) {
+                writer.value(value);
+                writer.value(value % 1e8F);
+            }
+            writer.value(0F).value(-0F).value(1e-3F).value(Math.nextDown(1e-3F)).value(1e7F).value(Math.nextDown(1e7F));
+            writer.value(Float.MIN_VALUE).value(Float.MAX_VALUE).value(-Float.MAX_VALUE);
+            writer.endArray();
+        });
+    }
+
+    @Test
+    void test_numbers_are_written_like_gson() throws IOException {
+        assertSameOutput(null, writer -> writer.beginArray()
+                .value(0L).value(-7L).value(Long.MAX_VALUE).value(Long.MIN_VALUE)
+                .value(1D).value(-2D).value(0.1D).value(1e7D).value(123456789.5D).value(-0D)
+                .value((Number) 5).value((Number) 0.25F).value((Number) (byte) 3)
+                .value(new BigDecimal("1.50")).value(new LazilyParsedNumber("10e-2"))
+                .endArray());
+        assertSameOutput(writer -> writer.setStrictness(Strictness.LENIENT), writer -> writer.beginArray()
+                .value(Float.NaN).value(Double.NEGATIVE_INFINITY).value((Number) Float.POSITIVE_INFINITY)
+                .endArray());
+        assertThrows(IllegalArgumentException.class, () -> new Utf8JsonWriter().value(Float.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new Utf8JsonWriter().value(new LazilyParsedNumber("1x")));
+    }
+
+    @Test
+    void test_strings_are_written_like_gson() throws IOException {
+        final String text = "plain \" \\ \t \b \n \r \f \u0000 \u001f < > & = ' é 中     😀 \ud83d";
+        assertSameOutput(null, writer -> writer.beginObject()
+                .name(text).value(text)
+                .name("json").jsonValue("{\"raw\": \"é\"}")
+                .endObject());
+        assertSameOutput(writer -> writer.setHtmlSafe(true), writer -> writer.beginArray().value(text).endArray());
+    }
+
+    @Test
+    void test_structures_are_written_like_gson() throws IOException {
+        final JsonWriting structure = writer -> writer.beginObject()
+                .name("empty_object").beginObject().endObject()
+                .name("empty_array").beginArray().endArray()
+                .name("skipped").nullValue()
+                .name("elements").beginArray()
+                    .value(true).value(false).nullValue().value((String) null)
+                    .beginObject().name("from").beginArray().value(0F).value(1.5F).value(16F).endArray().endObject()
+                .endArray()
+                .endObject();
+
+        assertSameOutput(null, structure);
+        assertSameOutput(writer -> writer.setIndent("  "), structure);
+        assertSameOutput(writer -> writer.setIndent("\t"), structure);
+        assertSameOutput(writer -> writer.setFormattingStyle(FormattingStyle.COMPACT.withSpaceAfterSeparators(true)), structure);
+        assertSameOutput(writer -> writer.setSerializeNulls(false), structure);
+    }
+
+    @Test
+    void test_reset() throws IOException {
+        final Utf8JsonWriter writer = new Utf8JsonWriter();
+        writer.beginArray().value(1).endArray().close();
+        assertEquals("[1]", new String(writer.toByteArray(), StandardCharsets.UTF_8));
+
+        writer.reset();
+        writer.beginObject().name("a").value("b").endObject().close();
+        assertEquals("{\"a\":\"b\"}", new String(writer.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void test_invalid_usage_fails() {
+        assertThrows(IllegalStateException.class, () -> new Utf8JsonWriter().endArray());
+        assertThrows(IllegalStateException.class, () -> new Utf8JsonWriter().beginArray().name("a"));
+        assertThrows(IllegalStateException.class, () -> new Utf8JsonWriter().value(1).value(2));
+        assertThrows(IOException.class, () -> new Utf8JsonWriter().beginArray().close());
+    }
+
+    private static void assertSameOutput(final JsonWriting configuration, final JsonWriting writing) throws IOException {
+        final StringWriter expected = new StringWriter();
+        try (final JsonWriter writer = new JsonWriter(expected)) {
+            if (configuration != null) {
+                configuration.write(writer);
+            }
+            writing.write(writer);
+        }
+        // as if written by an UTF-8 OutputStreamWriter (lone surrogates are replaced)
+        final String expectedUtf8 = new String(expected.toString().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        try (final JsonWriter writer = new Utf8JsonWriter(actual)) {
+            if (configuration != null) {
+                configuration.write(writer);
+            }
+            writing.write(writer);
+        }
+        assertEquals(expectedUtf8, actual.toString(StandardCharsets.UTF_8));
+
+        // and in-memory
+        final Utf8JsonWriter inMemory = new Utf8JsonWriter();
+        if (configuration != null) {
+            configuration.write(inMemory);
+        }
+        writing.write(inMemory);
+        inMemory.close();
+        assertEquals(expectedUtf8, new String(inMemory.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @FunctionalInterface
+    private interface JsonWriting {
+        void write(final JsonWriter writer) throws IOException;
+    }
+
+}
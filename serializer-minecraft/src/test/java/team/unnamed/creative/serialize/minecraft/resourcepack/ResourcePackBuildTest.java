@@ -0,0 +1,425 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Axis3D;
+import team.unnamed.creative.base.CubeFace;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.metadata.Metadata;
+import team.unnamed.creative.metadata.animation.AnimationMeta;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.PackFormat;
+import team.unnamed.creative.model.Element;
+import team.unnamed.creative.model.ElementFace;
+import team.unnamed.creative.model.ElementRotation;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.model.ModelTexture;
+import team.unnamed.creative.model.ModelTextures;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.serialize.minecraft.ResourcePackBuildCache;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeWriter;
+import team.unnamed.creative.texture.Texture;
+import team.unnamed.creative.texture.TextureUV;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourcePackBuildTest {
+    private @TempDir Path tempDir;
+
+    @Test
+    void test_file_build_equals_memory_build() throws IOException {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(18, "File-backed resource-pack");
+        resourcePack.texture(Texture.texture(Key.key("minecraft:test_texture"), Writable.stringUtf8("not really a png")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        final BuiltResourcePack memory = MinecraftResourcePackWriter.minecraft().build(resourcePack);
+        final Path path = tempDir.resolve("pack.zip");
+        final BuiltResourcePack file = MinecraftResourcePackWriter.minecraft().build(path, resourcePack);
+
+        assertNull(memory.file());
+        assertEquals(path, file.file());
+        assertEquals(memory.hash(), file.hash());
+        assertEquals(memory.size(), file.size());
+        assertEquals(Files.size(path), file.size());
+        assertArrayEquals(memory.data().toByteArray(), file.data().toByteArray());
+    }
+
+    @Test
+    void test_parallel_build_equals_sequential_build() throws IOException {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(18, "Parallel resource-pack");
+        for (int i = 0; i < 1000; i++) {
+            resourcePack.model(Model.model()
+                    .key(Key.key("creative", "item/model_" + i))
+                    .parent(Model.ITEM_GENERATED)
+                    .textures(ModelTextures.builder()
+                            .layers(ModelTexture.ofKey(Key.key("creative", "item/texture_" + i)))
+                            .build())
+                    .build());
+        }
+        final Language.Builder language = Language.language().key(Key.key("creative", "en_us"));
+        for (int i = 0; i < 100; i++) {
+            language.translation("creative.test." + i, "Test " + i);
+        }
+        resourcePack.language(language.build());
+
+        final byte[] sequential = archive(MinecraftResourcePackWriter.minecraft(), resourcePack);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final BuiltResourcePack parallel = MinecraftResourcePackWriter.builder()
+                    .prettyPrinting(false)
+                    .executor(executor)
+                    .build()
+                    .build(resourcePack);
+            assertArrayEquals(sequential, parallel.data().toByteArray());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void test_cached_build_equals_uncached_build() throws IOException {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(18, "Cached resource-pack");
+        for (int i = 0; i < 10; i++) {
+            resourcePack.model(model(i, "item/texture_" + i));
+        }
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        final ResourcePackBuildCache cache = ResourcePackBuildCache.create();
+        final MinecraftResourcePackWriter cachedWriter = MinecraftResourcePackWriter.builder()
+                .buildCache(cache)
+                .build();
+
+        final BuiltResourcePack first = cachedWriter.build(resourcePack);
+        assertArrayEquals(archive(MinecraftResourcePackWriter.minecraft(), resourcePack), first.data().toByteArray());
+        assertEquals(12, cache.size());
+
+        // nothing changed, the same pack is built from the cache
+        assertEquals(first.hash(), cachedWriter.build(resourcePack).hash());
+
+        // a single model changed
+        resourcePack.model(model(3, "item/changed"));
+        resourcePack.removeUnknownFile("credits.txt");
+        final BuiltResourcePack changed = cachedWriter.build(resourcePack);
+        assertNotEquals(first.hash(), changed.hash());
+        assertArrayEquals(archive(MinecraftResourcePackWriter.minecraft(), resourcePack), changed.data().toByteArray());
+        assertEquals(11, cache.size());
+
+        final ResourcePack read = MinecraftResourcePackReader.minecraft().readFromInputStream(new ByteArrayInputStream(changed.data().toByteArray()));
+        assertEquals(model(3, "item/changed"), read.model(Key.key("creative", "item/model_3")));
+    }
+
+    @Test
+    void test_cached_build_detects_changed_files() throws IOException {
+        final Path file = tempDir.resolve("credits.txt");
+        Files.writeString(file, "Unnamed Team");
+
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(18, "Cached resource-pack");
+        // the same writable instance, reading a file that changes between builds
+        resourcePack.unknownFile("credits.txt", Writable.path(file));
+
+        final MinecraftResourcePackWriter cachedWriter = MinecraftResourcePackWriter.builder()
+                .buildCache(ResourcePackBuildCache.create())
+                .build();
+        cachedWriter.build(resourcePack);
+
+        Files.writeString(file, "Unnamed Team and contributors");
+        final BuiltResourcePack changed = cachedWriter.build(resourcePack);
+        assertEquals("Unnamed Team and contributors", entryContent(changed, "credits.txt"));
+    }
+
+    @Test
+    void test_write_back_to_mapped_file() throws IOException {
+        final byte[] texture = new byte[64 * 1024];
+        new Random(3).nextBytes(texture);
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(18, "Mapped resource-pack");
+        resourcePack.unknownFile("big.bin", Writable.bytes(new byte[1024 * 1024]));
+        resourcePack.texture(Texture.texture(Key.key("creative", "item/random.png"), Writable.bytes(texture)));
+
+        final Path path = tempDir.resolve("mapped.zip");
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(path, resourcePack);
+
+        final ResourcePack read;
+        try (FileTreeReader reader = FileTreeReader.mappedZip(path)) {
+            read = MinecraftResourcePackReader.minecraft().read(reader);
+        }
+        // the new file is way smaller, the texture is still read from the old mapping
+        read.removeUnknownFile("big.bin");
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(path, read);
+        final BuiltResourcePack built = MinecraftResourcePackWriter.minecraft().build(path, read);
+
+        final ResourcePack written = MinecraftResourcePackReader.minecraft().readFromZipFile(path);
+        assertArrayEquals(texture, written.texture(Key.key("creative", "item/random.png")).data().toByteArray());
+        assertNull(written.unknownFile("big.bin"));
+        assertEquals(Files.size(path), built.size());
+        try (var files = Files.list(tempDir)) {
+            // no temporary files are left
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void test_parallel_read_equals_sequential_read() {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(18, "Parallel read resource-pack");
+        for (int i = 0; i < 500; i++) {
+            resourcePack.model(model(i, "item/texture_" + i));
+            resourcePack.texture(Texture.texture(
+                    Key.key("creative", "item/texture_" + i + ".png"),
+                    Writable.stringUtf8("texture " + i),
+                    i % 2 == 0 ? Metadata.empty() : Metadata.metadata().addPart(AnimationMeta.animation().frameTime(i).build()).build()
+            ));
+        }
+        final Overlay overlay = Overlay.overlay("overlay_test");
+        overlay.model(model(1, "item/overlay_texture"));
+        resourcePack.overlay(overlay);
+        resourcePack.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(PackFormat.format(18), "overlay_test")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        final Path path = tempDir.resolve("parallel-read.zip");
+        MinecraftResourcePackWriter.minecraft().build(path, resourcePack);
+
+        final ResourcePack sequential = MinecraftResourcePackReader.minecraft().readFromZipFile(path);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final ResourcePack parallel = MinecraftResourcePackReader.builder()
+                    .executor(executor)
+                    .build()
+                    .readFromZipFile(path);
+            assertEquals(model(42, "item/texture_42"), parallel.model(Key.key("creative", "item/model_42")));
+            assertEquals(
+                    MinecraftResourcePackWriter.minecraft().build(sequential).hash(),
+                    MinecraftResourcePackWriter.minecraft().build(parallel).hash()
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void test_lazy_read_only_parses_accessed_resources() throws IOException {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(18, "Lazy read resource-pack");
+        for (int i = 0; i < 100; i++) {
+            resourcePack.model(model(i, "item/texture_" + i));
+        }
+        final Overlay overlay = Overlay.overlay("overlay_test");
+        overlay.model(model(1, "item/overlay_texture"));
+        resourcePack.overlay(overlay);
+        resourcePack.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(PackFormat.format(18), "overlay_test")));
+
+        final Path path = tempDir.resolve("lazy-read.zip");
+        MinecraftResourcePackWriter.minecraft().build(path, resourcePack);
+
+        final ResourcePack sequential = MinecraftResourcePackReader.minecraft().readFromZipFile(path);
+        final ResourcePack lazy = MinecraftResourcePackReader.builder()
+                .lazy(true)
+                .build()
+                .readFromZipFile(path);
+        assertEquals(100, lazy.models().size());
+        assertEquals(model(42, "item/texture_42"), lazy.model(Key.key("creative", "item/model_42")));
+        lazy.model(model(7, "item/replaced"));
+
+        // untouched models are copied, accessed and replaced ones are serialized again
+        final Path lazyPath = tempDir.resolve("lazy-write.zip");
+        MinecraftResourcePackWriter.minecraft().build(lazyPath, lazy);
+        final ResourcePack rewritten = MinecraftResourcePackReader.minecraft().readFromZipFile(lazyPath);
+        sequential.model(model(7, "item/replaced"));
+        assertEquals(
+                MinecraftResourcePackWriter.minecraft().build(sequential).hash(),
+                MinecraftResourcePackWriter.minecraft().build(rewritten).hash()
+        );
+        assertEquals(model(1, "item/overlay_texture"), rewritten.overlay("overlay_test").model(Key.key("creative", "item/model_1")));
+
+        // copied and serialized resources keep their order when serializing in parallel
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final BuiltResourcePack parallel = MinecraftResourcePackWriter.builder()
+                    .prettyPrinting(false)
+                    .executor(executor)
+                    .build()
+                    .build(lazy);
+            assertArrayEquals(archive(MinecraftResourcePackWriter.minecraft(), lazy), parallel.data().toByteArray());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void test_lazy_read_does_not_parse_untouched_resources() throws IOException {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(18, "Lazy read resource-pack");
+        resourcePack.model(model(0, "item/texture_0"));
+        // the writer doesn't validate unknown files, so this is a broken model once read
+        resourcePack.unknownFile("assets/creative/models/item/broken.json", Writable.stringUtf8("{ broken"));
+
+        final Path path = tempDir.resolve("lazy-broken.zip");
+        MinecraftResourcePackWriter.minecraft().build(path, resourcePack);
+
+        final ResourcePack lazy = MinecraftResourcePackReader.builder()
+                .lazy(true)
+                .build()
+                .readFromZipFile(path);
+        assertEquals(2, lazy.models().size());
+
+        // written back as it was read, without parsing it, models are only
+        // copied when they were read with the target pack format
+        final BuiltResourcePack built = MinecraftResourcePackWriter.builder()
+                .targetPackFormat(18)
+                .build()
+                .build(lazy);
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(built.data().toByteArray()))) {
+            ZipEntry entry;
+            String content = null;
+            while ((entry = input.getNextEntry()) != null) {
+                if (entry.getName().equals("assets/creative/models/item/broken.json")) {
+                    content = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+            assertEquals("{ broken", content);
+        }
+
+        assertThrows(RuntimeException.class, () -> lazy.model(Key.key("creative", "item/broken")));
+    }
+
+    @Test
+    void test_lazy_read_downgrades_unloaded_resources() throws IOException {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(75, "Lazy read resource-pack");
+        resourcePack.model(Model.model()
+                .key(Key.key("creative", "item/rotated"))
+                .addElement(Element.element()
+                        .from(new Vector3Float(0f, 0f, 8f))
+                        .to(new Vector3Float(16f, 16f, 8f))
+                        .rotation(ElementRotation.builder()
+                                .origin(new Vector3Float(8f, 8f, 8f))
+                                .rotation(Vector3Float.ZERO.with(Axis3D.Y, 45f))
+                                .build())
+                        .addFace(CubeFace.SOUTH, ElementFace.face()
+                                .uv(TextureUV.uv(0f, 0f, 1f, 1f))
+                                .texture("#layer0")
+                                .build())
+                        .build())
+                .build());
+
+        final Path path = tempDir.resolve("lazy-rotated.zip");
+        MinecraftResourcePackWriter.builder().targetPackFormat(75).build().build(path, resourcePack);
+
+        final ResourcePack eager = MinecraftResourcePackReader.minecraft().readFromZipFile(path);
+        final ResourcePack lazy = MinecraftResourcePackReader.builder()
+                .lazy(true)
+                .build()
+                .readFromZipFile(path);
+
+        // models depend on the pack format, so unloaded models are serialized again
+        final MinecraftResourcePackWriter downgrade = MinecraftResourcePackWriter.builder().targetPackFormat(34).build();
+        final BuiltResourcePack built = downgrade.build(lazy);
+        assertEquals(downgrade.build(eager).hash(), built.hash());
+        final String content = entryContent(built, "assets/creative/models/item/rotated.json");
+        assertTrue(content.contains("\"axis\""), content);
+
+        // and copied as-is when the pack format is the same
+        final MinecraftResourcePackWriter same = MinecraftResourcePackWriter.builder().targetPackFormat(75).build();
+        assertEquals(same.build(eager).hash(), same.build(lazy).hash());
+    }
+
+    @Test
+    void test_default_build_uses_zip_output_stream() throws IOException {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(18, "Default resource-pack");
+        resourcePack.model(model(0, "item/texture_0"));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        // without build cache, compression policy or executor, the archive is the same as always
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (FileTreeWriter writer = FileTreeWriter.zip(new ZipOutputStream(output))) {
+            MinecraftResourcePackWriter.minecraft().write(writer, resourcePack);
+        }
+        assertArrayEquals(output.toByteArray(), MinecraftResourcePackWriter.minecraft().build(resourcePack).data().toByteArray());
+    }
+
+    // writes the given resource pack as a ZIP archive written directly, without executor
+    private static byte[] archive(final MinecraftResourcePackWriter writer, final ResourcePack resourcePack) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (FileTreeWriter tree = FileTreeWriter.zipArchive(output)) {
+            writer.write(tree, resourcePack);
+        }
+        return output.toByteArray();
+    }
+
+    private static String entryContent(final BuiltResourcePack pack, final String name) throws IOException {
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(pack.data().toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = input.getNextEntry()) != null) {
+                if (entry.getName().equals(name)) {
+                    return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        throw new AssertionError("Entry not found: " + name);
+    }
+
+    private static Model model(final int index, final String texture) {
+        return Model.model()
+                .key(Key.key("creative", "item/model_" + index))
+                .parent(Model.ITEM_GENERATED)
+                .textures(ModelTextures.builder()
+                        .layers(ModelTexture.ofKey(Key.key("creative", texture)))
+                        .build())
+                .build();
+    }
+}
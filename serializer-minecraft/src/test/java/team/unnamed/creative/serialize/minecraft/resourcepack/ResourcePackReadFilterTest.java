@@ -0,0 +1,172 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.font.Font;
+import team.unnamed.creative.font.FontProvider;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.PackFormat;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.serialize.minecraft.ResourcePackReadFilter;
+import team.unnamed.creative.serialize.minecraft.font.FontSerializer;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
+import team.unnamed.creative.serialize.minecraft.language.LanguageSerializer;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResourcePackReadFilterTest {
+    private @TempDir Path tempDir;
+
+    @Test
+    void test_rejected_files_are_not_opened() throws IOException {
+        final Path path = writeResourcePack();
+        final ResourcePack resourcePack;
+        final Set<String> opened = new LinkedHashSet<>();
+        try (FileTreeReader reader = new RecordingFileTreeReader(FileTreeReader.zip(new ZipFile(path.toFile())), opened)) {
+            resourcePack = MinecraftResourcePackReader.builder()
+                    .filter(ResourcePackReadFilter.categories(FontSerializer.CATEGORY, LanguageSerializer.CATEGORY)
+                            .and(ResourcePackReadFilter.root()))
+                    .build()
+                    .read(reader);
+        }
+
+        assertEquals(Set.of(
+                "pack.mcmeta",
+                "assets/minecraft/font/default.json",
+                "assets/minecraft/lang/en_us.json"
+        ), opened);
+        assertNotNull(resourcePack.packMeta());
+        assertEquals(1, resourcePack.fonts().size());
+        assertEquals(1, resourcePack.languages().size());
+        assertEquals(0, resourcePack.models().size());
+        assertEquals(0, resourcePack.textures().size());
+        assertEquals(0, resourcePack.unknownFiles().size());
+        assertNull(resourcePack.overlay("overlay_test"));
+    }
+
+    @Test
+    void test_namespace_folder_and_overlay_filters() throws IOException {
+        final Path path = writeResourcePack();
+        final ResourcePack resourcePack = MinecraftResourcePackReader.builder()
+                .filter(ResourcePackReadFilter.namespaces("creative")
+                        .and(ResourcePackReadFilter.folders("textures"))
+                        .or(ResourcePackReadFilter.overlays("overlay_test"))
+                        .or(ResourcePackReadFilter.pathPrefixes("credits")))
+                .build()
+                .readFromZipFile(path);
+
+        assertEquals(0, resourcePack.fonts().size());
+        assertEquals(0, resourcePack.models().size());
+        assertEquals(1, resourcePack.textures().size());
+        assertNotNull(resourcePack.texture(Key.key("creative", "item/ruby.png")));
+        assertEquals("Unnamed Team", resourcePack.unknownFile("credits.txt").toUTF8String());
+        final Overlay overlay = resourcePack.overlay("overlay_test");
+        assertNotNull(overlay);
+        assertEquals(1, overlay.languages().size());
+    }
+
+    private @NotNull Path writeResourcePack() {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(18, "Filtered resource-pack");
+        resourcePack.font(Font.font(Font.MINECRAFT_DEFAULT, FontProvider.reference(Key.key("include/space"))));
+        resourcePack.language(Language.language(Key.key("minecraft", "en_us"), Map.of("creative.test", "Test")));
+        resourcePack.model(Model.model().key(Key.key("creative", "item/ruby")).parent(Model.ITEM_GENERATED).build());
+        resourcePack.texture(Texture.texture(Key.key("creative", "item/ruby.png"), Writable.stringUtf8("ruby")));
+        resourcePack.texture(Texture.texture(Key.key("minecraft", "item/diamond.png"), Writable.stringUtf8("diamond")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        final Overlay overlay = Overlay.overlay("overlay_test");
+        overlay.language(Language.language(Key.key("minecraft", "es_es"), Map.of("creative.test", "Prueba")));
+        resourcePack.overlay(overlay);
+        resourcePack.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(PackFormat.format(18), "overlay_test")));
+
+        final Path path = tempDir.resolve("filtered.zip");
+        MinecraftResourcePackWriter.minecraft().build(path, resourcePack);
+        return path;
+    }
+
+    /**
+     * File tree reader that records the files whose content is accessed.
+     */
+    private static final class RecordingFileTreeReader implements FileTreeReader {
+        private final FileTreeReader delegate;
+        private final Set<String> opened;
+        private String current;
+
+        RecordingFileTreeReader(final @NotNull FileTreeReader delegate, final @NotNull Set<String> opened) {
+            this.delegate = delegate;
+            this.opened = opened;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public String next() {
+            return current = delegate.next();
+        }
+
+        @Override
+        public @NotNull InputStream stream() {
+            opened.add(current);
+            return delegate.stream();
+        }
+
+        @Override
+        public @NotNull Readable content() {
+            opened.add(current);
+            return delegate.content();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.metadata.animation.AnimationMeta;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.overlay.LazyResourceCollection;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.ResourcePackWatcher;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourcePackWatcherTest {
+
+    private static final String PACK_METADATA = "{\"pack\":{\"pack_format\":18,\"description\":\"Watched\"},"
+            + "\"overlays\":{\"entries\":[{\"formats\":20,\"directory\":\"v20\"}]}}";
+
+    private @TempDir Path tempDir;
+
+    @Test
+    void test_changed_files_are_applied() throws Exception {
+        write("pack.mcmeta", PACK_METADATA);
+        write("assets/minecraft/models/item/apple.json", "{\"parent\":\"item/generated\"}");
+        write("assets/minecraft/models/item/stick.json", "{\"parent\":\"item/generated\"}");
+
+        try (final ResourcePackWatcher watcher = MinecraftResourcePackReader.minecraft().watch(root())) {
+            assertEquals(2, watcher.resourcePack().models().size());
+            assertNull(watcher.poll());
+
+            // modified and deleted resources
+            write("assets/minecraft/models/item/apple.json", "{\"parent\":\"item/handheld\"}");
+            Files.delete(root().resolve("assets/minecraft/models/item/stick.json"));
+            final ResourcePackWatcher.Changes changes = await(
+                    watcher,
+                    "assets/minecraft/models/item/apple.json",
+                    "assets/minecraft/models/item/stick.json"
+            );
+            assertFalse(changes.reloaded());
+            assertTrue(changes.failures().isEmpty());
+
+            final Model apple = watcher.resourcePack().model(Key.key("item/apple"));
+            assertNotNull(apple);
+            assertEquals(Key.key("item/handheld"), apple.parent());
+            assertNull(watcher.resourcePack().model(Key.key("item/stick")));
+
+            // texture and its metadata, in a new directory
+            write("assets/minecraft/textures/item/apple.png", "PNG");
+            write("assets/minecraft/textures/item/apple.png.mcmeta", "{\"animation\":{\"frametime\":4}}");
+            await(watcher, "assets/minecraft/textures/item/apple.png", "assets/minecraft/textures/item/apple.png.mcmeta");
+
+            final Texture texture = watcher.resourcePack().texture(Key.key("item/apple.png"));
+            assertNotNull(texture);
+            final AnimationMeta animation = texture.meta().meta(AnimationMeta.class);
+            assertNotNull(animation);
+            assertEquals(4, animation.frameTime());
+
+            // only the metadata is deleted, the texture is kept
+            Files.delete(root().resolve("assets/minecraft/textures/item/apple.png.mcmeta"));
+            await(watcher, "assets/minecraft/textures/item/apple.png.mcmeta");
+            final Texture withoutMeta = watcher.resourcePack().texture(Key.key("item/apple.png"));
+            assertNotNull(withoutMeta);
+            assertNull(withoutMeta.meta().meta(AnimationMeta.class));
+
+            // overlay files go to their overlay
+            write("v20/assets/minecraft/models/item/apple.json", "{\"parent\":\"item/generated\"}");
+            await(watcher, "v20/assets/minecraft/models/item/apple.json");
+            final Overlay overlay = watcher.resourcePack().overlay("v20");
+            assertNotNull(overlay);
+            assertNotNull(overlay.model(Key.key("item/apple")));
+        }
+    }
+
+    @Test
+    void test_deleted_resources_do_not_load_others() throws Exception {
+        write("pack.mcmeta", PACK_METADATA);
+        write("assets/minecraft/models/item/apple.json", "{\"parent\":\"item/generated\"}");
+        write("assets/minecraft/models/item/stick.json", "{\"parent\":\"item/generated\"}");
+
+        final MinecraftResourcePackReader reader = MinecraftResourcePackReader.builder().lazy(true).build();
+        try (final ResourcePackWatcher watcher = reader.watch(root())) {
+            Files.delete(root().resolve("assets/minecraft/models/item/stick.json"));
+            await(watcher, "assets/minecraft/models/item/stick.json");
+
+            final LazyResourceCollection<Model> models = (LazyResourceCollection<Model>) watcher.resourcePack().models();
+            assertEquals(1, models.size());
+            assertEquals(1, models.unloaded().size(), "Removing a resource must not load the others");
+            assertNotNull(watcher.resourcePack().model(Key.key("item/apple")));
+        }
+    }
+
+    @Test
+    void test_invalid_files_keep_previous_version() throws Exception {
+        write("pack.mcmeta", PACK_METADATA);
+        write("assets/minecraft/models/item/apple.json", "{\"parent\":\"item/generated\"}");
+
+        try (final ResourcePackWatcher watcher = MinecraftResourcePackReader.minecraft().watch(root())) {
+            write("assets/minecraft/models/item/apple.json", "{\"parent\":");
+            final ResourcePackWatcher.Changes changes = await(watcher, "assets/minecraft/models/item/apple.json");
+            assertTrue(changes.failures().containsKey("assets/minecraft/models/item/apple.json"));
+
+            final Model apple = watcher.resourcePack().model(Key.key("item/apple"));
+            assertNotNull(apple);
+            assertEquals(Key.key("item/generated"), apple.parent());
+        }
+    }
+
+    @Test
+    void test_pack_metadata_change_reloads() throws Exception {
+        write("pack.mcmeta", PACK_METADATA);
+        write("v20/assets/minecraft/models/item/apple.json", "{\"parent\":\"item/generated\"}");
+        write("v21/assets/minecraft/models/item/apple.json", "{\"parent\":\"item/generated\"}");
+
+        try (final ResourcePackWatcher watcher = MinecraftResourcePackReader.minecraft().watch(root())) {
+            assertNull(watcher.resourcePack().overlay("v21"));
+
+            write("pack.mcmeta", PACK_METADATA.replace("\"directory\":\"v20\"}", "\"directory\":\"v20\"},{\"formats\":21,\"directory\":\"v21\"}"));
+            final ResourcePackWatcher.Changes changes = await(watcher, "pack.mcmeta");
+            assertTrue(changes.reloaded());
+
+            final Overlay overlay = watcher.resourcePack().overlay("v21");
+            assertNotNull(overlay);
+            assertNotNull(overlay.model(Key.key("item/apple")));
+        }
+    }
+
+    private ResourcePackWatcher.Changes await(final ResourcePackWatcher watcher, final String... paths) throws InterruptedException {
+        final Set<String> remaining = new HashSet<>(Arrays.asList(paths));
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        ResourcePackWatcher.Changes last = null;
+        while (!remaining.isEmpty()) {
+            final long timeout = deadline - System.nanoTime();
+            assertTrue(timeout > 0, "Timed out waiting for changes in " + remaining);
+            final ResourcePackWatcher.Changes changes = watcher.poll(timeout, TimeUnit.NANOSECONDS);
+            if (changes != null) {
+                remaining.removeAll(changes.paths());
+                last = changes;
+            }
+        }
+        return last;
+    }
+
+    private Path root() {
+        return tempDir.resolve("pack");
+    }
+
+    private void write(final String path, final String content) throws IOException {
+        // write and move, like most editors, so the watcher never sees half-written files
+        final Path file = root().resolve(path);
+        Files.createDirectories(file.getParent());
+        final Path temp = Files.createTempFile(tempDir, "watched", ".tmp");
+        Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
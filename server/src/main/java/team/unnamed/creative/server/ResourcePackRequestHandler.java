@@ -29,6 +29,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.BuiltResourcePack;
 import team.unnamed.creative.server.request.ResourcePackDownloadRequest;
+import team.unnamed.creative.server.util.BuiltResourcePackTransfer;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -103,6 +104,10 @@ public interface ResourcePackRequestHandler extends team.unnamed.creative.server
     default void onInvalidRequest(HttpExchange exchange) throws IOException {
         byte[] response = "Please use a Minecraft client\n".getBytes(StandardCharsets.UTF_8);
         exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(400, -1);
+            return;
+        }
         exchange.sendResponseHeaders(400, response.length);
         try (OutputStream responseStream = exchange.getResponseBody()) {
             responseStream.write(response);
@@ -115,12 +120,7 @@ public interface ResourcePackRequestHandler extends team.unnamed.creative.server
             @Override
             public void onRequest(@Nullable ResourcePackRequest request, HttpExchange exchange) throws IOException {
                 if (request != null || !validOnly) {
-                    byte[] data = pack.data().toByteArray();
-                    exchange.getResponseHeaders().set("Content-Type", "application/zip");
-                    exchange.sendResponseHeaders(200, data.length);
-                    try (OutputStream responseStream = exchange.getResponseBody()) {
-                        responseStream.write(data);
-                    }
+                    BuiltResourcePackTransfer.send(exchange, pack);
                 } else {
                     ResourcePackRequestHandler.super.onInvalidRequest(exchange);
                 }
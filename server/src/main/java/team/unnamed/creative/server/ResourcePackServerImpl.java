@@ -34,7 +34,9 @@ import team.unnamed.creative.server.handler.ResourcePackRequestHandler;
 import team.unnamed.creative.server.request.ResourcePackDownloadRequest;
 import team.unnamed.creative.server.util.ResourcePackDownloadRequestParser;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.util.concurrent.Executor;
 
@@ -77,11 +79,20 @@ final class ResourcePackServerImpl implements ResourcePackServer {
     }
 
     private void handleRequest(final @NotNull HttpExchange exchange) throws IOException {
-        if (!"GET".equals(exchange.getRequestMethod())) {
-            exchange.close();
+        final String method = exchange.getRequestMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            try (exchange) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+            }
             return;
         }
 
+        if ("HEAD".equals(method)) {
+            // HEAD responses have no body, so whatever handlers write is discarded
+            exchange.setStreams(exchange.getRequestBody(), new HeadResponseStream(exchange.getResponseBody()));
+        }
+
         final Headers headers = exchange.getRequestHeaders();
         final ResourcePackDownloadRequest request = ResourcePackDownloadRequestParser.parse(headers);
 
@@ -90,6 +101,25 @@ final class ResourcePackServerImpl implements ResourcePackServer {
         }
     }
 
+    /**
+     * The response body of HEAD requests, discards everything written
+     * to it, since the HTTP server rejects any byte, and closes the
+     * actual response body when closed.
+     */
+    private static final class HeadResponseStream extends FilterOutputStream {
+        HeadResponseStream(final @NotNull OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) {
+        }
+
+        @Override
+        public void write(final byte @NotNull [] b, final int off, final int len) {
+        }
+    }
+
     static final class BuilderImpl implements Builder {
         private InetSocketAddress address;
         private Executor executor;
@@ -28,6 +28,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.BuiltResourcePack;
 import team.unnamed.creative.server.request.ResourcePackDownloadRequest;
+import team.unnamed.creative.server.util.BuiltResourcePackTransfer;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -48,6 +49,10 @@ final class FixedResourcePackRequestHandler implements ResourcePackRequestHandle
         if (request == null && validOnly) {
             final byte[] data = "Please use a Minecraft client\n".getBytes(StandardCharsets.UTF_8);
             exchange.getResponseHeaders().set("Content-Type", "text/plain");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
             exchange.sendResponseHeaders(400, data.length);
             try (final OutputStream responseStream = exchange.getResponseBody()) {
                 responseStream.write(data);
@@ -55,12 +60,9 @@ final class FixedResourcePackRequestHandler implements ResourcePackRequestHandle
             return;
         }
 
-        final byte[] data = pack.data().toByteArray();
-        exchange.getResponseHeaders().set("Content-Type", "application/zip");
-        exchange.sendResponseHeaders(200, data.length);
-        try (final OutputStream responseStream = exchange.getResponseBody()) {
-            responseStream.write(data);
-        }
+        // file-backed packs are sent with the modification time of their
+        // file, other packs are only revalidated using their hash ETag
+        BuiltResourcePackTransfer.send(exchange, pack);
     }
 
     @Override
@@ -79,6 +79,10 @@ public interface ResourcePackRequestHandler {
      * <p>An "application/zip" Content-Type header should be set
      * when returning a resource-pack, {@link HttpExchange#getResponseHeaders()}</p>
      *
+     * <p>Requests can be GET or HEAD requests, the latter must not
+     * have a response body. {@link team.unnamed.creative.server.util.BuiltResourcePackTransfer}
+     * handles both, as well as conditional requests.</p>
+     *
      * @param request  The resource pack request, null means that the
      *                 request couldn't be parsed and the requester is
      *                 not a Minecraft client
@@ -0,0 +1,488 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server.util;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.BuiltResourcePack;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+@ApiStatus.Internal
+public final class BuiltResourcePackTransfer {
+    private static final DateTimeFormatter HTTP_DATE_FORMATTER = DateTimeFormatter
+            .ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+            .withZone(ZoneOffset.UTC);
+
+    // requests with more ranges are answered with the full pack
+    private static final int MAX_RANGES = 64;
+
+    private BuiltResourcePackTransfer() {
+        throw new UnsupportedOperationException("Can't instantiate utility class");
+    }
+
+    /**
+     * Sends the given {@link BuiltResourcePack} as the response body
+     * of the given exchange, with a 200 (OK) status code.
+     *
+     * @param exchange The HTTP exchange
+     * @param pack     The resource-pack to send
+     * @throws IOException If sending the response fails
+     * @see #send(HttpExchange, BuiltResourcePack, Instant)
+     */
+    public static void send(final @NotNull HttpExchange exchange, final @NotNull BuiltResourcePack pack) throws IOException {
+        send(exchange, pack, null);
+    }
+
+    /**
+     * Sends the given {@link BuiltResourcePack} as the response body
+     * of the given exchange, with a 200 (OK) status code.
+     *
+     * <p>The response has an {@code ETag} derived from the pack hash, so
+     * clients and proxies can revalidate their copy, which is answered
+     * with a 304 (Not Modified) status code when {@code If-None-Match}
+     * or {@code If-Modified-Since} match, and HEAD requests are answered
+     * with the headers only. Neither of them reads the pack data.</p>
+     *
+     * <p>Packs with a known size also accept {@code Range} requests, so
+     * interrupted downloads can be resumed, they are answered with a 206
+     * (Partial Content) status code, using a {@code multipart/byteranges}
+     * body for multiple ranges, unless {@code If-Range} doesn't match the
+     * current pack, in which case the full pack is sent.</p>
+     *
+     * <p>File-backed packs are read from their file channel, and packs
+     * with a known size are written directly to the response body, so
+     * no per-request copy of the whole pack is made, which only happens
+     * when the size is unknown.</p>
+     *
+     * @param exchange     The HTTP exchange
+     * @param pack         The resource-pack to send
+     * @param lastModified The time the pack was last modified, or null if unknown,
+     *                     file-backed packs use the modification time of their file
+     * @throws IOException If sending the response fails
+     */
+    public static void send(final @NotNull HttpExchange exchange, final @NotNull BuiltResourcePack pack, @Nullable Instant lastModified) throws IOException {
+        final Headers responseHeaders = exchange.getResponseHeaders();
+        final Path file = pack.file();
+        if (file != null) {
+            lastModified = Files.getLastModifiedTime(file).toInstant();
+        }
+
+        // the same URL may serve other packs later, so caches must always revalidate
+        final String etag = '"' + pack.hash() + '"';
+        responseHeaders.set("ETag", etag);
+        responseHeaders.set("Cache-Control", "no-cache");
+        if (lastModified != null) {
+            responseHeaders.set("Last-Modified", HTTP_DATE_FORMATTER.format(lastModified));
+        }
+
+        if (notModified(exchange.getRequestHeaders(), etag, lastModified)) {
+            // HttpExchange uses -1 for no body, the only valid length for 304 responses
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+
+        final long size = file != null ? Files.size(file) : pack.size();
+        if (size >= 0) {
+            responseHeaders.set("Accept-Ranges", "bytes");
+        }
+        responseHeaders.set("Content-Type", "application/zip");
+
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            // HttpExchange doesn't accept a length for HEAD requests, the header must be set
+            if (size >= 0) {
+                responseHeaders.set("Content-Length", Long.toString(size));
+            }
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+
+        if (size >= 0) {
+            final List<Range> ranges = ranges(exchange.getRequestHeaders(), etag, lastModified, size);
+            if (ranges != null) {
+                sendRanges(exchange, pack, ranges, size);
+                return;
+            }
+        }
+
+        if (file != null) {
+            try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final long fileSize = channel.size();
+                exchange.sendResponseHeaders(200, responseLength(fileSize));
+                try (final OutputStream responseStream = exchange.getResponseBody()) {
+                    transfer(channel, 0, fileSize, responseStream);
+                }
+            }
+            return;
+        }
+
+        if (size >= 0) {
+            exchange.sendResponseHeaders(200, responseLength(size));
+            try (final OutputStream responseStream = exchange.getResponseBody()) {
+                pack.data().write(responseStream);
+            }
+            return;
+        }
+
+        // unknown size, we have to load it to know the Content-Length
+        final byte[] data = pack.data().toByteArray();
+        exchange.sendResponseHeaders(200, responseLength(data.length));
+        try (final OutputStream responseStream = exchange.getResponseBody()) {
+            responseStream.write(data);
+        }
+    }
+
+    /**
+     * Transfers {@code count} bytes from the given file channel, starting
+     * at {@code position}, to the given output stream.
+     *
+     * <p>The output stream is not a socket channel, so this is not a
+     * zero-copy (sendfile) transfer: the data still goes through a small
+     * intermediate buffer, but the whole range is never loaded in memory.</p>
+     *
+     * @param channel  The source file channel
+     * @param position The position of the first byte to transfer
+     * @param count    The amount of bytes to transfer
+     * @param output   The target output stream
+     * @throws IOException If the transfer fails
+     */
+    public static void transfer(final @NotNull FileChannel channel, long position, long count, final @NotNull OutputStream output) throws IOException {
+        final WritableByteChannel target = Channels.newChannel(output);
+        while (count > 0) {
+            final long transferred = channel.transferTo(position, count, target);
+            if (transferred <= 0) {
+                throw new IOException("Unexpected end of file at position " + position);
+            }
+            position += transferred;
+            count -= transferred;
+        }
+    }
+
+    /**
+     * Determines whether the client already has the resource-pack, using
+     * {@code If-None-Match}, or {@code If-Modified-Since} if the former
+     * is not present, as specified by RFC 9110.
+     *
+     * @param requestHeaders The request headers
+     * @param etag           The resource-pack entity tag
+     * @param lastModified   The time the pack was last modified, or null if unknown
+     * @return True if the pack was not modified
+     */
+    public static boolean notModified(final @NotNull Headers requestHeaders, final @NotNull String etag, final @Nullable Instant lastModified) {
+        final List<String> ifNoneMatch = requestHeaders.get("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (final String value : ifNoneMatch) {
+                for (String tag : value.split(",")) {
+                    tag = tag.trim();
+                    // weak comparison, as specified for If-None-Match
+                    if (tag.startsWith("W/")) {
+                        tag = tag.substring(2);
+                    }
+                    if (tag.equals("*") || tag.equals(etag)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        final String ifModifiedSince = requestHeaders.getFirst("If-Modified-Since");
+        if (ifModifiedSince == null || lastModified == null) {
+            return false;
+        }
+        final Instant since;
+        try {
+            since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (final DateTimeParseException e) {
+            // invalid dates are ignored
+            return false;
+        }
+        // HTTP dates have a precision of seconds
+        return !lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(since);
+    }
+
+    private static void sendRanges(final HttpExchange exchange, final BuiltResourcePack pack, final List<Range> ranges, final long size) throws IOException {
+        final Headers responseHeaders = exchange.getResponseHeaders();
+        if (ranges.isEmpty()) {
+            responseHeaders.set("Content-Range", "bytes */" + size);
+            exchange.sendResponseHeaders(416, -1);
+            return;
+        }
+
+        final byte[][] partHeaders = new byte[ranges.size()][];
+        final byte[] closing;
+        final long length;
+        if (ranges.size() == 1) {
+            final Range range = ranges.get(0);
+            responseHeaders.set("Content-Range", range.contentRange(size));
+            partHeaders[0] = new byte[0];
+            closing = new byte[0];
+            length = range.length();
+        } else {
+            final String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong())
+                    + Long.toHexString(ThreadLocalRandom.current().nextLong());
+            responseHeaders.set("Content-Type", "multipart/byteranges; boundary=" + boundary);
+            long total = 0;
+            for (int i = 0; i < partHeaders.length; i++) {
+                final Range range = ranges.get(i);
+                partHeaders[i] = ("\r\n--" + boundary + "\r\n"
+                        + "Content-Type: application/zip\r\n"
+                        + "Content-Range: " + range.contentRange(size) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+                total += partHeaders[i].length + range.length();
+            }
+            closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+            length = total + closing.length;
+        }
+
+        exchange.sendResponseHeaders(206, length);
+        try (final OutputStream responseStream = exchange.getResponseBody()) {
+            final Path file = pack.file();
+            if (file != null) {
+                // positional transfers, only the requested ranges are read
+                try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    for (int i = 0; i < partHeaders.length; i++) {
+                        final Range range = ranges.get(i);
+                        responseStream.write(partHeaders[i]);
+                        transfer(channel, range.first(), range.length(), responseStream);
+                    }
+                }
+            } else {
+                // ranges are sorted, so the data is written once and the rest is skipped
+                final RangeOutputStream rangeStream = new RangeOutputStream(responseStream, ranges, partHeaders);
+                pack.data().write(rangeStream);
+                rangeStream.finish();
+            }
+            responseStream.write(closing);
+        }
+    }
+
+    /**
+     * Parses the {@code Range} request header, as specified by RFC 9110.
+     *
+     * @return The sorted and coalesced satisfiable ranges, empty if none of them
+     * is satisfiable, or null if the full pack must be sent instead
+     */
+    private static @Nullable List<Range> ranges(final Headers requestHeaders, final String etag, final @Nullable Instant lastModified, final long size) {
+        final String header = requestHeaders.getFirst("Range");
+        if (header == null || !ifRangeMatches(requestHeaders.getFirst("If-Range"), etag, lastModified)) {
+            return null;
+        }
+        if (!header.regionMatches(true, 0, "bytes=", 0, 6)) {
+            // unknown range units are ignored
+            return null;
+        }
+
+        final String[] specs = header.substring(6).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+
+        final List<Range> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            spec = spec.trim();
+            final int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            final long first;
+            final long last;
+            if (dash == 0) {
+                // suffix range, the last N bytes
+                final long suffix = parsePosition(spec.substring(1));
+                if (suffix < 0) {
+                    return null;
+                } else if (suffix == 0) {
+                    continue;
+                }
+                first = Math.max(0, size - suffix);
+                last = size - 1;
+            } else {
+                first = parsePosition(spec.substring(0, dash));
+                final String lastValue = spec.substring(dash + 1);
+                if (lastValue.isEmpty()) {
+                    last = size - 1;
+                } else {
+                    last = parsePosition(lastValue);
+                    if (last < first) {
+                        return null;
+                    }
+                }
+                if (first < 0) {
+                    return null;
+                }
+            }
+            if (first >= size) {
+                // unsatisfiable, but other ranges may still be
+                continue;
+            }
+            ranges.add(new Range(first, Math.min(last, size - 1)));
+        }
+
+        // overlapping and adjacent ranges are coalesced, so each byte is sent once
+        ranges.sort(Comparator.comparingLong(Range::first));
+        final List<Range> coalesced = new ArrayList<>(ranges.size());
+        for (final Range range : ranges) {
+            final int lastIndex = coalesced.size() - 1;
+            if (lastIndex >= 0 && range.first() <= coalesced.get(lastIndex).last() + 1) {
+                final Range previous = coalesced.get(lastIndex);
+                coalesced.set(lastIndex, new Range(previous.first(), Math.max(previous.last(), range.last())));
+            } else {
+                coalesced.add(range);
+            }
+        }
+        return coalesced;
+    }
+
+    private static boolean ifRangeMatches(final @Nullable String ifRange, final String etag, final @Nullable Instant lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        final String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            // strong comparison, weak tags never match
+            return value.equals(etag);
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            final Instant date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return date.equals(lastModified.truncatedTo(ChronoUnit.SECONDS));
+        } catch (final DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    // parses a non-negative decimal position, or returns -1 if invalid
+    private static long parsePosition(final String value) {
+        // longer values could overflow and are way beyond any pack size
+        if (value.isEmpty() || value.length() > 18) {
+            return -1;
+        }
+        long position = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            position = position * 10 + (c - '0');
+        }
+        return position;
+    }
+
+    // HttpExchange uses 0 for chunked responses and -1 for no body
+    private static long responseLength(final long size) {
+        return size == 0 ? -1 : size;
+    }
+
+    private record Range(long first, long last) {
+        long length() {
+            return last - first + 1;
+        }
+
+        String contentRange(final long size) {
+            return "bytes " + first + '-' + last + '/' + size;
+        }
+    }
+
+    /**
+     * Output stream that only forwards the bytes inside the given sorted,
+     * non-overlapping ranges, writing each part header before its range.
+     */
+    private static final class RangeOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private final List<Range> ranges;
+        private final byte[][] partHeaders;
+        private long position;
+        private int index;
+
+        RangeOutputStream(final OutputStream delegate, final List<Range> ranges, final byte[][] partHeaders) {
+            this.delegate = delegate;
+            this.ranges = ranges;
+            this.partHeaders = partHeaders;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte @NotNull [] b, int off, int len) throws IOException {
+            while (len > 0 && index < ranges.size()) {
+                final Range range = ranges.get(index);
+                if (position + len <= range.first()) {
+                    break;
+                }
+                if (position < range.first()) {
+                    final int skip = (int) (range.first() - position);
+                    off += skip;
+                    len -= skip;
+                    position += skip;
+                }
+                if (position == range.first()) {
+                    delegate.write(partHeaders[index]);
+                }
+                final int count = (int) Math.min(len, range.last() - position + 1);
+                delegate.write(b, off, count);
+                off += count;
+                len -= count;
+                position += count;
+                if (position > range.last()) {
+                    index++;
+                }
+            }
+            position += len;
+        }
+
+        void finish() throws IOException {
+            if (index < ranges.size()) {
+                throw new IOException("Resource-pack data ended at position " + position
+                        + ", before the requested range " + ranges.get(index).contentRange(position));
+            }
+        }
+    }
+}
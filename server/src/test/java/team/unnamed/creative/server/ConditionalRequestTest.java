@@ -0,0 +1,211 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.server.handler.ResourcePackRequestHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ConditionalRequestTest extends LocalHttpTestBase {
+
+    private static final int HEAD_PORT = 7273;
+    private static final int MODIFIED_PORT = 7274;
+
+    @Test
+    @DisplayName("Test that HEAD requests only receive the headers")
+    void test_head() throws IOException {
+        HttpURLConnection connection = minecraftRequest("HEAD");
+
+        Assertions.assertEquals(200, connection.getResponseCode());
+        Assertions.assertEquals('"' + resourcePack.hash() + '"', connection.getHeaderField("ETag"));
+        Assertions.assertEquals("no-cache", connection.getHeaderField("Cache-Control"));
+        // in-memory packs have no modification time, only the ETag
+        Assertions.assertNull(connection.getHeaderField("Last-Modified"));
+        Assertions.assertEquals(resourcePack.data().toByteArray().length, connection.getContentLengthLong());
+        try (InputStream input = connection.getInputStream()) {
+            Assertions.assertEquals(-1, input.read());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that If-None-Match with the pack ETag is not modified")
+    void test_if_none_match() throws IOException {
+        HttpURLConnection matching = minecraftRequest("GET");
+        matching.setRequestProperty("If-None-Match", "\"other\", W/\"" + resourcePack.hash() + '"');
+        Assertions.assertEquals(304, matching.getResponseCode());
+
+        HttpURLConnection notMatching = minecraftRequest("GET");
+        notMatching.setRequestProperty("If-None-Match", "\"other\"");
+        // If-Modified-Since is ignored when If-None-Match is present
+        notMatching.setRequestProperty("If-Modified-Since", "Fri, 31 Dec 9999 23:59:59 GMT");
+        Assertions.assertEquals(200, notMatching.getResponseCode());
+        try (InputStream input = notMatching.getInputStream()) {
+            Assertions.assertArrayEquals(resourcePack.data().toByteArray(), input.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that If-Modified-Since after the file modification is not modified")
+    void test_if_modified_since(final @TempDir Path tempDir) throws IOException {
+        final Path path = tempDir.resolve("pack.zip");
+        final ResourcePack filePack = ResourcePack.resourcePack();
+        filePack.packMeta(8, "File-backed resource pack!");
+        final BuiltResourcePack pack = MinecraftResourcePackWriter.minecraft().build(path, filePack);
+        Files.setLastModifiedTime(path, FileTime.from(Instant.parse("2024-01-02T03:04:05Z")));
+        final ResourcePackServer server = ResourcePackServer.server()
+                .address(new InetSocketAddress(MODIFIED_PORT))
+                .pack(pack)
+                .build();
+        server.start();
+
+        try {
+            HttpURLConnection head = (HttpURLConnection) URI.create("http://localhost:" + MODIFIED_PORT + "/").toURL().openConnection();
+            head.setRequestMethod("HEAD");
+            Assertions.assertEquals("Tue, 02 Jan 2024 03:04:05 GMT", head.getHeaderField("Last-Modified"));
+
+            HttpURLConnection notModified = (HttpURLConnection) URI.create("http://localhost:" + MODIFIED_PORT + "/").toURL().openConnection();
+            notModified.setRequestProperty("If-Modified-Since", "Tue, 02 Jan 2024 03:04:05 GMT");
+            Assertions.assertEquals(304, notModified.getResponseCode());
+
+            HttpURLConnection modified = (HttpURLConnection) URI.create("http://localhost:" + MODIFIED_PORT + "/").toURL().openConnection();
+            modified.setRequestProperty("If-Modified-Since", "Tue, 02 Jan 2024 03:04:04 GMT");
+            Assertions.assertEquals(200, modified.getResponseCode());
+            modified.getInputStream().close();
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Test that If-Modified-Since is ignored for in-memory packs")
+    void test_if_modified_since_in_memory() throws IOException {
+        HttpURLConnection connection = minecraftRequest("GET");
+        connection.setRequestProperty("If-Modified-Since", "Fri, 31 Dec 9999 23:59:59 GMT");
+        Assertions.assertEquals(200, connection.getResponseCode());
+        connection.getInputStream().close();
+    }
+
+    @Test
+    @DisplayName("Test that other methods are not allowed")
+    void test_method_not_allowed() throws IOException {
+        HttpURLConnection connection = minecraftRequest("DELETE");
+        Assertions.assertEquals(405, connection.getResponseCode());
+        Assertions.assertEquals("GET, HEAD", connection.getHeaderField("Allow"));
+    }
+
+    @Test
+    @DisplayName("Test that HEAD requests work with handlers that write a body")
+    void test_head_custom_handlers() throws IOException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        byte[] body = "Hello world!".getBytes(StandardCharsets.UTF_8);
+        ResourcePackRequestHandler handler = (request, exchange) -> {
+            try {
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            } catch (IOException | RuntimeException e) {
+                failure.set(e);
+                throw e;
+            }
+        };
+        ResourcePackServer server = ResourcePackServer.server()
+                .address(new InetSocketAddress(HEAD_PORT))
+                .handler(handler)
+                .build();
+        server.start();
+        try {
+            HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + HEAD_PORT + "/").toURL().openConnection();
+            connection.setRequestMethod("HEAD");
+            Assertions.assertEquals(200, connection.getResponseCode());
+            Assertions.assertNull(failure.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Test that HEAD requests work with the deprecated handler")
+    @SuppressWarnings("deprecation")
+    void test_head_deprecated_handler() throws IOException {
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        team.unnamed.creative.server.ResourcePackRequestHandler handler = team.unnamed.creative.server.ResourcePackRequestHandler.of(resourcePack, true);
+        ResourcePackServer server = ResourcePackServer.server()
+                .address(new InetSocketAddress(HEAD_PORT))
+                .handler(new team.unnamed.creative.server.ResourcePackRequestHandler() {
+                    @Override
+                    public void onRequest(ResourcePackRequest request, HttpExchange exchange) throws IOException {
+                        if (request == null) {
+                            handler.onInvalidRequest(exchange);
+                        } else {
+                            handler.onRequest(request, exchange);
+                        }
+                    }
+
+                    @Override
+                    public void onException(Exception e) {
+                        failure.set(e);
+                    }
+                })
+                .build();
+        server.start();
+        try {
+            HttpURLConnection valid = (HttpURLConnection) URI.create("http://localhost:" + HEAD_PORT + "/").toURL().openConnection();
+            valid.setRequestMethod("HEAD");
+            valid.setRequestProperty("X-Minecraft-UUID", "30b9e3deb4b64d37943af5747f710ca6");
+            valid.setRequestProperty("X-Minecraft-Username", "Yusshu");
+            valid.setRequestProperty("X-Minecraft-Pack-Format", "8");
+            valid.setRequestProperty("X-Minecraft-Version", "1.18.2");
+            valid.setRequestProperty("X-Minecraft-Version-ID", "1.18.2");
+            Assertions.assertEquals(200, valid.getResponseCode());
+            Assertions.assertEquals(resourcePack.data().toByteArray().length, valid.getContentLengthLong());
+
+            HttpURLConnection invalid = (HttpURLConnection) URI.create("http://localhost:" + HEAD_PORT + "/").toURL().openConnection();
+            invalid.setRequestMethod("HEAD");
+            Assertions.assertEquals(400, invalid.getResponseCode());
+            Assertions.assertNull(failure.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
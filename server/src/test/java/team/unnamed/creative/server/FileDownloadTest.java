@@ -0,0 +1,107 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+class FileDownloadTest {
+
+    private static final int PORT = 7271;
+    private static final int RANGE_PORT = 7272;
+
+    @Test
+    @DisplayName("Test that a file-backed resource-pack is served from its file")
+    void test_file_download(final @TempDir Path tempDir) throws IOException {
+        final Path path = tempDir.resolve("pack.zip");
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(8, "File-backed resource pack!");
+        final BuiltResourcePack pack = MinecraftResourcePackWriter.minecraft().build(path, resourcePack);
+        final ResourcePackServer server = ResourcePackServer.server()
+                .address(new InetSocketAddress(PORT))
+                .pack(pack)
+                .build();
+        server.start();
+
+        try {
+            final HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + PORT + "/").toURL().openConnection();
+            connection.setRequestMethod("GET");
+
+            Assertions.assertEquals(200, connection.getResponseCode());
+            Assertions.assertEquals(Files.size(path), connection.getContentLengthLong());
+            try (final InputStream input = connection.getInputStream()) {
+                final ByteArrayOutputStream output = new ByteArrayOutputStream();
+                input.transferTo(output);
+                Assertions.assertArrayEquals(Files.readAllBytes(path), output.toByteArray());
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Test that a range of a file-backed resource-pack is read from its file")
+    void test_file_range(final @TempDir Path tempDir) throws IOException {
+        final Path path = tempDir.resolve("pack.zip");
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(8, "File-backed resource pack!");
+        final BuiltResourcePack pack = MinecraftResourcePackWriter.minecraft().build(path, resourcePack);
+        final ResourcePackServer server = ResourcePackServer.server()
+                .address(new InetSocketAddress(RANGE_PORT))
+                .pack(pack)
+                .build();
+        server.start();
+
+        try {
+            final byte[] data = Files.readAllBytes(path);
+            final HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + RANGE_PORT + "/").toURL().openConnection();
+            connection.setRequestMethod("GET");
+            connection.setRequestProperty("Range", "bytes=20-");
+
+            Assertions.assertEquals(206, connection.getResponseCode());
+            Assertions.assertEquals("bytes 20-" + (data.length - 1) + '/' + data.length, connection.getHeaderField("Content-Range"));
+            try (final InputStream input = connection.getInputStream()) {
+                Assertions.assertArrayEquals(Arrays.copyOfRange(data, 20, data.length), input.readAllBytes());
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+}
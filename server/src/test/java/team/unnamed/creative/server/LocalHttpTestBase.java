@@ -63,6 +63,18 @@ class LocalHttpTestBase {
         return (HttpURLConnection) URI.create("http://localhost:" + PORT + path).toURL().openConnection();
     }
 
+    HttpURLConnection minecraftRequest(String method) throws IOException {
+        HttpURLConnection connection = open("/");
+        connection.setRequestMethod(method);
+        connection.setUseCaches(false);
+        connection.setRequestProperty("X-Minecraft-UUID", "30b9e3deb4b64d37943af5747f710ca6");
+        connection.setRequestProperty("X-Minecraft-Username", "Yusshu");
+        connection.setRequestProperty("X-Minecraft-Pack-Format", "8");
+        connection.setRequestProperty("X-Minecraft-Version", "1.18.2");
+        connection.setRequestProperty("X-Minecraft-Version-ID", "1.18.2");
+        return connection;
+    }
+
     void stream(InputStream input, OutputStream output) throws IOException {
         byte[] buf = new byte[1024];
         int read;
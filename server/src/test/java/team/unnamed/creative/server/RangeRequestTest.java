@@ -0,0 +1,152 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+class RangeRequestTest extends LocalHttpTestBase {
+
+    @Test
+    @DisplayName("Test that a single range is sent as partial content")
+    void test_single_range() throws IOException {
+        byte[] data = resourcePack.data().toByteArray();
+
+        HttpURLConnection connection = minecraftRequest("GET");
+        connection.setRequestProperty("Range", "bytes=10-19");
+        Assertions.assertEquals(206, connection.getResponseCode());
+        Assertions.assertEquals("bytes 10-19/" + data.length, connection.getHeaderField("Content-Range"));
+        Assertions.assertEquals(10, connection.getContentLengthLong());
+        try (InputStream input = connection.getInputStream()) {
+            Assertions.assertArrayEquals(Arrays.copyOfRange(data, 10, 20), input.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that open and suffix ranges resume the download")
+    void test_open_and_suffix_ranges() throws IOException {
+        byte[] data = resourcePack.data().toByteArray();
+
+        HttpURLConnection open = minecraftRequest("GET");
+        open.setRequestProperty("Range", "bytes=25-");
+        Assertions.assertEquals(206, open.getResponseCode());
+        Assertions.assertEquals("bytes 25-" + (data.length - 1) + '/' + data.length, open.getHeaderField("Content-Range"));
+        try (InputStream input = open.getInputStream()) {
+            Assertions.assertArrayEquals(Arrays.copyOfRange(data, 25, data.length), input.readAllBytes());
+        }
+
+        HttpURLConnection suffix = minecraftRequest("GET");
+        suffix.setRequestProperty("Range", "bytes=-7");
+        Assertions.assertEquals(206, suffix.getResponseCode());
+        try (InputStream input = suffix.getInputStream()) {
+            Assertions.assertArrayEquals(Arrays.copyOfRange(data, data.length - 7, data.length), input.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that multiple ranges are coalesced and sent as multipart")
+    void test_multiple_ranges() throws IOException {
+        byte[] data = resourcePack.data().toByteArray();
+
+        HttpURLConnection connection = minecraftRequest("GET");
+        connection.setRequestProperty("Range", "bytes=0-4, 30-34, 3-6");
+        Assertions.assertEquals(206, connection.getResponseCode());
+        String contentType = connection.getHeaderField("Content-Type");
+        Assertions.assertTrue(contentType.startsWith("multipart/byteranges; boundary="), contentType);
+        String boundary = contentType.substring(contentType.indexOf('=') + 1);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        writePart(expected, boundary, data, 0, 6);
+        writePart(expected, boundary, data, 30, 34);
+        expected.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        Assertions.assertEquals(expected.size(), connection.getContentLengthLong());
+        try (InputStream input = connection.getInputStream()) {
+            Assertions.assertArrayEquals(expected.toByteArray(), input.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that If-Range only sends a range of the same pack")
+    void test_if_range() throws IOException {
+        byte[] data = resourcePack.data().toByteArray();
+
+        HttpURLConnection matching = minecraftRequest("GET");
+        matching.setRequestProperty("Range", "bytes=0-9");
+        matching.setRequestProperty("If-Range", '"' + resourcePack.hash() + '"');
+        Assertions.assertEquals(206, matching.getResponseCode());
+        matching.getInputStream().close();
+
+        HttpURLConnection weak = minecraftRequest("GET");
+        weak.setRequestProperty("Range", "bytes=0-9");
+        // If-Range uses the strong comparison
+        weak.setRequestProperty("If-Range", "W/\"" + resourcePack.hash() + '"');
+        Assertions.assertEquals(200, weak.getResponseCode());
+        try (InputStream input = weak.getInputStream()) {
+            Assertions.assertArrayEquals(data, input.readAllBytes());
+        }
+
+        HttpURLConnection outdated = minecraftRequest("GET");
+        outdated.setRequestProperty("Range", "bytes=0-9");
+        outdated.setRequestProperty("If-Range", "Thu, 01 Jan 1970 00:00:00 GMT");
+        Assertions.assertEquals(200, outdated.getResponseCode());
+        outdated.getInputStream().close();
+    }
+
+    @Test
+    @DisplayName("Test that unsatisfiable and invalid ranges are handled")
+    void test_unsatisfiable_and_invalid_ranges() throws IOException {
+        byte[] data = resourcePack.data().toByteArray();
+
+        HttpURLConnection unsatisfiable = minecraftRequest("GET");
+        unsatisfiable.setRequestProperty("Range", "bytes=" + data.length + "-");
+        Assertions.assertEquals(416, unsatisfiable.getResponseCode());
+        Assertions.assertEquals("bytes */" + data.length, unsatisfiable.getHeaderField("Content-Range"));
+
+        HttpURLConnection invalid = minecraftRequest("GET");
+        invalid.setRequestProperty("Range", "bytes=9-0");
+        Assertions.assertEquals(200, invalid.getResponseCode());
+        try (InputStream input = invalid.getInputStream()) {
+            Assertions.assertArrayEquals(data, input.readAllBytes());
+        }
+
+        HttpURLConnection head = minecraftRequest("HEAD");
+        Assertions.assertEquals("bytes", head.getHeaderField("Accept-Ranges"));
+    }
+
+    private static void writePart(ByteArrayOutputStream output, String boundary, byte[] data, int first, int last) {
+        output.writeBytes(("\r\n--" + boundary + "\r\n"
+                + "Content-Type: application/zip\r\n"
+                + "Content-Range: bytes " + first + '-' + last + '/' + data.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        output.write(data, first, last - first + 1);
+    }
+}